@@ -0,0 +1,223 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.shared.release;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The state shared by the phases of a single run of a release goal. The release manager creates one context per goal
+ * and releases it when the goal ends, so whatever a phase puts into it is visible to the later phases of the same
+ * goal, but never to another goal or another release.
+ * <p>
+ * Implementations are thread-safe.
+ *
+ * @since 3.0.1
+ */
+public interface ReleaseExecutionContext {
+    /**
+     * <p>getGoal.</p>
+     *
+     * @return the name of the running goal, such as <code>prepare</code> or <code>perform</code>
+     */
+    String getGoal();
+
+    /**
+     * <p>getStartTime.</p>
+     *
+     * @return the time the goal started, in milliseconds since the epoch
+     */
+    long getStartTime();
+
+    /**
+     * Returns the executor to run the tasks of a phase with. It runs at most {@link #getParallelism()} tasks at a
+     * time and queues the others, so a task must never wait for another task of this executor. The phase must wait
+     * for its tasks to complete before it returns.
+     *
+     * @return the bounded executor of the goal
+     */
+    Executor getExecutor();
+
+    /**
+     * <p>getParallelism.</p>
+     *
+     * @return the maximum number of tasks the executor runs at the same time
+     */
+    int getParallelism();
+
+    /**
+     * Returns the cache of the given name, creating it the first time. The types are checked on every call, so two
+     * phases can't use the same name for different types of entries.
+     *
+     * @param name the name of the cache
+     * @param keyType the type of the keys
+     * @param valueType the type of the values
+     * @param <K> the type of the keys
+     * @param <V> the type of the values
+     * @return the cache
+     * @throws IllegalArgumentException if the cache was already created with other types
+     */
+    <K, V> Cache<K, V> getCache(String name, Class<K> keyType, Class<V> valueType);
+
+    /**
+     * <p>getMetrics.</p>
+     *
+     * @return the sink of the timings and counters of the goal
+     */
+    Metrics getMetrics();
+
+    /**
+     * A cache which lives as long as the goal. A value which failed to load is not cached.
+     *
+     * @param <K> the type of the keys
+     * @param <V> the type of the values
+     */
+    interface Cache<K, V> {
+        /**
+         * Returns the value of the key, loading it if it isn't cached yet. Two threads asking for the same missing
+         * key at the same time may both load it, the first loaded value is kept.
+         *
+         * @param key the key
+         * @param loader the loader of the value, if it isn't cached
+         * @return the value, or <code>null</code> if the loader returned <code>null</code>
+         * @throws ReleaseExecutionException if the loader failed
+         * @throws ReleaseFailureException if the loader failed
+         */
+        V get(K key, Loader<? super K, ? extends V> loader) throws ReleaseExecutionException, ReleaseFailureException;
+
+        /**
+         * <p>getIfPresent.</p>
+         *
+         * @param key the key
+         * @return the cached value, or <code>null</code> if there is none
+         */
+        V getIfPresent(K key);
+
+        /**
+         * Removes the value of the key, so that the next {@link #get(Object, Loader)} loads it again.
+         *
+         * @param key the key
+         */
+        void invalidate(K key);
+
+        /**
+         * <p>getStats.</p>
+         *
+         * @return the statistics of the cache so far
+         */
+        CacheStats getStats();
+    }
+
+    /**
+     * Loads a value which is missing from a {@link Cache}.
+     *
+     * @param <K> the type of the keys
+     * @param <V> the type of the values
+     */
+    interface Loader<K, V> {
+        /**
+         * <p>load.</p>
+         *
+         * @param key the key
+         * @return the value of the key
+         * @throws ReleaseExecutionException if the value can't be loaded
+         * @throws ReleaseFailureException if the value can't be loaded
+         */
+        V load(K key) throws ReleaseExecutionException, ReleaseFailureException;
+    }
+
+    /**
+     * The statistics of a {@link Cache}.
+     */
+    final class CacheStats {
+        private final long hitCount;
+
+        private final long missCount;
+
+        private final long loadFailureCount;
+
+        private final long totalLoadTime;
+
+        /**
+         * <p>Constructor for CacheStats.</p>
+         *
+         * @param hitCount the number of values found in the cache
+         * @param missCount the number of values loaded, or tried to
+         * @param loadFailureCount the number of values which failed to load
+         * @param totalLoadTime the time spent loading values, in nanoseconds
+         */
+        public CacheStats(long hitCount, long missCount, long loadFailureCount, long totalLoadTime) {
+            this.hitCount = hitCount;
+            this.missCount = missCount;
+            this.loadFailureCount = loadFailureCount;
+            this.totalLoadTime = totalLoadTime;
+        }
+
+        public long getHitCount() {
+            return hitCount;
+        }
+
+        public long getMissCount() {
+            return missCount;
+        }
+
+        public long getLoadFailureCount() {
+            return loadFailureCount;
+        }
+
+        /**
+         * <p>getTotalLoadTime.</p>
+         *
+         * @param unit the unit of the result
+         * @return the time spent loading values
+         */
+        public long getTotalLoadTime(TimeUnit unit) {
+            return unit.convert(totalLoadTime, TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public String toString() {
+            return hitCount + " hits, " + missCount + " misses, " + loadFailureCount + " load failures, "
+                    + TimeUnit.NANOSECONDS.toMillis(totalLoadTime) + " ms loading";
+        }
+    }
+
+    /**
+     * Collects the timings and counters of a goal. The release manager records the duration of every phase as
+     * <code>phase.&lt;name&gt;</code>; phases choose their own names.
+     */
+    interface Metrics {
+        /**
+         * Records one occurrence of a timed operation.
+         *
+         * @param name the name of the operation
+         * @param duration the duration of the operation
+         * @param unit the unit of the duration
+         */
+        void record(String name, long duration, TimeUnit unit);
+
+        /**
+         * Adds to a counter.
+         *
+         * @param name the name of the counter
+         * @param amount the amount to add
+         */
+        void increment(String name, long amount);
+    }
+}
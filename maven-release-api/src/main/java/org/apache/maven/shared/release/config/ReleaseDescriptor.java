@@ -64,6 +64,14 @@ public interface ReleaseDescriptor {
      */
     boolean isCommitByProject();
 
+    /**
+     * Get the maximum number of projects grouped into a single commit when commits are done by modules.
+     *
+     * @return int
+     * @since 3.0.1
+     */
+    int getCommitByProjectBatchSize();
+
     /**
      * Get whether to create a branch instead of do a release.
      *
@@ -172,6 +180,14 @@ public interface ReleaseDescriptor {
      */
     String getCheckoutDirectory();
 
+    /**
+     * Get the directory holding a persistent repository cache per SCM URL, used to check out the tag incrementally.
+     *
+     * @return String
+     * @since 3.0.1
+     */
+    String getCheckoutCacheDirectory();
+
     /**
      * Get the goals to execute in perform phase for the release.
      *
@@ -246,6 +262,14 @@ public interface ReleaseDescriptor {
      */
     List<String> getCheckModificationExcludes();
 
+    /**
+     * Get whether the check for local modifications is limited to the reactor module directories.
+     *
+     * @return boolean
+     * @since 3.0.1
+     */
+    boolean isCheckModificationsScopedToModules();
+
     /**
      * Get additional arguments to pass to any executed Maven process.
      *
@@ -260,6 +284,50 @@ public interface ReleaseDescriptor {
      */
     String getPreparationGoals();
 
+    /**
+     * Get the tag of the previous release, which limits the preparation goals to the modules changed since then and
+     * their dependents.
+     *
+     * @return String
+     * @since 3.0.1
+     */
+    String getPreparationChangedSince();
+
+    /**
+     * Get the comma separated keys of the modules changed since {@link #getPreparationChangedSince()} and of their
+     * dependents, which the preparation goals build. Empty if no module changed, <code>null</code> if not selected.
+     *
+     * @return String
+     * @since 3.0.1
+     */
+    String getPreparationProjects();
+
+    /**
+     * Get whether the perform goals skip the tests, if the checkout of the release tag has the content which was built
+     * and tested during the preparation.
+     *
+     * @return boolean
+     * @since 3.0.1
+     */
+    boolean isSkipPerformTests();
+
+    /**
+     * Get the content fingerprint of the files tracked by the SCM in the release tree built by the preparation goals.
+     *
+     * @return String
+     * @since 3.0.1
+     */
+    String getPreparedArtifactsFingerprint();
+
+    /**
+     * Get whether the dependencies, plugins and extensions of the reactor are fetched into the local repository of the
+     * forked builds in the background, while the release checks the SCM.
+     *
+     * @return boolean
+     * @since 3.0.1
+     */
+    boolean isPrefetchDependencies();
+
     /**
      * Get the goals to execute in on completion of preparation for the release.
      *
@@ -274,6 +342,14 @@ public interface ReleaseDescriptor {
      */
     String getPomFileName();
 
+    /**
+     * Get the name of the transformation which rewrites the POMs, or <code>null</code> for the default one.
+     *
+     * @return String
+     * @since 3.0.1
+     */
+    String getModelETL();
+
     /**
      * Get the prefix of SCM modification messages.
      *
@@ -290,6 +366,14 @@ public interface ReleaseDescriptor {
      */
     boolean isScmShallowClone();
 
+    /**
+     * Get whether to check out only the released project subtree instead of the complete repository.
+     *
+     * @return boolean
+     * @since 3.0.1
+     */
+    boolean isScmSparseCheckout();
+
     /**
      * Get the SCM commit comment when setting pom.xml to release.
      *
@@ -556,6 +640,22 @@ public interface ReleaseDescriptor {
      */
     void setScmReleasedPomRevision(String scmRevision);
 
+    /**
+     * <p>setPreparationProjects.</p>
+     *
+     * @param preparationProjects a {@link java.lang.String} object
+     * @since 3.0.1
+     */
+    void setPreparationProjects(String preparationProjects);
+
+    /**
+     * <p>setPreparedArtifactsFingerprint.</p>
+     *
+     * @param preparedArtifactsFingerprint a {@link java.lang.String} object
+     * @since 3.0.1
+     */
+    void setPreparedArtifactsFingerprint(String preparedArtifactsFingerprint);
+
     /**
      * <p>setScmRelativePathProjectDirectory.</p>
      *
@@ -21,6 +21,7 @@ package org.apache.maven.shared.release.phase;
 import java.util.List;
 
 import org.apache.maven.project.MavenProject;
+import org.apache.maven.shared.release.ReleaseExecutionContext;
 import org.apache.maven.shared.release.ReleaseExecutionException;
 import org.apache.maven.shared.release.ReleaseFailureException;
 import org.apache.maven.shared.release.ReleaseResult;
@@ -64,4 +65,49 @@ public interface ReleasePhase {
             ReleaseEnvironment releaseEnvironment,
             List<MavenProject> reactorProjects)
             throws ReleaseExecutionException, ReleaseFailureException;
+
+    /**
+     * Execute the phase within a goal. Phases which share executors, caches or metrics with the other phases of the
+     * goal override this method; by default, it ignores the context and calls
+     * {@link #execute(ReleaseDescriptor, ReleaseEnvironment, List)}.
+     *
+     * @param releaseDescriptor the configuration to use
+     * @param releaseEnvironment the environmental configuration, such as Maven settings, Maven home, etc.
+     * @param reactorProjects   the reactor projects
+     * @param executionContext  the context of the running goal
+     * @throws ReleaseExecutionException an exception during the execution of the phase
+     * @throws ReleaseFailureException   a failure during the execution of the phase
+     * @return the release result
+     * @since 3.0.1
+     */
+    default ReleaseResult execute(
+            ReleaseDescriptor releaseDescriptor,
+            ReleaseEnvironment releaseEnvironment,
+            List<MavenProject> reactorProjects,
+            ReleaseExecutionContext executionContext)
+            throws ReleaseExecutionException, ReleaseFailureException {
+        return execute(releaseDescriptor, releaseEnvironment, reactorProjects);
+    }
+
+    /**
+     * Simulate the phase within a goal. By default, it ignores the context and calls
+     * {@link #simulate(ReleaseDescriptor, ReleaseEnvironment, List)}.
+     *
+     * @param releaseDescriptor the configuration to use
+     * @param releaseEnvironment the environmental configuration, such as Maven settings, Maven home, etc.
+     * @param reactorProjects   the reactor projects
+     * @param executionContext  the context of the running goal
+     * @throws ReleaseExecutionException an exception during the execution of the phase
+     * @throws ReleaseFailureException   a failure during the execution of the phase
+     * @return the release result
+     * @since 3.0.1
+     */
+    default ReleaseResult simulate(
+            ReleaseDescriptor releaseDescriptor,
+            ReleaseEnvironment releaseEnvironment,
+            List<MavenProject> reactorProjects,
+            ReleaseExecutionContext executionContext)
+            throws ReleaseExecutionException, ReleaseFailureException {
+        return simulate(releaseDescriptor, releaseEnvironment, reactorProjects);
+    }
 }
@@ -0,0 +1,299 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.shared.release;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * The execution context of a goal, created by the release manager when the goal starts and closed when it ends. The
+ * threads of the executor are only started on first use, and closing the context logs the metrics and cache
+ * statistics of the goal at debug level.
+ *
+ * @since 3.0.1
+ */
+public final class DefaultReleaseExecutionContext implements ReleaseExecutionContext, AutoCloseable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(DefaultReleaseExecutionContext.class);
+
+    private final String goal;
+
+    private final int parallelism;
+
+    private final long startTime;
+
+    private final ConcurrentMap<String, DefaultCache<?, ?>> caches = new ConcurrentHashMap<>();
+
+    private final DefaultMetrics metrics = new DefaultMetrics();
+
+    private ThreadPoolExecutor executor;
+
+    private boolean closed;
+
+    /**
+     * <p>Constructor for DefaultReleaseExecutionContext.</p>
+     *
+     * @param goal the name of the goal
+     * @param parallelism the maximum number of tasks the executor runs at the same time
+     */
+    public DefaultReleaseExecutionContext(String goal, int parallelism) {
+        this(goal, parallelism, System.currentTimeMillis());
+    }
+
+    /**
+     * <p>Constructor for DefaultReleaseExecutionContext.</p>
+     *
+     * @param goal the name of the goal
+     * @param parallelism the maximum number of tasks the executor runs at the same time
+     * @param startTime the time the goal started, in milliseconds since the epoch
+     */
+    public DefaultReleaseExecutionContext(String goal, int parallelism, long startTime) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("The parallelism must be positive: " + parallelism);
+        }
+        this.goal = requireNonNull(goal);
+        this.parallelism = parallelism;
+        this.startTime = startTime;
+    }
+
+    @Override
+    public String getGoal() {
+        return goal;
+    }
+
+    @Override
+    public long getStartTime() {
+        return startTime;
+    }
+
+    @Override
+    public synchronized Executor getExecutor() {
+        if (closed) {
+            throw new IllegalStateException("The execution context of the goal '" + goal + "' is closed");
+        }
+        if (executor == null) {
+            final AtomicInteger count = new AtomicInteger();
+            executor = new ThreadPoolExecutor(
+                    parallelism,
+                    parallelism,
+                    0L,
+                    TimeUnit.MILLISECONDS,
+                    new LinkedBlockingQueue<Runnable>(),
+                    new ThreadFactory() {
+                        @Override
+                        public Thread newThread(Runnable r) {
+                            Thread thread = new Thread(r, "release-" + goal + "-" + count.incrementAndGet());
+                            thread.setDaemon(true);
+                            return thread;
+                        }
+                    });
+        }
+        return executor;
+    }
+
+    @Override
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    @Override
+    public <K, V> Cache<K, V> getCache(String name, Class<K> keyType, Class<V> valueType) {
+        DefaultCache<?, ?> cache = caches.get(name);
+        if (cache == null) {
+            DefaultCache<?, ?> created = new DefaultCache<>(requireNonNull(keyType), requireNonNull(valueType));
+            cache = caches.putIfAbsent(name, created);
+            if (cache == null) {
+                cache = created;
+            }
+        }
+        if (!cache.keyType.equals(keyType) || !cache.valueType.equals(valueType)) {
+            throw new IllegalArgumentException("The cache '" + name + "' holds " + cache.valueType.getName()
+                    + " by " + cache.keyType.getName() + ", not " + valueType.getName() + " by "
+                    + keyType.getName());
+        }
+        @SuppressWarnings("unchecked")
+        Cache<K, V> typed = (Cache<K, V>) cache;
+        return typed;
+    }
+
+    @Override
+    public Metrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * <p>getCount.</p>
+     *
+     * @param name the name of a timed operation or counter
+     * @return the number of occurrences of the operation, or the value of the counter
+     */
+    public long getCount(String name) {
+        LongAdder count = metrics.counts.get(name);
+        return count == null ? 0 : count.sum();
+    }
+
+    /**
+     * <p>getTotalTime.</p>
+     *
+     * @param name the name of a timed operation
+     * @param unit the unit of the result
+     * @return the total duration of the occurrences of the operation
+     */
+    public long getTotalTime(String name, TimeUnit unit) {
+        LongAdder time = metrics.times.get(name);
+        return time == null ? 0 : unit.convert(time.sum(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Stops the threads of the executor once the submitted tasks complete, and logs the metrics of the goal.
+     */
+    @Override
+    public void close() {
+        ThreadPoolExecutor running;
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            running = executor;
+        }
+        if (running != null) {
+            running.shutdown();
+        }
+
+        if (LOGGER.isDebugEnabled()) {
+            for (Map.Entry<String, LongAdder> entry : new TreeMap<>(metrics.counts).entrySet()) {
+                LongAdder time = metrics.times.get(entry.getKey());
+                LOGGER.debug("Goal '" + goal + "' metric " + entry.getKey() + ": " + entry.getValue()
+                        + (time == null ? "" : " in " + TimeUnit.NANOSECONDS.toMillis(time.sum()) + " ms"));
+            }
+            for (Map.Entry<String, DefaultCache<?, ?>> entry : new TreeMap<>(caches).entrySet()) {
+                LOGGER.debug("Goal '" + goal + "' cache " + entry.getKey() + ": "
+                        + entry.getValue().getStats());
+            }
+        }
+    }
+
+    private static final class DefaultCache<K, V> implements Cache<K, V> {
+        private final Class<K> keyType;
+
+        private final Class<V> valueType;
+
+        private final ConcurrentMap<K, V> values = new ConcurrentHashMap<>();
+
+        private final LongAdder hits = new LongAdder();
+
+        private final LongAdder misses = new LongAdder();
+
+        private final LongAdder loadFailures = new LongAdder();
+
+        private final LongAdder loadTime = new LongAdder();
+
+        DefaultCache(Class<K> keyType, Class<V> valueType) {
+            this.keyType = keyType;
+            this.valueType = valueType;
+        }
+
+        @Override
+        public V get(K key, Loader<? super K, ? extends V> loader)
+                throws ReleaseExecutionException, ReleaseFailureException {
+            V value = values.get(keyType.cast(key));
+            if (value != null) {
+                hits.increment();
+                return value;
+            }
+
+            misses.increment();
+            long start = System.nanoTime();
+            boolean loaded = false;
+            try {
+                value = valueType.cast(loader.load(key));
+                loaded = true;
+            } finally {
+                loadTime.add(System.nanoTime() - start);
+                if (!loaded) {
+                    loadFailures.increment();
+                }
+            }
+
+            if (value == null) {
+                return null;
+            }
+            V previous = values.putIfAbsent(key, value);
+            return previous == null ? value : previous;
+        }
+
+        @Override
+        public V getIfPresent(K key) {
+            return values.get(key);
+        }
+
+        @Override
+        public void invalidate(K key) {
+            values.remove(key);
+        }
+
+        @Override
+        public CacheStats getStats() {
+            return new CacheStats(hits.sum(), misses.sum(), loadFailures.sum(), loadTime.sum());
+        }
+    }
+
+    private static final class DefaultMetrics implements Metrics {
+        private final ConcurrentMap<String, LongAdder> counts = new ConcurrentHashMap<>();
+
+        private final ConcurrentMap<String, LongAdder> times = new ConcurrentHashMap<>();
+
+        @Override
+        public void record(String name, long duration, TimeUnit unit) {
+            adder(counts, name).increment();
+            adder(times, name).add(unit.toNanos(duration));
+        }
+
+        @Override
+        public void increment(String name, long amount) {
+            adder(counts, name).add(amount);
+        }
+
+        private static LongAdder adder(ConcurrentMap<String, LongAdder> adders, String name) {
+            LongAdder adder = adders.get(requireNonNull(name));
+            if (adder == null) {
+                LongAdder created = new LongAdder();
+                adder = adders.putIfAbsent(name, created);
+                if (adder == null) {
+                    adder = created;
+                }
+            }
+            return adder;
+        }
+    }
+}
@@ -28,19 +28,32 @@ import java.util.Collections;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 
 import org.apache.commons.lang3.BooleanUtils;
+import org.apache.maven.project.MavenProject;
 import org.apache.maven.shared.release.config.ReleaseDescriptor;
 import org.apache.maven.shared.release.config.ReleaseDescriptorBuilder;
 import org.apache.maven.shared.release.config.ReleaseDescriptorBuilder.BuilderReleaseDescriptor;
 import org.apache.maven.shared.release.config.ReleaseDescriptorStore;
 import org.apache.maven.shared.release.config.ReleaseDescriptorStoreException;
 import org.apache.maven.shared.release.config.ReleaseUtils;
+import org.apache.maven.shared.release.env.ReleaseEnvironment;
 import org.apache.maven.shared.release.phase.ReleasePhase;
 import org.apache.maven.shared.release.phase.ResourceGenerator;
 import org.apache.maven.shared.release.strategy.Strategy;
+import org.apache.maven.shared.release.util.ReactorIndex;
+import org.apache.maven.shared.release.util.ReleaseEvents;
 import org.codehaus.plexus.util.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -60,10 +73,16 @@ public class DefaultReleaseManager implements ReleaseManager {
     private final Map<String, Strategy> strategies;
 
     /**
-     * The available phases.
+     * The available phases. The container creates a phase when it is first got from this map, so only get the phases
+     * of the running goal: a goal then doesn't pay for the other phases and their dependencies.
      */
     private final Map<String, ReleasePhase> releasePhases;
 
+    /**
+     * The phases which generate resources, got by clean without creating the other phases of the goals.
+     */
+    private final Map<String, ResourceGenerator> resourceGenerators;
+
     /**
      * The configuration storage.
      */
@@ -73,9 +92,11 @@ public class DefaultReleaseManager implements ReleaseManager {
     public DefaultReleaseManager(
             Map<String, Strategy> strategies,
             Map<String, ReleasePhase> releasePhases,
+            Map<String, ResourceGenerator> resourceGenerators,
             @Named("properties") ReleaseDescriptorStore configStore) {
         this.strategies = requireNonNull(strategies);
         this.releasePhases = requireNonNull(releasePhases);
+        this.resourceGenerators = requireNonNull(resourceGenerators);
         this.configStore = new AtomicReference<>(requireNonNull(configStore));
     }
 
@@ -113,39 +134,36 @@ public class DefaultReleaseManager implements ReleaseManager {
 
     private void prepare(ReleasePrepareRequest prepareRequest, ReleaseResult result)
             throws ReleaseExecutionException, ReleaseFailureException {
+        prepare(prepareRequest, result, null);
+    }
 
-        final ReleaseDescriptorBuilder builder = prepareRequest.getReleaseDescriptorBuilder();
-
-        // Create a config containing values from the session properties (ie command line properties with cli).
-        ReleaseUtils.copyPropertiesToReleaseDescriptor(
-                prepareRequest.getUserProperties(), new ReleaseDescriptorBuilder() {
-                    public ReleaseDescriptorBuilder addDevelopmentVersion(String key, String value) {
-                        builder.addDevelopmentVersion(key, value);
-                        return this;
-                    }
-
-                    public ReleaseDescriptorBuilder addReleaseVersion(String key, String value) {
-                        builder.addReleaseVersion(key, value);
-                        return this;
-                    }
+    private void prepare(
+            ReleasePrepareRequest prepareRequest, ReleaseResult result, OverlappedPerform overlappedPerform)
+            throws ReleaseExecutionException, ReleaseFailureException {
+        try (ReleaseEvents.Event event = beginGoal("prepare", prepareRequest);
+                DefaultReleaseExecutionContext context = createExecutionContext("prepare", prepareRequest)) {
+            runPreparePhases(prepareRequest, result, overlappedPerform, context);
+            event.succeeded();
+        }
+    }
 
-                    public ReleaseDescriptorBuilder addDependencyReleaseVersion(String dependencyKey, String version) {
-                        builder.addDependencyReleaseVersion(dependencyKey, version);
-                        return this;
-                    }
+    private void runPreparePhases(
+            ReleasePrepareRequest prepareRequest,
+            ReleaseResult result,
+            OverlappedPerform overlappedPerform,
+            ReleaseExecutionContext context)
+            throws ReleaseExecutionException, ReleaseFailureException {
 
-                    public ReleaseDescriptorBuilder addDependencyDevelopmentVersion(
-                            String dependencyKey, String version) {
-                        builder.addDependencyDevelopmentVersion(dependencyKey, version);
-                        return this;
-                    }
-                });
+        BuilderReleaseDescriptor config = assembleReleaseDescriptor(
+                prepareRequest,
+                prepareRequest.getUserProperties(),
+                true,
+                BooleanUtils.isNotFalse(prepareRequest.getResume()));
 
-        BuilderReleaseDescriptor config;
-        if (BooleanUtils.isNotFalse(prepareRequest.getResume())) {
-            config = loadReleaseDescriptor(builder, prepareRequest.getReleaseManagerListener());
-        } else {
-            config = ReleaseUtils.buildReleaseDescriptor(builder);
+        if (overlappedPerform != null && isCleaning(config.getCompletionGoals())) {
+            throw new ReleaseFailureException("The completion goals '" + config.getCompletionGoals()
+                    + "' clean the project, which would delete the checkout of the perform running alongside them: "
+                    + "prepare and perform the release one after the other instead");
         }
 
         Strategy releaseStrategy = getStrategy(config.getReleaseStrategyId());
@@ -173,27 +191,34 @@ public class DefaultReleaseManager implements ReleaseManager {
             logInfo(result, "Resuming release from phase '" + preparePhases.get(index + 1) + "'");
         }
 
+        int tagIndex = preparePhases.indexOf(OverlappedPerform.TAG_PHASE);
+        if (overlappedPerform != null && tagIndex >= 0 && index >= tagIndex) {
+            overlappedPerform.start(result);
+        }
+
         // start from next phase
         for (int i = index + 1; i < preparePhases.size(); i++) {
             String name = preparePhases.get(i);
 
-            ReleasePhase phase = releasePhases.get(name);
+            ReleasePhase phase = getPhase(name);
 
-            if (phase == null) {
-                throw new ReleaseExecutionException("Unable to find phase '" + name + "' to execute");
+            if (overlappedPerform != null && overlappedPerform.isFailed()) {
+                throw new ReleaseExecutionException(
+                        "The release perform failed, stopping the preparation before phase '" + name + "'");
             }
 
             phaseStart(prepareRequest.getReleaseManagerListener(), name);
 
             ReleaseResult phaseResult = null;
             try {
-                if (BooleanUtils.isTrue(prepareRequest.getDryRun())) {
-                    phaseResult = phase.simulate(
-                            config, prepareRequest.getReleaseEnvironment(), prepareRequest.getReactorProjects());
-                } else {
-                    phaseResult = phase.execute(
-                            config, prepareRequest.getReleaseEnvironment(), prepareRequest.getReactorProjects());
-                }
+                phaseResult = runPhase(
+                        context,
+                        name,
+                        phase,
+                        BooleanUtils.isTrue(prepareRequest.getDryRun()),
+                        config,
+                        prepareRequest.getReleaseEnvironment(),
+                        prepareRequest.getReactorProjects());
             } finally {
                 if (result != null && phaseResult != null) {
                     result.appendOutput(phaseResult.getOutput());
@@ -201,14 +226,20 @@ public class DefaultReleaseManager implements ReleaseManager {
             }
 
             config.setCompletedPhase(name);
-            try {
+            try (ReleaseEvents.Event event =
+                    ReleaseEvents.begin(ReleaseEvents.Type.DESCRIPTOR_STORE, "write", config.getWorkingDirectory())) {
                 configStore.get().write(config);
+                event.succeeded();
             } catch (ReleaseDescriptorStoreException e) {
                 // TODO: rollback?
                 throw new ReleaseExecutionException("Error writing release properties after completing phase", e);
             }
 
             phaseEnd(prepareRequest.getReleaseManagerListener());
+
+            if (overlappedPerform != null && i == tagIndex) {
+                overlappedPerform.start(result);
+            }
         }
 
         goalEnd(prepareRequest.getReleaseManagerListener());
@@ -217,6 +248,15 @@ public class DefaultReleaseManager implements ReleaseManager {
     @Override
     public void rollback(ReleaseRollbackRequest rollbackRequest)
             throws ReleaseExecutionException, ReleaseFailureException {
+        try (ReleaseEvents.Event event = beginGoal("rollback", rollbackRequest);
+                DefaultReleaseExecutionContext context = createExecutionContext("rollback", rollbackRequest)) {
+            runRollbackPhases(rollbackRequest, context);
+            event.succeeded();
+        }
+    }
+
+    private void runRollbackPhases(ReleaseRollbackRequest rollbackRequest, ReleaseExecutionContext context)
+            throws ReleaseExecutionException, ReleaseFailureException {
         ReleaseDescriptor releaseDescriptor =
                 loadReleaseDescriptor(rollbackRequest.getReleaseDescriptorBuilder(), null);
 
@@ -227,15 +267,17 @@ public class DefaultReleaseManager implements ReleaseManager {
         goalStart(rollbackRequest.getReleaseManagerListener(), "rollback", rollbackPhases);
 
         for (String name : rollbackPhases) {
-            ReleasePhase phase = releasePhases.get(name);
-
-            if (phase == null) {
-                throw new ReleaseExecutionException("Unable to find phase '" + name + "' to execute");
-            }
+            ReleasePhase phase = getPhase(name);
 
             phaseStart(rollbackRequest.getReleaseManagerListener(), name);
-            phase.execute(
-                    releaseDescriptor, rollbackRequest.getReleaseEnvironment(), rollbackRequest.getReactorProjects());
+            runPhase(
+                    context,
+                    name,
+                    phase,
+                    false,
+                    releaseDescriptor,
+                    rollbackRequest.getReleaseEnvironment(),
+                    rollbackRequest.getReactorProjects());
             phaseEnd(rollbackRequest.getReleaseManagerListener());
         }
 
@@ -271,25 +313,36 @@ public class DefaultReleaseManager implements ReleaseManager {
 
     private void perform(ReleasePerformRequest performRequest, ReleaseResult result)
             throws ReleaseExecutionException, ReleaseFailureException {
+        ReleaseDescriptor releaseDescriptor =
+                createPerformDescriptorBuilder(performRequest).build();
+
+        perform(performRequest, releaseDescriptor, result, null);
 
+        if (BooleanUtils.isNotFalse(performRequest.getClean())) {
+            // call release:clean so that resume will not be possible anymore after a perform
+            clean(performRequest);
+        }
+
+        goalEnd(performRequest.getReleaseManagerListener());
+    }
+
+    private ReleaseDescriptorBuilder createPerformDescriptorBuilder(ReleasePerformRequest performRequest)
+            throws ReleaseExecutionException {
         // https://issues.apache.org/jira/browse/MRELEASE-1104 because stageRepository is an additional arg
         // and only adding at perform stage it's not available during prepare and so not save the not available
         // when reloading. save this then change again after load
-        String additionalArguments =
-                performRequest.getReleaseDescriptorBuilder().build().getAdditionalArguments();
-
-        List<String> specificProfiles = ReleaseUtils.buildReleaseDescriptor(
-                        performRequest.getReleaseDescriptorBuilder())
-                .getActivateProfiles();
+        BuilderReleaseDescriptor requested =
+                performRequest.getReleaseDescriptorBuilder().build();
+        String additionalArguments = requested.getAdditionalArguments();
+        List<String> specificProfiles = new ArrayList<>(requested.getActivateProfiles());
 
         ReleaseDescriptorBuilder builder = loadReleaseDescriptorBuilder(
                 performRequest.getReleaseDescriptorBuilder(), performRequest.getReleaseManagerListener());
 
         builder.setAdditionalArguments(additionalArguments);
 
-        if (specificProfiles != null && !specificProfiles.isEmpty()) {
-            List<String> allProfiles =
-                    new ArrayList<>(ReleaseUtils.buildReleaseDescriptor(builder).getActivateProfiles());
+        if (!specificProfiles.isEmpty()) {
+            List<String> allProfiles = new ArrayList<>(builder.build().getActivateProfiles());
             for (String specificProfile : specificProfiles) {
                 if (!allProfiles.contains(specificProfile)) {
                     allProfiles.add(specificProfile);
@@ -298,36 +351,63 @@ public class DefaultReleaseManager implements ReleaseManager {
             builder.setActivateProfiles(allProfiles);
         }
 
-        ReleaseDescriptor releaseDescriptor = ReleaseUtils.buildReleaseDescriptor(builder);
+        return builder;
+    }
 
+    private void perform(
+            ReleasePerformRequest performRequest,
+            ReleaseDescriptor releaseDescriptor,
+            ReleaseResult result,
+            OverlappedPerform overlappedPerform)
+            throws ReleaseExecutionException, ReleaseFailureException {
+        try (ReleaseEvents.Event event = beginGoal("perform", performRequest);
+                DefaultReleaseExecutionContext context = createExecutionContext("perform", performRequest)) {
+            runPerformPhases(performRequest, releaseDescriptor, result, overlappedPerform, context);
+            event.succeeded();
+        }
+    }
+
+    private void runPerformPhases(
+            ReleasePerformRequest performRequest,
+            ReleaseDescriptor releaseDescriptor,
+            ReleaseResult result,
+            OverlappedPerform overlappedPerform,
+            ReleaseExecutionContext context)
+            throws ReleaseExecutionException, ReleaseFailureException {
         Strategy releaseStrategy = getStrategy(releaseDescriptor.getReleaseStrategyId());
 
         List<String> performPhases = getGoalPhases(releaseStrategy, "perform");
 
         goalStart(performRequest.getReleaseManagerListener(), "perform", performPhases);
 
-        for (String name : performPhases) {
-            ReleasePhase phase = releasePhases.get(name);
+        for (int i = 0; i < performPhases.size(); i++) {
+            String name = performPhases.get(i);
+
+            ReleasePhase phase = getPhase(name);
 
-            if (phase == null) {
-                throw new ReleaseExecutionException("Unable to find phase '" + name + "' to execute");
+            if (overlappedPerform != null) {
+                if (overlappedPerform.isFailed()) {
+                    throw new ReleaseExecutionException(
+                            "The release preparation failed, stopping the perform before phase '" + name + "'");
+                }
+                if (i == performPhases.size() - 1) {
+                    // the last phase publishes the release
+                    overlappedPerform.setPublishing();
+                }
             }
 
             phaseStart(performRequest.getReleaseManagerListener(), name);
 
             ReleaseResult phaseResult = null;
             try {
-                if (BooleanUtils.isTrue(performRequest.getDryRun())) {
-                    phaseResult = phase.simulate(
-                            releaseDescriptor,
-                            performRequest.getReleaseEnvironment(),
-                            performRequest.getReactorProjects());
-                } else {
-                    phaseResult = phase.execute(
-                            releaseDescriptor,
-                            performRequest.getReleaseEnvironment(),
-                            performRequest.getReactorProjects());
-                }
+                phaseResult = runPhase(
+                        context,
+                        name,
+                        phase,
+                        BooleanUtils.isTrue(performRequest.getDryRun()),
+                        releaseDescriptor,
+                        performRequest.getReleaseEnvironment(),
+                        performRequest.getReactorProjects());
             } finally {
                 if (result != null && phaseResult != null) {
                     result.appendOutput(phaseResult.getOutput());
@@ -336,33 +416,123 @@ public class DefaultReleaseManager implements ReleaseManager {
 
             phaseEnd(performRequest.getReleaseManagerListener());
         }
+    }
 
-        if (BooleanUtils.isNotFalse(performRequest.getClean())) {
-            // call release:clean so that resume will not be possible anymore after a perform
-            clean(performRequest);
+    @Override
+    public ReleaseResult prepareAndPerformWithResult(
+            ReleasePrepareRequest prepareRequest, ReleasePerformRequest performRequest) {
+        ReleaseResult result = new ReleaseResult();
+
+        result.setStartTime(System.currentTimeMillis());
+
+        try {
+            prepareAndPerform(prepareRequest, performRequest, result);
+
+            result.setResultCode(ReleaseResult.SUCCESS);
+        } catch (ReleaseExecutionException | ReleaseFailureException e) {
+            captureException(result, prepareRequest.getReleaseManagerListener(), e);
+        } finally {
+            result.setEndTime(System.currentTimeMillis());
         }
 
-        goalEnd(performRequest.getReleaseManagerListener());
+        return result;
     }
 
     @Override
-    public void branch(ReleaseBranchRequest branchRequest) throws ReleaseExecutionException, ReleaseFailureException {
-        final ReleaseDescriptorBuilder builder = branchRequest.getReleaseDescriptorBuilder();
+    public void prepareAndPerform(ReleasePrepareRequest prepareRequest, ReleasePerformRequest performRequest)
+            throws ReleaseExecutionException, ReleaseFailureException {
+        prepareAndPerform(prepareRequest, performRequest, new ReleaseResult());
+    }
 
-        ReleaseUtils.copyPropertiesToReleaseDescriptor(
-                branchRequest.getUserProperties(), new ReleaseDescriptorBuilder() {
-                    public ReleaseDescriptorBuilder addDevelopmentVersion(String key, String value) {
-                        builder.addDevelopmentVersion(key, value);
-                        return this;
-                    }
+    private void prepareAndPerform(
+            ReleasePrepareRequest prepareRequest, ReleasePerformRequest performRequest, ReleaseResult result)
+            throws ReleaseExecutionException, ReleaseFailureException {
+        // the listeners are usually one and the same, and both sides report to them while they run alongside
+        Object listenerLock = new Object();
+        OverlappedPerform overlappedPerform = new OverlappedPerform(
+                performRequest, synchronizedListener(performRequest.getReleaseManagerListener(), listenerLock));
+
+        ReleasePrepareRequest overlappedPrepareRequest = new ReleasePrepareRequest();
+        overlappedPrepareRequest.setReleaseDescriptorBuilder(prepareRequest.getReleaseDescriptorBuilder());
+        overlappedPrepareRequest.setReactorProjects(prepareRequest.getReactorProjects());
+        overlappedPrepareRequest.setReleaseManagerListener(
+                synchronizedListener(prepareRequest.getReleaseManagerListener(), listenerLock));
+        overlappedPrepareRequest.setReleaseEnvironment(prepareRequest.getReleaseEnvironment());
+        overlappedPrepareRequest.setDryRun(prepareRequest.getDryRun());
+        overlappedPrepareRequest.setResume(prepareRequest.getResume());
+        overlappedPrepareRequest.setUserProperties(prepareRequest.getUserProperties());
+
+        Exception failure = null;
+        try {
+            prepare(overlappedPrepareRequest, result, overlappedPerform);
 
-                    public ReleaseDescriptorBuilder addReleaseVersion(String key, String value) {
-                        builder.addReleaseVersion(key, value);
-                        return this;
-                    }
-                });
+            // the strategy may not tag the release: perform once the preparation is complete
+            overlappedPerform.start(result);
+        } catch (ReleaseExecutionException | ReleaseFailureException | RuntimeException e) {
+            overlappedPerform.setFailed();
+            failure = e;
+        }
 
-        ReleaseDescriptor releaseDescriptor = loadReleaseDescriptor(builder, branchRequest.getReleaseManagerListener());
+        Exception performFailure = overlappedPerform.await(result);
+        if (failure == null || performFailure != null && overlappedPerform.isPerformFailedFirst()) {
+            // report the failure which stopped the other side as the cause
+            if (failure != null) {
+                performFailure.addSuppressed(failure);
+            }
+            failure = performFailure;
+        } else if (performFailure != null) {
+            failure.addSuppressed(performFailure);
+        }
+
+        if (failure == null) {
+            if (BooleanUtils.isNotFalse(performRequest.getClean())) {
+                // call release:clean so that resume will not be possible anymore after a perform
+                clean(performRequest);
+            }
+            return;
+        }
+
+        if (overlappedPerform.isPublishing()) {
+            logInfo(
+                    result,
+                    "The release may have been deployed already and is not rolled back. Resume it with "
+                            + "release:prepare and release:perform");
+        } else if (overlappedPerform.isStarted() && BooleanUtils.isNotTrue(prepareRequest.getDryRun())) {
+            logInfo(result, "Nothing of the release was deployed, rolling it back");
+
+            ReleaseRollbackRequest rollbackRequest = new ReleaseRollbackRequest();
+            rollbackRequest.setReleaseDescriptorBuilder(prepareRequest.getReleaseDescriptorBuilder());
+            rollbackRequest.setReleaseEnvironment(prepareRequest.getReleaseEnvironment());
+            rollbackRequest.setReactorProjects(prepareRequest.getReactorProjects());
+            rollbackRequest.setReleaseManagerListener(prepareRequest.getReleaseManagerListener());
+            try {
+                rollback(rollbackRequest);
+            } catch (ReleaseExecutionException | ReleaseFailureException e) {
+                failure.addSuppressed(e);
+            }
+        }
+
+        if (failure instanceof ReleaseFailureException) {
+            throw (ReleaseFailureException) failure;
+        } else if (failure instanceof ReleaseExecutionException) {
+            throw (ReleaseExecutionException) failure;
+        }
+        throw new ReleaseExecutionException(failure.getMessage(), failure);
+    }
+
+    @Override
+    public void branch(ReleaseBranchRequest branchRequest) throws ReleaseExecutionException, ReleaseFailureException {
+        try (ReleaseEvents.Event event = beginGoal("branch", branchRequest);
+                DefaultReleaseExecutionContext context = createExecutionContext("branch", branchRequest)) {
+            runBranchPhases(branchRequest, context);
+            event.succeeded();
+        }
+    }
+
+    private void runBranchPhases(ReleaseBranchRequest branchRequest, ReleaseExecutionContext context)
+            throws ReleaseExecutionException, ReleaseFailureException {
+        ReleaseDescriptor releaseDescriptor =
+                assembleReleaseDescriptor(branchRequest, branchRequest.getUserProperties(), false, true);
 
         boolean dryRun = BooleanUtils.isTrue(branchRequest.getDryRun());
 
@@ -373,22 +543,18 @@ public class DefaultReleaseManager implements ReleaseManager {
         goalStart(branchRequest.getReleaseManagerListener(), "branch", branchPhases);
 
         for (String name : branchPhases) {
-            ReleasePhase phase = releasePhases.get(name);
-
-            if (phase == null) {
-                throw new ReleaseExecutionException("Unable to find phase '" + name + "' to execute");
-            }
+            ReleasePhase phase = getPhase(name);
 
             phaseStart(branchRequest.getReleaseManagerListener(), name);
 
-            if (dryRun) {
-                phase.simulate(
-                        releaseDescriptor, branchRequest.getReleaseEnvironment(), branchRequest.getReactorProjects());
-            } else // getDryRun is null or FALSE
-            {
-                phase.execute(
-                        releaseDescriptor, branchRequest.getReleaseEnvironment(), branchRequest.getReactorProjects());
-            }
+            runPhase(
+                    context,
+                    name,
+                    phase,
+                    dryRun,
+                    releaseDescriptor,
+                    branchRequest.getReleaseEnvironment(),
+                    branchRequest.getReactorProjects());
 
             phaseEnd(branchRequest.getReleaseManagerListener());
         }
@@ -403,24 +569,19 @@ public class DefaultReleaseManager implements ReleaseManager {
     @Override
     public void updateVersions(ReleaseUpdateVersionsRequest updateVersionsRequest)
             throws ReleaseExecutionException, ReleaseFailureException {
-        final ReleaseDescriptorBuilder builder = updateVersionsRequest.getReleaseDescriptorBuilder();
-
-        // Create a config containing values from the session properties (ie command line properties with cli).
-        ReleaseUtils.copyPropertiesToReleaseDescriptor(
-                updateVersionsRequest.getUserProperties(), new ReleaseDescriptorBuilder() {
-                    public ReleaseDescriptorBuilder addDevelopmentVersion(String key, String value) {
-                        builder.addDevelopmentVersion(key, value);
-                        return this;
-                    }
-
-                    public ReleaseDescriptorBuilder addReleaseVersion(String key, String value) {
-                        builder.addReleaseVersion(key, value);
-                        return this;
-                    }
-                });
+        try (ReleaseEvents.Event event = beginGoal("updateVersions", updateVersionsRequest);
+                DefaultReleaseExecutionContext context =
+                        createExecutionContext("updateVersions", updateVersionsRequest)) {
+            runUpdateVersionsPhases(updateVersionsRequest, context);
+            event.succeeded();
+        }
+    }
 
-        ReleaseDescriptor releaseDescriptor =
-                loadReleaseDescriptor(builder, updateVersionsRequest.getReleaseManagerListener());
+    private void runUpdateVersionsPhases(
+            ReleaseUpdateVersionsRequest updateVersionsRequest, ReleaseExecutionContext context)
+            throws ReleaseExecutionException, ReleaseFailureException {
+        ReleaseDescriptor releaseDescriptor = assembleReleaseDescriptor(
+                updateVersionsRequest, updateVersionsRequest.getUserProperties(), false, true);
 
         Strategy releaseStrategy = getStrategy(releaseDescriptor.getReleaseStrategyId());
 
@@ -429,14 +590,14 @@ public class DefaultReleaseManager implements ReleaseManager {
         goalStart(updateVersionsRequest.getReleaseManagerListener(), "updateVersions", updateVersionsPhases);
 
         for (String name : updateVersionsPhases) {
-            ReleasePhase phase = releasePhases.get(name);
-
-            if (phase == null) {
-                throw new ReleaseExecutionException("Unable to find phase '" + name + "' to execute");
-            }
+            ReleasePhase phase = getPhase(name);
 
             phaseStart(updateVersionsRequest.getReleaseManagerListener(), name);
-            phase.execute(
+            runPhase(
+                    context,
+                    name,
+                    phase,
+                    false,
                     releaseDescriptor,
                     updateVersionsRequest.getReleaseEnvironment(),
                     updateVersionsRequest.getReactorProjects());
@@ -466,15 +627,36 @@ public class DefaultReleaseManager implements ReleaseManager {
         }
     }
 
+    /**
+     * Assembles the release descriptor of a request in a single pass over each source. The precedence, from lowest
+     * to highest, is: the configuration of the request (ie mojo parameters), the versions given as user properties
+     * (ie command line properties) and the stored state of a previous run, if loaded.
+     */
+    private BuilderReleaseDescriptor assembleReleaseDescriptor(
+            AbstractReleaseRequest request, Properties userProperties, boolean dependencies, boolean loadStored)
+            throws ReleaseExecutionException {
+        ReleaseDescriptorBuilder builder = request.getReleaseDescriptorBuilder();
+
+        ReleaseUtils.copyVersionsToReleaseDescriptor(userProperties, builder, dependencies);
+
+        if (loadStored) {
+            builder = loadReleaseDescriptorBuilder(builder, request.getReleaseManagerListener());
+        }
+        return builder.build();
+    }
+
     private BuilderReleaseDescriptor loadReleaseDescriptor(
             ReleaseDescriptorBuilder builder, ReleaseManagerListener listener) throws ReleaseExecutionException {
-        return ReleaseUtils.buildReleaseDescriptor(loadReleaseDescriptorBuilder(builder, listener));
+        return loadReleaseDescriptorBuilder(builder, listener).build();
     }
 
     private ReleaseDescriptorBuilder loadReleaseDescriptorBuilder(
             ReleaseDescriptorBuilder builder, ReleaseManagerListener listener) throws ReleaseExecutionException {
-        try {
-            return configStore.get().read(builder);
+        try (ReleaseEvents.Event event = ReleaseEvents.begin(
+                ReleaseEvents.Type.DESCRIPTOR_STORE, "read", builder.build().getWorkingDirectory())) {
+            ReleaseDescriptorBuilder stored = configStore.get().read(builder);
+            event.succeeded();
+            return stored;
         } catch (ReleaseDescriptorStoreException e) {
             throw new ReleaseExecutionException("Error reading stored configuration: " + e.getMessage(), e);
         }
@@ -500,7 +682,7 @@ public class DefaultReleaseManager implements ReleaseManager {
         logger.info("Cleaning up after release...");
 
         ReleaseDescriptor releaseDescriptor =
-                ReleaseUtils.buildReleaseDescriptor(cleanRequest.getReleaseDescriptorBuilder());
+                cleanRequest.getReleaseDescriptorBuilder().build();
 
         configStore.get().delete(releaseDescriptor);
 
@@ -511,12 +693,71 @@ public class DefaultReleaseManager implements ReleaseManager {
         phases.addAll(getGoalPhases(releaseStrategy, "branch"));
 
         for (String name : phases) {
-            ReleasePhase phase = releasePhases.get(name);
+            ResourceGenerator resourceGenerator = resourceGenerators.get(name);
 
-            if (phase instanceof ResourceGenerator) {
-                ((ResourceGenerator) phase).clean(cleanRequest.getReactorProjects());
+            if (resourceGenerator != null) {
+                resourceGenerator.clean(cleanRequest.getReactorProjects());
+            }
+        }
+    }
+
+    private static ReleaseEvents.Event beginGoal(String goal, AbstractReleaseRequest request) {
+        return ReleaseEvents.begin(
+                ReleaseEvents.Type.GOAL,
+                goal,
+                request.getReleaseDescriptorBuilder().build().getWorkingDirectory());
+    }
+
+    private static ReleaseResult runPhase(
+            ReleaseExecutionContext context,
+            String name,
+            ReleasePhase phase,
+            boolean simulate,
+            ReleaseDescriptor releaseDescriptor,
+            ReleaseEnvironment releaseEnvironment,
+            List<MavenProject> reactorProjects)
+            throws ReleaseExecutionException, ReleaseFailureException {
+        try (ReleaseEvents.Event event =
+                ReleaseEvents.begin(ReleaseEvents.Type.PHASE, name, simulate ? "simulate" : "execute")) {
+            long start = System.nanoTime();
+            ReleaseResult phaseResult = simulate
+                    ? phase.simulate(releaseDescriptor, releaseEnvironment, reactorProjects, context)
+                    : phase.execute(releaseDescriptor, releaseEnvironment, reactorProjects, context);
+            context.getMetrics().record("phase." + name, System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            event.succeeded();
+            return phaseResult;
+        }
+    }
+
+    /**
+     * Whether the goals run a phase of the clean lifecycle or the clean plugin, which delete the target directory where
+     * the perform checks out the release by default.
+     */
+    private static boolean isCleaning(String goals) {
+        for (String goal : StringUtils.split(StringUtils.defaultString(goals), " \t\n\r,")) {
+            boolean cleaning;
+            if (goal.indexOf(':') < 0) {
+                // pre-clean, clean or post-clean
+                cleaning = goal.endsWith("clean");
+            } else {
+                cleaning = goal.startsWith("clean:") || goal.contains("maven-clean-plugin:");
+            }
+            if (cleaning) {
+                return true;
             }
         }
+        return false;
+    }
+
+    /**
+     * Creates the context shared by the phases of a goal, with an executor bounded by the available processors, and
+     * indexes the reactor of the goal in it.
+     */
+    private static DefaultReleaseExecutionContext createExecutionContext(String goal, AbstractReleaseRequest request) {
+        DefaultReleaseExecutionContext context =
+                new DefaultReleaseExecutionContext(goal, Runtime.getRuntime().availableProcessors());
+        ReactorIndex.of(request.getReactorProjects(), context);
+        return context;
     }
 
     void goalStart(ReleaseManagerListener listener, String goal, List<String> phases) {
@@ -563,6 +804,20 @@ public class DefaultReleaseManager implements ReleaseManager {
         return strategy;
     }
 
+    private ReleasePhase getPhase(String name) throws ReleaseExecutionException {
+        long start = System.nanoTime();
+        ReleasePhase phase = releasePhases.get(name);
+        if (phase == null) {
+            throw new ReleaseExecutionException("Unable to find phase '" + name + "' to execute");
+        }
+        if (logger.isDebugEnabled()) {
+            // the first lookup of a phase creates it, with its dependencies
+            logger.debug("Looked up phase '" + name + "' in " + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)
+                    + " ms");
+        }
+        return phase;
+    }
+
     private List<String> getGoalPhases(Strategy strategy, String goal) {
         List<String> phases;
 
@@ -615,4 +870,197 @@ public class DefaultReleaseManager implements ReleaseManager {
 
         result.setResultCode(ReleaseResult.ERROR);
     }
+
+    private static ReleaseManagerListener synchronizedListener(ReleaseManagerListener listener, Object lock) {
+        return listener != null ? new SynchronizedReleaseManagerListener(listener, lock) : null;
+    }
+
+    /**
+     * Forwards the events to a listener while holding a lock, so that goals running alongside each other can report to
+     * the same listener, which is usually not thread-safe.
+     */
+    private static class SynchronizedReleaseManagerListener implements ReleaseManagerListener {
+        private final ReleaseManagerListener delegate;
+
+        private final Object lock;
+
+        SynchronizedReleaseManagerListener(ReleaseManagerListener delegate, Object lock) {
+            this.delegate = delegate;
+            this.lock = lock;
+        }
+
+        @Override
+        public void goalStart(String goal, List<String> phases) {
+            synchronized (lock) {
+                delegate.goalStart(goal, phases);
+            }
+        }
+
+        @Override
+        public void phaseStart(String name) {
+            synchronized (lock) {
+                delegate.phaseStart(name);
+            }
+        }
+
+        @Override
+        public void phaseEnd() {
+            synchronized (lock) {
+                delegate.phaseEnd();
+            }
+        }
+
+        @Override
+        public void phaseSkip(String name) {
+            synchronized (lock) {
+                delegate.phaseSkip(name);
+            }
+        }
+
+        @Override
+        public void goalEnd() {
+            synchronized (lock) {
+                delegate.goalEnd();
+            }
+        }
+
+        @Override
+        public void error(String reason) {
+            synchronized (lock) {
+                delegate.error(reason);
+            }
+        }
+    }
+
+    /**
+     * The perform of a release, which runs on its own thread from the moment the release is tagged, while the
+     * preparation continues with the development versions. Each side stops at its next phase once the other one
+     * failed.
+     */
+    private class OverlappedPerform {
+        /**
+         * The phase of the preparation after which the release can be performed.
+         */
+        static final String TAG_PHASE = "scm-tag";
+
+        private final ReleasePerformRequest performRequest;
+
+        private final AtomicBoolean failed = new AtomicBoolean();
+
+        private volatile boolean publishing;
+
+        private volatile boolean performFailedFirst;
+
+        private ReleaseResult performResult;
+
+        private ExecutorService executor;
+
+        private Future<ReleaseResult> future;
+
+        private final ReleaseManagerListener listener;
+
+        OverlappedPerform(ReleasePerformRequest performRequest, ReleaseManagerListener listener) {
+            this.performRequest = performRequest;
+            this.listener = listener;
+        }
+
+        void start(ReleaseResult result) throws ReleaseExecutionException {
+            if (future != null) {
+                return;
+            }
+
+            // the builder is often shared with the preparation, which must not see the stored state read into it
+            final ReleasePerformRequest request = new ReleasePerformRequest();
+            request.setReleaseDescriptorBuilder(
+                    performRequest.getReleaseDescriptorBuilder().copy());
+            request.setReactorProjects(performRequest.getReactorProjects());
+            request.setReleaseManagerListener(listener);
+            request.setReleaseEnvironment(performRequest.getReleaseEnvironment());
+            request.setDryRun(performRequest.getDryRun());
+            request.setClean(performRequest.getClean());
+
+            // the stored state at this point is the one of the tagged release, which is performed like from a tag
+            ReleaseDescriptorBuilder builder = createPerformDescriptorBuilder(request);
+            builder.setCompletedPhase(null);
+            final ReleaseDescriptor releaseDescriptor = builder.build();
+
+            logInfo(result, "Starting the release perform while the preparation continues");
+
+            final ReleaseResult overlappedResult = new ReleaseResult();
+            performResult = overlappedResult;
+            executor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+                @Override
+                public Thread newThread(Runnable r) {
+                    Thread thread = new Thread(r, "release-perform");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+            future = executor.submit(new Callable<ReleaseResult>() {
+                @Override
+                public ReleaseResult call() throws Exception {
+                    try {
+                        perform(request, releaseDescriptor, overlappedResult, OverlappedPerform.this);
+                    } catch (Exception e) {
+                        performFailedFirst = failed.compareAndSet(false, true);
+                        throw e;
+                    }
+                    goalEnd(request.getReleaseManagerListener());
+                    return overlappedResult;
+                }
+            });
+        }
+
+        /**
+         * Waits for the perform to finish, and appends its output to the given result.
+         *
+         * @return the failure of the perform, if any
+         */
+        Exception await(ReleaseResult result) {
+            if (future == null) {
+                return null;
+            }
+
+            try {
+                future.get();
+                return null;
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                return cause instanceof Exception
+                        ? (Exception) cause
+                        : new ReleaseExecutionException(cause.getMessage(), cause);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                setFailed();
+                return new ReleaseExecutionException("Interrupted while waiting for the release perform", e);
+            } finally {
+                executor.shutdown();
+                result.appendOutput(performResult.getOutput());
+            }
+        }
+
+        boolean isStarted() {
+            return future != null;
+        }
+
+        boolean isFailed() {
+            return failed.get();
+        }
+
+        void setFailed() {
+            failed.set(true);
+        }
+
+        boolean isPerformFailedFirst() {
+            return performFailedFirst;
+        }
+
+        boolean isPublishing() {
+            return publishing;
+        }
+
+        void setPublishing() {
+            publishing = true;
+        }
+    }
 }
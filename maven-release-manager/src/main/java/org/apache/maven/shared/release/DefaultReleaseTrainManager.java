@@ -0,0 +1,268 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.shared.release;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.lang3.BooleanUtils;
+import org.apache.maven.artifact.ArtifactUtils;
+import org.apache.maven.project.MavenProject;
+import org.apache.maven.shared.release.config.ReleaseDescriptor;
+import org.apache.maven.shared.release.config.ReleaseDescriptorBuilder;
+import org.apache.maven.shared.release.util.ReleaseUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Default implementation of the release train: reactors are released as soon as all reactors they depend on are
+ * released, using at most the requested number of threads.
+ *
+ * @since 3.0.1
+ */
+@Singleton
+@Named
+public class DefaultReleaseTrainManager implements ReleaseTrainManager {
+    private static final Logger LOGGER = LoggerFactory.getLogger(DefaultReleaseTrainManager.class);
+
+    private final ReleaseManager releaseManager;
+
+    @Inject
+    public DefaultReleaseTrainManager(ReleaseManager releaseManager) {
+        this.releaseManager = requireNonNull(releaseManager);
+    }
+
+    @Override
+    public List<List<ReleaseTrainReactor>> getReleaseOrder(List<ReleaseTrainReactor> reactors)
+            throws ReleaseFailureException {
+        Map<ReleaseTrainReactor, Set<ReleaseTrainReactor>> upstreams = getUpstreams(reactors);
+
+        List<List<ReleaseTrainReactor>> waves = new ArrayList<>();
+        Set<ReleaseTrainReactor> released = new LinkedHashSet<>();
+        while (released.size() < reactors.size()) {
+            List<ReleaseTrainReactor> wave = new ArrayList<>();
+            for (ReleaseTrainReactor reactor : reactors) {
+                if (!released.contains(reactor) && released.containsAll(upstreams.get(reactor))) {
+                    wave.add(reactor);
+                }
+            }
+
+            if (wave.isEmpty()) {
+                List<ReleaseTrainReactor> remaining = new ArrayList<>(reactors);
+                remaining.removeAll(released);
+                throw new ReleaseFailureException(
+                        "The reactors of the release train depend on each other in a cycle: " + remaining);
+            }
+
+            released.addAll(wave);
+            waves.add(wave);
+        }
+        return waves;
+    }
+
+    @Override
+    public void release(ReleaseTrainRequest trainRequest) throws ReleaseExecutionException, ReleaseFailureException {
+        List<ReleaseTrainReactor> reactors = trainRequest.getReactors();
+
+        List<List<ReleaseTrainReactor>> waves = getReleaseOrder(reactors);
+        for (int i = 0; i < waves.size(); i++) {
+            LOGGER.info("Release train wave {}: {}", i + 1, waves.get(i));
+        }
+
+        Map<ReleaseTrainReactor, Set<ReleaseTrainReactor>> upstreams = getUpstreams(reactors);
+        Map<ReleaseTrainReactor, Set<ReleaseTrainReactor>> downstreams = new HashMap<>();
+        Map<ReleaseTrainReactor, Integer> pending = new HashMap<>();
+        for (ReleaseTrainReactor reactor : reactors) {
+            downstreams.put(reactor, new LinkedHashSet<ReleaseTrainReactor>());
+        }
+        for (ReleaseTrainReactor reactor : reactors) {
+            pending.put(reactor, upstreams.get(reactor).size());
+            for (ReleaseTrainReactor upstream : upstreams.get(reactor)) {
+                downstreams.get(upstream).add(reactor);
+            }
+        }
+
+        ExecutorService executor =
+                Executors.newFixedThreadPool(Math.max(1, trainRequest.getThreads()), new ThreadFactory() {
+                    private final AtomicInteger count = new AtomicInteger();
+
+                    @Override
+                    public Thread newThread(Runnable r) {
+                        Thread thread = new Thread(r, "release-train-" + count.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    }
+                });
+        CompletionService<ReleaseTrainReactor> completionService = new ExecutorCompletionService<>(executor);
+
+        Throwable failure = null;
+        try {
+            int running = 0;
+            for (ReleaseTrainReactor reactor : reactors) {
+                if (pending.get(reactor) == 0) {
+                    completionService.submit(newReleaseTask(reactor));
+                    running++;
+                }
+            }
+
+            // the versions are mapped by this thread only, before a downstream reactor is submitted
+            while (running > 0) {
+                ReleaseTrainReactor released;
+                try {
+                    released = completionService.take().get();
+                } catch (ExecutionException e) {
+                    if (failure == null) {
+                        failure = e.getCause();
+                    }
+                    running--;
+                    continue;
+                }
+                running--;
+
+                for (ReleaseTrainReactor downstream : downstreams.get(released)) {
+                    mapReleasedVersions(released, downstream);
+
+                    int remaining = pending.get(downstream) - 1;
+                    pending.put(downstream, remaining);
+                    if (remaining == 0 && failure == null) {
+                        completionService.submit(newReleaseTask(downstream));
+                        running++;
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ReleaseExecutionException("Interrupted while waiting for the release train", e);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        if (failure instanceof ReleaseFailureException) {
+            throw (ReleaseFailureException) failure;
+        } else if (failure instanceof ReleaseExecutionException) {
+            throw (ReleaseExecutionException) failure;
+        } else if (failure != null) {
+            throw new ReleaseExecutionException("Error releasing the release train: " + failure.getMessage(), failure);
+        }
+    }
+
+    private Callable<ReleaseTrainReactor> newReleaseTask(final ReleaseTrainReactor reactor) {
+        return new Callable<ReleaseTrainReactor>() {
+            @Override
+            public ReleaseTrainReactor call() throws Exception {
+                LOGGER.info("Releasing reactor {}", reactor);
+
+                ReleasePrepareRequest prepareRequest = reactor.getPrepareRequest();
+                releaseManager.prepare(prepareRequest);
+
+                ReleasePerformRequest performRequest = reactor.getPerformRequest();
+                if (performRequest != null && !BooleanUtils.isTrue(prepareRequest.getDryRun())) {
+                    releaseManager.perform(performRequest);
+                }
+
+                LOGGER.info("Released reactor {}", reactor);
+                return reactor;
+            }
+        };
+    }
+
+    private static void mapReleasedVersions(ReleaseTrainReactor upstream, ReleaseTrainReactor downstream) {
+        ReleaseDescriptor released =
+                upstream.getPrepareRequest().getReleaseDescriptorBuilder().build();
+        ReleaseDescriptorBuilder builder = downstream.getPrepareRequest().getReleaseDescriptorBuilder();
+
+        Set<String> keys = new LinkedHashSet<>(getProducedKeys(upstream));
+        keys.retainAll(getConsumedKeys(downstream));
+        for (String key : keys) {
+            String releaseVersion = released.getProjectReleaseVersion(key);
+            if (releaseVersion != null) {
+                builder.addDependencyReleaseVersion(key, releaseVersion);
+            }
+            String developmentVersion = released.getProjectDevelopmentVersion(key);
+            if (developmentVersion != null) {
+                builder.addDependencyDevelopmentVersion(key, developmentVersion);
+            }
+            LOGGER.debug(
+                    "Mapped {} to {} (next {}) for reactor {}", key, releaseVersion, developmentVersion, downstream);
+        }
+    }
+
+    private static Map<ReleaseTrainReactor, Set<ReleaseTrainReactor>> getUpstreams(List<ReleaseTrainReactor> reactors)
+            throws ReleaseFailureException {
+        Map<String, ReleaseTrainReactor> producers = new HashMap<>();
+        for (ReleaseTrainReactor reactor : reactors) {
+            for (String key : getProducedKeys(reactor)) {
+                ReleaseTrainReactor previous = producers.put(key, reactor);
+                if (previous != null && previous != reactor) {
+                    throw new ReleaseFailureException(
+                            "Project '" + key + "' is part of the reactors " + previous + " and " + reactor);
+                }
+            }
+        }
+
+        Map<ReleaseTrainReactor, Set<ReleaseTrainReactor>> upstreams = new LinkedHashMap<>();
+        for (ReleaseTrainReactor reactor : reactors) {
+            Set<ReleaseTrainReactor> reactorUpstreams = new LinkedHashSet<>();
+            for (String key : getConsumedKeys(reactor)) {
+                ReleaseTrainReactor producer = producers.get(key);
+                if (producer != null && producer != reactor) {
+                    reactorUpstreams.add(producer);
+                }
+            }
+            upstreams.put(reactor, Collections.unmodifiableSet(reactorUpstreams));
+        }
+        return upstreams;
+    }
+
+    private static Set<String> getProducedKeys(ReleaseTrainReactor reactor) {
+        Set<String> keys = new LinkedHashSet<>();
+        for (MavenProject project : reactor.getPrepareRequest().getReactorProjects()) {
+            keys.add(ArtifactUtils.versionlessKey(project.getGroupId(), project.getArtifactId()));
+        }
+        return keys;
+    }
+
+    private static Set<String> getConsumedKeys(ReleaseTrainReactor reactor) {
+        Set<String> keys = new LinkedHashSet<>();
+        for (MavenProject project : reactor.getPrepareRequest().getReactorProjects()) {
+            keys.addAll(ReleaseUtil.getReferencedProjectKeys(project));
+        }
+        return keys;
+    }
+}
@@ -60,6 +60,38 @@ public interface ReleaseManager {
      */
     void perform(ReleasePerformRequest performRequest) throws ReleaseExecutionException, ReleaseFailureException;
 
+    /**
+     * Prepare and perform a release. The perform starts as soon as the release is tagged, and runs on its own thread
+     * while the preparation continues with the development versions. If either side fails, the other one stops at its
+     * next phase, and the release is rolled back unless artifacts may have been deployed already.
+     * <p>
+     * The perform reports to the listener of the perform request, which should not be the one of the prepare request
+     * unless it is thread-safe.
+     * <p>
+     * This is only available to the users of this API, no goal of the plugin runs it. Since the completion goals of the
+     * preparation run while the release is performed from its checkout, in the target directory by default, they must
+     * not clean the project: the release is refused if they do.
+     *
+     * @param prepareRequest all prepare arguments
+     * @param performRequest all perform arguments
+     * @throws org.apache.maven.shared.release.ReleaseExecutionException if there is a problem performing the release
+     * @throws org.apache.maven.shared.release.ReleaseFailureException   if there is a problem performing the release
+     * @since 3.0.1
+     */
+    void prepareAndPerform(ReleasePrepareRequest prepareRequest, ReleasePerformRequest performRequest)
+            throws ReleaseExecutionException, ReleaseFailureException;
+
+    /**
+     * <p>prepareAndPerformWithResult.</p>
+     *
+     * @param prepareRequest a {@link org.apache.maven.shared.release.ReleasePrepareRequest} object
+     * @param performRequest a {@link org.apache.maven.shared.release.ReleasePerformRequest} object
+     * @return a {@link org.apache.maven.shared.release.ReleaseResult} object
+     * @since 3.0.1
+     */
+    ReleaseResult prepareAndPerformWithResult(
+            ReleasePrepareRequest prepareRequest, ReleasePerformRequest performRequest);
+
     /**
      * Clean a release.
      *
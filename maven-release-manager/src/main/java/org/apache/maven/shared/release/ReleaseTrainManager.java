@@ -0,0 +1,48 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.shared.release;
+
+import java.util.List;
+
+/**
+ * Releases several reactors which depend on each other, in the order of their dependencies.
+ *
+ * @since 3.0.1
+ */
+public interface ReleaseTrainManager {
+    /**
+     * Infers the release order of the reactors from their inter-reactor dependencies.
+     *
+     * @param reactors the reactors of the train
+     * @return the reactors grouped in waves: the reactors of a wave only depend on reactors of previous waves
+     * @throws ReleaseFailureException if the reactors depend on each other in a cycle
+     */
+    List<List<ReleaseTrainReactor>> getReleaseOrder(List<ReleaseTrainReactor> reactors) throws ReleaseFailureException;
+
+    /**
+     * Releases all reactors of the train. Independent reactors are released in parallel, and the versions released
+     * by a reactor are mapped as resolved dependency versions of the reactors depending on it.
+     *
+     * @param trainRequest the release train request
+     * @throws ReleaseExecutionException if an exception occurred while releasing a reactor
+     * @throws ReleaseFailureException   if the release of a reactor failed, the reactors depending on it are not
+     *                                   released
+     */
+    void release(ReleaseTrainRequest trainRequest) throws ReleaseExecutionException, ReleaseFailureException;
+}
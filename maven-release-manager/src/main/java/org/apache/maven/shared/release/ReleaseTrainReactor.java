@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.shared.release;
+
+import java.util.List;
+
+import org.apache.maven.artifact.ArtifactUtils;
+import org.apache.maven.project.MavenProject;
+import org.apache.maven.shared.release.util.ReleaseUtil;
+
+/**
+ * One reactor of a release train: the requests used to prepare and, optionally, perform its release.
+ *
+ * @since 3.0.1
+ */
+public class ReleaseTrainReactor {
+    private String name;
+
+    private ReleasePrepareRequest prepareRequest;
+
+    private ReleasePerformRequest performRequest;
+
+    /**
+     * <p>Getter for the field <code>name</code>.</p>
+     *
+     * @return the name, defaults to the key of the root project of the reactor
+     */
+    public String getName() {
+        if (name == null && prepareRequest != null) {
+            List<MavenProject> reactorProjects = prepareRequest.getReactorProjects();
+            if (reactorProjects != null && !reactorProjects.isEmpty()) {
+                MavenProject rootProject = ReleaseUtil.getRootProject(reactorProjects);
+                return ArtifactUtils.versionlessKey(rootProject.getGroupId(), rootProject.getArtifactId());
+            }
+        }
+        return name;
+    }
+
+    /**
+     * <p>Setter for the field <code>name</code>.</p>
+     *
+     * @param name the name to set
+     */
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    /**
+     * <p>Getter for the field <code>prepareRequest</code>.</p>
+     *
+     * @return the prepareRequest
+     */
+    public ReleasePrepareRequest getPrepareRequest() {
+        return prepareRequest;
+    }
+
+    /**
+     * <p>Setter for the field <code>prepareRequest</code>.</p>
+     *
+     * @param prepareRequest the prepareRequest to set, its reactor projects define the reactor
+     */
+    public void setPrepareRequest(ReleasePrepareRequest prepareRequest) {
+        this.prepareRequest = prepareRequest;
+    }
+
+    /**
+     * <p>Getter for the field <code>performRequest</code>.</p>
+     *
+     * @return the performRequest
+     */
+    public ReleasePerformRequest getPerformRequest() {
+        return performRequest;
+    }
+
+    /**
+     * <p>Setter for the field <code>performRequest</code>.</p>
+     *
+     * @param performRequest the performRequest to set, or <code>null</code> to only prepare the release
+     */
+    public void setPerformRequest(ReleasePerformRequest performRequest) {
+        this.performRequest = performRequest;
+    }
+
+    @Override
+    public String toString() {
+        return getName();
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.shared.release;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Request to release several reactors which depend on each other.
+ *
+ * @since 3.0.1
+ */
+public class ReleaseTrainRequest {
+    private List<ReleaseTrainReactor> reactors = new ArrayList<>();
+
+    private int threads = 1;
+
+    /**
+     * <p>Getter for the field <code>reactors</code>.</p>
+     *
+     * @return the reactors
+     */
+    public List<ReleaseTrainReactor> getReactors() {
+        return reactors;
+    }
+
+    /**
+     * <p>Setter for the field <code>reactors</code>.</p>
+     *
+     * @param reactors the reactors to set
+     */
+    public void setReactors(List<ReleaseTrainReactor> reactors) {
+        this.reactors = reactors;
+    }
+
+    /**
+     * <p>addReactor.</p>
+     *
+     * @param reactor the reactor to add
+     */
+    public void addReactor(ReleaseTrainReactor reactor) {
+        this.reactors.add(reactor);
+    }
+
+    /**
+     * <p>Getter for the field <code>threads</code>.</p>
+     *
+     * @return the maximum number of reactors released at the same time
+     */
+    public int getThreads() {
+        return threads;
+    }
+
+    /**
+     * <p>Setter for the field <code>threads</code>.</p>
+     *
+     * @param threads the maximum number of reactors released at the same time
+     */
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+}
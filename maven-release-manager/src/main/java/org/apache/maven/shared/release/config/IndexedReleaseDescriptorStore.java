@@ -0,0 +1,588 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.shared.release.config;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.apache.maven.model.Scm;
+import org.apache.maven.shared.release.config.ReleaseDescriptorBuilder.BuilderReleaseDescriptor;
+import org.apache.maven.shared.release.scm.IdentifiedScm;
+import org.apache.maven.shared.release.util.MavenCrypto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Read and write release configuration and state from a compact binary file. The file holds the same entries as
+ * <code>release.properties</code>, but the per project entries are grouped in one record per project and indexed by
+ * the versionless key. Reading is a single pass without any key pattern matching, and {@link #open(File)} gives
+ * access to single projects without decoding the other records. The format can be converted to and from the
+ * properties format without loss with {@link #toProperties(File)} and {@link #fromProperties(Properties, File)}.
+ *
+ * @since 3.0.1
+ */
+@Singleton
+@Named("indexed")
+public class IndexedReleaseDescriptorStore implements ReleaseDescriptorStore {
+    /**
+     * The file name used in the working directory.
+     */
+    public static final String FILE_NAME = "release.idx";
+
+    private static final int MAGIC = 0x4d524958; // "MRIX"
+
+    private static final int FORMAT_VERSION = 1;
+
+    private static final int PROJECT_RELEASE = 0;
+
+    private static final int PROJECT_DEVELOPMENT = 1;
+
+    private static final int DEPENDENCY_RELEASE = 2;
+
+    private static final int DEPENDENCY_DEVELOPMENT = 3;
+
+    /**
+     * The suffixes of the <code>project.scm.</code> entries, the field id is the index plus {@link #SCM_FIELDS}.
+     */
+    private static final String[] SCM_SUFFIXES = {"connection", "developerConnection", "url", "tag", "id", "empty"};
+
+    private static final int SCM_FIELDS = 4;
+
+    private static final int SCM_EMPTY = SCM_FIELDS + 5;
+
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
+    private final PropertiesReleaseDescriptorStore propertiesStore;
+
+    @Inject
+    public IndexedReleaseDescriptorStore(MavenCrypto mavenCrypto) {
+        this.propertiesStore = new PropertiesReleaseDescriptorStore(requireNonNull(mavenCrypto));
+    }
+
+    @Override
+    public ReleaseDescriptorBuilder read(ReleaseDescriptorBuilder mergeDescriptor)
+            throws ReleaseDescriptorStoreException {
+        ReleaseDescriptorBuilder builder = mergeDescriptor != null ? mergeDescriptor : new ReleaseDescriptorBuilder();
+        return read(builder, getDefaultReleaseIndexFile(builder.build()));
+    }
+
+    /**
+     * <p>read.</p>
+     *
+     * @param mergeDescriptor a {@link org.apache.maven.shared.release.config.ReleaseDescriptorBuilder} object
+     * @param file            a {@link java.io.File} object
+     * @return a {@link org.apache.maven.shared.release.config.ReleaseDescriptorBuilder} object
+     * @throws org.apache.maven.shared.release.config.ReleaseDescriptorStoreException if any.
+     */
+    public ReleaseDescriptorBuilder read(ReleaseDescriptorBuilder mergeDescriptor, File file)
+            throws ReleaseDescriptorStoreException {
+        ReleaseDescriptorBuilder builder;
+        if (mergeDescriptor != null) {
+            builder = mergeDescriptor;
+        } else {
+            builder = new ReleaseDescriptorBuilder();
+        }
+
+        if (!file.exists()) {
+            logger.debug(file.getName() + " not found - using empty configuration");
+            return builder;
+        }
+
+        Index index = open(file);
+
+        Properties properties = index.getProperties();
+        propertiesStore.decryptProperties(properties);
+        ReleaseUtils.copyPropertiesToReleaseDescriptor(properties, builder);
+
+        // the records are stored back to back, so this is a single sequential pass
+        for (String key : index.getKeys()) {
+            index.readRecord(key).applyTo(key, builder);
+        }
+
+        return builder;
+    }
+
+    @Override
+    public void write(ReleaseDescriptor config) throws ReleaseDescriptorStoreException {
+        write((BuilderReleaseDescriptor) config, getDefaultReleaseIndexFile(config));
+    }
+
+    /**
+     * <p>write.</p>
+     *
+     * @param config a {@link org.apache.maven.shared.release.config.ReleaseDescriptorBuilder.BuilderReleaseDescriptor}
+     *               object
+     * @param file   a {@link java.io.File} object
+     * @throws org.apache.maven.shared.release.config.ReleaseDescriptorStoreException if any.
+     */
+    public void write(BuilderReleaseDescriptor config, File file) throws ReleaseDescriptorStoreException {
+        fromProperties(propertiesStore.toProperties(config), file);
+    }
+
+    @Override
+    public void delete(ReleaseDescriptor config) {
+        File file = getDefaultReleaseIndexFile(config);
+        if (file.exists()) {
+            file.delete();
+        }
+    }
+
+    /**
+     * Opens the file for lazy access: only the plain entries and the index are decoded, the project records are
+     * decoded when asked for.
+     *
+     * @param file the file to open
+     * @return the index
+     * @throws org.apache.maven.shared.release.config.ReleaseDescriptorStoreException if any.
+     */
+    public static Index open(File file) throws ReleaseDescriptorStoreException {
+        try {
+            return new Index(ByteBuffer.wrap(Files.readAllBytes(file.toPath())));
+        } catch (IOException e) {
+            throw new ReleaseDescriptorStoreException(
+                    "Error reading release index file '" + file.getName() + "': " + e.getMessage(), e);
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            throw new ReleaseDescriptorStoreException("Corrupt release index file '" + file.getName() + "'", e);
+        }
+    }
+
+    /**
+     * Converts a file to the properties as they would be stored in <code>release.properties</code>.
+     *
+     * @param file the file to convert
+     * @return the properties
+     * @throws org.apache.maven.shared.release.config.ReleaseDescriptorStoreException if any.
+     */
+    public static Properties toProperties(File file) throws ReleaseDescriptorStoreException {
+        Index index = open(file);
+        Properties properties = index.getProperties();
+        for (String key : index.getKeys()) {
+            index.readRecord(key).copyTo(key, properties);
+        }
+        return properties;
+    }
+
+    /**
+     * Writes properties as stored in <code>release.properties</code> to a file.
+     *
+     * @param properties the properties to convert
+     * @param file       the file to write
+     * @throws org.apache.maven.shared.release.config.ReleaseDescriptorStoreException if any.
+     */
+    public static void fromProperties(Properties properties, File file) throws ReleaseDescriptorStoreException {
+        Map<String, String> plain = new TreeMap<>();
+        Map<String, Record> records = new TreeMap<>();
+        Set<String> scmKeys = new HashSet<>();
+
+        for (String name : properties.stringPropertyNames()) {
+            String value = properties.getProperty(name);
+            if (!addToRecord(name, value, records, scmKeys)) {
+                plain.put(name, value);
+            }
+        }
+
+        // SCM info with unknown entries must stay together, otherwise reading it would give another result
+        for (String name : new ArrayList<>(plain.keySet())) {
+            if (name.startsWith("project.scm.")) {
+                String rest = name.substring("project.scm.".length());
+                int index = rest.lastIndexOf('.');
+                if (index > 0 && scmKeys.contains(rest.substring(0, index))) {
+                    moveScmToPlain(rest.substring(0, index), records, plain);
+                }
+            }
+        }
+
+        try {
+            ByteArrayOutputStream recordBytes = new ByteArrayOutputStream();
+            DataOutputStream recordOut = new DataOutputStream(recordBytes);
+            Map<String, Integer> offsets = new HashMap<>();
+            for (Map.Entry<String, Record> entry : records.entrySet()) {
+                if (!entry.getValue().isEmpty()) {
+                    offsets.put(entry.getKey(), recordOut.size());
+                    entry.getValue().writeTo(recordOut);
+                }
+            }
+            recordOut.flush();
+
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT_VERSION);
+
+                out.writeInt(plain.size());
+                for (Map.Entry<String, String> entry : plain.entrySet()) {
+                    writeString(out, entry.getKey());
+                    writeString(out, entry.getValue());
+                }
+
+                out.writeInt(offsets.size());
+                for (Map.Entry<String, Record> entry : records.entrySet()) {
+                    Integer offset = offsets.get(entry.getKey());
+                    if (offset != null) {
+                        writeString(out, entry.getKey());
+                        out.writeInt(offset);
+                    }
+                }
+
+                recordBytes.writeTo(out);
+            }
+        } catch (IOException e) {
+            throw new ReleaseDescriptorStoreException(
+                    "Error writing release index file '" + file.getName() + "': " + e.getMessage(), e);
+        }
+    }
+
+    private static boolean addToRecord(String name, String value, Map<String, Record> records, Set<String> scmKeys) {
+        String key;
+        int field;
+        if (name.startsWith("project.rel.")) {
+            key = name.substring("project.rel.".length());
+            field = PROJECT_RELEASE;
+        } else if (name.startsWith("project.dev.")) {
+            key = name.substring("project.dev.".length());
+            field = PROJECT_DEVELOPMENT;
+        } else if (name.startsWith("dependency.") && name.endsWith(".release")) {
+            key = name.substring("dependency.".length(), name.length() - ".release".length());
+            field = isPlainDependencyKey(key) ? DEPENDENCY_RELEASE : -1;
+        } else if (name.startsWith("dependency.") && name.endsWith(".development")) {
+            key = name.substring("dependency.".length(), name.length() - ".development".length());
+            field = isPlainDependencyKey(key) ? DEPENDENCY_DEVELOPMENT : -1;
+        } else if (name.startsWith("project.scm.")) {
+            String rest = name.substring("project.scm.".length());
+            int index = rest.lastIndexOf('.');
+            key = index > 0 ? rest.substring(0, index) : "";
+            field = index > 0 ? scmField(rest.substring(index + 1)) : -1;
+            if (field >= 0) {
+                scmKeys.add(key);
+            }
+        } else {
+            return false;
+        }
+
+        if (field < 0 || key.isEmpty()) {
+            return false;
+        }
+
+        Record record = records.get(key);
+        if (record == null) {
+            record = new Record();
+            records.put(key, record);
+        }
+        record.values[field] = value;
+        return true;
+    }
+
+    /**
+     * Dependency keys which {@link ReleaseUtils} would interpret in another way stay plain entries.
+     */
+    private static boolean isPlainDependencyKey(String key) {
+        return !key.contains(".release")
+                && !key.contains(".development")
+                && !key.startsWith("rel.")
+                && !key.startsWith("dev.");
+    }
+
+    private static int scmField(String suffix) {
+        for (int i = 0; i < SCM_SUFFIXES.length; i++) {
+            if (SCM_SUFFIXES[i].equals(suffix)) {
+                return SCM_FIELDS + i;
+            }
+        }
+        return -1;
+    }
+
+    private static void moveScmToPlain(String key, Map<String, Record> records, Map<String, String> plain) {
+        Record record = records.get(key);
+        if (record != null) {
+            for (int field = SCM_FIELDS; field < record.values.length; field++) {
+                if (record.values[field] != null) {
+                    plain.put(Record.propertyName(key, field), record.values[field]);
+                    record.values[field] = null;
+                }
+            }
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        String value = new String(buffer.array(), buffer.position(), length, StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + length);
+        return value;
+    }
+
+    private static File getDefaultReleaseIndexFile(ReleaseDescriptor mergeDescriptor) {
+        return new File(mergeDescriptor.getWorkingDirectory(), FILE_NAME);
+    }
+
+    /**
+     * The entries of one project, by field id.
+     */
+    static final class Record {
+        private final String[] values = new String[SCM_FIELDS + SCM_SUFFIXES.length];
+
+        boolean isEmpty() {
+            for (String value : values) {
+                if (value != null) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        String get(int field) {
+            return values[field];
+        }
+
+        private boolean hasScm() {
+            for (int field = SCM_FIELDS; field < values.length; field++) {
+                if (values[field] != null) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        Scm getScm() {
+            if (!hasScm() || values[SCM_EMPTY] != null) {
+                return null;
+            }
+            IdentifiedScm scm = new IdentifiedScm();
+            scm.setConnection(values[SCM_FIELDS]);
+            scm.setDeveloperConnection(values[SCM_FIELDS + 1]);
+            scm.setUrl(values[SCM_FIELDS + 2]);
+            scm.setTag(values[SCM_FIELDS + 3]);
+            scm.setId(values[SCM_FIELDS + 4]);
+            return scm;
+        }
+
+        void applyTo(String key, ReleaseDescriptorBuilder builder) {
+            if (values[PROJECT_RELEASE] != null) {
+                builder.addReleaseVersion(key, values[PROJECT_RELEASE]);
+            }
+            if (values[PROJECT_DEVELOPMENT] != null) {
+                builder.addDevelopmentVersion(key, values[PROJECT_DEVELOPMENT]);
+            }
+            if (values[DEPENDENCY_RELEASE] != null) {
+                builder.addDependencyReleaseVersion(key, values[DEPENDENCY_RELEASE]);
+            }
+            if (values[DEPENDENCY_DEVELOPMENT] != null) {
+                builder.addDependencyDevelopmentVersion(key, values[DEPENDENCY_DEVELOPMENT]);
+            }
+            if (hasScm() && builder.build().getOriginalScmInfo(key) == null) {
+                builder.addOriginalScmInfo(key, getScm());
+            }
+        }
+
+        void copyTo(String key, Properties properties) {
+            for (int field = 0; field < values.length; field++) {
+                if (values[field] != null) {
+                    properties.setProperty(propertyName(key, field), values[field]);
+                }
+            }
+        }
+
+        static String propertyName(String key, int field) {
+            switch (field) {
+                case PROJECT_RELEASE:
+                    return "project.rel." + key;
+                case PROJECT_DEVELOPMENT:
+                    return "project.dev." + key;
+                case DEPENDENCY_RELEASE:
+                    return "dependency." + key + ".release";
+                case DEPENDENCY_DEVELOPMENT:
+                    return "dependency." + key + ".development";
+                default:
+                    return "project.scm." + key + "." + SCM_SUFFIXES[field - SCM_FIELDS];
+            }
+        }
+
+        void writeTo(DataOutputStream out) throws IOException {
+            int count = 0;
+            for (String value : values) {
+                if (value != null) {
+                    count++;
+                }
+            }
+            out.writeByte(count);
+            for (int field = 0; field < values.length; field++) {
+                if (values[field] != null) {
+                    out.writeByte(field);
+                    writeString(out, values[field]);
+                }
+            }
+        }
+
+        static Record readFrom(ByteBuffer buffer) {
+            Record record = new Record();
+            int count = buffer.get();
+            for (int i = 0; i < count; i++) {
+                int field = buffer.get();
+                if (field < 0 || field >= record.values.length) {
+                    throw new IllegalArgumentException("Unknown field " + field);
+                }
+                record.values[field] = readString(buffer);
+            }
+            return record;
+        }
+    }
+
+    /**
+     * Lazy view on a release index file.
+     */
+    public static final class Index {
+        private final ByteBuffer buffer;
+
+        private final Properties properties = new Properties();
+
+        private final Map<String, Integer> offsets;
+
+        private final List<String> keys;
+
+        private final int recordsStart;
+
+        Index(ByteBuffer buffer) {
+            this.buffer = buffer;
+
+            if (buffer.getInt() != MAGIC) {
+                throw new IllegalArgumentException("Not a release index file");
+            }
+            int version = buffer.getInt();
+            if (version != FORMAT_VERSION) {
+                throw new IllegalArgumentException("Unsupported release index version " + version);
+            }
+
+            int plainCount = buffer.getInt();
+            for (int i = 0; i < plainCount; i++) {
+                String name = readString(buffer);
+                properties.setProperty(name, readString(buffer));
+            }
+
+            int recordCount = buffer.getInt();
+            offsets = new HashMap<>(recordCount * 2);
+            List<String> keyList = new ArrayList<>(recordCount);
+            for (int i = 0; i < recordCount; i++) {
+                String key = readString(buffer);
+                offsets.put(key, buffer.getInt());
+                keyList.add(key);
+            }
+            keys = Collections.unmodifiableList(keyList);
+            recordsStart = buffer.position();
+        }
+
+        /**
+         * @return the entries which are not specific to a project, as a new properties object
+         */
+        public Properties getProperties() {
+            Properties copy = new Properties();
+            copy.putAll(properties);
+            return copy;
+        }
+
+        /**
+         * @return the versionless keys of the projects and dependencies in the file, in file order
+         */
+        public List<String> getKeys() {
+            return keys;
+        }
+
+        /**
+         * @param key the versionless key
+         * @return the release version of the project, or <code>null</code>
+         */
+        public String getReleaseVersion(String key) {
+            Record record = findRecord(key);
+            return record != null ? record.get(PROJECT_RELEASE) : null;
+        }
+
+        /**
+         * @param key the versionless key
+         * @return the development version of the project, or <code>null</code>
+         */
+        public String getDevelopmentVersion(String key) {
+            Record record = findRecord(key);
+            return record != null ? record.get(PROJECT_DEVELOPMENT) : null;
+        }
+
+        /**
+         * @param key the versionless key
+         * @return the resolved release version of the snapshot dependency, or <code>null</code>
+         */
+        public String getDependencyReleaseVersion(String key) {
+            Record record = findRecord(key);
+            return record != null ? record.get(DEPENDENCY_RELEASE) : null;
+        }
+
+        /**
+         * @param key the versionless key
+         * @return the resolved development version of the snapshot dependency, or <code>null</code>
+         */
+        public String getDependencyDevelopmentVersion(String key) {
+            Record record = findRecord(key);
+            return record != null ? record.get(DEPENDENCY_DEVELOPMENT) : null;
+        }
+
+        /**
+         * @param key the versionless key
+         * @return the original SCM info of the project, or <code>null</code>
+         */
+        public Scm getOriginalScmInfo(String key) {
+            Record record = findRecord(key);
+            return record != null ? record.getScm() : null;
+        }
+
+        private Record findRecord(String key) {
+            Integer offset = offsets.get(key);
+            return offset != null ? readRecord(key) : null;
+        }
+
+        Record readRecord(String key) {
+            ByteBuffer view = buffer.duplicate();
+            view.position(recordsStart + offsets.get(key));
+            return Record.readFrom(view);
+        }
+    }
+}
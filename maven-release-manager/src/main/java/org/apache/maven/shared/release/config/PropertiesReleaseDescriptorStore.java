@@ -98,11 +98,7 @@ public class PropertiesReleaseDescriptorStore implements ReleaseDescriptorStore
                     "Error reading properties file '" + file.getName() + "': " + e.getMessage(), e);
         }
 
-        try {
-            mavenCrypto.decryptProperties(properties);
-        } catch (MavenCryptoException e) {
-            logger.debug(e.getMessage());
-        }
+        decryptProperties(properties);
 
         ReleaseDescriptorBuilder builder;
         if (mergeDescriptor != null) {
@@ -138,12 +134,33 @@ public class PropertiesReleaseDescriptorStore implements ReleaseDescriptorStore
      * @throws org.apache.maven.shared.release.config.ReleaseDescriptorStoreException if any.
      */
     public void write(BuilderReleaseDescriptor config, File file) throws ReleaseDescriptorStoreException {
+        Properties properties = toProperties(config);
+
+        try (OutputStream outStream = new FileOutputStream(file)) {
+            properties.store(outStream, "release configuration");
+        } catch (IOException e) {
+            throw new ReleaseDescriptorStoreException(
+                    "Error writing properties file '" + file.getName() + "': " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Converts the configuration to its properties representation, with the passwords encrypted.
+     *
+     * @param config the configuration
+     * @return the properties
+     */
+    Properties toProperties(BuilderReleaseDescriptor config) {
         Properties properties = new Properties();
         properties.setProperty("completedPhase", config.getCompletedPhase());
         if (config.isCommitByProject()) // default is false
         {
             properties.setProperty("commitByProject", "true");
         }
+        if (config.getCommitByProjectBatchSize() != 1) // default is 1
+        {
+            properties.setProperty("commitByProjectBatchSize", Integer.toString(config.getCommitByProjectBatchSize()));
+        }
         properties.setProperty("scm.url", config.getScmSourceUrl());
         if (config.getScmId() != null) {
             properties.setProperty("scm.id", config.getScmId());
@@ -205,6 +222,9 @@ public class PropertiesReleaseDescriptorStore implements ReleaseDescriptorStore
         if (config.getPomFileName() != null) {
             properties.setProperty("exec.pomFileName", config.getPomFileName());
         }
+        if (config.getModelETL() != null) {
+            properties.setProperty("modelETL", config.getModelETL());
+        }
         if (!config.getActivateProfiles().isEmpty()) {
             properties.setProperty(
                     "exec.activateProfiles",
@@ -213,6 +233,21 @@ public class PropertiesReleaseDescriptorStore implements ReleaseDescriptorStore
         if (config.getPreparationGoals() != null) {
             properties.setProperty("preparationGoals", config.getPreparationGoals());
         }
+        if (config.getPreparationChangedSince() != null) {
+            properties.setProperty("preparationChangedSince", config.getPreparationChangedSince());
+        }
+        if (config.getPreparationProjects() != null) {
+            properties.setProperty("preparationProjects", config.getPreparationProjects());
+        }
+        if (config.isSkipPerformTests()) {
+            properties.setProperty("skipPerformTests", "true");
+        }
+        if (config.getPreparedArtifactsFingerprint() != null) {
+            properties.setProperty("preparedArtifactsFingerprint", config.getPreparedArtifactsFingerprint());
+        }
+        if (config.isPrefetchDependencies()) {
+            properties.setProperty("prefetchDependencies", "true");
+        }
         if (config.getCompletionGoals() != null) {
             properties.setProperty("completionGoals", config.getCompletionGoals());
         }
@@ -295,11 +330,19 @@ public class PropertiesReleaseDescriptorStore implements ReleaseDescriptorStore
             processResolvedDependencies(properties, config.getResolvedSnapshotDependencies());
         }
 
-        try (OutputStream outStream = new FileOutputStream(file)) {
-            properties.store(outStream, "release configuration");
-        } catch (IOException e) {
-            throw new ReleaseDescriptorStoreException(
-                    "Error writing properties file '" + file.getName() + "': " + e.getMessage(), e);
+        return properties;
+    }
+
+    /**
+     * Decrypts the passwords in the properties, if possible.
+     *
+     * @param properties the properties read from a store
+     */
+    void decryptProperties(Properties properties) {
+        try {
+            mavenCrypto.decryptProperties(properties);
+        } catch (MavenCryptoException e) {
+            logger.debug(e.getMessage());
         }
     }
 
@@ -0,0 +1,92 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.shared.release.config;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The coordinates a release can rewrite: the projects with mapped versions and the resolved snapshot dependencies,
+ * grouped by groupId. Any other coordinate can be rejected without interpolating it or looking up its versions.
+ *
+ * @since 3.0.1
+ */
+public final class ReleaseCoordinateIndex {
+    private final Map<String, Set<String>> artifactIdsByGroupId = new HashMap<>();
+
+    private ReleaseCoordinateIndex() {}
+
+    /**
+     * Indexes the project versions and resolved snapshot dependencies of a release descriptor, as they are when called.
+     *
+     * @param releaseDescriptor the release descriptor
+     * @return the index, or <code>null</code> if the descriptor does not expose its versions
+     */
+    public static ReleaseCoordinateIndex of(ReleaseDescriptor releaseDescriptor) {
+        if (!(releaseDescriptor instanceof ModelloReleaseDescriptor)) {
+            return null;
+        }
+        ModelloReleaseDescriptor descriptor = (ModelloReleaseDescriptor) releaseDescriptor;
+
+        ReleaseCoordinateIndex index = new ReleaseCoordinateIndex();
+        index.addAll(descriptor.getProjectVersions().keySet());
+        index.addAll(descriptor.getResolvedSnapshotDependencies().keySet());
+        return index;
+    }
+
+    private void addAll(Set<String> keys) {
+        for (String key : keys) {
+            int separator = key.indexOf(':');
+            if (separator < 0) {
+                continue;
+            }
+            String groupId = key.substring(0, separator);
+            Set<String> artifactIds = artifactIdsByGroupId.get(groupId);
+            if (artifactIds == null) {
+                artifactIds = new HashSet<>();
+                artifactIdsByGroupId.put(groupId, artifactIds);
+            }
+            artifactIds.add(key.substring(separator + 1));
+        }
+    }
+
+    /**
+     * <p>contains.</p>
+     *
+     * @param groupId the groupId
+     * @param artifactId the artifactId
+     * @return <code>true</code> if the release has versions for the coordinate
+     */
+    public boolean contains(String groupId, String artifactId) {
+        Set<String> artifactIds = artifactIdsByGroupId.get(groupId);
+        return artifactIds != null && artifactIds.contains(artifactId);
+    }
+
+    /**
+     * <p>getGroupIds.</p>
+     *
+     * @return the indexed groupIds
+     */
+    public Set<String> getGroupIds() {
+        return Collections.unmodifiableSet(artifactIdsByGroupId.keySet());
+    }
+}
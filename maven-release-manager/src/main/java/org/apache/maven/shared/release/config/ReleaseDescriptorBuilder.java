@@ -165,6 +165,18 @@ public class ReleaseDescriptorBuilder {
         return this;
     }
 
+    /**
+     * <p>setCheckModificationsScopedToModules.</p>
+     *
+     * @param checkModificationsScopedToModules a boolean
+     * @return a {@link org.apache.maven.shared.release.config.ReleaseDescriptorBuilder} object
+     * @since 3.0.1
+     */
+    public ReleaseDescriptorBuilder setCheckModificationsScopedToModules(boolean checkModificationsScopedToModules) {
+        releaseDescriptor.setCheckModificationsScopedToModules(checkModificationsScopedToModules);
+        return this;
+    }
+
     /**
      * <p>setCheckoutDirectory.</p>
      *
@@ -176,6 +188,18 @@ public class ReleaseDescriptorBuilder {
         return this;
     }
 
+    /**
+     * <p>setCheckoutCacheDirectory.</p>
+     *
+     * @param checkoutCacheDirectory a {@link java.lang.String} object
+     * @return a {@link org.apache.maven.shared.release.config.ReleaseDescriptorBuilder} object
+     * @since 3.0.1
+     */
+    public ReleaseDescriptorBuilder setCheckoutCacheDirectory(String checkoutCacheDirectory) {
+        releaseDescriptor.setCheckoutCacheDirectory(checkoutCacheDirectory);
+        return this;
+    }
+
     /**
      * <p>setCommitByProject.</p>
      *
@@ -187,6 +211,18 @@ public class ReleaseDescriptorBuilder {
         return this;
     }
 
+    /**
+     * <p>setCommitByProjectBatchSize.</p>
+     *
+     * @param commitByProjectBatchSize a int
+     * @return a {@link org.apache.maven.shared.release.config.ReleaseDescriptorBuilder} object
+     * @since 3.0.1
+     */
+    public ReleaseDescriptorBuilder setCommitByProjectBatchSize(int commitByProjectBatchSize) {
+        releaseDescriptor.setCommitByProjectBatchSize(commitByProjectBatchSize);
+        return this;
+    }
+
     /**
      * <p>setCompletedPhase.</p>
      *
@@ -330,6 +366,18 @@ public class ReleaseDescriptorBuilder {
         return this;
     }
 
+    /**
+     * <p>setModelETL.</p>
+     *
+     * @param modelETL a {@link java.lang.String} object
+     * @return a {@link org.apache.maven.shared.release.config.ReleaseDescriptorBuilder} object
+     * @since 3.0.1
+     */
+    public ReleaseDescriptorBuilder setModelETL(String modelETL) {
+        releaseDescriptor.setModelETL(modelETL);
+        return this;
+    }
+
     /**
      * <p>setPreparationGoals.</p>
      *
@@ -341,6 +389,66 @@ public class ReleaseDescriptorBuilder {
         return this;
     }
 
+    /**
+     * <p>setPreparationChangedSince.</p>
+     *
+     * @param preparationChangedSince a {@link java.lang.String} object
+     * @return a {@link org.apache.maven.shared.release.config.ReleaseDescriptorBuilder} object
+     * @since 3.0.1
+     */
+    public ReleaseDescriptorBuilder setPreparationChangedSince(String preparationChangedSince) {
+        releaseDescriptor.setPreparationChangedSince(preparationChangedSince);
+        return this;
+    }
+
+    /**
+     * <p>setPreparationProjects.</p>
+     *
+     * @param preparationProjects a {@link java.lang.String} object
+     * @return a {@link org.apache.maven.shared.release.config.ReleaseDescriptorBuilder} object
+     * @since 3.0.1
+     */
+    public ReleaseDescriptorBuilder setPreparationProjects(String preparationProjects) {
+        releaseDescriptor.setPreparationProjects(preparationProjects);
+        return this;
+    }
+
+    /**
+     * <p>setSkipPerformTests.</p>
+     *
+     * @param skipPerformTests a boolean
+     * @return a {@link org.apache.maven.shared.release.config.ReleaseDescriptorBuilder} object
+     * @since 3.0.1
+     */
+    public ReleaseDescriptorBuilder setSkipPerformTests(boolean skipPerformTests) {
+        releaseDescriptor.setSkipPerformTests(skipPerformTests);
+        return this;
+    }
+
+    /**
+     * <p>setPreparedArtifactsFingerprint.</p>
+     *
+     * @param preparedArtifactsFingerprint a {@link java.lang.String} object
+     * @return a {@link org.apache.maven.shared.release.config.ReleaseDescriptorBuilder} object
+     * @since 3.0.1
+     */
+    public ReleaseDescriptorBuilder setPreparedArtifactsFingerprint(String preparedArtifactsFingerprint) {
+        releaseDescriptor.setPreparedArtifactsFingerprint(preparedArtifactsFingerprint);
+        return this;
+    }
+
+    /**
+     * <p>setPrefetchDependencies.</p>
+     *
+     * @param prefetchDependencies a boolean
+     * @return a {@link org.apache.maven.shared.release.config.ReleaseDescriptorBuilder} object
+     * @since 3.0.1
+     */
+    public ReleaseDescriptorBuilder setPrefetchDependencies(boolean prefetchDependencies) {
+        releaseDescriptor.setPrefetchDependencies(prefetchDependencies);
+        return this;
+    }
+
     /**
      * <p>setProjectNamingPolicyId.</p>
      *
@@ -452,6 +560,18 @@ public class ReleaseDescriptorBuilder {
         return this;
     }
 
+    /**
+     * <p>setScmSparseCheckout.</p>
+     *
+     * @param scmSparseCheckout a boolean
+     * @return a {@link org.apache.maven.shared.release.config.ReleaseDescriptorBuilder} object
+     * @since 3.0.1
+     */
+    public ReleaseDescriptorBuilder setScmSparseCheckout(boolean scmSparseCheckout) {
+        releaseDescriptor.setScmSparseCheckout(scmSparseCheckout);
+        return this;
+    }
+
     /**
      * <p>setScmReleaseCommitComment.</p>
      *
@@ -846,6 +966,19 @@ public class ReleaseDescriptorBuilder {
         return this;
     }
 
+    /**
+     * Creates a new builder with a copy of the values of this one, so that changes to either builder are not seen by
+     * the other.
+     *
+     * @return the copy
+     * @since 3.0.1
+     */
+    public ReleaseDescriptorBuilder copy() {
+        ReleaseDescriptorBuilder copy = new ReleaseDescriptorBuilder(logger);
+        releaseDescriptor.copyTo(copy.releaseDescriptor);
+        return copy;
+    }
+
     public BuilderReleaseDescriptor build() {
         return releaseDescriptor;
     }
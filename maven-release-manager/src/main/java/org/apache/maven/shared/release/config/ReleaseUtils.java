@@ -19,7 +19,7 @@
 package org.apache.maven.shared.release.config;
 
 import java.util.Arrays;
-import java.util.Iterator;
+import java.util.HashSet;
 import java.util.Map.Entry;
 import java.util.Properties;
 import java.util.Set;
@@ -33,10 +33,6 @@ import org.apache.maven.shared.release.scm.IdentifiedScm;
  * @author <a href="mailto:jwhitlock@apache.org">Jeremy Whitlock</a>
  */
 public class ReleaseUtils {
-    private static final String DEVELOPMENT_KEY = "dev";
-
-    private static final String RELEASE_KEY = "rel";
-
     private ReleaseUtils() {
         // nothing to see here
     }
@@ -58,187 +54,218 @@ public class ReleaseUtils {
      * @param builder    a {@link org.apache.maven.shared.release.config.ReleaseDescriptorBuilder} object
      */
     public static void copyPropertiesToReleaseDescriptor(Properties properties, ReleaseDescriptorBuilder builder) {
-        if (properties.containsKey("completedPhase")) {
-            builder.setCompletedPhase(properties.getProperty("completedPhase"));
-        }
-        if (properties.containsKey("commitByProject")) {
-            builder.setCommitByProject(Boolean.parseBoolean(properties.getProperty("commitByProject")));
-        }
-        if (properties.containsKey("scm.id")) {
-            builder.setScmId(properties.getProperty("scm.id"));
-        }
-        if (properties.containsKey("scm.url")) {
-            builder.setScmSourceUrl(properties.getProperty("scm.url"));
-        }
-        if (properties.containsKey("scm.username")) {
-            builder.setScmUsername(properties.getProperty("scm.username"));
-        }
-        if (properties.containsKey("scm.password")) {
-            builder.setScmPassword(properties.getProperty("scm.password"));
-        }
-        if (properties.containsKey("scm.privateKey")) {
-            builder.setScmPrivateKey(properties.getProperty("scm.privateKey"));
-        }
-        if (properties.containsKey("scm.passphrase")) {
-            builder.setScmPrivateKeyPassPhrase(properties.getProperty("scm.passphrase"));
-        }
-        if (properties.containsKey("scm.tagBase")) {
-            builder.setScmTagBase(properties.getProperty("scm.tagBase"));
-        }
-        if (properties.containsKey("scm.tagNameFormat")) {
-            builder.setScmTagNameFormat(properties.getProperty("scm.tagNameFormat"));
-        }
-        if (properties.containsKey("scm.branchBase")) {
-            builder.setScmBranchBase(properties.getProperty("scm.branchBase"));
-        }
-        if (properties.containsKey("scm.tag")) {
-            builder.setScmReleaseLabel(properties.getProperty("scm.tag"));
-        }
-        if (properties.containsKey("scm.commentPrefix")) {
-            builder.setScmCommentPrefix(properties.getProperty("scm.commentPrefix"));
-        }
-        if (properties.containsKey("scm.developmentCommitComment")) {
-            builder.setScmDevelopmentCommitComment(properties.getProperty("scm.developmentCommitComment"));
-        }
-        if (properties.containsKey("scm.releaseCommitComment")) {
-            builder.setScmReleaseCommitComment(properties.getProperty("scm.releaseCommitComment"));
-        }
-        if (properties.containsKey("scm.branchCommitComment")) {
-            builder.setScmBranchCommitComment(properties.getProperty("scm.branchCommitComment"));
-        }
-        if (properties.containsKey("scm.rollbackCommitComment")) {
-            builder.setScmRollbackCommitComment(properties.getProperty("scm.rollbackCommitComment"));
-        }
-        if (properties.containsKey("exec.additionalArguments")) {
-            builder.setAdditionalArguments(properties.getProperty("exec.additionalArguments"));
-        }
-        if (properties.containsKey("exec.pomFileName")) {
-            builder.setPomFileName(properties.getProperty("exec.pomFileName"));
-        }
-        if (properties.containsKey("exec.activateProfiles")) {
-            builder.setActivateProfiles(Arrays.asList(
-                    properties.getProperty("exec.activateProfiles").split(",")));
-        }
-        if (properties.containsKey("preparationGoals")) {
-            builder.setPreparationGoals(properties.getProperty("preparationGoals"));
-        }
-        if (properties.containsKey("completionGoals")) {
-            builder.setCompletionGoals(properties.getProperty("completionGoals"));
-        }
-        if (properties.containsKey("projectVersionPolicyId")) {
-            builder.setProjectVersionPolicyId(properties.getProperty("projectVersionPolicyId"));
-        }
-        if (properties.containsKey("projectVersionPolicyConfig")) {
-            builder.setProjectVersionPolicyConfig(properties.getProperty("projectVersionPolicyConfig"));
-        }
-        if (properties.containsKey("projectNamingPolicyId")) {
-            builder.setProjectNamingPolicyId(properties.getProperty("projectNamingPolicyId"));
-        }
-        if (properties.containsKey("releaseStrategyId")) {
-            builder.setReleaseStrategyId(properties.getProperty("releaseStrategyId"));
-        }
-        if (properties.containsKey("exec.snapshotReleasePluginAllowed")) {
-            String snapshotReleasePluginAllowedStr = properties.getProperty("exec.snapshotReleasePluginAllowed");
-            builder.setSnapshotReleasePluginAllowed(Boolean.parseBoolean(snapshotReleasePluginAllowedStr));
-        }
-        if (properties.containsKey("remoteTagging")) {
-            String remoteTaggingStr = properties.getProperty("remoteTagging");
-            builder.setRemoteTagging(Boolean.parseBoolean(remoteTaggingStr));
-        }
-        if (properties.containsKey("pinExternals")) {
-            String pinExternals = properties.getProperty("pinExternals");
-            builder.setPinExternals(Boolean.parseBoolean(pinExternals));
-        }
-        if (properties.containsKey("pushChanges")) {
-            String pushChanges = properties.getProperty("pushChanges");
-            builder.setPushChanges(Boolean.parseBoolean(pushChanges));
-        }
-        if (properties.containsKey("workItem")) {
-            builder.setWorkItem(properties.getProperty("workItem"));
-        }
-        if (properties.containsKey("autoResolveSnapshots")) {
-            String resolve = properties.getProperty("autoResolveSnapshots");
-            builder.setAutoResolveSnapshots(resolve);
-        }
+        // boolean properties are not written to the properties file because the value from the caller is always used
 
-        loadResolvedDependencies(properties, builder);
+        Set<String> scmKeys = new HashSet<>();
+        for (Entry<Object, Object> entry : properties.entrySet()) {
+            String property = (String) entry.getKey();
+            String value = (String) entry.getValue();
 
-        // boolean properties are not written to the properties file because the value from the caller is always used
+            if (copyVersion(property, value, builder, true)) {
+                continue;
+            }
 
-        for (Object o : properties.keySet()) {
-            String property = (String) o;
-            if (property.startsWith("project.rel.")) {
-                builder.addReleaseVersion(
-                        property.substring("project.rel.".length()), properties.getProperty(property));
-            } else if (property.startsWith("project.dev.")) {
-                builder.addDevelopmentVersion(
-                        property.substring("project.dev.".length()), properties.getProperty(property));
-            } else if (property.startsWith("dependency.rel.")) {
-                builder.addDependencyReleaseVersion(
-                        property.substring("dependency.rel.".length()), properties.getProperty(property));
-            } else if (property.startsWith("dependency.dev.")) {
-                builder.addDependencyDevelopmentVersion(
-                        property.substring("dependency.dev.".length()), properties.getProperty(property));
-            } else if (property.startsWith("project.scm.")) {
+            if (property.startsWith("project.scm.")) {
                 int index = property.lastIndexOf('.');
                 if (index > "project.scm.".length()) {
                     String key = property.substring("project.scm.".length(), index);
 
-                    if (builder.build().getOriginalScmInfo(key) == null) {
-                        if (properties.getProperty("project.scm." + key + ".empty") != null) {
-                            builder.addOriginalScmInfo(key, null);
-                        } else {
-                            IdentifiedScm scm = new IdentifiedScm();
-                            scm.setConnection(properties.getProperty("project.scm." + key + ".connection"));
-                            scm.setDeveloperConnection(
-                                    properties.getProperty("project.scm." + key + ".developerConnection"));
-                            scm.setUrl(properties.getProperty("project.scm." + key + ".url"));
-                            scm.setTag(properties.getProperty("project.scm." + key + ".tag"));
-                            scm.setId(properties.getProperty("project.scm." + key + ".id"));
-
-                            builder.addOriginalScmInfo(key, scm);
-                        }
+                    if (scmKeys.add(key) && builder.build().getOriginalScmInfo(key) == null) {
+                        copyOriginalScmInfo(properties, key, builder);
                     }
                 }
+                continue;
+            }
+
+            switch (property) {
+                case "completedPhase":
+                    builder.setCompletedPhase(value);
+                    break;
+                case "commitByProject":
+                    builder.setCommitByProject(Boolean.parseBoolean(value));
+                    break;
+                case "commitByProjectBatchSize":
+                    builder.setCommitByProjectBatchSize(Integer.parseInt(value));
+                    break;
+                case "scm.id":
+                    builder.setScmId(value);
+                    break;
+                case "scm.url":
+                    builder.setScmSourceUrl(value);
+                    break;
+                case "scm.username":
+                    builder.setScmUsername(value);
+                    break;
+                case "scm.password":
+                    builder.setScmPassword(value);
+                    break;
+                case "scm.privateKey":
+                    builder.setScmPrivateKey(value);
+                    break;
+                case "scm.passphrase":
+                    builder.setScmPrivateKeyPassPhrase(value);
+                    break;
+                case "scm.tagBase":
+                    builder.setScmTagBase(value);
+                    break;
+                case "scm.tagNameFormat":
+                    builder.setScmTagNameFormat(value);
+                    break;
+                case "scm.branchBase":
+                    builder.setScmBranchBase(value);
+                    break;
+                case "scm.tag":
+                    builder.setScmReleaseLabel(value);
+                    break;
+                case "scm.commentPrefix":
+                    builder.setScmCommentPrefix(value);
+                    break;
+                case "scm.developmentCommitComment":
+                    builder.setScmDevelopmentCommitComment(value);
+                    break;
+                case "scm.releaseCommitComment":
+                    builder.setScmReleaseCommitComment(value);
+                    break;
+                case "scm.branchCommitComment":
+                    builder.setScmBranchCommitComment(value);
+                    break;
+                case "scm.rollbackCommitComment":
+                    builder.setScmRollbackCommitComment(value);
+                    break;
+                case "exec.additionalArguments":
+                    builder.setAdditionalArguments(value);
+                    break;
+                case "exec.pomFileName":
+                    builder.setPomFileName(value);
+                    break;
+                case "modelETL":
+                    builder.setModelETL(value);
+                    break;
+                case "exec.activateProfiles":
+                    builder.setActivateProfiles(Arrays.asList(value.split(",")));
+                    break;
+                case "preparationGoals":
+                    builder.setPreparationGoals(value);
+                    break;
+                case "preparationChangedSince":
+                    builder.setPreparationChangedSince(value);
+                    break;
+                case "preparationProjects":
+                    builder.setPreparationProjects(value);
+                    break;
+                case "skipPerformTests":
+                    builder.setSkipPerformTests(Boolean.parseBoolean(value));
+                    break;
+                case "preparedArtifactsFingerprint":
+                    builder.setPreparedArtifactsFingerprint(value);
+                    break;
+                case "prefetchDependencies":
+                    builder.setPrefetchDependencies(Boolean.parseBoolean(value));
+                    break;
+                case "completionGoals":
+                    builder.setCompletionGoals(value);
+                    break;
+                case "projectVersionPolicyId":
+                    builder.setProjectVersionPolicyId(value);
+                    break;
+                case "projectVersionPolicyConfig":
+                    builder.setProjectVersionPolicyConfig(value);
+                    break;
+                case "projectNamingPolicyId":
+                    builder.setProjectNamingPolicyId(value);
+                    break;
+                case "releaseStrategyId":
+                    builder.setReleaseStrategyId(value);
+                    break;
+                case "exec.snapshotReleasePluginAllowed":
+                    builder.setSnapshotReleasePluginAllowed(Boolean.parseBoolean(value));
+                    break;
+                case "remoteTagging":
+                    builder.setRemoteTagging(Boolean.parseBoolean(value));
+                    break;
+                case "pinExternals":
+                    builder.setPinExternals(Boolean.parseBoolean(value));
+                    break;
+                case "pushChanges":
+                    builder.setPushChanges(Boolean.parseBoolean(value));
+                    break;
+                case "workItem":
+                    builder.setWorkItem(value);
+                    break;
+                case "autoResolveSnapshots":
+                    builder.setAutoResolveSnapshots(value);
+                    break;
+                default:
+                    break;
             }
         }
     }
 
-    private static void loadResolvedDependencies(Properties prop, ReleaseDescriptorBuilder builder) {
-        Set entries = prop.entrySet();
-        Iterator<Entry<String, String>> iterator = entries.iterator();
-        String propertyName;
-        Entry<String, String> currentEntry;
-
-        while (iterator.hasNext()) {
-            currentEntry = iterator.next();
-            propertyName = currentEntry.getKey();
-
-            if (propertyName.startsWith("dependency.")) {
-                String artifactVersionlessKey;
-                int startIndex = "dependency.".length();
-                int endIndex;
-                String versionType;
-
-                if (propertyName.contains(".development")) {
-                    endIndex = propertyName.lastIndexOf(".development");
-                    versionType = DEVELOPMENT_KEY;
-                } else if (propertyName.contains(".release")) {
-                    endIndex = propertyName.lastIndexOf(".release");
-                    versionType = RELEASE_KEY;
-                } else {
-                    // MRELEASE-834, probably a maven-dependency-plugin property
-                    continue;
-                }
+    /**
+     * Copies only the project versions, and optionally the resolved dependency versions, given as properties (ie
+     * command line properties) to the release descriptor. All other properties are ignored.
+     *
+     * @param properties   a {@link java.util.Properties} object
+     * @param builder      a {@link org.apache.maven.shared.release.config.ReleaseDescriptorBuilder} object
+     * @param dependencies whether resolved dependency versions should be copied as well
+     * @since 3.0.1
+     */
+    public static void copyVersionsToReleaseDescriptor(
+            Properties properties, ReleaseDescriptorBuilder builder, boolean dependencies) {
+        for (Entry<Object, Object> entry : properties.entrySet()) {
+            copyVersion((String) entry.getKey(), (String) entry.getValue(), builder, dependencies);
+        }
+    }
 
-                artifactVersionlessKey = propertyName.substring(startIndex, endIndex);
+    private static boolean copyVersion(
+            String property, String value, ReleaseDescriptorBuilder builder, boolean dependencies) {
+        if (property.startsWith("project.rel.")) {
+            builder.addReleaseVersion(property.substring("project.rel.".length()), value);
+            return true;
+        } else if (property.startsWith("project.dev.")) {
+            builder.addDevelopmentVersion(property.substring("project.dev.".length()), value);
+            return true;
+        } else if (property.startsWith("dependency.")) {
+            if (dependencies) {
+                loadResolvedDependency(property, value, builder);
 
-                if (RELEASE_KEY.equals(versionType)) {
-                    builder.addDependencyReleaseVersion(artifactVersionlessKey, currentEntry.getValue());
-                } else if (DEVELOPMENT_KEY.equals(versionType)) {
-                    builder.addDependencyDevelopmentVersion(artifactVersionlessKey, currentEntry.getValue());
+                if (property.startsWith("dependency.rel.")) {
+                    builder.addDependencyReleaseVersion(property.substring("dependency.rel.".length()), value);
+                } else if (property.startsWith("dependency.dev.")) {
+                    builder.addDependencyDevelopmentVersion(property.substring("dependency.dev.".length()), value);
                 }
             }
+            return true;
         }
+        return false;
+    }
+
+    private static void copyOriginalScmInfo(Properties properties, String key, ReleaseDescriptorBuilder builder) {
+        String prefix = "project.scm." + key;
+        if (properties.getProperty(prefix + ".empty") != null) {
+            builder.addOriginalScmInfo(key, null);
+        } else {
+            IdentifiedScm scm = new IdentifiedScm();
+            scm.setConnection(properties.getProperty(prefix + ".connection"));
+            scm.setDeveloperConnection(properties.getProperty(prefix + ".developerConnection"));
+            scm.setUrl(properties.getProperty(prefix + ".url"));
+            scm.setTag(properties.getProperty(prefix + ".tag"));
+            scm.setId(properties.getProperty(prefix + ".id"));
+
+            builder.addOriginalScmInfo(key, scm);
+        }
+    }
+
+    private static void loadResolvedDependency(String propertyName, String value, ReleaseDescriptorBuilder builder) {
+        int startIndex = "dependency.".length();
+
+        if (propertyName.contains(".development")) {
+            builder.addDependencyDevelopmentVersion(
+                    propertyName.substring(startIndex, propertyName.lastIndexOf(".development")), value);
+        } else if (propertyName.contains(".release")) {
+            builder.addDependencyReleaseVersion(
+                    propertyName.substring(startIndex, propertyName.lastIndexOf(".release")), value);
+        }
+        // else MRELEASE-834, probably a maven-dependency-plugin property
     }
 }
@@ -0,0 +1,237 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.shared.release.config;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Thread-safe map of the release descriptor, keyed by project or dependency id, which supports cheap immutable
+ * snapshots.
+ * <p>
+ * The entries are spread over a fixed number of stripes. Published stripes are never modified: a write replaces the
+ * affected stripe by a modified copy and publishes a new state. Readers never lock and a snapshot only captures the
+ * current state, so taking one costs the same for ten or ten thousand entries, while a write copies a single stripe.
+ * <code>null</code> values are permitted.
+ *
+ * @param <V> the type of the values
+ * @since 3.0.1
+ */
+final class SnapshotMap<V> extends AbstractMap<String, V> {
+    private static final int STRIPES = 32;
+
+    private static final Map<String, Object> EMPTY_STRIPE = Collections.emptyMap();
+
+    private volatile State state;
+
+    SnapshotMap() {
+        Object[] stripes = new Object[STRIPES];
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = EMPTY_STRIPE;
+        }
+        state = new State(stripes, 0);
+    }
+
+    /**
+     * Returns an immutable view of the current entries, which is not affected by later modifications of this map.
+     *
+     * @return the snapshot
+     */
+    Map<String, V> snapshot() {
+        return new Snapshot<>(state);
+    }
+
+    @Override
+    public V get(Object key) {
+        return state.get(key);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return state.containsKey(key);
+    }
+
+    @Override
+    public int size() {
+        return state.size;
+    }
+
+    @Override
+    public synchronized V put(String key, V value) {
+        State current = state;
+        int index = indexFor(key);
+        Map<String, Object> stripe = new HashMap<>(current.stripe(index));
+        boolean existed = stripe.containsKey(key);
+        @SuppressWarnings("unchecked")
+        V previous = (V) stripe.put(key, value);
+        state = current.with(index, stripe, existed ? current.size : current.size + 1);
+        return previous;
+    }
+
+    @Override
+    public synchronized V remove(Object key) {
+        State current = state;
+        if (!current.containsKey(key)) {
+            return null;
+        }
+        int index = indexFor(key);
+        Map<String, Object> stripe = new HashMap<>(current.stripe(index));
+        @SuppressWarnings("unchecked")
+        V previous = (V) stripe.remove(key);
+        state = current.with(index, stripe.isEmpty() ? EMPTY_STRIPE : stripe, current.size - 1);
+        return previous;
+    }
+
+    @Override
+    public synchronized void clear() {
+        Object[] stripes = new Object[STRIPES];
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = EMPTY_STRIPE;
+        }
+        state = new State(stripes, 0);
+    }
+
+    /**
+     * Replaces the entries of this map with the current entries of the other one. The states are immutable, so both
+     * maps share the same state until one of them is modified.
+     *
+     * @param other the map to copy
+     */
+    synchronized void copyFrom(SnapshotMap<V> other) {
+        state = other.state;
+    }
+
+    @Override
+    public Set<Entry<String, V>> entrySet() {
+        // iterate a snapshot, so concurrent writers never break an iteration
+        return snapshot().entrySet();
+    }
+
+    private static int indexFor(Object key) {
+        int h = (key == null) ? 0 : key.hashCode();
+        return (h ^ (h >>> 16)) & (STRIPES - 1);
+    }
+
+    /**
+     * Immutable state of the map: the stripes are never modified after publication.
+     */
+    private static final class State {
+        private final Object[] stripes;
+
+        private final int size;
+
+        State(Object[] stripes, int size) {
+            this.stripes = stripes;
+            this.size = size;
+        }
+
+        @SuppressWarnings("unchecked")
+        Map<String, Object> stripe(int index) {
+            return (Map<String, Object>) stripes[index];
+        }
+
+        @SuppressWarnings("unchecked")
+        <V> V get(Object key) {
+            return (V) stripe(indexFor(key)).get(key);
+        }
+
+        boolean containsKey(Object key) {
+            return stripe(indexFor(key)).containsKey(key);
+        }
+
+        State with(int index, Map<String, Object> stripe, int newSize) {
+            Object[] copy = stripes.clone();
+            copy[index] = stripe;
+            return new State(copy, newSize);
+        }
+    }
+
+    /**
+     * Read-only view of a single state.
+     */
+    private static final class Snapshot<V> extends AbstractMap<String, V> {
+        private final State state;
+
+        Snapshot(State state) {
+            this.state = state;
+        }
+
+        @Override
+        public V get(Object key) {
+            return state.get(key);
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return state.containsKey(key);
+        }
+
+        @Override
+        public int size() {
+            return state.size;
+        }
+
+        @Override
+        public Set<Entry<String, V>> entrySet() {
+            return new AbstractSet<Entry<String, V>>() {
+                @Override
+                public Iterator<Entry<String, V>> iterator() {
+                    return new Iterator<Entry<String, V>>() {
+                        private int index;
+
+                        private Iterator<Entry<String, Object>> current =
+                                state.stripe(0).entrySet().iterator();
+
+                        @Override
+                        public boolean hasNext() {
+                            while (!current.hasNext()) {
+                                if (++index >= STRIPES) {
+                                    return false;
+                                }
+                                current = state.stripe(index).entrySet().iterator();
+                            }
+                            return true;
+                        }
+
+                        @Override
+                        @SuppressWarnings("unchecked")
+                        public Entry<String, V> next() {
+                            if (!hasNext()) {
+                                throw new NoSuchElementException();
+                            }
+                            Entry<String, Object> entry = current.next();
+                            return new SimpleImmutableEntry<>(entry.getKey(), (V) entry.getValue());
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return state.size;
+                }
+            };
+        }
+    }
+}
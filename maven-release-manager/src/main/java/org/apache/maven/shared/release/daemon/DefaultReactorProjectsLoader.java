@@ -0,0 +1,232 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.shared.release.daemon;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.ArtifactUtils;
+import org.apache.maven.model.Dependency;
+import org.apache.maven.project.DefaultProjectBuildingRequest;
+import org.apache.maven.project.DependencyResolutionResult;
+import org.apache.maven.project.DuplicateProjectException;
+import org.apache.maven.project.MavenProject;
+import org.apache.maven.project.ProjectBuilder;
+import org.apache.maven.project.ProjectBuildingException;
+import org.apache.maven.project.ProjectBuildingRequest;
+import org.apache.maven.project.ProjectBuildingResult;
+import org.apache.maven.project.ProjectSorter;
+import org.apache.maven.shared.release.ReleaseExecutionException;
+import org.codehaus.plexus.util.dag.CycleDetectedException;
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.repository.WorkspaceReader;
+import org.eclipse.aether.repository.WorkspaceRepository;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Builds the projects of other reactors than the one of the current build, with their dependencies resolved as the
+ * <code>prepare</code> goal sees them, so the release phases can check them.
+ * <p>
+ * The models of all the reactors are built first. The dependencies of every project are then resolved with the
+ * projects of all the loaded reactors in the workspace, since modules depend on snapshots of their reactor, or of
+ * another reactor of a release train, which are in no repository yet.
+ *
+ * @since 3.0.1
+ */
+public class DefaultReactorProjectsLoader implements ReactorProjectsLoader {
+    private final ProjectBuilder projectBuilder;
+
+    private final ProjectBuildingRequest buildingRequest;
+
+    /**
+     * <p>Constructor for DefaultReactorProjectsLoader.</p>
+     *
+     * @param projectBuilder the project builder
+     * @param buildingRequest the request of the current build, with its repositories and repository session
+     */
+    public DefaultReactorProjectsLoader(ProjectBuilder projectBuilder, ProjectBuildingRequest buildingRequest) {
+        this.projectBuilder = requireNonNull(projectBuilder);
+        this.buildingRequest = requireNonNull(buildingRequest);
+    }
+
+    @Override
+    public List<MavenProject> load(File pomFile) throws ReleaseExecutionException {
+        return loadAll(Collections.singletonList(pomFile)).get(0);
+    }
+
+    /**
+     * Loads the projects of several reactors, which may depend on each other.
+     *
+     * @param reactorRoots the root POMs, or the directories containing them, of the reactors
+     * @return the sorted projects of each reactor, in the order of the roots
+     * @throws ReleaseExecutionException if the projects can't be built, or their dependencies can't be collected
+     */
+    public List<List<MavenProject>> loadAll(List<File> reactorRoots) throws ReleaseExecutionException {
+        ProjectBuildingRequest modelRequest = new DefaultProjectBuildingRequest(buildingRequest);
+        modelRequest.setResolveDependencies(false);
+
+        List<File> rootPoms = new ArrayList<>(reactorRoots.size());
+        List<List<MavenProject>> models = new ArrayList<>(reactorRoots.size());
+        List<MavenProject> workspace = new ArrayList<>();
+        for (File reactorRoot : reactorRoots) {
+            File pomFile = reactorRoot.isDirectory() ? new File(reactorRoot, "pom.xml") : reactorRoot;
+            List<MavenProject> projects = new ArrayList<>();
+            try {
+                for (ProjectBuildingResult result :
+                        projectBuilder.build(Collections.singletonList(pomFile), true, modelRequest)) {
+                    projects.add(result.getProject());
+                }
+            } catch (ProjectBuildingException e) {
+                throw new ReleaseExecutionException(
+                        "Unable to build the reactor " + reactorRoot + ": " + e.getMessage(), e);
+            }
+            rootPoms.add(pomFile.getAbsoluteFile());
+            models.add(projects);
+            workspace.addAll(projects);
+        }
+
+        // the reactor builds of the project builder don't resolve dependencies, only the single project builds do
+        RepositorySystemSession session = buildingRequest.getRepositorySession();
+        DefaultRepositorySystemSession repositorySession = new DefaultRepositorySystemSession(session);
+        repositorySession.setWorkspaceReader(new ReactorWorkspaceReader(workspace, session.getWorkspaceReader()));
+        ProjectBuildingRequest resolvingRequest = new DefaultProjectBuildingRequest(buildingRequest);
+        resolvingRequest.setRepositorySession(repositorySession);
+        resolvingRequest.setResolveDependencies(true);
+
+        List<List<MavenProject>> reactors = new ArrayList<>(models.size());
+        for (int i = 0; i < models.size(); i++) {
+            List<MavenProject> projects = new ArrayList<>();
+            for (MavenProject model : models.get(i)) {
+                projects.add(resolve(model.getFile(), rootPoms.get(i), resolvingRequest));
+            }
+            try {
+                reactors.add(new ProjectSorter(projects).getSortedProjects());
+            } catch (CycleDetectedException | DuplicateProjectException e) {
+                throw new ReleaseExecutionException(
+                        "Unable to sort the reactor " + reactorRoots.get(i) + ": " + e.getMessage(), e);
+            }
+        }
+        return reactors;
+    }
+
+    private MavenProject resolve(File pomFile, File rootPom, ProjectBuildingRequest resolvingRequest)
+            throws ReleaseExecutionException {
+        ProjectBuildingResult result;
+        try {
+            result = projectBuilder.build(pomFile, resolvingRequest);
+        } catch (ProjectBuildingException e) {
+            throw new ReleaseExecutionException("Unable to build the project " + pomFile + ": " + e.getMessage(), e);
+        }
+
+        // an incomplete graph would let snapshot dependencies through unnoticed, missing files don't matter
+        DependencyResolutionResult resolutionResult = result.getDependencyResolutionResult();
+        if (resolutionResult != null && !resolutionResult.getCollectionErrors().isEmpty()) {
+            Exception error = resolutionResult.getCollectionErrors().get(0);
+            throw new ReleaseExecutionException(
+                    "Unable to collect the dependencies of " + pomFile + ": " + error.getMessage(), error);
+        }
+
+        MavenProject project = result.getProject();
+        project.setExecutionRoot(rootPom.equals(pomFile.getAbsoluteFile()));
+        project.setDependencyArtifacts(getDependencyArtifacts(project));
+        return project;
+    }
+
+    /**
+     * Picks the artifacts of the direct dependencies from the resolved ones, as the lifecycle does for mojos
+     * requiring dependency resolution.
+     */
+    private static Set<Artifact> getDependencyArtifacts(MavenProject project) {
+        Map<String, Artifact> artifacts = new HashMap<>();
+        for (Artifact artifact : project.getArtifacts()) {
+            artifacts.put(artifact.getDependencyConflictId(), artifact);
+        }
+
+        Set<Artifact> dependencyArtifacts = new LinkedHashSet<>();
+        for (Dependency dependency : project.getDependencies()) {
+            Artifact artifact = artifacts.get(dependency.getManagementKey());
+            if (artifact != null) {
+                dependencyArtifacts.add(artifact);
+            }
+        }
+        return dependencyArtifacts;
+    }
+
+    /**
+     * Resolves the projects of the loaded reactors from their POMs and output directories, and everything else from
+     * the workspace of the current build.
+     */
+    private static final class ReactorWorkspaceReader implements WorkspaceReader {
+        private final WorkspaceRepository repository = new WorkspaceRepository("release-reactors");
+
+        private final Map<String, MavenProject> projects = new HashMap<>();
+
+        private final WorkspaceReader delegate;
+
+        ReactorWorkspaceReader(List<MavenProject> workspace, WorkspaceReader delegate) {
+            for (MavenProject project : workspace) {
+                projects.put(
+                        ArtifactUtils.key(project.getGroupId(), project.getArtifactId(), project.getVersion()),
+                        project);
+            }
+            this.delegate = delegate;
+        }
+
+        @Override
+        public WorkspaceRepository getRepository() {
+            return repository;
+        }
+
+        @Override
+        public File findArtifact(org.eclipse.aether.artifact.Artifact artifact) {
+            MavenProject project = projects.get(
+                    ArtifactUtils.key(artifact.getGroupId(), artifact.getArtifactId(), artifact.getBaseVersion()));
+            if (project != null) {
+                return "pom".equals(artifact.getExtension())
+                        ? project.getFile()
+                        : new File(project.getBuild().getOutputDirectory());
+            }
+            return delegate != null ? delegate.findArtifact(artifact) : null;
+        }
+
+        @Override
+        public List<String> findVersions(org.eclipse.aether.artifact.Artifact artifact) {
+            List<String> versions = new ArrayList<>();
+            for (MavenProject project : projects.values()) {
+                if (project.getGroupId().equals(artifact.getGroupId())
+                        && project.getArtifactId().equals(artifact.getArtifactId())) {
+                    versions.add(project.getVersion());
+                }
+            }
+            if (delegate != null) {
+                versions.addAll(delegate.findVersions(artifact));
+            }
+            return versions;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.shared.release.daemon;
+
+import java.io.File;
+import java.util.List;
+
+import org.apache.maven.project.MavenProject;
+import org.apache.maven.shared.release.ReleaseExecutionException;
+
+/**
+ * Loads the projects of a reactor for the release daemon.
+ *
+ * @since 3.0.1
+ */
+public interface ReactorProjectsLoader {
+    /**
+     * Loads the projects of the reactor with the given root POM, including its modules.
+     *
+     * @param pomFile the root POM of the reactor
+     * @return the projects of the reactor, the root project marked as execution root
+     * @throws ReleaseExecutionException if the projects can't be loaded
+     */
+    List<MavenProject> load(File pomFile) throws ReleaseExecutionException;
+}
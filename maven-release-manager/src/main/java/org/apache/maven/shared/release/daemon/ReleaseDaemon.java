@@ -0,0 +1,538 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.shared.release.daemon;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.HttpURLConnection;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.maven.artifact.ArtifactUtils;
+import org.apache.maven.model.Scm;
+import org.apache.maven.project.MavenProject;
+import org.apache.maven.shared.release.ReleaseBranchRequest;
+import org.apache.maven.shared.release.ReleaseExecutionException;
+import org.apache.maven.shared.release.ReleaseFailureException;
+import org.apache.maven.shared.release.ReleaseManager;
+import org.apache.maven.shared.release.ReleasePrepareRequest;
+import org.apache.maven.shared.release.ReleaseUpdateVersionsRequest;
+import org.apache.maven.shared.release.config.ReleaseDescriptorBuilder;
+import org.apache.maven.shared.release.config.ReleaseUtils;
+import org.apache.maven.shared.release.env.ReleaseEnvironment;
+import org.apache.maven.shared.release.util.ReleaseUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Long-running release service, which keeps the release manager warm and accepts release requests over a local
+ * HTTP/JSON API.
+ * <p>
+ * The goals are requested with a <code>POST</code> to <code>/prepare</code>, <code>/branch</code> or
+ * <code>/update-versions</code>, with a JSON object as body:
+ * <pre>
+ * {
+ *   "workingDirectory": "/path/to/checkout",
+ *   "pomFileName": "pom.xml",
+ *   "dryRun": false,
+ *   "resume": false,
+ *   "descriptor": { "scm.tag": "my-tag", "project.rel.groupId:artifactId": "1.0" },
+ *   "userProperties": { "key": "value" }
+ * }
+ * </pre>
+ * The <code>descriptor</code> entries use the keys of <code>release.properties</code>. The response streams the events
+ * of the release manager listener as JSON objects, one per line, ending with a <code>result</code> event. Requests
+ * for the same working directory are queued and run one after another in arrival order, requests for different
+ * working directories run concurrently. A <code>POST</code> to <code>/shutdown</code> stops the daemon.
+ * <p>
+ * Every start of the daemon generates a random token, which every request must send as
+ * <code>Authorization: Bearer &lt;token&gt;</code>, together with <code>Content-Type: application/json</code>.
+ * Requests with an <code>Origin</code> header are rejected, so a web page can't drive the daemon. The token is only
+ * available through {@link #getToken()} and {@link #writeToken(File)}, which writes it to a file only the current
+ * user can read.
+ *
+ * @since 3.0.1
+ */
+public class ReleaseDaemon {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReleaseDaemon.class);
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private static final int TOKEN_BYTES = 32;
+
+    private static final String AUTHORIZATION_PREFIX = "Bearer ";
+
+    private final ReleaseManager releaseManager;
+
+    private final ReactorProjectsLoader reactorProjectsLoader;
+
+    private final ReleaseEnvironment releaseEnvironment;
+
+    private final ConcurrentMap<String, ReentrantLock> workingDirectoryLocks = new ConcurrentHashMap<>();
+
+    private final CountDownLatch stopped = new CountDownLatch(1);
+
+    private HttpServer server;
+
+    private ExecutorService executor;
+
+    private volatile String token;
+
+    public ReleaseDaemon(
+            ReleaseManager releaseManager,
+            ReactorProjectsLoader reactorProjectsLoader,
+            ReleaseEnvironment releaseEnvironment) {
+        this.releaseManager = requireNonNull(releaseManager);
+        this.reactorProjectsLoader = requireNonNull(reactorProjectsLoader);
+        this.releaseEnvironment = requireNonNull(releaseEnvironment);
+    }
+
+    /**
+     * Starts the daemon on the loopback interface.
+     *
+     * @param port the port to listen on, <code>0</code> to pick a free one
+     * @return the address the daemon listens on
+     * @throws IOException if the server can't be started
+     */
+    public synchronized InetSocketAddress start(int port) throws IOException {
+        if (server != null) {
+            throw new IllegalStateException("The release daemon is already started");
+        }
+
+        token = generateToken();
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        server.createContext("/prepare", new GoalHandler() {
+            @Override
+            void run(Request request, StreamingReleaseManagerListener listener)
+                    throws ReleaseExecutionException, ReleaseFailureException {
+                ReleasePrepareRequest prepareRequest = new ReleasePrepareRequest();
+                prepareRequest.setReleaseDescriptorBuilder(request.descriptor);
+                prepareRequest.setReleaseEnvironment(releaseEnvironment);
+                prepareRequest.setReactorProjects(request.reactorProjects);
+                prepareRequest.setReleaseManagerListener(listener);
+                prepareRequest.setDryRun(request.dryRun);
+                prepareRequest.setResume(request.resume);
+                prepareRequest.setUserProperties(request.userProperties);
+
+                releaseManager.prepare(prepareRequest);
+            }
+        });
+        server.createContext("/branch", new GoalHandler() {
+            @Override
+            void run(Request request, StreamingReleaseManagerListener listener)
+                    throws ReleaseExecutionException, ReleaseFailureException {
+                ReleaseBranchRequest branchRequest = new ReleaseBranchRequest();
+                branchRequest.setReleaseDescriptorBuilder(request.descriptor);
+                branchRequest.setReleaseEnvironment(releaseEnvironment);
+                branchRequest.setReactorProjects(request.reactorProjects);
+                branchRequest.setReleaseManagerListener(listener);
+                branchRequest.setDryRun(request.dryRun);
+                branchRequest.setUserProperties(request.userProperties);
+
+                releaseManager.branch(branchRequest);
+            }
+        });
+        server.createContext("/update-versions", new GoalHandler() {
+            @Override
+            void run(Request request, StreamingReleaseManagerListener listener)
+                    throws ReleaseExecutionException, ReleaseFailureException {
+                ReleaseUpdateVersionsRequest updateVersionsRequest = new ReleaseUpdateVersionsRequest();
+                updateVersionsRequest.setReleaseDescriptorBuilder(request.descriptor);
+                updateVersionsRequest.setReleaseEnvironment(releaseEnvironment);
+                updateVersionsRequest.setReactorProjects(request.reactorProjects);
+                updateVersionsRequest.setReleaseManagerListener(listener);
+                updateVersionsRequest.setUserProperties(request.userProperties);
+
+                releaseManager.updateVersions(updateVersionsRequest);
+            }
+        });
+        server.createContext("/shutdown", new AuthorizedHandler() {
+            @Override
+            void handleAuthorized(HttpExchange exchange) throws IOException {
+                sendError(exchange, HttpURLConnection.HTTP_OK, "Stopping");
+                // stopping waits for the running exchanges, including this one
+                Thread thread = new Thread("release-daemon-shutdown") {
+                    @Override
+                    public void run() {
+                        ReleaseDaemon.this.stop();
+                    }
+                };
+                thread.start();
+            }
+        });
+
+        executor = Executors.newCachedThreadPool(new ThreadFactory() {
+            private final AtomicInteger count = new AtomicInteger();
+
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread thread = new Thread(r, "release-daemon-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        server.setExecutor(executor);
+        server.start();
+
+        LOGGER.info("Release daemon listening on {}", server.getAddress());
+        return server.getAddress();
+    }
+
+    /**
+     * Returns the token the requests must send, which changes with every start.
+     *
+     * @return the token, or <code>null</code> if the daemon was never started
+     */
+    public String getToken() {
+        return token;
+    }
+
+    /**
+     * Writes the token to the given file, which only the current user can read and write.
+     *
+     * @param file the file to write the token to, replaced if it exists
+     * @throws IOException if the file can't be written
+     */
+    public void writeToken(File file) throws IOException {
+        if (token == null) {
+            throw new IllegalStateException("The release daemon is not started");
+        }
+
+        Path path = file.toPath();
+        Files.deleteIfExists(path);
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        if (FileSystems.getDefault().supportedFileAttributeViews().contains("posix")) {
+            Files.createFile(
+                    path,
+                    PosixFilePermissions.asFileAttribute(
+                            EnumSet.of(PosixFilePermission.OWNER_READ, PosixFilePermission.OWNER_WRITE)));
+        } else {
+            Files.createFile(path);
+            file.setReadable(false, false);
+            file.setWritable(false, false);
+            file.setReadable(true, true);
+            file.setWritable(true, true);
+        }
+        Files.write(path, token.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Stops the daemon, waiting a short time for running exchanges to complete.
+     */
+    public synchronized void stop() {
+        if (server != null) {
+            server.stop(1);
+            executor.shutdown();
+            server = null;
+            executor = null;
+            stopped.countDown();
+        }
+    }
+
+    /**
+     * Blocks until the daemon is stopped.
+     *
+     * @throws InterruptedException if the current thread is interrupted while waiting
+     */
+    public void awaitStop() throws InterruptedException {
+        stopped.await();
+    }
+
+    private static String generateToken() {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        new SecureRandom().nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    private static Request parseRequest(String body) throws IOException {
+        Object json = Json.parse(body);
+        if (!(json instanceof Map)) {
+            throw new IllegalArgumentException("The request must be a JSON object");
+        }
+        Map<?, ?> object = (Map<?, ?>) json;
+
+        Object workingDirectory = object.get("workingDirectory");
+        if (!(workingDirectory instanceof String)) {
+            throw new IllegalArgumentException("The request must define the workingDirectory");
+        }
+        File basedir = new File((String) workingDirectory).getAbsoluteFile();
+
+        Request request = new Request();
+        request.workingDirectory = basedir.getPath();
+        // the same directory however it is spelled, so its requests share a lock
+        request.lockKey = basedir.getCanonicalPath();
+        request.pomFileName = getString(object, "pomFileName", "pom.xml");
+        request.dryRun = getBoolean(object, "dryRun");
+        request.resume = getBoolean(object, "resume");
+        request.userProperties = getProperties(object, "userProperties");
+        request.descriptorProperties = getProperties(object, "descriptor");
+        return request;
+    }
+
+    /**
+     * Loads the reactor of the working directory and the release descriptor of a request. It reads the POMs, so it
+     * must run while the request holds its working directory.
+     */
+    private void loadReactor(Request request) throws ReleaseExecutionException {
+        request.reactorProjects = reactorProjectsLoader.load(new File(request.workingDirectory, request.pomFileName));
+
+        ReleaseDescriptorBuilder descriptor = new ReleaseDescriptorBuilder();
+        ReleaseUtils.copyPropertiesToReleaseDescriptor(request.descriptorProperties, descriptor);
+        descriptor.setWorkingDirectory(request.workingDirectory);
+        descriptor.setPomFileName(request.pomFileName);
+        // nobody is there to answer a prompt
+        descriptor.setInteractive(false);
+
+        MavenProject rootProject = ReleaseUtil.getRootProject(request.reactorProjects);
+        Scm rootScm = rootProject.getScm();
+        if (descriptor.build().getScmSourceUrl() == null && rootScm != null) {
+            descriptor.setScmSourceUrl(
+                    rootScm.getDeveloperConnection() != null
+                            ? rootScm.getDeveloperConnection()
+                            : rootScm.getConnection());
+        }
+        for (MavenProject project : request.reactorProjects) {
+            String projectId = ArtifactUtils.versionlessKey(project.getGroupId(), project.getArtifactId());
+            descriptor.putOriginalVersion(projectId, project.getVersion());
+            Scm scm = project.getOriginalModel().getScm();
+            if (scm != null) {
+                Scm originalScm = new Scm();
+                originalScm.setConnection(scm.getConnection());
+                originalScm.setDeveloperConnection(scm.getDeveloperConnection());
+                originalScm.setTag(scm.getTag());
+                originalScm.setUrl(scm.getUrl());
+                descriptor.addOriginalScmInfo(projectId, originalScm);
+            }
+        }
+        request.descriptor = descriptor;
+    }
+
+    private static String getString(Map<?, ?> object, String name, String defaultValue) {
+        Object value = object.get(name);
+        return value != null ? value.toString() : defaultValue;
+    }
+
+    private static boolean getBoolean(Map<?, ?> object, String name) {
+        return Boolean.TRUE.equals(object.get(name));
+    }
+
+    private static Properties getProperties(Map<?, ?> object, String name) {
+        Properties properties = new Properties();
+        Object value = object.get(name);
+        if (value instanceof Map) {
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                if (entry.getValue() != null) {
+                    properties.setProperty(
+                            entry.getKey().toString(), entry.getValue().toString());
+                }
+            }
+        } else if (value != null) {
+            throw new IllegalArgumentException("The " + name + " must be a JSON object");
+        }
+        return properties;
+    }
+
+    private static String readBody(HttpExchange exchange) throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        try (InputStream in = exchange.getRequestBody()) {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            int n;
+            while ((n = in.read(buffer)) != -1) {
+                body.write(buffer, 0, n);
+            }
+        }
+        return new String(body.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    private static void sendError(HttpExchange exchange, int status, String message) throws IOException {
+        byte[] body = ("{\"message\":" + Json.quote(message) + "}\n").getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    /**
+     * Parsed release request.
+     */
+    private static final class Request {
+        private String workingDirectory;
+
+        private String lockKey;
+
+        private String pomFileName;
+
+        private boolean dryRun;
+
+        private boolean resume;
+
+        private Properties userProperties;
+
+        private Properties descriptorProperties;
+
+        private List<MavenProject> reactorProjects;
+
+        private ReleaseDescriptorBuilder descriptor;
+    }
+
+    /**
+     * Accepts only authorized <code>POST</code> requests with a JSON body, which don't come from a web page.
+     */
+    private abstract class AuthorizedHandler implements HttpHandler {
+        @Override
+        public void handle(HttpExchange exchange) throws IOException {
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                sendError(exchange, HttpURLConnection.HTTP_BAD_METHOD, "Only POST is supported");
+                return;
+            }
+            if (exchange.getRequestHeaders().containsKey("Origin")) {
+                sendError(exchange, HttpURLConnection.HTTP_FORBIDDEN, "Cross-origin requests are not accepted");
+                return;
+            }
+            if (!isAuthorized(exchange.getRequestHeaders().getFirst("Authorization"))) {
+                sendError(exchange, HttpURLConnection.HTTP_UNAUTHORIZED, "Missing or invalid token");
+                return;
+            }
+            if (!isJson(exchange.getRequestHeaders().getFirst("Content-Type"))) {
+                sendError(exchange, HttpURLConnection.HTTP_UNSUPPORTED_TYPE, "The request must be application/json");
+                return;
+            }
+
+            handleAuthorized(exchange);
+        }
+
+        private boolean isAuthorized(String authorization) {
+            String expected = token;
+            if (expected == null || authorization == null || !authorization.startsWith(AUTHORIZATION_PREFIX)) {
+                return false;
+            }
+            // constant time comparison, so the token can't be guessed from the response times
+            return MessageDigest.isEqual(
+                    expected.getBytes(StandardCharsets.UTF_8),
+                    authorization
+                            .substring(AUTHORIZATION_PREFIX.length())
+                            .trim()
+                            .getBytes(StandardCharsets.UTF_8));
+        }
+
+        private boolean isJson(String contentType) {
+            if (contentType == null) {
+                return false;
+            }
+            int parameters = contentType.indexOf(';');
+            String mediaType = parameters >= 0 ? contentType.substring(0, parameters) : contentType;
+            return "application/json".equalsIgnoreCase(mediaType.trim());
+        }
+
+        abstract void handleAuthorized(HttpExchange exchange) throws IOException;
+    }
+
+    /**
+     * Runs a goal of the release manager, queued per working directory.
+     */
+    private abstract class GoalHandler extends AuthorizedHandler {
+        @Override
+        void handleAuthorized(HttpExchange exchange) throws IOException {
+            Request request;
+            try {
+                request = parseRequest(readBody(exchange));
+            } catch (IllegalArgumentException | IOException e) {
+                sendError(exchange, HttpURLConnection.HTTP_BAD_REQUEST, e.getMessage());
+                return;
+            }
+
+            exchange.getResponseHeaders().set("Content-Type", "application/x-ndjson");
+            exchange.sendResponseHeaders(HttpURLConnection.HTTP_OK, 0);
+            try (Writer writer = new OutputStreamWriter(exchange.getResponseBody(), StandardCharsets.UTF_8)) {
+                StreamingReleaseManagerListener listener = new StreamingReleaseManagerListener(writer);
+
+                ReentrantLock lock = workingDirectoryLocks.get(request.lockKey);
+                if (lock == null) {
+                    ReentrantLock newLock = new ReentrantLock(true);
+                    lock = workingDirectoryLocks.putIfAbsent(request.lockKey, newLock);
+                    if (lock == null) {
+                        lock = newLock;
+                    }
+                }
+                try {
+                    // unlike tryLock(), a timed tryLock honors the fairness, so the requests keep their arrival order
+                    if (!lock.tryLock(0, TimeUnit.SECONDS)) {
+                        listener.queued(request.workingDirectory);
+                        lock.lock();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    listener.result("error", "Interrupted while waiting for the working directory");
+                    return;
+                }
+                try {
+                    // the POMs are only read once no other goal rewrites them
+                    loadReactor(request);
+                    run(request, listener);
+                    listener.result("success", null);
+                } catch (ReleaseFailureException e) {
+                    listener.result("failure", e.getMessage());
+                } catch (ReleaseExecutionException | RuntimeException e) {
+                    LOGGER.warn("Release request for {} failed", request.workingDirectory, e);
+                    listener.result("error", e.getMessage());
+                } finally {
+                    lock.unlock();
+                }
+            }
+        }
+
+        abstract void run(Request request, StreamingReleaseManagerListener listener)
+                throws ReleaseExecutionException, ReleaseFailureException;
+    }
+}
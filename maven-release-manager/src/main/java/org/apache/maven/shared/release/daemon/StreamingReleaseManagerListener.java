@@ -0,0 +1,95 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.shared.release.daemon;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+import org.apache.maven.shared.release.ReleaseManagerListener;
+
+/**
+ * Streams the events of a release to the caller of the daemon, one JSON object per line, flushed as they occur.
+ *
+ * @since 3.0.1
+ */
+class StreamingReleaseManagerListener implements ReleaseManagerListener {
+    private final Writer writer;
+
+    StreamingReleaseManagerListener(Writer writer) {
+        this.writer = writer;
+    }
+
+    @Override
+    public void goalStart(String goal, List<String> phases) {
+        StringBuilder event = new StringBuilder("{\"event\":\"goalStart\",\"goal\":")
+                .append(Json.quote(goal))
+                .append(",\"phases\":[");
+        for (int i = 0; i < phases.size(); i++) {
+            if (i > 0) {
+                event.append(',');
+            }
+            event.append(Json.quote(phases.get(i)));
+        }
+        write(event.append("]}").toString());
+    }
+
+    @Override
+    public void phaseStart(String name) {
+        write("{\"event\":\"phaseStart\",\"name\":" + Json.quote(name) + "}");
+    }
+
+    @Override
+    public void phaseEnd() {
+        write("{\"event\":\"phaseEnd\"}");
+    }
+
+    @Override
+    public void phaseSkip(String name) {
+        write("{\"event\":\"phaseSkip\",\"name\":" + Json.quote(name) + "}");
+    }
+
+    @Override
+    public void goalEnd() {
+        write("{\"event\":\"goalEnd\"}");
+    }
+
+    @Override
+    public void error(String reason) {
+        write("{\"event\":\"error\",\"reason\":" + Json.quote(reason) + "}");
+    }
+
+    void queued(String workingDirectory) {
+        write("{\"event\":\"queued\",\"workingDirectory\":" + Json.quote(workingDirectory) + "}");
+    }
+
+    void result(String status, String message) {
+        write("{\"event\":\"result\",\"status\":" + Json.quote(status) + ",\"message\":" + Json.quote(message) + "}");
+    }
+
+    private synchronized void write(String event) {
+        try {
+            writer.write(event);
+            writer.write('\n');
+            writer.flush();
+        } catch (IOException e) {
+            // the caller went away, the release itself continues
+        }
+    }
+}
@@ -22,6 +22,7 @@ import java.io.File;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
 
 import org.apache.maven.settings.Proxy;
 import org.apache.maven.settings.Server;
@@ -32,6 +33,7 @@ import org.apache.maven.shared.release.ReleaseResult;
 import org.apache.maven.shared.release.env.ReleaseEnvironment;
 import org.apache.maven.shared.release.util.MavenCrypto;
 import org.apache.maven.shared.release.util.MavenCrypto.MavenCryptoException;
+import org.apache.maven.shared.release.util.ReleaseEvents;
 import org.codehaus.plexus.util.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -67,8 +69,18 @@ public abstract class AbstractMavenExecutor implements MavenExecutor {
             // across multiple lines in the POM.
             Collections.addAll(goalsList, StringUtils.split(goals, ", \n\r\t"));
         }
-        executeGoals(
-                workingDirectory, goalsList, releaseEnvironment, interactive, additionalArguments, pomFileName, result);
+        try (ReleaseEvents.Event event = ReleaseEvents.begin(
+                ReleaseEvents.Type.MAVEN_EXECUTION, goals, Objects.toString(workingDirectory, null))) {
+            executeGoals(
+                    workingDirectory,
+                    goalsList,
+                    releaseEnvironment,
+                    interactive,
+                    additionalArguments,
+                    pomFileName,
+                    result);
+            event.succeeded();
+        }
     }
 
     protected abstract void executeGoals(
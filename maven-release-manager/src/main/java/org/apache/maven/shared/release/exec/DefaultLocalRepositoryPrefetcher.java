@@ -0,0 +1,362 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.shared.release.exec;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Provider;
+import javax.inject.Singleton;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.maven.RepositoryUtils;
+import org.apache.maven.artifact.ArtifactUtils;
+import org.apache.maven.model.Extension;
+import org.apache.maven.model.Plugin;
+import org.apache.maven.plugin.LegacySupport;
+import org.apache.maven.project.MavenProject;
+import org.apache.maven.repository.internal.MavenRepositorySystemUtils;
+import org.apache.maven.shared.release.env.ReleaseEnvironment;
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.RepositorySystem;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.artifact.ArtifactTypeRegistry;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.collection.CollectRequest;
+import org.eclipse.aether.graph.Dependency;
+import org.eclipse.aether.graph.DependencyFilter;
+import org.eclipse.aether.graph.DependencyNode;
+import org.eclipse.aether.repository.LocalRepository;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.repository.WorkspaceReader;
+import org.eclipse.aether.repository.WorkspaceRepository;
+import org.eclipse.aether.resolution.ArtifactResult;
+import org.eclipse.aether.resolution.DependencyRequest;
+import org.eclipse.aether.resolution.DependencyResolutionException;
+import org.eclipse.aether.resolution.DependencyResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Fetches the reactor dependencies with the repository system of the running Maven. The reactor projects themselves
+ * are not fetched: their POMs are read from the reactor, and their artifacts are left out.
+ *
+ * @since 3.0.1
+ */
+@Singleton
+@Named
+public class DefaultLocalRepositoryPrefetcher implements LocalRepositoryPrefetcher {
+    private static final int THREADS = 4;
+
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
+    private final Provider<RepositorySystem> repositorySystem;
+
+    private final Provider<LegacySupport> legacySupport;
+
+    /**
+     * The running prefetches, by local repository.
+     */
+    private final ConcurrentMap<File, Future<?>> prefetches = new ConcurrentHashMap<>();
+
+    @Inject
+    public DefaultLocalRepositoryPrefetcher(
+            Provider<RepositorySystem> repositorySystem, Provider<LegacySupport> legacySupport) {
+        this.repositorySystem = requireNonNull(repositorySystem);
+        this.legacySupport = requireNonNull(legacySupport);
+    }
+
+    @Override
+    public void prefetch(final List<MavenProject> reactorProjects, final ReleaseEnvironment releaseEnvironment) {
+        final File localRepositoryDirectory = releaseEnvironment.getLocalRepositoryDirectory();
+        if (localRepositoryDirectory == null) {
+            return;
+        }
+
+        // the session of the running build, if any, is only reachable from its own thread
+        final RepositorySystemSession currentSession = legacySupport.get().getRepositorySession();
+        FutureTask<Void> prefetch = new FutureTask<>(new Callable<Void>() {
+            @Override
+            public Void call() throws Exception {
+                prefetch(reactorProjects, releaseEnvironment, localRepositoryDirectory, currentSession);
+                return null;
+            }
+        });
+
+        File key = localRepositoryDirectory.getAbsoluteFile();
+        Future<?> running = prefetches.putIfAbsent(key, prefetch);
+        if (running != null && (!running.isDone() || !prefetches.replace(key, running, prefetch))) {
+            // another prefetch into this local repository is running, and is the one awaited
+            logger.debug("Already prefetching into " + localRepositoryDirectory);
+            return;
+        }
+
+        Thread thread = new Thread(prefetch, "release-prefetch");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public boolean await(File localRepositoryDirectory) {
+        if (localRepositoryDirectory == null) {
+            return false;
+        }
+
+        File key = localRepositoryDirectory.getAbsoluteFile();
+        Future<?> prefetch = prefetches.get(key);
+        if (prefetch == null) {
+            return false;
+        }
+
+        boolean running = !prefetch.isDone();
+        try {
+            prefetch.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            logger.warn("Prefetching into the local repository failed: "
+                    + e.getCause().getMessage());
+            logger.debug(e.getCause().getMessage(), e.getCause());
+        }
+        if (prefetch.isDone()) {
+            prefetches.remove(key, prefetch);
+        }
+        return running;
+    }
+
+    private void prefetch(
+            List<MavenProject> reactorProjects,
+            ReleaseEnvironment releaseEnvironment,
+            File localRepositoryDirectory,
+            RepositorySystemSession currentSession)
+            throws InterruptedException {
+        long start = System.currentTimeMillis();
+
+        final RepositorySystem system = repositorySystem.get();
+        final DefaultRepositorySystemSession session;
+        if (currentSession != null) {
+            // keep the update and checksum policies, mirrors, proxies and authentication of the running build
+            session = new DefaultRepositorySystemSession(currentSession);
+        } else {
+            session = MavenRepositorySystemUtils.newSession();
+            session.setSystemProperties(System.getProperties());
+        }
+        session.setLocalRepositoryManager(
+                system.newLocalRepositoryManager(session, new LocalRepository(localRepositoryDirectory)));
+        session.setWorkspaceReader(new ReactorWorkspaceReader(reactorProjects));
+        if (releaseEnvironment.getSettings() != null) {
+            session.setOffline(releaseEnvironment.getSettings().isOffline());
+        }
+
+        final Set<String> reactorKeys = new HashSet<>();
+        for (MavenProject project : reactorProjects) {
+            reactorKeys.add(ArtifactUtils.versionlessKey(project.getGroupId(), project.getArtifactId()));
+        }
+        final DependencyFilter filter = new DependencyFilter() {
+            @Override
+            public boolean accept(DependencyNode node, List<DependencyNode> parents) {
+                Artifact artifact = node.getArtifact();
+                return artifact == null
+                        || !reactorKeys.contains(
+                                ArtifactUtils.versionlessKey(artifact.getGroupId(), artifact.getArtifactId()));
+            }
+        };
+
+        List<CollectRequest> requests = createRequests(reactorProjects, reactorKeys, session.getArtifactTypeRegistry());
+
+        final AtomicInteger artifacts = new AtomicInteger();
+        final AtomicInteger failures = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS, new ThreadFactory() {
+            private final AtomicInteger count = new AtomicInteger();
+
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread thread = new Thread(r, "release-prefetch-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (final CollectRequest request : requests) {
+                futures.add(executor.submit(new Runnable() {
+                    @Override
+                    public void run() {
+                        DependencyResult result;
+                        try {
+                            result = system.resolveDependencies(session, new DependencyRequest(request, filter));
+                        } catch (DependencyResolutionException e) {
+                            failures.incrementAndGet();
+                            logger.debug("Unable to prefetch " + describe(request) + ": " + e.getMessage());
+                            result = e.getResult();
+                        }
+                        if (result != null) {
+                            for (ArtifactResult artifactResult : result.getArtifactResults()) {
+                                if (artifactResult.isResolved()) {
+                                    artifacts.incrementAndGet();
+                                }
+                            }
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    failures.incrementAndGet();
+                    logger.debug("Unable to prefetch: " + e.getCause().getMessage(), e.getCause());
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        logger.info("Prefetched " + artifacts.get() + " artifacts into " + localRepositoryDirectory + " in "
+                + (System.currentTimeMillis() - start) + " ms"
+                + (failures.get() > 0 ? ", " + failures.get() + " of " + requests.size() + " requests failed" : ""));
+    }
+
+    /**
+     * Creates a request for the dependencies of each project, and one for each distinct plugin and extension.
+     */
+    private static List<CollectRequest> createRequests(
+            List<MavenProject> reactorProjects, Set<String> reactorKeys, ArtifactTypeRegistry stereotypes) {
+        List<CollectRequest> requests = new ArrayList<>();
+        Set<String> buildArtifacts = new HashSet<>();
+        for (MavenProject project : reactorProjects) {
+            CollectRequest request = new CollectRequest();
+            for (org.apache.maven.model.Dependency dependency : project.getDependencies()) {
+                if (!reactorKeys.contains(
+                        ArtifactUtils.versionlessKey(dependency.getGroupId(), dependency.getArtifactId()))) {
+                    request.addDependency(RepositoryUtils.toDependency(dependency, stereotypes));
+                }
+            }
+            if (!request.getDependencies().isEmpty()) {
+                if (project.getDependencyManagement() != null) {
+                    for (org.apache.maven.model.Dependency dependency :
+                            project.getDependencyManagement().getDependencies()) {
+                        request.addManagedDependency(RepositoryUtils.toDependency(dependency, stereotypes));
+                    }
+                }
+                request.setRepositories(project.getRemoteProjectRepositories());
+                requests.add(request);
+            }
+
+            List<RemoteRepository> pluginRepositories = project.getRemotePluginRepositories();
+            for (Plugin plugin : project.getBuildPlugins()) {
+                if (plugin.getVersion() != null
+                        && !reactorKeys.contains(plugin.getKey())
+                        && buildArtifacts.add(plugin.getId())) {
+                    request = createBuildArtifactRequest(
+                            plugin.getGroupId(), plugin.getArtifactId(), plugin.getVersion(), pluginRepositories);
+                    for (org.apache.maven.model.Dependency dependency : plugin.getDependencies()) {
+                        request.addDependency(RepositoryUtils.toDependency(dependency, stereotypes));
+                    }
+                    requests.add(request);
+                }
+            }
+            for (Extension extension : project.getBuildExtensions()) {
+                String key = ArtifactUtils.versionlessKey(extension.getGroupId(), extension.getArtifactId());
+                if (extension.getVersion() != null
+                        && !reactorKeys.contains(key)
+                        && buildArtifacts.add(key + ':' + extension.getVersion())) {
+                    requests.add(createBuildArtifactRequest(
+                            extension.getGroupId(),
+                            extension.getArtifactId(),
+                            extension.getVersion(),
+                            pluginRepositories));
+                }
+            }
+        }
+        return requests;
+    }
+
+    private static CollectRequest createBuildArtifactRequest(
+            String groupId, String artifactId, String version, List<RemoteRepository> repositories) {
+        CollectRequest request = new CollectRequest();
+        request.setRoot(new Dependency(new DefaultArtifact(groupId, artifactId, "jar", version), "runtime"));
+        request.setRepositories(repositories);
+        return request;
+    }
+
+    private static String describe(CollectRequest request) {
+        return request.getRoot() != null
+                ? request.getRoot().getArtifact().toString()
+                : request.getDependencies().size() + " dependencies";
+    }
+
+    /**
+     * Reads the POMs of the reactor projects from the reactor, which are not deployed yet.
+     */
+    private static final class ReactorWorkspaceReader implements WorkspaceReader {
+        private final WorkspaceRepository repository = new WorkspaceRepository("reactor");
+
+        private final Map<String, MavenProject> projects = new HashMap<>();
+
+        ReactorWorkspaceReader(List<MavenProject> reactorProjects) {
+            for (MavenProject project : reactorProjects) {
+                projects.put(ArtifactUtils.versionlessKey(project.getGroupId(), project.getArtifactId()), project);
+            }
+        }
+
+        @Override
+        public WorkspaceRepository getRepository() {
+            return repository;
+        }
+
+        @Override
+        public File findArtifact(Artifact artifact) {
+            MavenProject project = find(artifact);
+            return project != null && "pom".equals(artifact.getExtension()) ? project.getFile() : null;
+        }
+
+        @Override
+        public List<String> findVersions(Artifact artifact) {
+            MavenProject project = find(artifact);
+            return project != null ? Collections.singletonList(project.getVersion()) : Collections.<String>emptyList();
+        }
+
+        private MavenProject find(Artifact artifact) {
+            MavenProject project =
+                    projects.get(ArtifactUtils.versionlessKey(artifact.getGroupId(), artifact.getArtifactId()));
+            return project != null && project.getVersion().equals(artifact.getBaseVersion()) ? project : null;
+        }
+    }
+}
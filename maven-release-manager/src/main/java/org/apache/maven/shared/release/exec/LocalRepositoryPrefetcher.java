@@ -0,0 +1,51 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.shared.release.exec;
+
+import java.io.File;
+import java.util.List;
+
+import org.apache.maven.project.MavenProject;
+import org.apache.maven.shared.release.env.ReleaseEnvironment;
+
+/**
+ * Fetches the dependencies, plugins and extensions of a reactor into the local repository used by the forked builds,
+ * so they start with everything local. Componentised to allow mocking.
+ *
+ * @since 3.0.1
+ */
+public interface LocalRepositoryPrefetcher {
+    /**
+     * Starts to fetch the dependencies, plugins and extensions of the reactor projects into the local repository of
+     * the release environment, in the background. Fetching is best effort: whatever can't be fetched is left for the
+     * forked builds to resolve.
+     *
+     * @param reactorProjects    the reactor projects
+     * @param releaseEnvironment the release environment
+     */
+    void prefetch(List<MavenProject> reactorProjects, ReleaseEnvironment releaseEnvironment);
+
+    /**
+     * Waits for a running prefetch into the given local repository, if any.
+     *
+     * @param localRepositoryDirectory the local repository
+     * @return <code>true</code> if a prefetch was still running
+     */
+    boolean await(File localRepositoryDirectory);
+}
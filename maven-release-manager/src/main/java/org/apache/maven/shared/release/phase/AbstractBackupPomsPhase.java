@@ -19,9 +19,10 @@
 package org.apache.maven.shared.release.phase;
 
 import java.io.File;
+import java.util.Collections;
 
 import org.apache.maven.project.MavenProject;
-import org.apache.maven.shared.release.util.ReleaseUtil;
+import org.apache.maven.shared.release.util.ReactorIndex;
 
 /**
  * <p>Abstract AbstractBackupPomsPhase class.</p>
@@ -34,11 +35,11 @@ public abstract class AbstractBackupPomsPhase extends AbstractReleasePhase {
     /**
      * <p>getPomBackup.</p>
      *
-     * @param project a {@link org.apache.maven.project.MavenProject} object
+     * @param module a {@link org.apache.maven.shared.release.util.ReactorIndex.Module} object
      * @return a {@link java.io.File} object
      */
-    protected File getPomBackup(MavenProject project) {
-        File pomFile = ReleaseUtil.getStandardPom(project);
+    protected File getPomBackup(ReactorIndex.Module module) {
+        File pomFile = module.getStandardPom();
 
         if (pomFile != null) {
             return new File(pomFile.getAbsolutePath() + BACKUP_SUFFIX);
@@ -48,15 +49,38 @@ public abstract class AbstractBackupPomsPhase extends AbstractReleasePhase {
     }
 
     /**
-     * <p>deletePomBackup.</p>
+     * <p>getPomBackup.</p>
      *
      * @param project a {@link org.apache.maven.project.MavenProject} object
+     * @return a {@link java.io.File} object
+     * @deprecated use {@link #getPomBackup(ReactorIndex.Module)} instead
      */
-    protected void deletePomBackup(MavenProject project) {
-        File pomBackup = getPomBackup(project);
+    @Deprecated
+    protected File getPomBackup(MavenProject project) {
+        return getPomBackup(ReactorIndex.of(Collections.singletonList(project)).getRoot());
+    }
+
+    /**
+     * <p>deletePomBackup.</p>
+     *
+     * @param module a {@link org.apache.maven.shared.release.util.ReactorIndex.Module} object
+     */
+    protected void deletePomBackup(ReactorIndex.Module module) {
+        File pomBackup = getPomBackup(module);
 
         if (pomBackup != null && pomBackup.exists()) {
             pomBackup.delete();
         }
     }
+
+    /**
+     * <p>deletePomBackup.</p>
+     *
+     * @param project a {@link org.apache.maven.project.MavenProject} object
+     * @deprecated use {@link #deletePomBackup(ReactorIndex.Module)} instead
+     */
+    @Deprecated
+    protected void deletePomBackup(MavenProject project) {
+        deletePomBackup(ReactorIndex.of(Collections.singletonList(project)).getRoot());
+    }
 }
@@ -24,6 +24,7 @@ import org.apache.maven.artifact.ArtifactUtils;
 import org.apache.maven.project.MavenProject;
 import org.apache.maven.scm.manager.NoSuchScmProviderException;
 import org.apache.maven.scm.repository.ScmRepositoryException;
+import org.apache.maven.shared.release.ReleaseExecutionContext;
 import org.apache.maven.shared.release.ReleaseExecutionException;
 import org.apache.maven.shared.release.ReleaseFailureException;
 import org.apache.maven.shared.release.ReleaseResult;
@@ -31,6 +32,7 @@ import org.apache.maven.shared.release.config.ReleaseDescriptor;
 import org.apache.maven.shared.release.env.ReleaseEnvironment;
 import org.apache.maven.shared.release.scm.ReleaseScmRepositoryException;
 import org.apache.maven.shared.release.scm.ScmRepositoryConfigurator;
+import org.apache.maven.shared.release.util.ReactorIndex;
 import org.codehaus.plexus.util.StringUtils;
 
 import static java.util.Objects.requireNonNull;
@@ -67,6 +69,16 @@ public abstract class AbstractCheckPomPhase extends AbstractReleasePhase {
             ReleaseEnvironment releaseEnvironment,
             List<MavenProject> reactorProjects)
             throws ReleaseExecutionException, ReleaseFailureException {
+        return execute(releaseDescriptor, releaseEnvironment, reactorProjects, null);
+    }
+
+    @Override
+    public ReleaseResult execute(
+            ReleaseDescriptor releaseDescriptor,
+            ReleaseEnvironment releaseEnvironment,
+            List<MavenProject> reactorProjects,
+            ReleaseExecutionContext executionContext)
+            throws ReleaseExecutionException, ReleaseFailureException {
         ReleaseResult result = new ReleaseResult();
 
         // Currently, we don't deal with multiple SCM locations in a multiproject
@@ -88,8 +100,9 @@ public abstract class AbstractCheckPomPhase extends AbstractReleasePhase {
 
         boolean containsSnapshotProjects = false;
 
-        for (MavenProject project : reactorProjects) {
-            if (ArtifactUtils.isSnapshot(project.getVersion())) {
+        for (ReactorIndex.Module module :
+                ReactorIndex.of(reactorProjects, executionContext).getModules()) {
+            if (ArtifactUtils.isSnapshot(module.getVersion())) {
                 containsSnapshotProjects = true;
 
                 break;
@@ -111,7 +124,17 @@ public abstract class AbstractCheckPomPhase extends AbstractReleasePhase {
             ReleaseEnvironment releaseEnvironment,
             List<MavenProject> reactorProjects)
             throws ReleaseExecutionException, ReleaseFailureException {
+        return simulate(releaseDescriptor, releaseEnvironment, reactorProjects, null);
+    }
+
+    @Override
+    public ReleaseResult simulate(
+            ReleaseDescriptor releaseDescriptor,
+            ReleaseEnvironment releaseEnvironment,
+            List<MavenProject> reactorProjects,
+            ReleaseExecutionContext executionContext)
+            throws ReleaseExecutionException, ReleaseFailureException {
         // It makes no modifications, so simulate is the same as execute
-        return execute(releaseDescriptor, releaseEnvironment, reactorProjects);
+        return execute(releaseDescriptor, releaseEnvironment, reactorProjects, executionContext);
     }
 }
@@ -27,6 +27,7 @@ import org.apache.maven.scm.manager.NoSuchScmProviderException;
 import org.apache.maven.scm.provider.ScmProvider;
 import org.apache.maven.scm.repository.ScmRepository;
 import org.apache.maven.scm.repository.ScmRepositoryException;
+import org.apache.maven.shared.release.ReleaseExecutionContext;
 import org.apache.maven.shared.release.ReleaseExecutionException;
 import org.apache.maven.shared.release.ReleaseResult;
 import org.apache.maven.shared.release.config.ReleaseDescriptor;
@@ -35,7 +36,7 @@ import org.apache.maven.shared.release.policy.PolicyException;
 import org.apache.maven.shared.release.policy.version.VersionPolicy;
 import org.apache.maven.shared.release.policy.version.VersionPolicyRequest;
 import org.apache.maven.shared.release.scm.ScmRepositoryConfigurator;
-import org.apache.maven.shared.release.util.ReleaseUtil;
+import org.apache.maven.shared.release.util.ReactorIndex;
 import org.apache.maven.shared.release.versions.VersionParseException;
 import org.codehaus.plexus.components.interactivity.Prompter;
 import org.codehaus.plexus.components.interactivity.PrompterException;
@@ -117,17 +118,28 @@ public abstract class AbstractMapVersionsPhase extends AbstractReleasePhase {
             ReleaseEnvironment releaseEnvironment,
             List<MavenProject> reactorProjects)
             throws ReleaseExecutionException {
+        return execute(releaseDescriptor, releaseEnvironment, reactorProjects, null);
+    }
+
+    @Override
+    public ReleaseResult execute(
+            ReleaseDescriptor releaseDescriptor,
+            ReleaseEnvironment releaseEnvironment,
+            List<MavenProject> reactorProjects,
+            ReleaseExecutionContext executionContext)
+            throws ReleaseExecutionException {
         ReleaseResult result = new ReleaseResult();
 
-        MavenProject rootProject = ReleaseUtil.getRootProject(reactorProjects);
+        ReactorIndex reactor = ReactorIndex.of(reactorProjects, executionContext);
+        ReactorIndex.Module rootModule = reactor.getRoot();
 
-        if (releaseDescriptor.isAutoVersionSubmodules() && ArtifactUtils.isSnapshot(rootProject.getVersion())) {
+        if (releaseDescriptor.isAutoVersionSubmodules() && ArtifactUtils.isSnapshot(rootModule.getVersion())) {
             // get the root project
-            MavenProject project = rootProject;
+            ReactorIndex.Module module = rootModule;
 
-            String projectId = ArtifactUtils.versionlessKey(project.getGroupId(), project.getArtifactId());
+            String projectId = module.getKey();
 
-            String nextVersion = resolveNextVersion(project, projectId, releaseDescriptor, releaseEnvironment);
+            String nextVersion = resolveNextVersion(module, projectId, releaseDescriptor, releaseEnvironment);
 
             if (!convertToSnapshot) {
                 releaseDescriptor.addReleaseVersion(projectId, nextVersion);
@@ -137,18 +149,18 @@ public abstract class AbstractMapVersionsPhase extends AbstractReleasePhase {
                 releaseDescriptor.addDevelopmentVersion(projectId, nextVersion);
             }
 
-            for (MavenProject subProject : reactorProjects) {
-                String subProjectId = ArtifactUtils.versionlessKey(subProject.getGroupId(), subProject.getArtifactId());
+            for (ReactorIndex.Module subModule : reactor.getModules()) {
+                String subProjectId = subModule.getKey();
 
                 if (convertToSnapshot) {
                     String subProjectNextVersion = releaseDescriptor.getProjectDevelopmentVersion(subProjectId);
                     String v;
                     if (subProjectNextVersion != null) {
                         v = subProjectNextVersion;
-                    } else if (ArtifactUtils.isSnapshot(subProject.getVersion())) {
+                    } else if (ArtifactUtils.isSnapshot(subModule.getVersion())) {
                         v = nextVersion;
                     } else {
-                        v = subProject.getVersion();
+                        v = subModule.getVersion();
                     }
 
                     if (releaseDescriptor.isBranchCreation() && convertToBranch) {
@@ -166,10 +178,10 @@ public abstract class AbstractMapVersionsPhase extends AbstractReleasePhase {
                 }
             }
         } else {
-            for (MavenProject project : reactorProjects) {
-                String projectId = ArtifactUtils.versionlessKey(project.getGroupId(), project.getArtifactId());
+            for (ReactorIndex.Module module : reactor.getModules()) {
+                String projectId = module.getKey();
 
-                String nextVersion = resolveNextVersion(project, projectId, releaseDescriptor, releaseEnvironment);
+                String nextVersion = resolveNextVersion(module, projectId, releaseDescriptor, releaseEnvironment);
 
                 if (!convertToSnapshot) {
                     releaseDescriptor.addReleaseVersion(projectId, nextVersion);
@@ -187,7 +199,7 @@ public abstract class AbstractMapVersionsPhase extends AbstractReleasePhase {
     }
 
     private String resolveNextVersion(
-            MavenProject project,
+            ReactorIndex.Module module,
             String projectId,
             ReleaseDescriptor releaseDescriptor,
             ReleaseEnvironment releaseEnvironment)
@@ -196,9 +208,9 @@ public abstract class AbstractMapVersionsPhase extends AbstractReleasePhase {
         if (convertToBranch) {
             // no branch modification
             if (!(releaseDescriptor.isUpdateBranchVersions()
-                    && (ArtifactUtils.isSnapshot(project.getVersion())
+                    && (ArtifactUtils.isSnapshot(module.getVersion())
                             || releaseDescriptor.isUpdateVersionsToSnapshot()))) {
-                return project.getVersion();
+                return module.getVersion();
             }
 
             defaultVersion = getReleaseVersion(projectId, releaseDescriptor);
@@ -207,15 +219,15 @@ public abstract class AbstractMapVersionsPhase extends AbstractReleasePhase {
             defaultVersion = getReleaseVersion(projectId, releaseDescriptor);
         } else if (releaseDescriptor.isBranchCreation()) {
             // no working copy modification
-            if (!(ArtifactUtils.isSnapshot(project.getVersion()) && releaseDescriptor.isUpdateWorkingCopyVersions())) {
-                return project.getVersion();
+            if (!(ArtifactUtils.isSnapshot(module.getVersion()) && releaseDescriptor.isUpdateWorkingCopyVersions())) {
+                return module.getVersion();
             }
 
             defaultVersion = getDevelopmentVersion(projectId, releaseDescriptor);
         } else {
             // no working copy modification
             if (!(releaseDescriptor.isUpdateWorkingCopyVersions())) {
-                return project.getVersion();
+                return module.getVersion();
             }
 
             defaultVersion = getDevelopmentVersion(projectId, releaseDescriptor);
@@ -234,7 +246,7 @@ public abstract class AbstractMapVersionsPhase extends AbstractReleasePhase {
                     }
                     // unspecified and unmapped version, so use project version
                     if (baseVersion == null) {
-                        baseVersion = project.getVersion();
+                        baseVersion = module.getVersion();
                     }
 
                     try {
@@ -261,7 +273,7 @@ public abstract class AbstractMapVersionsPhase extends AbstractReleasePhase {
                         messageFormat = "What is the " + getContextString(releaseDescriptor) + " version for \"%s\"? ("
                                 + buffer().project("%s") + ")";
                     }
-                    String message = String.format(messageFormat, project.getName(), project.getArtifactId());
+                    String message = String.format(messageFormat, module.getName(), module.getArtifactId());
                     nextVersion = prompter.prompt(message, suggestedVersion);
 
                     // @todo validate next version, maybe with DefaultArtifactVersion
@@ -367,10 +379,20 @@ public abstract class AbstractMapVersionsPhase extends AbstractReleasePhase {
             ReleaseEnvironment releaseEnvironment,
             List<MavenProject> reactorProjects)
             throws ReleaseExecutionException {
+        return simulate(releaseDescriptor, releaseEnvironment, reactorProjects, null);
+    }
+
+    @Override
+    public ReleaseResult simulate(
+            ReleaseDescriptor releaseDescriptor,
+            ReleaseEnvironment releaseEnvironment,
+            List<MavenProject> reactorProjects,
+            ReleaseExecutionContext executionContext)
+            throws ReleaseExecutionException {
         ReleaseResult result = new ReleaseResult();
 
         // It makes no modifications, so simulate is the same as execute
-        execute(releaseDescriptor, releaseEnvironment, reactorProjects);
+        execute(releaseDescriptor, releaseEnvironment, reactorProjects, executionContext);
 
         result.setResultCode(ReleaseResult.SUCCESS);
 
@@ -22,8 +22,6 @@ import java.io.File;
 import java.net.URI;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
-import java.util.ArrayList;
-import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
@@ -32,12 +30,7 @@ import java.util.TimeZone;
 
 import org.apache.maven.artifact.Artifact;
 import org.apache.maven.artifact.ArtifactUtils;
-import org.apache.maven.model.Build;
-import org.apache.maven.model.BuildBase;
 import org.apache.maven.model.Model;
-import org.apache.maven.model.ModelBase;
-import org.apache.maven.model.Plugin;
-import org.apache.maven.model.Profile;
 import org.apache.maven.project.MavenProject;
 import org.apache.maven.scm.ScmException;
 import org.apache.maven.scm.ScmFileSet;
@@ -46,9 +39,11 @@ import org.apache.maven.scm.manager.NoSuchScmProviderException;
 import org.apache.maven.scm.provider.ScmProvider;
 import org.apache.maven.scm.repository.ScmRepository;
 import org.apache.maven.scm.repository.ScmRepositoryException;
+import org.apache.maven.shared.release.ReleaseExecutionContext;
 import org.apache.maven.shared.release.ReleaseExecutionException;
 import org.apache.maven.shared.release.ReleaseFailureException;
 import org.apache.maven.shared.release.ReleaseResult;
+import org.apache.maven.shared.release.config.ReleaseCoordinateIndex;
 import org.apache.maven.shared.release.config.ReleaseDescriptor;
 import org.apache.maven.shared.release.env.ReleaseEnvironment;
 import org.apache.maven.shared.release.scm.ReleaseScmCommandException;
@@ -56,10 +51,13 @@ import org.apache.maven.shared.release.scm.ReleaseScmRepositoryException;
 import org.apache.maven.shared.release.scm.ScmRepositoryConfigurator;
 import org.apache.maven.shared.release.scm.ScmTranslator;
 import org.apache.maven.shared.release.transform.MavenCoordinate;
+import org.apache.maven.shared.release.transform.MavenCoordinateIndex;
 import org.apache.maven.shared.release.transform.ModelETL;
 import org.apache.maven.shared.release.transform.ModelETLFactory;
 import org.apache.maven.shared.release.transform.ModelETLRequest;
 import org.apache.maven.shared.release.transform.jdom2.JDomModelETLFactory;
+import org.apache.maven.shared.release.util.ReactorIndex;
+import org.apache.maven.shared.release.util.ReleaseEvents;
 import org.apache.maven.shared.release.util.ReleaseUtil;
 import org.codehaus.plexus.util.StringUtils;
 
@@ -72,6 +70,13 @@ import static org.apache.maven.shared.utils.logging.MessageUtils.buffer;
  * @author <a href="mailto:brett@apache.org">Brett Porter</a>
  */
 public abstract class AbstractRewritePomsPhase extends AbstractReleasePhase implements ResourceGenerator {
+    /**
+     * The name of the cache of the configured SCM repositories in the execution context, by SCM URL. The
+     * credentials of the release descriptor don't change during a goal, so the rewriting phases of a goal share the
+     * repositories.
+     */
+    static final String SCM_REPOSITORIES_CACHE = "scm-repositories";
+
     /**
      * Tool that gets a configured SCM repository from release configuration.
      */
@@ -84,13 +89,6 @@ public abstract class AbstractRewritePomsPhase extends AbstractReleasePhase impl
      */
     private Map<String, ScmTranslator> scmTranslators;
 
-    /**
-     * Use jdom2-sax as default
-     */
-    private String modelETL = JDomModelETLFactory.NAME;
-
-    private long startTime = -1 * 1000;
-
     protected AbstractRewritePomsPhase(
             ScmRepositoryConfigurator scmRepositoryConfigurator,
             Map<String, ModelETLFactory> modelETLFactories,
@@ -109,24 +107,6 @@ public abstract class AbstractRewritePomsPhase extends AbstractReleasePhase impl
         return scmTranslators;
     }
 
-    /**
-     * <p>Setter for the field <code>modelETL</code>.</p>
-     *
-     * @param modelETL a {@link java.lang.String} object
-     */
-    public void setModelETL(String modelETL) {
-        this.modelETL = modelETL;
-    }
-
-    /**
-     * <p>Setter for the field <code>startTime</code>.</p>
-     *
-     * @param startTime a long
-     */
-    public void setStartTime(long startTime) {
-        this.startTime = startTime;
-    }
-
     /**
      * <p>getPomSuffix.</p>
      *
@@ -140,9 +120,19 @@ public abstract class AbstractRewritePomsPhase extends AbstractReleasePhase impl
             ReleaseEnvironment releaseEnvironment,
             List<MavenProject> reactorProjects)
             throws ReleaseExecutionException, ReleaseFailureException {
+        return execute(releaseDescriptor, releaseEnvironment, reactorProjects, null);
+    }
+
+    @Override
+    public ReleaseResult execute(
+            ReleaseDescriptor releaseDescriptor,
+            ReleaseEnvironment releaseEnvironment,
+            List<MavenProject> reactorProjects,
+            ReleaseExecutionContext executionContext)
+            throws ReleaseExecutionException, ReleaseFailureException {
         ReleaseResult result = new ReleaseResult();
 
-        transform(releaseDescriptor, releaseEnvironment, reactorProjects, false, result);
+        transform(releaseDescriptor, releaseEnvironment, reactorProjects, executionContext, false, result);
 
         result.setResultCode(ReleaseResult.SUCCESS);
 
@@ -155,9 +145,19 @@ public abstract class AbstractRewritePomsPhase extends AbstractReleasePhase impl
             ReleaseEnvironment releaseEnvironment,
             List<MavenProject> reactorProjects)
             throws ReleaseExecutionException, ReleaseFailureException {
+        return simulate(releaseDescriptor, releaseEnvironment, reactorProjects, null);
+    }
+
+    @Override
+    public ReleaseResult simulate(
+            ReleaseDescriptor releaseDescriptor,
+            ReleaseEnvironment releaseEnvironment,
+            List<MavenProject> reactorProjects,
+            ReleaseExecutionContext executionContext)
+            throws ReleaseExecutionException, ReleaseFailureException {
         ReleaseResult result = new ReleaseResult();
 
-        transform(releaseDescriptor, releaseEnvironment, reactorProjects, true, result);
+        transform(releaseDescriptor, releaseEnvironment, reactorProjects, executionContext, true, result);
 
         result.setResultCode(ReleaseResult.SUCCESS);
 
@@ -190,12 +190,38 @@ public abstract class AbstractRewritePomsPhase extends AbstractReleasePhase impl
             ReleaseDescriptor releaseDescriptor,
             ReleaseEnvironment releaseEnvironment,
             List<MavenProject> reactorProjects,
+            ReleaseExecutionContext executionContext,
             boolean simulate,
             ReleaseResult result)
             throws ReleaseExecutionException, ReleaseFailureException {
-        result.setStartTime((startTime >= 0) ? startTime : System.currentTimeMillis());
+        // per-run state lives in the result and locals, the phase itself is shared between concurrent releases
+        result.setStartTime(executionContext != null ? executionContext.getStartTime() : System.currentTimeMillis());
+        // use jdom2-sax as default
+        String modelETL =
+                releaseDescriptor.getModelETL() != null ? releaseDescriptor.getModelETL() : JDomModelETLFactory.NAME;
+        ModelETLFactory etlFactory = modelETLFactories.get(modelETL);
+        if (etlFactory == null) {
+            throw new ReleaseExecutionException("Unknown POM transformation: " + modelETL);
+        }
+        // the versions are not changed while rewriting, so one index serves all projects
+        CoordinateFilter coordinateFilter = new CoordinateFilter(ReleaseCoordinateIndex.of(releaseDescriptor));
+
+        // the SCM repository is the same for all projects, and for all the rewriting phases of a goal
+        ScmRepository scmRepository = null;
+        ScmProvider provider = null;
+        if (isUpdateScm()) {
+            scmRepository = getScmRepository(releaseDescriptor, releaseEnvironment, executionContext);
+            try {
+                provider = scmRepositoryConfigurator.getRepositoryProvider(scmRepository);
+            } catch (NoSuchScmProviderException e) {
+                throw new ReleaseExecutionException("Unable to configure SCM repository: " + e.getMessage(), e);
+            }
+        }
 
-        URI root = ReleaseUtil.getRootProject(reactorProjects).getBasedir().toURI();
+        URI root = ReactorIndex.of(reactorProjects, executionContext)
+                .getRoot()
+                .getBasedir()
+                .toURI();
 
         for (MavenProject project : reactorProjects) {
             URI pom = project.getFile().toURI();
@@ -205,14 +231,36 @@ public abstract class AbstractRewritePomsPhase extends AbstractReleasePhase impl
                             + buffer().project(project.getArtifactId()) + " '" + project.getName() + "'"
                             + (simulate ? " with ." + getPomSuffix() + " suffix" : "") + "...");
 
-            transformProject(project, releaseDescriptor, releaseEnvironment, simulate, result);
+            try (ReleaseEvents.Event event = ReleaseEvents.begin(
+                    ReleaseEvents.Type.TRANSFORM,
+                    getClass().getSimpleName(),
+                    ArtifactUtils.versionlessKey(project.getGroupId(), project.getArtifactId()))) {
+                transformProject(
+                        project,
+                        etlFactory,
+                        coordinateFilter,
+                        releaseDescriptor,
+                        scmRepository,
+                        provider,
+                        simulate,
+                        result);
+                event.succeeded();
+            }
         }
+
+        logDebug(
+                result,
+                "Skipped " + coordinateFilter.skipped + " of " + coordinateFilter.checked
+                        + " coordinates which are neither reactor projects nor resolved snapshot dependencies");
     }
 
     private void transformProject(
             MavenProject project,
+            ModelETLFactory etlFactory,
+            CoordinateFilter coordinateFilter,
             ReleaseDescriptor releaseDescriptor,
-            ReleaseEnvironment releaseEnvironment,
+            ScmRepository scmRepository,
+            ScmProvider provider,
             boolean simulate,
             ReleaseResult result)
             throws ReleaseExecutionException, ReleaseFailureException {
@@ -222,27 +270,23 @@ public abstract class AbstractRewritePomsPhase extends AbstractReleasePhase impl
         request.setProject(project);
         request.setReleaseDescriptor(releaseDescriptor);
 
-        ModelETL etl = modelETLFactories.get(modelETL).newInstance(request);
-
-        etl.extract(pomFile);
-
-        ScmRepository scmRepository = null;
-        ScmProvider provider = null;
+        ModelETL etl = etlFactory.newInstance(request);
 
-        if (isUpdateScm()) {
-            try {
-                scmRepository = scmRepositoryConfigurator.getConfiguredRepository(
-                        releaseDescriptor, releaseEnvironment.getSettings());
-
-                provider = scmRepositoryConfigurator.getRepositoryProvider(scmRepository);
-            } catch (ScmRepositoryException e) {
-                throw new ReleaseScmRepositoryException(e.getMessage(), e.getValidationMessages());
-            } catch (NoSuchScmProviderException e) {
-                throw new ReleaseExecutionException("Unable to configure SCM repository: " + e.getMessage(), e);
-            }
+        try (ReleaseEvents.Event event =
+                ReleaseEvents.begin(ReleaseEvents.Type.MODEL_ETL, "extract", pomFile.getPath())) {
+            etl.extract(pomFile);
+            event.succeeded();
         }
 
-        transformDocument(project, etl.getModel(), releaseDescriptor, scmRepository, result, simulate);
+        transformDocument(
+                project,
+                etl.getModel(),
+                etl.getCoordinateIndex(),
+                coordinateFilter,
+                releaseDescriptor,
+                scmRepository,
+                result,
+                simulate);
 
         File outputFile;
         if (simulate) {
@@ -251,12 +295,49 @@ public abstract class AbstractRewritePomsPhase extends AbstractReleasePhase impl
             outputFile = pomFile;
             prepareScm(pomFile, releaseDescriptor, scmRepository, provider);
         }
-        etl.load(outputFile);
+        try (ReleaseEvents.Event event =
+                ReleaseEvents.begin(ReleaseEvents.Type.MODEL_ETL, "load", outputFile.getPath())) {
+            etl.load(outputFile);
+            event.succeeded();
+        }
+    }
+
+    private ScmRepository getScmRepository(
+            final ReleaseDescriptor releaseDescriptor,
+            final ReleaseEnvironment releaseEnvironment,
+            ReleaseExecutionContext executionContext)
+            throws ReleaseExecutionException, ReleaseFailureException {
+        ReleaseExecutionContext.Loader<String, ScmRepository> loader =
+                new ReleaseExecutionContext.Loader<String, ScmRepository>() {
+                    @Override
+                    public ScmRepository load(String url)
+                            throws ReleaseExecutionException, ReleaseScmRepositoryException {
+                        try {
+                            return scmRepositoryConfigurator.getConfiguredRepository(
+                                    url, releaseDescriptor, releaseEnvironment.getSettings());
+                        } catch (ScmRepositoryException e) {
+                            throw new ReleaseScmRepositoryException(e.getMessage(), e.getValidationMessages());
+                        } catch (NoSuchScmProviderException e) {
+                            throw new ReleaseExecutionException(
+                                    "Unable to configure SCM repository: " + e.getMessage(), e);
+                        }
+                    }
+                };
+
+        String url = releaseDescriptor.getScmSourceUrl();
+        if (executionContext == null || url == null) {
+            return loader.load(url);
+        }
+        return executionContext
+                .getCache(SCM_REPOSITORIES_CACHE, String.class, ScmRepository.class)
+                .get(url, loader);
     }
 
     private void transformDocument(
             MavenProject project,
             Model modelTarget,
+            MavenCoordinateIndex coordinateIndex,
+            CoordinateFilter coordinateFilter,
             ReleaseDescriptor releaseDescriptor,
             ScmRepository scmRepository,
             ReleaseResult result,
@@ -272,133 +353,8 @@ public abstract class AbstractRewritePomsPhase extends AbstractReleasePhase impl
 
         rewriteVersion(modelTarget, releaseDescriptor, projectId, project);
 
-        Build buildTarget = modelTarget.getBuild();
-        if (buildTarget != null) {
-            // profile.build.extensions doesn't exist, so only rewrite project.build.extensions
-            rewriteArtifactVersions(
-                    toMavenCoordinates(buildTarget.getExtensions()),
-                    model,
-                    properties,
-                    result,
-                    releaseDescriptor,
-                    simulate);
-
-            rewriteArtifactVersions(
-                    toMavenCoordinates(buildTarget.getPlugins()),
-                    model,
-                    properties,
-                    result,
-                    releaseDescriptor,
-                    simulate);
-
-            for (Plugin plugin : buildTarget.getPlugins()) {
-                rewriteArtifactVersions(
-                        toMavenCoordinates(plugin.getDependencies()),
-                        model,
-                        properties,
-                        result,
-                        releaseDescriptor,
-                        simulate);
-            }
-
-            if (buildTarget.getPluginManagement() != null) {
-                rewriteArtifactVersions(
-                        toMavenCoordinates(buildTarget.getPluginManagement().getPlugins()),
-                        model,
-                        properties,
-                        result,
-                        releaseDescriptor,
-                        simulate);
-
-                for (Plugin plugin : buildTarget.getPluginManagement().getPlugins()) {
-                    rewriteArtifactVersions(
-                            toMavenCoordinates(plugin.getDependencies()),
-                            model,
-                            properties,
-                            result,
-                            releaseDescriptor,
-                            simulate);
-                }
-            }
-        }
-
-        for (Profile profile : modelTarget.getProfiles()) {
-            BuildBase profileBuild = profile.getBuild();
-            if (profileBuild != null) {
-                rewriteArtifactVersions(
-                        toMavenCoordinates(profileBuild.getPlugins()),
-                        model,
-                        properties,
-                        result,
-                        releaseDescriptor,
-                        simulate);
-
-                for (Plugin plugin : profileBuild.getPlugins()) {
-                    rewriteArtifactVersions(
-                            toMavenCoordinates(plugin.getDependencies()),
-                            model,
-                            properties,
-                            result,
-                            releaseDescriptor,
-                            simulate);
-                }
-
-                if (profileBuild.getPluginManagement() != null) {
-                    rewriteArtifactVersions(
-                            toMavenCoordinates(
-                                    profileBuild.getPluginManagement().getPlugins()),
-                            model,
-                            properties,
-                            result,
-                            releaseDescriptor,
-                            simulate);
-
-                    for (Plugin plugin : profileBuild.getPluginManagement().getPlugins()) {
-                        rewriteArtifactVersions(
-                                toMavenCoordinates(plugin.getDependencies()),
-                                model,
-                                properties,
-                                result,
-                                releaseDescriptor,
-                                simulate);
-                    }
-                }
-            }
-        }
-
-        List<ModelBase> modelBases = new ArrayList<>();
-        modelBases.add(modelTarget);
-        modelBases.addAll(modelTarget.getProfiles());
-
-        for (ModelBase modelBase : modelBases) {
-            rewriteArtifactVersions(
-                    toMavenCoordinates(modelBase.getDependencies()),
-                    model,
-                    properties,
-                    result,
-                    releaseDescriptor,
-                    simulate);
-
-            if (modelBase.getDependencyManagement() != null) {
-                rewriteArtifactVersions(
-                        toMavenCoordinates(modelBase.getDependencyManagement().getDependencies()),
-                        model,
-                        properties,
-                        result,
-                        releaseDescriptor,
-                        simulate);
-            }
-
-            if (modelBase.getReporting() != null) {
-                rewriteArtifactVersions(
-                        toMavenCoordinates(modelBase.getReporting().getPlugins()),
-                        model,
-                        properties,
-                        result,
-                        releaseDescriptor,
-                        simulate);
-            }
-        }
+        rewriteArtifactVersions(
+                coordinateIndex, coordinateFilter, model, properties, result, releaseDescriptor, simulate);
 
         transformScm(project, modelTarget, releaseDescriptor, projectId, scmRepository, result);
 
@@ -465,40 +421,46 @@ public abstract class AbstractRewritePomsPhase extends AbstractReleasePhase impl
     }
 
     private void rewriteArtifactVersions(
-            Collection<MavenCoordinate> elements,
+            MavenCoordinateIndex coordinateIndex,
+            CoordinateFilter coordinateFilter,
             Model projectModel,
             Properties properties,
             ReleaseResult result,
             ReleaseDescriptor releaseDescriptor,
             boolean simulate)
             throws ReleaseExecutionException, ReleaseFailureException {
-        if (elements == null) {
-            return;
-        }
         String projectId = ArtifactUtils.versionlessKey(projectModel.getGroupId(), projectModel.getArtifactId());
-        for (MavenCoordinate coordinate : elements) {
-            String rawVersion = coordinate.getVersion();
-            if (rawVersion == null) {
-                // managed dependency or unversioned plugin
-                continue;
-            }
-
+        for (MavenCoordinateIndex.Entry entry : coordinateIndex.getEntries()) {
+            MavenCoordinate coordinate = entry.getCoordinate();
             String rawGroupId = coordinate.getGroupId();
             if (rawGroupId == null) {
-                if ("plugin".equals(coordinate.getName())) {
+                if (entry.getContext() == MavenCoordinateIndex.Context.PLUGIN
+                        || entry.getContext() == MavenCoordinateIndex.Context.REPORT_PLUGIN) {
                     rawGroupId = "org.apache.maven.plugins";
                 } else {
                     // incomplete dependency
                     continue;
                 }
             }
-            String groupId = ReleaseUtil.interpolate(rawGroupId, projectModel);
 
             String rawArtifactId = coordinate.getArtifactId();
             if (rawArtifactId == null) {
                 // incomplete element
                 continue;
             }
+
+            if (coordinateFilter.reject(rawGroupId, rawArtifactId)) {
+                // neither a reactor project nor a resolved snapshot dependency
+                continue;
+            }
+
+            String rawVersion = coordinate.getVersion();
+            if (rawVersion == null) {
+                // managed dependency or unversioned plugin
+                continue;
+            }
+
+            String groupId = ReleaseUtil.interpolate(rawGroupId, projectModel);
             String artifactId = ReleaseUtil.interpolate(rawArtifactId, projectModel);
 
             String key = ArtifactUtils.versionlessKey(groupId, artifactId);
@@ -592,8 +554,13 @@ public abstract class AbstractRewritePomsPhase extends AbstractReleasePhase impl
             throws ReleaseExecutionException, ReleaseScmCommandException {
         try {
             if (isUpdateScm() && (releaseDescriptor.isScmUseEditMode() || provider.requiresEditMode())) {
-                EditScmResult result = provider.edit(
-                        repository, new ScmFileSet(new File(releaseDescriptor.getWorkingDirectory()), pomFile));
+                EditScmResult result;
+                try (ReleaseEvents.Event event = ReleaseEvents.begin(
+                        ReleaseEvents.Type.SCM_COMMAND, "edit", releaseDescriptor.getWorkingDirectory())) {
+                    result = provider.edit(
+                            repository, new ScmFileSet(new File(releaseDescriptor.getWorkingDirectory()), pomFile));
+                    event.setSuccess(result.isSuccess());
+                }
 
                 if (!result.isSuccess()) {
                     throw new ReleaseScmCommandException("Unable to enable editing on the POM", result);
@@ -711,15 +678,31 @@ public abstract class AbstractRewritePomsPhase extends AbstractReleasePhase impl
         }
     }
 
-    private Collection<MavenCoordinate> toMavenCoordinates(List<?> objects) {
-        Collection<MavenCoordinate> coordinates = new ArrayList<>(objects.size());
-        for (Object object : objects) {
-            if (object instanceof MavenCoordinate) {
-                coordinates.add((MavenCoordinate) object);
-            } else {
-                throw new UnsupportedOperationException();
+    /**
+     * Rejects the coordinates which have no versions in the release, before they are interpolated or looked up.
+     * Coordinates with expressions are always accepted, as they are only known after interpolation.
+     */
+    private static final class CoordinateFilter {
+        private final ReleaseCoordinateIndex index;
+
+        private int checked;
+
+        private int skipped;
+
+        CoordinateFilter(ReleaseCoordinateIndex index) {
+            this.index = index;
+        }
+
+        boolean reject(String rawGroupId, String rawArtifactId) {
+            checked++;
+            if (index == null
+                    || rawGroupId.contains("${")
+                    || rawArtifactId.contains("${")
+                    || index.contains(rawGroupId, rawArtifactId)) {
+                return false;
             }
+            skipped++;
+            return true;
         }
-        return coordinates;
     }
 }
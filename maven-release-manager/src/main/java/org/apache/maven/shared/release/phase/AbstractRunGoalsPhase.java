@@ -27,6 +27,7 @@ import org.apache.maven.shared.release.ReleaseExecutionException;
 import org.apache.maven.shared.release.ReleaseResult;
 import org.apache.maven.shared.release.config.ReleaseDescriptor;
 import org.apache.maven.shared.release.env.ReleaseEnvironment;
+import org.apache.maven.shared.release.exec.LocalRepositoryPrefetcher;
 import org.apache.maven.shared.release.exec.MavenExecutor;
 import org.apache.maven.shared.release.exec.MavenExecutorException;
 import org.codehaus.plexus.util.StringUtils;
@@ -45,8 +46,19 @@ public abstract class AbstractRunGoalsPhase extends AbstractReleasePhase {
      */
     private final Map<String, MavenExecutor> mavenExecutors;
 
+    /**
+     * Component fetching the dependencies into the local repository ahead of the invocation, if any.
+     */
+    private final LocalRepositoryPrefetcher localRepositoryPrefetcher;
+
     protected AbstractRunGoalsPhase(Map<String, MavenExecutor> mavenExecutors) {
+        this(mavenExecutors, null);
+    }
+
+    protected AbstractRunGoalsPhase(
+            Map<String, MavenExecutor> mavenExecutors, LocalRepositoryPrefetcher localRepositoryPrefetcher) {
         this.mavenExecutors = requireNonNull(mavenExecutors);
+        this.localRepositoryPrefetcher = localRepositoryPrefetcher;
     }
 
     protected ReleaseResult execute(
@@ -91,6 +103,11 @@ public abstract class AbstractRunGoalsPhase extends AbstractReleasePhase {
                             "Cannot find Maven executor with id: " + releaseEnvironment.getMavenExecutorId());
                 }
 
+                if (localRepositoryPrefetcher != null
+                        && localRepositoryPrefetcher.await(releaseEnvironment.getLocalRepositoryDirectory())) {
+                    logInfo(result, "Waited for the dependencies to be prefetched into the local repository");
+                }
+
                 File executionRoot;
                 String pomFileName;
                 if (releaseDescriptor.getPomFileName() != null) {
@@ -21,9 +21,7 @@ package org.apache.maven.shared.release.phase;
 import java.io.File;
 import java.text.MessageFormat;
 import java.util.Collection;
-import java.util.List;
 
-import org.apache.maven.project.MavenProject;
 import org.apache.maven.shared.release.ReleaseExecutionException;
 import org.apache.maven.shared.release.ReleaseResult;
 import org.apache.maven.shared.release.config.ReleaseDescriptor;
@@ -31,6 +29,7 @@ import org.apache.maven.shared.release.env.ReleaseEnvironment;
 import org.apache.maven.shared.release.scm.ReleaseScmCommandException;
 import org.apache.maven.shared.release.scm.ReleaseScmRepositoryException;
 import org.apache.maven.shared.release.scm.ScmRepositoryConfigurator;
+import org.apache.maven.shared.release.util.ReactorIndex;
 
 /**
  * Commit the changes that were done to prepare the branch or tag to the SCM.
@@ -55,7 +54,7 @@ public abstract class AbstractScmCommitDevelopmentPhase extends AbstractScmCommi
     protected void runLogic(
             ReleaseDescriptor releaseDescriptor,
             ReleaseEnvironment releaseEnvironment,
-            List<MavenProject> reactorProjects,
+            ReactorIndex reactor,
             ReleaseResult result,
             boolean simulating)
             throws ReleaseScmCommandException, ReleaseExecutionException, ReleaseScmRepositoryException {
@@ -79,13 +78,13 @@ public abstract class AbstractScmCommitDevelopmentPhase extends AbstractScmCommi
                 message = createRollbackMessage(releaseDescriptor);
             } else {
                 // a normal commit
-                message = createMessage(reactorProjects, releaseDescriptor);
+                message = createMessage(reactor, releaseDescriptor);
             }
             if (simulating) {
-                Collection<File> pomFiles = createPomFiles(releaseDescriptor, reactorProjects);
+                Collection<File> pomFiles = createPomFiles(releaseDescriptor, reactor.getModules());
                 logInfo(result, "Full run would commit " + pomFiles.size() + " files with message: '" + message + "'");
             } else {
-                performCheckins(releaseDescriptor, releaseEnvironment, reactorProjects, message);
+                performCheckins(releaseDescriptor, releaseEnvironment, reactor, message);
             }
         }
     }
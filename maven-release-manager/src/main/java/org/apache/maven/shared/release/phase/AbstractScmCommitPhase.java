@@ -19,8 +19,11 @@
 package org.apache.maven.shared.release.phase;
 
 import java.io.File;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 
 import org.apache.maven.project.MavenProject;
@@ -32,6 +35,7 @@ import org.apache.maven.scm.manager.NoSuchScmProviderException;
 import org.apache.maven.scm.provider.ScmProvider;
 import org.apache.maven.scm.repository.ScmRepository;
 import org.apache.maven.scm.repository.ScmRepositoryException;
+import org.apache.maven.shared.release.ReleaseExecutionContext;
 import org.apache.maven.shared.release.ReleaseExecutionException;
 import org.apache.maven.shared.release.ReleaseFailureException;
 import org.apache.maven.shared.release.ReleaseResult;
@@ -40,7 +44,8 @@ import org.apache.maven.shared.release.env.ReleaseEnvironment;
 import org.apache.maven.shared.release.scm.ReleaseScmCommandException;
 import org.apache.maven.shared.release.scm.ReleaseScmRepositoryException;
 import org.apache.maven.shared.release.scm.ScmRepositoryConfigurator;
-import org.apache.maven.shared.release.util.ReleaseUtil;
+import org.apache.maven.shared.release.util.ReactorIndex;
+import org.apache.maven.shared.release.util.ReleaseEvents;
 
 import static java.util.Objects.requireNonNull;
 
@@ -73,11 +78,26 @@ public abstract class AbstractScmCommitPhase extends AbstractReleasePhase {
             ReleaseEnvironment releaseEnvironment,
             List<MavenProject> reactorProjects)
             throws ReleaseExecutionException, ReleaseFailureException {
+        return execute(releaseDescriptor, releaseEnvironment, reactorProjects, null);
+    }
+
+    @Override
+    public ReleaseResult execute(
+            ReleaseDescriptor releaseDescriptor,
+            ReleaseEnvironment releaseEnvironment,
+            List<MavenProject> reactorProjects,
+            ReleaseExecutionContext executionContext)
+            throws ReleaseExecutionException, ReleaseFailureException {
         ReleaseResult relResult = new ReleaseResult();
 
         validateConfiguration(releaseDescriptor);
 
-        runLogic(releaseDescriptor, releaseEnvironment, reactorProjects, relResult, false);
+        runLogic(
+                releaseDescriptor,
+                releaseEnvironment,
+                ReactorIndex.of(reactorProjects, executionContext),
+                relResult,
+                false);
 
         relResult.setResultCode(ReleaseResult.SUCCESS);
 
@@ -90,16 +110,54 @@ public abstract class AbstractScmCommitPhase extends AbstractReleasePhase {
             ReleaseEnvironment releaseEnvironment,
             List<MavenProject> reactorProjects)
             throws ReleaseExecutionException, ReleaseFailureException {
+        return simulate(releaseDescriptor, releaseEnvironment, reactorProjects, null);
+    }
+
+    @Override
+    public ReleaseResult simulate(
+            ReleaseDescriptor releaseDescriptor,
+            ReleaseEnvironment releaseEnvironment,
+            List<MavenProject> reactorProjects,
+            ReleaseExecutionContext executionContext)
+            throws ReleaseExecutionException, ReleaseFailureException {
         ReleaseResult result = new ReleaseResult();
 
         validateConfiguration(releaseDescriptor);
 
-        runLogic(releaseDescriptor, releaseEnvironment, reactorProjects, result, true);
+        runLogic(
+                releaseDescriptor,
+                releaseEnvironment,
+                ReactorIndex.of(reactorProjects, executionContext),
+                result,
+                true);
 
         result.setResultCode(ReleaseResult.SUCCESS);
         return result;
     }
 
+    /**
+     * <p>runLogic.</p>
+     *
+     * @param releaseDescriptor  a {@link org.apache.maven.shared.release.config.ReleaseDescriptor} object
+     * @param releaseEnvironment a {@link org.apache.maven.shared.release.env.ReleaseEnvironment} object
+     * @param reactor            a {@link org.apache.maven.shared.release.util.ReactorIndex} object
+     * @param result             a {@link org.apache.maven.shared.release.ReleaseResult} object
+     * @param simulating         a boolean
+     * @throws org.apache.maven.shared.release.scm.ReleaseScmCommandException    if any.
+     * @throws org.apache.maven.shared.release.ReleaseExecutionException         if any.
+     * @throws org.apache.maven.shared.release.scm.ReleaseScmRepositoryException if any.
+     */
+    protected void runLogic(
+            ReleaseDescriptor releaseDescriptor,
+            ReleaseEnvironment releaseEnvironment,
+            ReactorIndex reactor,
+            ReleaseResult result,
+            boolean simulating)
+            throws ReleaseScmCommandException, ReleaseExecutionException, ReleaseScmRepositoryException {
+        // phases written before the reactor index override the variant taking the reactor projects
+        runLogic(releaseDescriptor, releaseEnvironment, reactor.getReactorProjects(), result, simulating);
+    }
+
     /**
      * <p>runLogic.</p>
      *
@@ -111,21 +169,26 @@ public abstract class AbstractScmCommitPhase extends AbstractReleasePhase {
      * @throws org.apache.maven.shared.release.scm.ReleaseScmCommandException    if any.
      * @throws org.apache.maven.shared.release.ReleaseExecutionException         if any.
      * @throws org.apache.maven.shared.release.scm.ReleaseScmRepositoryException if any.
+     * @deprecated override {@link #runLogic(ReleaseDescriptor, ReleaseEnvironment, ReactorIndex, ReleaseResult,
+     * boolean)} instead
      */
-    protected abstract void runLogic(
+    @Deprecated
+    protected void runLogic(
             ReleaseDescriptor releaseDescriptor,
             ReleaseEnvironment releaseEnvironment,
             List<MavenProject> reactorProjects,
             ReleaseResult result,
             boolean simulating)
-            throws ReleaseScmCommandException, ReleaseExecutionException, ReleaseScmRepositoryException;
+            throws ReleaseScmCommandException, ReleaseExecutionException, ReleaseScmRepositoryException {
+        throw new UnsupportedOperationException(getClass().getName() + " must override runLogic");
+    }
 
     /**
      * <p>performCheckins.</p>
      *
      * @param releaseDescriptor  a {@link org.apache.maven.shared.release.config.ReleaseDescriptor} object
      * @param releaseEnvironment a {@link org.apache.maven.shared.release.env.ReleaseEnvironment} object
-     * @param reactorProjects    a {@link java.util.List} object
+     * @param reactor            a {@link org.apache.maven.shared.release.util.ReactorIndex} object
      * @param message            a {@link java.lang.String} object
      * @throws org.apache.maven.shared.release.scm.ReleaseScmRepositoryException if any.
      * @throws org.apache.maven.shared.release.ReleaseExecutionException         if any.
@@ -134,7 +197,7 @@ public abstract class AbstractScmCommitPhase extends AbstractReleasePhase {
     protected void performCheckins(
             ReleaseDescriptor releaseDescriptor,
             ReleaseEnvironment releaseEnvironment,
-            List<MavenProject> reactorProjects,
+            ReactorIndex reactor,
             String message)
             throws ReleaseScmRepositoryException, ReleaseExecutionException, ReleaseScmCommandException {
 
@@ -158,42 +221,98 @@ public abstract class AbstractScmCommitPhase extends AbstractReleasePhase {
         }
 
         if (releaseDescriptor.isCommitByProject()) {
-            for (MavenProject project : reactorProjects) {
-                List<File> pomFiles = createPomFiles(releaseDescriptor, project);
-                ScmFileSet fileSet = new ScmFileSet(project.getFile().getParentFile(), pomFiles);
-
-                checkin(provider, repository, fileSet, releaseDescriptor, message);
+            List<ScmFileSet> fileSets = createCommitByProjectFileSets(releaseDescriptor, reactor);
+
+            for (int i = 0; i < fileSets.size(); i++) {
+                ScmFileSet fileSet = fileSets.get(i);
+                if (i == 0) {
+                    checkin(provider, repository, fileSet, releaseDescriptor, message, "Unable to commit files");
+                    continue;
+                }
+
+                // the commits by project are not atomic, report the ones which already went through
+                String failureMessage = "Unable to commit files in " + fileSet.getBasedir() + " after " + i + " of "
+                        + fileSets.size() + " commits by project succeeded, these must be reverted";
+                try {
+                    checkin(provider, repository, fileSet, releaseDescriptor, message, failureMessage);
+                } catch (ReleaseExecutionException e) {
+                    throw new ReleaseExecutionException(failureMessage + ": " + e.getMessage(), e);
+                }
             }
         } else {
-            List<File> pomFiles = createPomFiles(releaseDescriptor, reactorProjects);
+            List<File> pomFiles = createPomFiles(releaseDescriptor, reactor.getModules());
             ScmFileSet fileSet = new ScmFileSet(new File(releaseDescriptor.getWorkingDirectory()), pomFiles);
 
-            checkin(provider, repository, fileSet, releaseDescriptor, message);
+            checkin(provider, repository, fileSet, releaseDescriptor, message, "Unable to commit files");
         }
     }
 
+    /**
+     * <p>performCheckins.</p>
+     *
+     * @param releaseDescriptor  a {@link org.apache.maven.shared.release.config.ReleaseDescriptor} object
+     * @param releaseEnvironment a {@link org.apache.maven.shared.release.env.ReleaseEnvironment} object
+     * @param reactorProjects    a {@link java.util.List} object
+     * @param message            a {@link java.lang.String} object
+     * @throws org.apache.maven.shared.release.scm.ReleaseScmRepositoryException if any.
+     * @throws org.apache.maven.shared.release.ReleaseExecutionException         if any.
+     * @throws org.apache.maven.shared.release.scm.ReleaseScmCommandException    if any.
+     * @deprecated use {@link #performCheckins(ReleaseDescriptor, ReleaseEnvironment, ReactorIndex, String)} instead
+     */
+    @Deprecated
+    protected void performCheckins(
+            ReleaseDescriptor releaseDescriptor,
+            ReleaseEnvironment releaseEnvironment,
+            List<MavenProject> reactorProjects,
+            String message)
+            throws ReleaseScmRepositoryException, ReleaseExecutionException, ReleaseScmCommandException {
+        performCheckins(releaseDescriptor, releaseEnvironment, ReactorIndex.of(reactorProjects), message);
+    }
+
     private void checkin(
             ScmProvider provider,
             ScmRepository repository,
             ScmFileSet fileSet,
             ReleaseDescriptor releaseDescriptor,
-            String message)
+            String message,
+            String failureMessage)
             throws ReleaseExecutionException, ReleaseScmCommandException {
         CheckInScmResult result;
         try {
-            result = provider.checkIn(repository, fileSet, (ScmVersion) null, message);
+            try (ReleaseEvents.Event event = ReleaseEvents.begin(
+                    ReleaseEvents.Type.SCM_COMMAND,
+                    "checkIn",
+                    fileSet.getBasedir().getPath())) {
+                result = provider.checkIn(repository, fileSet, (ScmVersion) null, message);
+                event.setSuccess(result.isSuccess());
+            }
         } catch (ScmException e) {
             throw new ReleaseExecutionException("An error is occurred in the checkin process: " + e.getMessage(), e);
         }
 
         if (!result.isSuccess()) {
-            throw new ReleaseScmCommandException("Unable to commit files", result);
+            throw new ReleaseScmCommandException(failureMessage, result);
         }
+
         if (releaseDescriptor.isRemoteTagging()) {
             releaseDescriptor.setScmReleasedPomRevision(result.getScmRevision());
         }
     }
 
+    /**
+     * <p>simulateCheckins.</p>
+     *
+     * @param releaseDescriptor a {@link org.apache.maven.shared.release.config.ReleaseDescriptor} object
+     * @param reactor           a {@link org.apache.maven.shared.release.util.ReactorIndex} object
+     * @param result            a {@link org.apache.maven.shared.release.ReleaseResult} object
+     * @param message           a {@link java.lang.String} object
+     */
+    protected void simulateCheckins(
+            ReleaseDescriptor releaseDescriptor, ReactorIndex reactor, ReleaseResult result, String message) {
+        Collection<File> pomFiles = createPomFiles(releaseDescriptor, reactor.getModules());
+        logInfo(result, "Full run would be commit " + pomFiles.size() + " files with message: '" + message + "'");
+    }
+
     /**
      * <p>simulateCheckins.</p>
      *
@@ -201,14 +320,15 @@ public abstract class AbstractScmCommitPhase extends AbstractReleasePhase {
      * @param reactorProjects   a {@link java.util.List} object
      * @param result            a {@link org.apache.maven.shared.release.ReleaseResult} object
      * @param message           a {@link java.lang.String} object
+     * @deprecated use {@link #simulateCheckins(ReleaseDescriptor, ReactorIndex, ReleaseResult, String)} instead
      */
+    @Deprecated
     protected void simulateCheckins(
             ReleaseDescriptor releaseDescriptor,
             List<MavenProject> reactorProjects,
             ReleaseResult result,
             String message) {
-        Collection<File> pomFiles = createPomFiles(releaseDescriptor, reactorProjects);
-        logInfo(result, "Full run would be commit " + pomFiles.size() + " files with message: '" + message + "'");
+        simulateCheckins(releaseDescriptor, ReactorIndex.of(reactorProjects), result, message);
     }
 
     /**
@@ -226,12 +346,12 @@ public abstract class AbstractScmCommitPhase extends AbstractReleasePhase {
     /**
      * <p>createMessage.</p>
      *
-     * @param reactorProjects   a {@link java.util.List} object
+     * @param reactor           a {@link org.apache.maven.shared.release.util.ReactorIndex} object
      * @param releaseDescriptor a {@link org.apache.maven.shared.release.config.ReleaseDescriptor} object
      * @return a {@link java.lang.String} object
      * @throws org.apache.maven.shared.release.ReleaseExecutionException if any.
      */
-    protected String createMessage(List<MavenProject> reactorProjects, ReleaseDescriptor releaseDescriptor)
+    protected String createMessage(ReactorIndex reactor, ReleaseDescriptor releaseDescriptor)
             throws ReleaseExecutionException {
         String comment;
         boolean branch = false;
@@ -249,7 +369,7 @@ public abstract class AbstractScmCommitPhase extends AbstractReleasePhase {
                     "Invalid configuration of descriptorCommentGetter='" + descriptorCommentGetter + "'");
         }
 
-        MavenProject project = ReleaseUtil.getRootProject(reactorProjects);
+        ReactorIndex.Module project = reactor.getRoot();
         comment = comment.replace(
                 "@{prefix}", releaseDescriptor.getScmCommentPrefix().trim());
         comment = comment.replace("@{groupId}", project.getGroupId());
@@ -262,20 +382,35 @@ public abstract class AbstractScmCommitPhase extends AbstractReleasePhase {
         return comment;
     }
 
+    /**
+     * <p>createMessage.</p>
+     *
+     * @param reactorProjects   a {@link java.util.List} object
+     * @param releaseDescriptor a {@link org.apache.maven.shared.release.config.ReleaseDescriptor} object
+     * @return a {@link java.lang.String} object
+     * @throws org.apache.maven.shared.release.ReleaseExecutionException if any.
+     * @deprecated use {@link #createMessage(ReactorIndex, ReleaseDescriptor)} instead
+     */
+    @Deprecated
+    protected String createMessage(List<MavenProject> reactorProjects, ReleaseDescriptor releaseDescriptor)
+            throws ReleaseExecutionException {
+        return createMessage(ReactorIndex.of(reactorProjects), releaseDescriptor);
+    }
+
     /**
      * <p>createPomFiles.</p>
      *
      * @param releaseDescriptor a {@link org.apache.maven.shared.release.config.ReleaseDescriptor} object
-     * @param project           a {@link org.apache.maven.project.MavenProject} object
+     * @param module            a {@link org.apache.maven.shared.release.util.ReactorIndex.Module} object
      * @return a {@link java.util.List} object
      */
-    protected static List<File> createPomFiles(ReleaseDescriptor releaseDescriptor, MavenProject project) {
+    protected static List<File> createPomFiles(ReleaseDescriptor releaseDescriptor, ReactorIndex.Module module) {
         List<File> pomFiles = new ArrayList<>();
 
-        pomFiles.add(ReleaseUtil.getStandardPom(project));
+        pomFiles.add(module.getStandardPom());
 
         if (releaseDescriptor.isGenerateReleasePoms() && !releaseDescriptor.isSuppressCommitBeforeTagOrBranch()) {
-            pomFiles.add(ReleaseUtil.getReleasePom(project));
+            pomFiles.add(module.getReleasePom());
         }
 
         return pomFiles;
@@ -285,15 +420,110 @@ public abstract class AbstractScmCommitPhase extends AbstractReleasePhase {
      * <p>createPomFiles.</p>
      *
      * @param releaseDescriptor a {@link org.apache.maven.shared.release.config.ReleaseDescriptor} object
-     * @param reactorProjects   a {@link java.util.List} object
+     * @param project           a {@link org.apache.maven.project.MavenProject} object
+     * @return a {@link java.util.List} object
+     * @deprecated use {@link #createPomFiles(ReleaseDescriptor, ReactorIndex.Module)} instead
+     */
+    @Deprecated
+    protected static List<File> createPomFiles(ReleaseDescriptor releaseDescriptor, MavenProject project) {
+        return createPomFiles(
+                releaseDescriptor,
+                ReactorIndex.of(Collections.singletonList(project)).getRoot());
+    }
+
+    /**
+     * <p>createPomFiles.</p>
+     *
+     * @param releaseDescriptor a {@link org.apache.maven.shared.release.config.ReleaseDescriptor} object
+     * @param modules           a {@link java.util.Collection} object
      * @return a {@link java.util.List} object
      */
     protected static List<File> createPomFiles(
-            ReleaseDescriptor releaseDescriptor, List<MavenProject> reactorProjects) {
+            ReleaseDescriptor releaseDescriptor, Collection<ReactorIndex.Module> modules) {
         List<File> pomFiles = new ArrayList<>();
-        for (MavenProject project : reactorProjects) {
-            pomFiles.addAll(createPomFiles(releaseDescriptor, project));
+        for (ReactorIndex.Module module : modules) {
+            pomFiles.addAll(createPomFiles(releaseDescriptor, module));
         }
         return pomFiles;
     }
+
+    /**
+     * <p>createPomFiles.</p>
+     *
+     * @param releaseDescriptor a {@link org.apache.maven.shared.release.config.ReleaseDescriptor} object
+     * @param reactorProjects   a {@link java.util.List} object
+     * @return a {@link java.util.List} object
+     * @deprecated use {@link #createPomFiles(ReleaseDescriptor, Collection)} instead
+     */
+    @Deprecated
+    protected static List<File> createPomFiles(
+            ReleaseDescriptor releaseDescriptor, List<MavenProject> reactorProjects) {
+        return createPomFiles(
+                releaseDescriptor, ReactorIndex.of(reactorProjects).getModules());
+    }
+
+    /**
+     * <p>createCommitByProjectFileSets.</p>
+     *
+     * @param releaseDescriptor a {@link org.apache.maven.shared.release.config.ReleaseDescriptor} object
+     * @param reactorProjects   a {@link java.util.List} object
+     * @return a {@link java.util.List} object
+     * @deprecated use {@link #createCommitByProjectFileSets(ReleaseDescriptor, ReactorIndex)} instead
+     */
+    @Deprecated
+    protected static List<ScmFileSet> createCommitByProjectFileSets(
+            ReleaseDescriptor releaseDescriptor, List<MavenProject> reactorProjects) {
+        return createCommitByProjectFileSets(releaseDescriptor, ReactorIndex.of(reactorProjects));
+    }
+
+    /**
+     * Groups the projects into file sets of at most {@code commitByProjectBatchSize} projects. The projects inside the
+     * working directory are grouped with the working directory as base directory, sorted by directory first so that
+     * sibling modules end up in the same batch. The projects outside of it, like in a flat layout, may be separate
+     * working copies and keep a file set of their own.
+     *
+     * @param releaseDescriptor a {@link org.apache.maven.shared.release.config.ReleaseDescriptor} object
+     * @param reactor           a {@link org.apache.maven.shared.release.util.ReactorIndex} object
+     * @return a {@link java.util.List} object
+     */
+    protected static List<ScmFileSet> createCommitByProjectFileSets(
+            ReleaseDescriptor releaseDescriptor, ReactorIndex reactor) {
+        int batchSize = Math.max(1, releaseDescriptor.getCommitByProjectBatchSize());
+
+        List<ScmFileSet> fileSets = new ArrayList<>();
+        if (batchSize == 1) {
+            for (ReactorIndex.Module module : reactor.getModules()) {
+                List<File> pomFiles = createPomFiles(releaseDescriptor, module);
+                fileSets.add(new ScmFileSet(module.getBasedir(), pomFiles));
+            }
+            return fileSets;
+        }
+
+        File workingDirectory = new File(releaseDescriptor.getWorkingDirectory());
+        Path workingPath = workingDirectory.getAbsoluteFile().toPath().normalize();
+
+        List<ReactorIndex.Module> batchedModules = new ArrayList<>();
+        for (ReactorIndex.Module module : reactor.getModules()) {
+            File moduleDirectory = module.getBasedir();
+            if (moduleDirectory.getAbsoluteFile().toPath().normalize().startsWith(workingPath)) {
+                batchedModules.add(module);
+            } else {
+                fileSets.add(new ScmFileSet(moduleDirectory, createPomFiles(releaseDescriptor, module)));
+            }
+        }
+
+        batchedModules.sort(new Comparator<ReactorIndex.Module>() {
+            @Override
+            public int compare(ReactorIndex.Module o1, ReactorIndex.Module o2) {
+                return o1.getBasedir().compareTo(o2.getBasedir());
+            }
+        });
+
+        for (int start = 0; start < batchedModules.size(); start += batchSize) {
+            List<ReactorIndex.Module> batch =
+                    batchedModules.subList(start, Math.min(start + batchSize, batchedModules.size()));
+            fileSets.add(new ScmFileSet(workingDirectory, createPomFiles(releaseDescriptor, batch)));
+        }
+        return fileSets;
+    }
 }
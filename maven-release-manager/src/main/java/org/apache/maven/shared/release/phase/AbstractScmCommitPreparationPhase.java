@@ -18,9 +18,6 @@
  */
 package org.apache.maven.shared.release.phase;
 
-import java.util.List;
-
-import org.apache.maven.project.MavenProject;
 import org.apache.maven.shared.release.ReleaseExecutionException;
 import org.apache.maven.shared.release.ReleaseFailureException;
 import org.apache.maven.shared.release.ReleaseResult;
@@ -29,6 +26,7 @@ import org.apache.maven.shared.release.env.ReleaseEnvironment;
 import org.apache.maven.shared.release.scm.ReleaseScmCommandException;
 import org.apache.maven.shared.release.scm.ReleaseScmRepositoryException;
 import org.apache.maven.shared.release.scm.ScmRepositoryConfigurator;
+import org.apache.maven.shared.release.util.ReactorIndex;
 
 /**
  * Commit the changes that were done to prepare the branch or tag to the SCM.
@@ -45,7 +43,7 @@ public abstract class AbstractScmCommitPreparationPhase extends AbstractScmCommi
     protected void runLogic(
             ReleaseDescriptor releaseDescriptor,
             ReleaseEnvironment releaseEnvironment,
-            List<MavenProject> reactorProjects,
+            ReactorIndex reactor,
             ReleaseResult result,
             boolean simulating)
             throws ReleaseScmCommandException, ReleaseExecutionException, ReleaseScmRepositoryException {
@@ -68,11 +66,11 @@ public abstract class AbstractScmCommitPreparationPhase extends AbstractScmCommi
         }
         // commit development versions required
         else {
-            String message = createMessage(reactorProjects, releaseDescriptor);
+            String message = createMessage(reactor, releaseDescriptor);
             if (simulating) {
-                simulateCheckins(releaseDescriptor, reactorProjects, result, message);
+                simulateCheckins(releaseDescriptor, reactor, result, message);
             } else {
-                performCheckins(releaseDescriptor, releaseEnvironment, reactorProjects, message);
+                performCheckins(releaseDescriptor, releaseEnvironment, reactor, message);
             }
         }
     }
@@ -24,22 +24,39 @@ import javax.inject.Singleton;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.LinkOption;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantLock;
 
 import org.apache.maven.project.MavenProject;
 import org.apache.maven.scm.CommandParameter;
 import org.apache.maven.scm.CommandParameters;
 import org.apache.maven.scm.ScmException;
+import org.apache.maven.scm.ScmFile;
 import org.apache.maven.scm.ScmFileSet;
 import org.apache.maven.scm.ScmTag;
 import org.apache.maven.scm.command.checkout.CheckOutScmResult;
 import org.apache.maven.scm.manager.NoSuchScmProviderException;
 import org.apache.maven.scm.provider.ScmProvider;
+import org.apache.maven.scm.provider.git.gitexe.command.GitCommandLineUtils;
+import org.apache.maven.scm.provider.git.repository.GitScmProviderRepository;
 import org.apache.maven.scm.repository.ScmRepository;
 import org.apache.maven.scm.repository.ScmRepositoryException;
+import org.apache.maven.shared.release.ReleaseExecutionContext;
 import org.apache.maven.shared.release.ReleaseExecutionException;
 import org.apache.maven.shared.release.ReleaseFailureException;
 import org.apache.maven.shared.release.ReleaseResult;
@@ -48,9 +65,12 @@ import org.apache.maven.shared.release.env.ReleaseEnvironment;
 import org.apache.maven.shared.release.scm.ReleaseScmCommandException;
 import org.apache.maven.shared.release.scm.ReleaseScmRepositoryException;
 import org.apache.maven.shared.release.scm.ScmRepositoryConfigurator;
-import org.apache.maven.shared.release.util.ReleaseUtil;
+import org.apache.maven.shared.release.util.ReactorIndex;
+import org.apache.maven.shared.release.util.ReleaseEvents;
 import org.codehaus.plexus.util.FileUtils;
 import org.codehaus.plexus.util.StringUtils;
+import org.codehaus.plexus.util.cli.CommandLineUtils;
+import org.codehaus.plexus.util.cli.Commandline;
 
 import static java.util.Objects.requireNonNull;
 import static org.apache.maven.shared.utils.logging.MessageUtils.buffer;
@@ -61,11 +81,20 @@ import static org.apache.maven.shared.utils.logging.MessageUtils.buffer;
 @Singleton
 @Named("checkout-project-from-scm")
 public class CheckoutProjectFromScm extends AbstractReleasePhase {
+    private static final String LOCK_SUFFIX = ".lock";
+
+    private static final String STALE_SUFFIX = ".stale";
+
     /**
      * Tool that gets a configured SCM repository from release configuration.
      */
     private final ScmRepositoryConfigurator scmRepositoryConfigurator;
 
+    /**
+     * Locks of the checkout caches within this JVM, since the file lock of a cache can't be taken twice by one JVM.
+     */
+    private final ConcurrentMap<String, ReentrantLock> cacheLocks = new ConcurrentHashMap<>();
+
     @Inject
     public CheckoutProjectFromScm(ScmRepositoryConfigurator scmRepositoryConfigurator) {
         this.scmRepositoryConfigurator = requireNonNull(scmRepositoryConfigurator);
@@ -77,8 +106,21 @@ public class CheckoutProjectFromScm extends AbstractReleasePhase {
             ReleaseEnvironment releaseEnvironment,
             List<MavenProject> reactorProjects)
             throws ReleaseExecutionException, ReleaseFailureException {
+        return execute(releaseDescriptor, releaseEnvironment, reactorProjects, null);
+    }
+
+    @Override
+    public ReleaseResult execute(
+            ReleaseDescriptor releaseDescriptor,
+            ReleaseEnvironment releaseEnvironment,
+            List<MavenProject> reactorProjects,
+            ReleaseExecutionContext executionContext)
+            throws ReleaseExecutionException, ReleaseFailureException {
         ReleaseResult releaseResult;
 
+        File rootBasedir =
+                ReactorIndex.of(reactorProjects, executionContext).getRoot().getBasedir();
+
         if (releaseDescriptor.isLocalCheckout()) {
             // in the release phase we have to change the checkout URL
             // to do a local checkout instead of going over the network.
@@ -105,7 +147,7 @@ public class CheckoutProjectFromScm extends AbstractReleasePhase {
                     releaseDescriptor.setScmSourceUrl(scmUrl);
                     getLogger().info("Performing a LOCAL checkout from " + releaseDescriptor.getScmSourceUrl());
 
-                    releaseResult = performCheckout(releaseDescriptor, releaseEnvironment, reactorProjects);
+                    releaseResult = performCheckout(releaseDescriptor, releaseEnvironment, rootBasedir);
                 } catch (ScmException scmEx) {
                     // the checkout from _this_ directory failed
                     releaseResult = null;
@@ -128,7 +170,7 @@ public class CheckoutProjectFromScm extends AbstractReleasePhase {
         } else {
             // when there is no localCheckout, then we just do a standard SCM checkout.
             try {
-                releaseResult = performCheckout(releaseDescriptor, releaseEnvironment, reactorProjects);
+                releaseResult = performCheckout(releaseDescriptor, releaseEnvironment, rootBasedir);
             } catch (ScmException e) {
                 releaseResult = new ReleaseResult();
                 releaseResult.setResultCode(ReleaseResult.ERROR);
@@ -143,9 +185,7 @@ public class CheckoutProjectFromScm extends AbstractReleasePhase {
     }
 
     private ReleaseResult performCheckout(
-            ReleaseDescriptor releaseDescriptor,
-            ReleaseEnvironment releaseEnvironment,
-            List<MavenProject> reactorProjects)
+            ReleaseDescriptor releaseDescriptor, ReleaseEnvironment releaseEnvironment, File rootBasedir)
             throws ReleaseExecutionException, ReleaseFailureException, ScmException {
         ReleaseResult result = new ReleaseResult();
 
@@ -171,11 +211,8 @@ public class CheckoutProjectFromScm extends AbstractReleasePhase {
             throw new ReleaseExecutionException("Unable to configure SCM repository: " + e.getMessage(), e);
         }
 
-        MavenProject rootProject = ReleaseUtil.getRootProject(reactorProjects);
-
         // TODO: sanity check that it is not . or .. or lower
-        File checkoutDirectory =
-                FileUtils.resolveFile(rootProject.getBasedir(), releaseDescriptor.getCheckoutDirectory());
+        File checkoutDirectory = FileUtils.resolveFile(rootBasedir, releaseDescriptor.getCheckoutDirectory());
 
         if (checkoutDirectory.exists()) {
             try {
@@ -190,16 +227,45 @@ public class CheckoutProjectFromScm extends AbstractReleasePhase {
 
         checkoutDirectory.mkdirs();
 
-        CommandParameters commandParameters = new CommandParameters();
-        commandParameters.setString(
-                CommandParameter.SHALLOW,
-                Boolean.valueOf(releaseDescriptor.isScmShallowClone()).toString());
-
-        CheckOutScmResult scmResult = provider.checkOut(
-                repository,
-                new ScmFileSet(checkoutDirectory),
-                new ScmTag(releaseDescriptor.getScmReleaseLabel()),
-                commandParameters);
+        CheckOutScmResult scmResult;
+        if (StringUtils.isNotEmpty(releaseDescriptor.getCheckoutCacheDirectory())
+                && !releaseDescriptor.isLocalCheckout()
+                && isCacheable(repository, result)) {
+            File cacheDirectory = getCacheDirectory(releaseDescriptor);
+            File lockFile = new File(cacheDirectory.getParentFile(), cacheDirectory.getName() + LOCK_SUFFIX);
+            cacheDirectory.getParentFile().mkdirs();
+
+            // the cache is updated and checked out from under its lock, so concurrent releases of the same
+            // repository, in this JVM or in other ones, never see it half updated
+            ReentrantLock cacheLock = cacheLocks.get(lockFile.getAbsolutePath());
+            if (cacheLock == null) {
+                ReentrantLock newLock = new ReentrantLock();
+                cacheLock = cacheLocks.putIfAbsent(lockFile.getAbsolutePath(), newLock);
+                if (cacheLock == null) {
+                    cacheLock = newLock;
+                }
+            }
+            File staleDirectory = null;
+            cacheLock.lock();
+            try (FileChannel channel =
+                            FileChannel.open(lockFile.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                    FileLock fileLock = channel.lock()) {
+                staleDirectory = moveInvalidCache(cacheDirectory);
+                ScmRepository cacheRepository =
+                        updateCheckoutCache(releaseDescriptor, releaseEnvironment, repository, cacheDirectory, result);
+                scmResult =
+                        checkOut(releaseDescriptor, provider, cacheRepository, rootBasedir, checkoutDirectory, result);
+            } catch (IOException e) {
+                throw new ReleaseExecutionException(
+                        "Unable to lock the checkout cache " + cacheDirectory + ": " + e.getMessage(), e);
+            } finally {
+                cacheLock.unlock();
+                // the other releases of the repository don't wait for the deletion
+                deleteStaleDirectory(staleDirectory, result);
+            }
+        } else {
+            scmResult = checkOut(releaseDescriptor, provider, repository, rootBasedir, checkoutDirectory, result);
+        }
 
         if (releaseDescriptor.isLocalCheckout() && !scmResult.isSuccess()) {
             // this is not beautiful but needed to indicate that the execute() method
@@ -213,7 +279,7 @@ public class CheckoutProjectFromScm extends AbstractReleasePhase {
 
             Path rootProjectBasedir;
             try {
-                rootProjectBasedir = rootProject.getBasedir().toPath().toRealPath(LinkOption.NOFOLLOW_LINKS);
+                rootProjectBasedir = rootBasedir.toPath().toRealPath(LinkOption.NOFOLLOW_LINKS);
             } catch (IOException e) {
                 throw new ReleaseExecutionException(e.getMessage(), e);
             }
@@ -235,17 +301,302 @@ public class CheckoutProjectFromScm extends AbstractReleasePhase {
         return result;
     }
 
+    private CheckOutScmResult checkOut(
+            ReleaseDescriptor releaseDescriptor,
+            ScmProvider provider,
+            ScmRepository repository,
+            File rootBasedir,
+            File checkoutDirectory,
+            ReleaseResult result)
+            throws ReleaseExecutionException, ScmException {
+        CheckOutScmResult scmResult = null;
+        if (releaseDescriptor.isScmSparseCheckout() && !releaseDescriptor.isLocalCheckout()) {
+            scmResult = sparseCheckout(releaseDescriptor, repository, rootBasedir, checkoutDirectory, result);
+        }
+
+        if (scmResult == null) {
+            CommandParameters commandParameters = new CommandParameters();
+            commandParameters.setString(
+                    CommandParameter.SHALLOW,
+                    Boolean.valueOf(releaseDescriptor.isScmShallowClone()).toString());
+
+            try (ReleaseEvents.Event event =
+                    ReleaseEvents.begin(ReleaseEvents.Type.SCM_COMMAND, "checkOut", checkoutDirectory.getPath())) {
+                scmResult = provider.checkOut(
+                        repository,
+                        new ScmFileSet(checkoutDirectory),
+                        new ScmTag(releaseDescriptor.getScmReleaseLabel()),
+                        commandParameters);
+                event.setSuccess(scmResult.isSuccess());
+            }
+        }
+        return scmResult;
+    }
+
+    /**
+     * Checks out only the subtree of the repository which holds the released project. Returns <code>null</code> when
+     * this is not possible, in which case the caller has to do a full checkout.
+     * <p>
+     * maven-scm has no sparse checkout, so this is limited to the git provider: its command line carries the
+     * configured git executable, the credentials of the repository and its SSH key, like the checkout of the provider.
+     * The subtree and the relative path of the project in the checkout are both derived from the base directory of
+     * the root project.
+     */
+    private CheckOutScmResult sparseCheckout(
+            ReleaseDescriptor releaseDescriptor,
+            ScmRepository repository,
+            File rootBasedir,
+            File checkoutDirectory,
+            ReleaseResult result)
+            throws ReleaseExecutionException {
+        String providerType = repository.getProvider();
+        if ("svn".equals(providerType)) {
+            logInfo(result, "Subversion only checks out the project URL, no sparse checkout needed.");
+            return null;
+        }
+        if (!"git".equals(providerType) || !(repository.getProviderRepository() instanceof GitScmProviderRepository)) {
+            logWarn(
+                    result,
+                    "Sparse checkout is not supported by the '" + providerType
+                            + "' SCM provider, doing a full checkout.");
+            return null;
+        }
+        GitScmProviderRepository gitRepository = (GitScmProviderRepository) repository.getProviderRepository();
+
+        Path rootProjectBasedir;
+        try {
+            rootProjectBasedir = rootBasedir.toPath().toRealPath(LinkOption.NOFOLLOW_LINKS);
+        } catch (IOException e) {
+            throw new ReleaseExecutionException(e.getMessage(), e);
+        }
+        Path repositoryRoot = rootProjectBasedir;
+        while (repositoryRoot != null && !Files.exists(repositoryRoot.resolve(".git"))) {
+            repositoryRoot = repositoryRoot.getParent();
+        }
+        if (repositoryRoot == null) {
+            logWarn(
+                    result,
+                    "Unable to locate the git working copy of " + rootProjectBasedir + ", doing a full checkout.");
+            return null;
+        }
+
+        String sparsePath =
+                repositoryRoot.relativize(rootProjectBasedir).toString().replace(File.separatorChar, '/');
+        if (sparsePath.isEmpty()) {
+            logInfo(result, "The project is located at the root of the repository, no sparse checkout needed.");
+            return null;
+        }
+
+        logInfo(result, "Performing a sparse checkout of " + sparsePath + " ...");
+
+        Map<String, String> environment = new HashMap<>();
+        Commandline clone = GitCommandLineUtils.getBaseGitCommandLine(
+                checkoutDirectory.getParentFile(), "clone", gitRepository, environment);
+        clone.createArg().setValue("--filter=blob:none");
+        clone.createArg().setValue("--sparse");
+        if (releaseDescriptor.isScmShallowClone()) {
+            clone.createArg().setValue("--depth");
+            clone.createArg().setValue("1");
+        }
+        clone.createArg().setValue("--branch");
+        clone.createArg().setValue(releaseDescriptor.getScmReleaseLabel());
+        clone.createArg().setValue(gitRepository.getFetchUrl());
+        clone.createArg().setValue(checkoutDirectory.getName());
+
+        Commandline sparseCheckout = GitCommandLineUtils.getBaseGitCommandLine(
+                checkoutDirectory, "sparse-checkout", gitRepository, environment);
+        sparseCheckout.createArg().setValue("set");
+        sparseCheckout.createArg().setValue(sparsePath);
+
+        if (!executeGitCommandline(clone, result) || !executeGitCommandline(sparseCheckout, result)) {
+            logWarn(result, "The sparse checkout failed, doing a full checkout.");
+            try {
+                FileUtils.deleteDirectory(checkoutDirectory);
+            } catch (IOException e) {
+                throw new ReleaseExecutionException("Unable to clean the checkout directory: " + e.getMessage(), e);
+            }
+            checkoutDirectory.mkdirs();
+            return null;
+        }
+
+        return new CheckOutScmResult(clone.toString(), Collections.<ScmFile>emptyList(), sparsePath);
+    }
+
+    private boolean executeGitCommandline(Commandline cl, ReleaseResult result) {
+        CommandLineUtils.StringStreamConsumer stdout = new CommandLineUtils.StringStreamConsumer();
+        CommandLineUtils.StringStreamConsumer stderr = new CommandLineUtils.StringStreamConsumer();
+        try {
+            int exitCode = GitCommandLineUtils.execute(cl, stdout, stderr);
+            if (exitCode != 0) {
+                logDebug(result, "Command " + cl + " failed: " + stderr.getOutput());
+                return false;
+            }
+            return true;
+        } catch (ScmException e) {
+            logDebug(result, "Command " + cl + " failed: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * The checkout cache is a bare git repository, which is fetched with the command line of the git provider. Other
+     * providers do a full checkout.
+     */
+    private boolean isCacheable(ScmRepository repository, ReleaseResult result) {
+        if ("git".equals(repository.getProvider())
+                && repository.getProviderRepository() instanceof GitScmProviderRepository) {
+            return true;
+        }
+        logWarn(
+                result,
+                "The checkout cache is not supported by the '" + repository.getProvider()
+                        + "' SCM provider, doing a full checkout.");
+        return false;
+    }
+
+    /**
+     * Brings the cached bare repository for the SCM URL up to date and returns a repository pointing to it, so that
+     * the tag can be checked out locally instead of over the network. The caller holds the lock of the cache.
+     */
+    private ScmRepository updateCheckoutCache(
+            ReleaseDescriptor releaseDescriptor,
+            ReleaseEnvironment releaseEnvironment,
+            ScmRepository repository,
+            File cacheDirectory,
+            ReleaseResult result)
+            throws ReleaseExecutionException, ReleaseFailureException {
+        GitScmProviderRepository gitRepository = (GitScmProviderRepository) repository.getProviderRepository();
+        Map<String, String> environment = new HashMap<>();
+
+        if (new File(cacheDirectory, "HEAD").isFile()) {
+            logInfo(result, "Updating the checkout cache " + cacheDirectory + " ...");
+        } else {
+            logInfo(result, "Creating the checkout cache " + cacheDirectory + " ...");
+            cacheDirectory.mkdirs();
+
+            Commandline init = GitCommandLineUtils.getBaseGitCommandLine(cacheDirectory, "init");
+            init.createArg().setValue("--bare");
+            executeCacheCommandline(init, result);
+        }
+
+        // the URL is passed on every fetch, so its credentials are never stored in the cache
+        Commandline fetch =
+                GitCommandLineUtils.getBaseGitCommandLine(cacheDirectory, "fetch", gitRepository, environment);
+        fetch.createArg().setValue("--prune");
+        fetch.createArg().setValue(gitRepository.getFetchUrl());
+        fetch.createArg().setValue("+refs/heads/*:refs/heads/*");
+        fetch.createArg().setValue("+refs/tags/*:refs/tags/*");
+        executeCacheCommandline(fetch, result);
+
+        String cacheUrl = getCacheUrl(repository.getProvider(), cacheDirectory);
+        try {
+            return scmRepositoryConfigurator.getConfiguredRepository(
+                    cacheUrl, releaseDescriptor, releaseEnvironment.getSettings());
+        } catch (ScmRepositoryException e) {
+            throw new ReleaseScmRepositoryException(e.getMessage(), e.getValidationMessages());
+        } catch (NoSuchScmProviderException e) {
+            throw new ReleaseExecutionException("Unable to configure SCM repository: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Moves a cache which is not a bare repository, like one left half created, out of the way. The caller holds the
+     * lock of the cache, so this is a rename: the directory is deleted once the lock is released.
+     *
+     * @return the directory to delete, or <code>null</code> if there is none
+     */
+    private static File moveInvalidCache(File cacheDirectory) throws ReleaseExecutionException {
+        if (!cacheDirectory.exists() || new File(cacheDirectory, "HEAD").isFile()) {
+            return null;
+        }
+        try {
+            Path staleDirectory = Files.createTempDirectory(
+                    cacheDirectory.getParentFile().toPath(), cacheDirectory.getName() + STALE_SUFFIX);
+            Files.move(cacheDirectory.toPath(), staleDirectory.resolve(cacheDirectory.getName()));
+            return staleDirectory.toFile();
+        } catch (IOException e) {
+            throw new ReleaseExecutionException("Unable to clean the checkout cache: " + e.getMessage(), e);
+        }
+    }
+
+    private void deleteStaleDirectory(File staleDirectory, ReleaseResult result) {
+        if (staleDirectory == null) {
+            return;
+        }
+        try {
+            FileUtils.deleteDirectory(staleDirectory);
+        } catch (IOException e) {
+            logWarn(result, "Unable to delete the invalid checkout cache " + staleDirectory + ": " + e.getMessage());
+        }
+    }
+
+    private void executeCacheCommandline(Commandline cl, ReleaseResult result) throws ReleaseExecutionException {
+        CommandLineUtils.StringStreamConsumer stdout = new CommandLineUtils.StringStreamConsumer();
+        CommandLineUtils.StringStreamConsumer stderr = new CommandLineUtils.StringStreamConsumer();
+        int exitCode;
+        try {
+            exitCode = GitCommandLineUtils.execute(cl, stdout, stderr);
+        } catch (ScmException e) {
+            result.setResultCode(ReleaseResult.ERROR);
+            logError(result, e.getMessage());
+
+            throw new ReleaseExecutionException("Unable to update the checkout cache: " + e.getMessage(), e);
+        }
+        if (exitCode != 0) {
+            result.setResultCode(ReleaseResult.ERROR);
+            logError(result, stderr.getOutput());
+
+            throw new ReleaseExecutionException("Unable to update the checkout cache: " + cl + " failed");
+        }
+    }
+
+    private static File getCacheDirectory(ReleaseDescriptor releaseDescriptor) throws ReleaseExecutionException {
+        return new File(
+                releaseDescriptor.getCheckoutCacheDirectory(), getCacheKey(releaseDescriptor.getScmSourceUrl()));
+    }
+
+    private static String getCacheUrl(String provider, File cacheDirectory) {
+        String cachePath = cacheDirectory.getAbsoluteFile().toURI().getPath();
+        if (cachePath.endsWith("/")) {
+            cachePath = cachePath.substring(0, cachePath.length() - 1);
+        }
+        return "scm:" + provider + ":file://" + cachePath;
+    }
+
+    private static String getCacheKey(String scmUrl) throws ReleaseExecutionException {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-1").digest(scmUrl.getBytes(StandardCharsets.UTF_8));
+            StringBuilder key = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                key.append(String.format("%02x", b));
+            }
+            return key.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new ReleaseExecutionException("Unable to compute the checkout cache key: " + e.getMessage(), e);
+        }
+    }
+
     @Override
     public ReleaseResult simulate(
             ReleaseDescriptor releaseDescriptor,
             ReleaseEnvironment releaseEnvironment,
             List<MavenProject> reactorProjects)
             throws ReleaseExecutionException, ReleaseFailureException {
+        return simulate(releaseDescriptor, releaseEnvironment, reactorProjects, null);
+    }
+
+    @Override
+    public ReleaseResult simulate(
+            ReleaseDescriptor releaseDescriptor,
+            ReleaseEnvironment releaseEnvironment,
+            List<MavenProject> reactorProjects,
+            ReleaseExecutionContext executionContext)
+            throws ReleaseExecutionException, ReleaseFailureException {
         ReleaseResult result = new ReleaseResult();
 
-        MavenProject rootProject = ReleaseUtil.getRootProject(reactorProjects);
-        File checkoutDirectory =
-                FileUtils.resolveFile(rootProject.getBasedir(), releaseDescriptor.getCheckoutDirectory());
+        File rootBasedir =
+                ReactorIndex.of(reactorProjects, executionContext).getRoot().getBasedir();
+        File checkoutDirectory = FileUtils.resolveFile(rootBasedir, releaseDescriptor.getCheckoutDirectory());
 
         if (releaseDescriptor.isLocalCheckout()) {
             logInfo(
@@ -258,6 +609,14 @@ public class CheckoutProjectFromScm extends AbstractReleasePhase {
                     "The project would be checked out to perform the release from " + checkoutDirectory + "...");
         }
 
+        if (StringUtils.isNotEmpty(releaseDescriptor.getCheckoutCacheDirectory())
+                && !releaseDescriptor.isLocalCheckout()) {
+            logInfo(
+                    result,
+                    "  using the checkout cache in " + releaseDescriptor.getCheckoutCacheDirectory()
+                            + " if supported by the SCM provider");
+        }
+
         result.setResultCode(ReleaseResult.SUCCESS);
         return result;
     }
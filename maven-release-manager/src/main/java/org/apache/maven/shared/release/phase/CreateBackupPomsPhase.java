@@ -25,12 +25,13 @@ import java.io.IOException;
 import java.util.List;
 
 import org.apache.maven.project.MavenProject;
+import org.apache.maven.shared.release.ReleaseExecutionContext;
 import org.apache.maven.shared.release.ReleaseExecutionException;
 import org.apache.maven.shared.release.ReleaseFailureException;
 import org.apache.maven.shared.release.ReleaseResult;
 import org.apache.maven.shared.release.config.ReleaseDescriptor;
 import org.apache.maven.shared.release.env.ReleaseEnvironment;
-import org.apache.maven.shared.release.util.ReleaseUtil;
+import org.apache.maven.shared.release.util.ReactorIndex;
 import org.codehaus.plexus.util.FileUtils;
 
 /**
@@ -45,15 +46,27 @@ public class CreateBackupPomsPhase extends AbstractBackupPomsPhase implements Re
             ReleaseEnvironment releaseEnvironment,
             List<MavenProject> reactorProjects)
             throws ReleaseExecutionException, ReleaseFailureException {
+        return execute(releaseDescriptor, releaseEnvironment, reactorProjects, null);
+    }
+
+    @Override
+    public ReleaseResult execute(
+            ReleaseDescriptor releaseDescriptor,
+            ReleaseEnvironment releaseEnvironment,
+            List<MavenProject> reactorProjects,
+            ReleaseExecutionContext executionContext)
+            throws ReleaseExecutionException, ReleaseFailureException {
         ReleaseResult result = new ReleaseResult();
 
+        ReactorIndex reactor = ReactorIndex.of(reactorProjects, executionContext);
+
         // remove previous backups, if any
-        clean(reactorProjects);
+        clean(reactor);
 
         logInfo(result, "Creating pom.xml backup with " + BACKUP_SUFFIX + " suffix");
 
-        for (MavenProject project : reactorProjects) {
-            createPomBackup(project);
+        for (ReactorIndex.Module module : reactor.getModules()) {
+            createPomBackup(module);
         }
 
         result.setResultCode(ReleaseResult.SUCCESS);
@@ -63,10 +76,14 @@ public class CreateBackupPomsPhase extends AbstractBackupPomsPhase implements Re
 
     @Override
     public ReleaseResult clean(List<MavenProject> reactorProjects) {
+        return clean(ReactorIndex.of(reactorProjects));
+    }
+
+    private ReleaseResult clean(ReactorIndex reactor) {
         ReleaseResult result = new ReleaseResult();
 
-        for (MavenProject project : reactorProjects) {
-            deletePomBackup(project);
+        for (ReactorIndex.Module module : reactor.getModules()) {
+            deletePomBackup(module);
         }
 
         result.setResultCode(ReleaseResult.SUCCESS);
@@ -80,15 +97,25 @@ public class CreateBackupPomsPhase extends AbstractBackupPomsPhase implements Re
             ReleaseEnvironment releaseEnvironment,
             List<MavenProject> reactorProjects)
             throws ReleaseExecutionException, ReleaseFailureException {
-        return execute(releaseDescriptor, releaseEnvironment, reactorProjects);
+        return execute(releaseDescriptor, releaseEnvironment, reactorProjects, null);
+    }
+
+    @Override
+    public ReleaseResult simulate(
+            ReleaseDescriptor releaseDescriptor,
+            ReleaseEnvironment releaseEnvironment,
+            List<MavenProject> reactorProjects,
+            ReleaseExecutionContext executionContext)
+            throws ReleaseExecutionException, ReleaseFailureException {
+        return execute(releaseDescriptor, releaseEnvironment, reactorProjects, executionContext);
     }
 
-    private void createPomBackup(MavenProject project) throws ReleaseExecutionException {
+    private void createPomBackup(ReactorIndex.Module module) throws ReleaseExecutionException {
         // delete any existing backup first
-        deletePomBackup(project);
+        deletePomBackup(module);
 
         try {
-            FileUtils.copyFile(ReleaseUtil.getStandardPom(project), getPomBackup(project));
+            FileUtils.copyFile(module.getStandardPom(), getPomBackup(module));
         } catch (IOException e) {
             throw new ReleaseExecutionException("Error creating backup POM: " + e.getMessage(), e);
         }
@@ -26,13 +26,14 @@ import java.io.File;
 import java.io.IOException;
 import java.io.Writer;
 import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.apache.maven.artifact.Artifact;
 import org.apache.maven.artifact.ArtifactUtils;
@@ -64,6 +65,7 @@ import org.apache.maven.shared.release.env.ReleaseEnvironment;
 import org.apache.maven.shared.release.scm.ReleaseScmCommandException;
 import org.apache.maven.shared.release.scm.ScmRepositoryConfigurator;
 import org.apache.maven.shared.release.scm.ScmTranslator;
+import org.apache.maven.shared.release.util.ReleaseEvents;
 import org.apache.maven.shared.release.util.ReleaseUtil;
 import org.codehaus.plexus.util.WriterFactory;
 
@@ -89,6 +91,11 @@ public class GenerateReleasePomsPhase extends AbstractReleasePomsPhase implement
      */
     private final Map<String, ScmTranslator> scmTranslators;
 
+    /**
+     * The build paths of the super POM, by model version.
+     */
+    private final ConcurrentMap<String, SuperPomPaths> superPomPaths = new ConcurrentHashMap<>();
+
     @Inject
     public GenerateReleasePomsPhase(
             ScmRepositoryConfigurator scmRepositoryConfigurator,
@@ -201,7 +208,14 @@ public class GenerateReleasePomsPhase extends AbstractReleasePomsPhase implement
             ScmFileSet scmFileSet = new ScmFileSet(rootProject.getFile().getParentFile(), releasePoms);
 
             try {
-                AddScmResult scmResult = scmProvider.add(scmRepository, scmFileSet);
+                AddScmResult scmResult;
+                try (ReleaseEvents.Event event = ReleaseEvents.begin(
+                        ReleaseEvents.Type.SCM_COMMAND,
+                        "add",
+                        scmFileSet.getBasedir().getPath())) {
+                    scmResult = scmProvider.add(scmRepository, scmFileSet);
+                    event.setSuccess(scmResult.isSuccess());
+                }
 
                 if (!scmResult.isSuccess()) {
                     throw new ReleaseScmCommandException("Cannot add release POM to SCM", scmResult);
@@ -219,15 +233,14 @@ public class GenerateReleasePomsPhase extends AbstractReleasePomsPhase implement
             ReleaseEnvironment releaseEnvironment,
             ReleaseResult result)
             throws ReleaseFailureException, ReleaseExecutionException {
-        MavenProject releaseProject = project.clone();
-        Model releaseModel = releaseProject.getModel();
+        Model releaseModel = createReleaseModelProjection(project.getModel());
 
         // the release POM should reflect bits of these which were injected at build time...
         // we don't need these polluting the POM.
         releaseModel.setParent(null);
         releaseModel.setProfiles(Collections.emptyList());
         releaseModel.setDependencyManagement(null);
-        releaseProject.getBuild().setPluginManagement(null);
+        releaseModel.getBuild().setPluginManagement(null);
 
         // update project version
         String projectVersion = releaseModel.getVersion();
@@ -251,7 +264,7 @@ public class GenerateReleasePomsPhase extends AbstractReleasePomsPhase implement
         // still required?
         if (finalName.contains(Artifact.SNAPSHOT_VERSION)) {
             throw new ReleaseFailureException(
-                    "Cannot reliably adjust the finalName of project: " + releaseProject.getId());
+                    "Cannot reliably adjust the finalName of project: " + releaseModel.getId());
         }
         releaseModel.getBuild().setFinalName(finalName);
 
@@ -274,114 +287,164 @@ public class GenerateReleasePomsPhase extends AbstractReleasePomsPhase implement
         }
 
         // rewrite dependencies
-        releaseModel.setDependencies(createReleaseDependencies(releaseDescriptor, releaseProject));
+        releaseModel.setDependencies(createReleaseDependencies(releaseDescriptor, project));
 
         // rewrite plugins
-        releaseModel.getBuild().setPlugins(createReleasePlugins(releaseDescriptor, releaseProject));
+        releaseModel.getBuild().setPlugins(createReleasePlugins(releaseDescriptor, project));
 
         // rewrite reports
-        releaseModel.getReporting().setPlugins(createReleaseReportPlugins(releaseDescriptor, releaseProject));
+        releaseModel.getReporting().setPlugins(createReleaseReportPlugins(releaseDescriptor, project));
 
         // rewrite extensions
-        releaseModel.getBuild().setExtensions(createReleaseExtensions(releaseDescriptor, releaseProject));
+        releaseModel.getBuild().setExtensions(createReleaseExtensions(releaseDescriptor, project));
 
         unalignFromBaseDirectory(releaseModel, project.getBasedir());
 
         return releaseModel;
     }
 
-    private void unalignFromBaseDirectory(Model releaseModel, File basedir) {
-        Model rawSuperModel = superPomProvider.getSuperModel(releaseModel.getModelVersion());
+    /**
+     * Creates the model of the release POM from the effective model of the project. Only the parts that are
+     * rewritten are copied, the others are shared with the project, as the release POM is only written.
+     */
+    private static Model createReleaseModelProjection(Model model) {
+        Model releaseModel = new Model();
+        releaseModel.setModelVersion(model.getModelVersion());
+        releaseModel.setModelEncoding(model.getModelEncoding());
+        releaseModel.setPomFile(model.getPomFile());
+        releaseModel.setParent(model.getParent());
+        releaseModel.setGroupId(model.getGroupId());
+        releaseModel.setArtifactId(model.getArtifactId());
+        releaseModel.setVersion(model.getVersion());
+        releaseModel.setPackaging(model.getPackaging());
+        releaseModel.setName(model.getName());
+        releaseModel.setDescription(model.getDescription());
+        releaseModel.setUrl(model.getUrl());
+        releaseModel.setInceptionYear(model.getInceptionYear());
+        releaseModel.setOrganization(model.getOrganization());
+        releaseModel.setLicenses(model.getLicenses());
+        releaseModel.setDevelopers(model.getDevelopers());
+        releaseModel.setContributors(model.getContributors());
+        releaseModel.setMailingLists(model.getMailingLists());
+        releaseModel.setPrerequisites(model.getPrerequisites());
+        releaseModel.setModules(model.getModules());
+        releaseModel.setScm(model.getScm());
+        releaseModel.setIssueManagement(model.getIssueManagement());
+        releaseModel.setCiManagement(model.getCiManagement());
+        releaseModel.setDistributionManagement(model.getDistributionManagement());
+        releaseModel.setProperties(model.getProperties());
+        releaseModel.setDependencyManagement(model.getDependencyManagement());
+        releaseModel.setDependencies(model.getDependencies());
+        releaseModel.setRepositories(model.getRepositories());
+        releaseModel.setPluginRepositories(model.getPluginRepositories());
+        releaseModel.setReports(model.getReports());
+        releaseModel.setProfiles(model.getProfiles());
+
+        Build build = model.getBuild() != null ? model.getBuild() : new Build();
+        Build releaseBuild = new Build();
+        releaseBuild.setSourceDirectory(build.getSourceDirectory());
+        releaseBuild.setScriptSourceDirectory(build.getScriptSourceDirectory());
+        releaseBuild.setTestSourceDirectory(build.getTestSourceDirectory());
+        releaseBuild.setOutputDirectory(build.getOutputDirectory());
+        releaseBuild.setTestOutputDirectory(build.getTestOutputDirectory());
+        releaseBuild.setExtensions(build.getExtensions());
+        releaseBuild.setDefaultGoal(build.getDefaultGoal());
+        releaseBuild.setResources(copyResources(build.getResources()));
+        releaseBuild.setTestResources(copyResources(build.getTestResources()));
+        releaseBuild.setDirectory(build.getDirectory());
+        releaseBuild.setFinalName(build.getFinalName());
+        releaseBuild.setFilters(build.getFilters());
+        releaseBuild.setPluginManagement(build.getPluginManagement());
+        releaseBuild.setPlugins(build.getPlugins());
+        releaseModel.setBuild(releaseBuild);
+
+        Reporting releaseReporting = new Reporting();
+        if (model.getReporting() != null) {
+            releaseReporting.setExcludeDefaults(model.getReporting().getExcludeDefaults());
+            releaseReporting.setOutputDirectory(model.getReporting().getOutputDirectory());
+            releaseReporting.setPlugins(model.getReporting().getPlugins());
+        }
+        releaseModel.setReporting(releaseReporting);
 
-        ModelBuildingRequest buildingRequest = new DefaultModelBuildingRequest();
-        buildingRequest.setValidationLevel(ModelBuildingRequest.VALIDATION_LEVEL_STRICT);
+        return releaseModel;
+    }
 
-        // inject proper values used by project.build.finalName
-        Properties properties = new Properties();
-        properties.put("project.version", releaseModel.getVersion());
-        properties.put("project.artifactId", releaseModel.getArtifactId());
-        buildingRequest.setUserProperties(properties);
+    private static List<Resource> copyResources(List<Resource> resources) {
+        // the directories are rewritten
+        List<Resource> copies = new ArrayList<>(resources.size());
+        for (Resource resource : resources) {
+            copies.add(resource.clone());
+        }
+        return copies;
+    }
 
-        Model interpolatedSuperModel =
-                modelInterpolator.interpolateModel(rawSuperModel.clone(), basedir, buildingRequest, null);
+    private void unalignFromBaseDirectory(Model releaseModel, File basedir) {
+        SuperPomPaths superPaths = getSuperPomPaths(releaseModel.getModelVersion(), basedir);
+        Path basePath = basedir.toPath();
 
         Build currentBuild = releaseModel.getBuild();
-        Build interpolatedSuperBuild = interpolatedSuperModel.getBuild();
-        Build rawSuperBuild = rawSuperModel.getBuild();
-
-        currentBuild.setSourceDirectory(resolvePath(
-                basedir.toPath(),
-                currentBuild.getSourceDirectory(),
-                interpolatedSuperBuild.getSourceDirectory(),
-                rawSuperBuild.getSourceDirectory()));
-        currentBuild.setScriptSourceDirectory(resolvePath(
-                basedir.toPath(),
-                currentBuild.getScriptSourceDirectory(),
-                interpolatedSuperBuild.getScriptSourceDirectory(),
-                rawSuperBuild.getScriptSourceDirectory()));
-        currentBuild.setTestSourceDirectory(resolvePath(
-                basedir.toPath(),
-                currentBuild.getTestSourceDirectory(),
-                interpolatedSuperBuild.getTestSourceDirectory(),
-                rawSuperBuild.getTestSourceDirectory()));
-        currentBuild.setOutputDirectory(resolvePath(
-                basedir.toPath(),
-                currentBuild.getOutputDirectory(),
-                interpolatedSuperBuild.getOutputDirectory(),
-                rawSuperBuild.getOutputDirectory()));
-        currentBuild.setTestOutputDirectory(resolvePath(
-                basedir.toPath(),
-                currentBuild.getTestOutputDirectory(),
-                interpolatedSuperBuild.getTestOutputDirectory(),
-                rawSuperBuild.getTestOutputDirectory()));
-        currentBuild.setDirectory(resolvePath(
-                basedir.toPath(),
-                currentBuild.getDirectory(),
-                interpolatedSuperBuild.getDirectory(),
-                rawSuperBuild.getDirectory()));
+
+        currentBuild.setSourceDirectory(
+                resolvePath(basePath, currentBuild.getSourceDirectory(), superPaths.sourceDirectory));
+        currentBuild.setScriptSourceDirectory(
+                resolvePath(basePath, currentBuild.getScriptSourceDirectory(), superPaths.scriptSourceDirectory));
+        currentBuild.setTestSourceDirectory(
+                resolvePath(basePath, currentBuild.getTestSourceDirectory(), superPaths.testSourceDirectory));
+        currentBuild.setOutputDirectory(
+                resolvePath(basePath, currentBuild.getOutputDirectory(), superPaths.outputDirectory));
+        currentBuild.setTestOutputDirectory(
+                resolvePath(basePath, currentBuild.getTestOutputDirectory(), superPaths.testOutputDirectory));
+        currentBuild.setDirectory(resolvePath(basePath, currentBuild.getDirectory(), superPaths.directory));
 
         for (Resource currentResource : currentBuild.getResources()) {
-            Map<String, String> superResourceDirectories =
-                    new LinkedHashMap<>(interpolatedSuperBuild.getResources().size());
-            for (int i = 0; i < interpolatedSuperBuild.getResources().size(); i++) {
-                superResourceDirectories.put(
-                        interpolatedSuperBuild.getResources().get(i).getDirectory(),
-                        rawSuperBuild.getResources().get(i).getDirectory());
-            }
             currentResource.setDirectory(
-                    resolvePath(basedir.toPath(), currentResource.getDirectory(), superResourceDirectories));
+                    resolvePath(basePath, currentResource.getDirectory(), superPaths.resourceDirectories));
         }
 
         for (Resource currentResource : currentBuild.getTestResources()) {
-            Map<String, String> superResourceDirectories = new LinkedHashMap<>(
-                    interpolatedSuperBuild.getTestResources().size());
-            for (int i = 0; i < interpolatedSuperBuild.getTestResources().size(); i++) {
-                superResourceDirectories.put(
-                        interpolatedSuperBuild.getTestResources().get(i).getDirectory(),
-                        rawSuperBuild.getTestResources().get(i).getDirectory());
-            }
             currentResource.setDirectory(
-                    resolvePath(basedir.toPath(), currentResource.getDirectory(), superResourceDirectories));
+                    resolvePath(basePath, currentResource.getDirectory(), superPaths.testResourceDirectories));
         }
 
         releaseModel
                 .getReporting()
                 .setOutputDirectory(resolvePath(
-                        basedir.toPath(),
+                        basePath,
                         releaseModel.getReporting().getOutputDirectory(),
-                        interpolatedSuperModel.getReporting().getOutputDirectory(),
-                        rawSuperModel.getReporting().getOutputDirectory()));
+                        superPaths.reportingOutputDirectory));
+    }
+
+    private SuperPomPaths getSuperPomPaths(String modelVersion, File basedir) {
+        SuperPomPaths paths = superPomPaths.get(modelVersion);
+        if (paths == null) {
+            Model rawSuperModel = superPomProvider.getSuperModel(modelVersion);
+
+            ModelBuildingRequest buildingRequest = new DefaultModelBuildingRequest();
+            buildingRequest.setValidationLevel(ModelBuildingRequest.VALIDATION_LEVEL_STRICT);
+
+            // the build paths of the super POM only depend on the base directory, so they are kept relative to it
+            // and shared by all projects
+            File absoluteBasedir = basedir.getAbsoluteFile();
+            Model interpolatedSuperModel =
+                    modelInterpolator.interpolateModel(rawSuperModel.clone(), absoluteBasedir, buildingRequest, null);
+
+            paths = new SuperPomPaths(rawSuperModel, interpolatedSuperModel, absoluteBasedir.toPath());
+            SuperPomPaths existing = superPomPaths.putIfAbsent(modelVersion, paths);
+            if (existing != null) {
+                paths = existing;
+            }
+        }
+        return paths;
     }
 
-    private String resolvePath(Path basedir, String current, String superInterpolated, String superRaw) {
-        return basedir.resolve(current).equals(basedir.resolve(superInterpolated)) ? superRaw : current;
+    private String resolvePath(Path basedir, String current, SuperPomPath superPath) {
+        return basedir.resolve(current).equals(basedir.resolve(superPath.relative)) ? superPath.raw : current;
     }
 
-    private String resolvePath(
-            Path basedir, String current, Map<String /* interpolated */, String /* raw */> superValues) {
-        for (Map.Entry<String, String> superValue : superValues.entrySet()) {
-            if (basedir.resolve(current).equals(basedir.resolve(superValue.getKey()))) {
-                return superValue.getValue();
+    private String resolvePath(Path basedir, String current, List<SuperPomPath> superPaths) {
+        for (SuperPomPath superPath : superPaths) {
+            if (basedir.resolve(current).equals(basedir.resolve(superPath.relative))) {
+                return superPath.raw;
             }
         }
         return current;
@@ -645,4 +708,73 @@ public class GenerateReleasePomsPhase extends AbstractReleasePomsPhase implement
 
         return result;
     }
+
+    /**
+     * A build path of the super POM, both raw and interpolated relative to the base directory.
+     */
+    private static final class SuperPomPath {
+        private final Path relative;
+
+        private final String raw;
+
+        SuperPomPath(String interpolated, String raw, Path basedir) {
+            Path path = Paths.get(interpolated);
+            this.relative = path.isAbsolute() && path.startsWith(basedir) ? basedir.relativize(path) : path;
+            this.raw = raw;
+        }
+    }
+
+    /**
+     * The build paths of a super POM.
+     */
+    private static final class SuperPomPaths {
+        private final SuperPomPath sourceDirectory;
+
+        private final SuperPomPath scriptSourceDirectory;
+
+        private final SuperPomPath testSourceDirectory;
+
+        private final SuperPomPath outputDirectory;
+
+        private final SuperPomPath testOutputDirectory;
+
+        private final SuperPomPath directory;
+
+        private final List<SuperPomPath> resourceDirectories;
+
+        private final List<SuperPomPath> testResourceDirectories;
+
+        private final SuperPomPath reportingOutputDirectory;
+
+        SuperPomPaths(Model rawSuperModel, Model interpolatedSuperModel, Path basedir) {
+            Build raw = rawSuperModel.getBuild();
+            Build interpolated = interpolatedSuperModel.getBuild();
+
+            sourceDirectory = new SuperPomPath(interpolated.getSourceDirectory(), raw.getSourceDirectory(), basedir);
+            scriptSourceDirectory =
+                    new SuperPomPath(interpolated.getScriptSourceDirectory(), raw.getScriptSourceDirectory(), basedir);
+            testSourceDirectory =
+                    new SuperPomPath(interpolated.getTestSourceDirectory(), raw.getTestSourceDirectory(), basedir);
+            outputDirectory = new SuperPomPath(interpolated.getOutputDirectory(), raw.getOutputDirectory(), basedir);
+            testOutputDirectory =
+                    new SuperPomPath(interpolated.getTestOutputDirectory(), raw.getTestOutputDirectory(), basedir);
+            directory = new SuperPomPath(interpolated.getDirectory(), raw.getDirectory(), basedir);
+            resourceDirectories = toSuperPomPaths(interpolated.getResources(), raw.getResources(), basedir);
+            testResourceDirectories = toSuperPomPaths(interpolated.getTestResources(), raw.getTestResources(), basedir);
+            reportingOutputDirectory = new SuperPomPath(
+                    interpolatedSuperModel.getReporting().getOutputDirectory(),
+                    rawSuperModel.getReporting().getOutputDirectory(),
+                    basedir);
+        }
+
+        private static List<SuperPomPath> toSuperPomPaths(
+                List<Resource> interpolated, List<Resource> raw, Path basedir) {
+            List<SuperPomPath> paths = new ArrayList<>(interpolated.size());
+            for (int i = 0; i < interpolated.size(); i++) {
+                paths.add(new SuperPomPath(
+                        interpolated.get(i).getDirectory(), raw.get(i).getDirectory(), basedir));
+            }
+            return paths;
+        }
+    }
 }
@@ -0,0 +1,87 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.shared.release.phase;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+
+import java.io.File;
+import java.util.List;
+
+import org.apache.maven.project.MavenProject;
+import org.apache.maven.shared.release.ReleaseResult;
+import org.apache.maven.shared.release.config.ReleaseDescriptor;
+import org.apache.maven.shared.release.env.ReleaseEnvironment;
+import org.apache.maven.shared.release.exec.LocalRepositoryPrefetcher;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Start to fetch the dependencies, plugins and extensions of the reactor into the local repository used by the forked
+ * builds, if enabled. The fetching runs in the background while the following phases check the SCM, and the forked
+ * builds wait for it to complete.
+ *
+ * @since 3.0.1
+ */
+@Singleton
+@Named("prefetch-dependencies")
+public class PrefetchDependenciesPhase extends AbstractReleasePhase {
+    private final LocalRepositoryPrefetcher localRepositoryPrefetcher;
+
+    @Inject
+    public PrefetchDependenciesPhase(LocalRepositoryPrefetcher localRepositoryPrefetcher) {
+        this.localRepositoryPrefetcher = requireNonNull(localRepositoryPrefetcher);
+    }
+
+    @Override
+    public ReleaseResult execute(
+            ReleaseDescriptor releaseDescriptor,
+            ReleaseEnvironment releaseEnvironment,
+            List<MavenProject> reactorProjects) {
+        ReleaseResult result = new ReleaseResult();
+
+        if (releaseDescriptor.isPrefetchDependencies() && reactorProjects != null) {
+            File localRepositoryDirectory = releaseEnvironment.getLocalRepositoryDirectory();
+            if (localRepositoryDirectory == null) {
+                logInfo(result, "No local repository configured, not prefetching the dependencies");
+            } else {
+                logInfo(
+                        result,
+                        "Prefetching the dependencies, plugins and extensions of the reactor into "
+                                + localRepositoryDirectory + " in the background");
+
+                localRepositoryPrefetcher.prefetch(reactorProjects, releaseEnvironment);
+            }
+        }
+
+        result.setResultCode(ReleaseResult.SUCCESS);
+
+        return result;
+    }
+
+    @Override
+    public ReleaseResult simulate(
+            ReleaseDescriptor releaseDescriptor,
+            ReleaseEnvironment releaseEnvironment,
+            List<MavenProject> reactorProjects) {
+        // the preparation goals also run in simulation mode
+        return execute(releaseDescriptor, releaseEnvironment, reactorProjects);
+    }
+}
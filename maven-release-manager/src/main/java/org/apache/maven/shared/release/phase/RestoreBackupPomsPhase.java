@@ -24,6 +24,7 @@ import javax.inject.Singleton;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.Collections;
 import java.util.List;
 
 import org.apache.maven.project.MavenProject;
@@ -34,6 +35,7 @@ import org.apache.maven.scm.manager.NoSuchScmProviderException;
 import org.apache.maven.scm.provider.ScmProvider;
 import org.apache.maven.scm.repository.ScmRepository;
 import org.apache.maven.scm.repository.ScmRepositoryException;
+import org.apache.maven.shared.release.ReleaseExecutionContext;
 import org.apache.maven.shared.release.ReleaseExecutionException;
 import org.apache.maven.shared.release.ReleaseFailureException;
 import org.apache.maven.shared.release.ReleaseResult;
@@ -42,7 +44,7 @@ import org.apache.maven.shared.release.env.ReleaseEnvironment;
 import org.apache.maven.shared.release.scm.ReleaseScmCommandException;
 import org.apache.maven.shared.release.scm.ReleaseScmRepositoryException;
 import org.apache.maven.shared.release.scm.ScmRepositoryConfigurator;
-import org.apache.maven.shared.release.util.ReleaseUtil;
+import org.apache.maven.shared.release.util.ReactorIndex;
 import org.codehaus.plexus.util.FileUtils;
 
 import static java.util.Objects.requireNonNull;
@@ -69,10 +71,21 @@ public class RestoreBackupPomsPhase extends AbstractBackupPomsPhase {
             ReleaseEnvironment releaseEnvironment,
             List<MavenProject> reactorProjects)
             throws ReleaseExecutionException, ReleaseFailureException {
+        return execute(releaseDescriptor, releaseEnvironment, reactorProjects, null);
+    }
+
+    @Override
+    public ReleaseResult execute(
+            ReleaseDescriptor releaseDescriptor,
+            ReleaseEnvironment releaseEnvironment,
+            List<MavenProject> reactorProjects,
+            ReleaseExecutionContext executionContext)
+            throws ReleaseExecutionException, ReleaseFailureException {
         ReleaseResult result = new ReleaseResult();
 
-        for (MavenProject project : reactorProjects) {
-            restorePomBackup(releaseDescriptor, releaseEnvironment, project);
+        for (ReactorIndex.Module module :
+                ReactorIndex.of(reactorProjects, executionContext).getModules()) {
+            restorePomBackup(releaseDescriptor, releaseEnvironment, module);
         }
 
         result.setResultCode(ReleaseResult.SUCCESS);
@@ -86,13 +99,36 @@ public class RestoreBackupPomsPhase extends AbstractBackupPomsPhase {
             ReleaseEnvironment releaseEnvironment,
             List<MavenProject> reactorProjects)
             throws ReleaseExecutionException, ReleaseFailureException {
-        return execute(releaseDescriptor, releaseEnvironment, reactorProjects);
+        return execute(releaseDescriptor, releaseEnvironment, reactorProjects, null);
+    }
+
+    @Override
+    public ReleaseResult simulate(
+            ReleaseDescriptor releaseDescriptor,
+            ReleaseEnvironment releaseEnvironment,
+            List<MavenProject> reactorProjects,
+            ReleaseExecutionContext executionContext)
+            throws ReleaseExecutionException, ReleaseFailureException {
+        return execute(releaseDescriptor, releaseEnvironment, reactorProjects, executionContext);
     }
 
+    /**
+     * @deprecated use {@link #restorePomBackup(ReleaseDescriptor, ReleaseEnvironment, ReactorIndex.Module)} instead
+     */
+    @Deprecated
     protected void restorePomBackup(
             ReleaseDescriptor releaseDescriptor, ReleaseEnvironment releaseEnvironment, MavenProject project)
             throws ReleaseExecutionException, ReleaseFailureException {
-        File pomBackup = getPomBackup(project);
+        restorePomBackup(
+                releaseDescriptor,
+                releaseEnvironment,
+                ReactorIndex.of(Collections.singletonList(project)).getRoot());
+    }
+
+    protected void restorePomBackup(
+            ReleaseDescriptor releaseDescriptor, ReleaseEnvironment releaseEnvironment, ReactorIndex.Module module)
+            throws ReleaseExecutionException, ReleaseFailureException {
+        File pomBackup = getPomBackup(module);
 
         if (!pomBackup.exists()) {
             throw new ReleaseExecutionException(
@@ -116,7 +152,7 @@ public class RestoreBackupPomsPhase extends AbstractBackupPomsPhase {
             if (releaseDescriptor.isScmUseEditMode() || provider.requiresEditMode()) {
                 EditScmResult result = provider.edit(
                         scmRepository,
-                        new ScmFileSet(new File(releaseDescriptor.getWorkingDirectory()), project.getFile()));
+                        new ScmFileSet(new File(releaseDescriptor.getWorkingDirectory()), module.getPomFile()));
 
                 if (!result.isSuccess()) {
                     throw new ReleaseScmCommandException("Unable to enable editing on the POM", result);
@@ -127,7 +163,7 @@ public class RestoreBackupPomsPhase extends AbstractBackupPomsPhase {
         }
 
         try {
-            FileUtils.copyFile(getPomBackup(project), ReleaseUtil.getStandardPom(project));
+            FileUtils.copyFile(pomBackup, module.getStandardPom());
         } catch (IOException e) {
             throw new ReleaseExecutionException("Error restoring from backup POM: " + e.getMessage(), e);
         }
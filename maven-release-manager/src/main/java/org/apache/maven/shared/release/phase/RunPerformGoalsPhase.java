@@ -23,22 +23,33 @@ import javax.inject.Named;
 import javax.inject.Singleton;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.apache.maven.project.MavenProject;
+import org.apache.maven.shared.release.ReleaseExecutionContext;
 import org.apache.maven.shared.release.ReleaseExecutionException;
 import org.apache.maven.shared.release.ReleaseResult;
 import org.apache.maven.shared.release.config.ReleaseDescriptor;
 import org.apache.maven.shared.release.env.ReleaseEnvironment;
+import org.apache.maven.shared.release.exec.LocalRepositoryPrefetcher;
 import org.apache.maven.shared.release.exec.MavenExecutor;
 import org.apache.maven.shared.release.util.PomFinder;
+import org.apache.maven.shared.release.util.ReleaseFingerprint;
 import org.codehaus.plexus.util.StringUtils;
 
 import static org.apache.maven.shared.utils.logging.MessageUtils.buffer;
 
 /**
  * Run the effective release build of the project and its deploy to remote repository.
+ * <p>
+ * If the preparation recorded the fingerprint of the release tree it built, and the checkout of the release tag
+ * matches it, the tests are not run again. The release is still built, from a copy of the outputs of the preparation
+ * build.
  *
  * @author <a href="mailto:brett@apache.org">Brett Porter</a>
  */
@@ -46,8 +57,9 @@ import static org.apache.maven.shared.utils.logging.MessageUtils.buffer;
 @Named("run-perform-goals")
 public class RunPerformGoalsPhase extends AbstractRunGoalsPhase {
     @Inject
-    public RunPerformGoalsPhase(Map<String, MavenExecutor> mavenExecutors) {
-        super(mavenExecutors);
+    public RunPerformGoalsPhase(
+            Map<String, MavenExecutor> mavenExecutors, LocalRepositoryPrefetcher localRepositoryPrefetcher) {
+        super(mavenExecutors, localRepositoryPrefetcher);
     }
 
     @Override
@@ -56,11 +68,25 @@ public class RunPerformGoalsPhase extends AbstractRunGoalsPhase {
             ReleaseEnvironment releaseEnvironment,
             List<MavenProject> reactorProjects)
             throws ReleaseExecutionException {
-        return runLogic(releaseDescriptor, releaseEnvironment, false);
+        return runLogic(releaseDescriptor, releaseEnvironment, reactorProjects, null, false);
+    }
+
+    @Override
+    public ReleaseResult execute(
+            ReleaseDescriptor releaseDescriptor,
+            ReleaseEnvironment releaseEnvironment,
+            List<MavenProject> reactorProjects,
+            ReleaseExecutionContext executionContext)
+            throws ReleaseExecutionException {
+        return runLogic(releaseDescriptor, releaseEnvironment, reactorProjects, executionContext, false);
     }
 
     private ReleaseResult runLogic(
-            ReleaseDescriptor releaseDescriptor, ReleaseEnvironment releaseEnvironment, boolean simulate)
+            ReleaseDescriptor releaseDescriptor,
+            ReleaseEnvironment releaseEnvironment,
+            List<MavenProject> reactorProjects,
+            ReleaseExecutionContext executionContext,
+            boolean simulate)
             throws ReleaseExecutionException {
         String additionalArguments = getAdditionalArguments(releaseDescriptor);
 
@@ -104,6 +130,9 @@ public class RunPerformGoalsPhase extends AbstractRunGoalsPhase {
 
         File pomFile = new File(workDir, pomFileName);
         PomFinder pomFinder = new PomFinder(getLogger());
+        if (executionContext != null && executionContext.getParallelism() > 1) {
+            pomFinder.setExecutor(executionContext.getExecutor());
+        }
         boolean foundPom = false;
 
         if (StringUtils.isEmpty(releaseDescriptor.getScmRelativePathProjectDirectory())) {
@@ -124,16 +153,82 @@ public class RunPerformGoalsPhase extends AbstractRunGoalsPhase {
             }
         }
 
+        if (isTestedRelease(releaseDescriptor, reactorProjects, new File(workDir), workDirectory)) {
+            additionalArguments = additionalArguments + " -DskipTests";
+        }
+
         return execute(releaseDescriptor, releaseEnvironment, workDirectory, additionalArguments, false);
     }
 
+    /**
+     * Checks whether the checkout of the release tag has the content which was built and tested during the
+     * preparation, so the tests don't need to run again. The checkout is then seeded with the outputs of the
+     * preparation build, but the perform goals still build and package the release: plugins which track their inputs
+     * by absolute path, like the incremental compilation of the maven-compiler-plugin, build their outputs again.
+     *
+     * @return <code>true</code> if the tests can be skipped
+     */
+    private boolean isTestedRelease(
+            ReleaseDescriptor releaseDescriptor,
+            List<MavenProject> reactorProjects,
+            File preparedDirectory,
+            File workDirectory)
+            throws ReleaseExecutionException {
+        String preparedFingerprint = releaseDescriptor.getPreparedArtifactsFingerprint();
+        if (!releaseDescriptor.isSkipPerformTests()
+                || StringUtils.isEmpty(preparedFingerprint)
+                || reactorProjects == null) {
+            return false;
+        }
+
+        String goals = getGoals(releaseDescriptor);
+        if (goals != null && Arrays.asList(StringUtils.split(goals)).contains("clean")) {
+            getLogger().info("Running the tests again, since the perform goals clean the build outputs");
+            return false;
+        }
+
+        try {
+            Set<Path> buildDirectories = ReleaseFingerprint.getBuildDirectories(preparedDirectory, reactorProjects);
+            String fingerprint = ReleaseFingerprint.compute(workDirectory, buildDirectories);
+            if (!preparedFingerprint.equals(fingerprint)) {
+                getLogger()
+                        .warn("The checkout of the release tag doesn't match the prepared release (" + fingerprint
+                                + " instead of " + preparedFingerprint + "), running the tests again");
+                return false;
+            }
+
+            int files = ReleaseFingerprint.copyBuildDirectories(
+                    preparedDirectory,
+                    workDirectory,
+                    buildDirectories,
+                    new File(releaseDescriptor.getCheckoutDirectory()));
+            getLogger()
+                    .info("The checkout of the release tag matches the prepared release, skipping the tests and "
+                            + "reusing its " + files + " build outputs");
+            return true;
+        } catch (IOException e) {
+            throw new ReleaseExecutionException(
+                    "Unable to check the release against the prepared release: " + e.getMessage(), e);
+        }
+    }
+
     @Override
     public ReleaseResult simulate(
             ReleaseDescriptor releaseDescriptor,
             ReleaseEnvironment releaseEnvironment,
             List<MavenProject> reactorProjects)
             throws ReleaseExecutionException {
-        return runLogic(releaseDescriptor, releaseEnvironment, true);
+        return runLogic(releaseDescriptor, releaseEnvironment, reactorProjects, null, true);
+    }
+
+    @Override
+    public ReleaseResult simulate(
+            ReleaseDescriptor releaseDescriptor,
+            ReleaseEnvironment releaseEnvironment,
+            List<MavenProject> reactorProjects,
+            ReleaseExecutionContext executionContext)
+            throws ReleaseExecutionException {
+        return runLogic(releaseDescriptor, releaseEnvironment, reactorProjects, executionContext, true);
     }
 
     @Override
@@ -22,27 +22,57 @@ import javax.inject.Inject;
 import javax.inject.Named;
 import javax.inject.Singleton;
 
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
 import org.apache.maven.project.MavenProject;
+import org.apache.maven.scm.ScmException;
+import org.apache.maven.scm.ScmFile;
+import org.apache.maven.scm.ScmFileSet;
+import org.apache.maven.scm.ScmVersion;
+import org.apache.maven.scm.command.list.ListScmResult;
+import org.apache.maven.scm.manager.NoSuchScmProviderException;
+import org.apache.maven.scm.provider.ScmProvider;
+import org.apache.maven.scm.repository.ScmRepository;
+import org.apache.maven.scm.repository.ScmRepositoryException;
 import org.apache.maven.shared.release.ReleaseExecutionException;
 import org.apache.maven.shared.release.ReleaseResult;
 import org.apache.maven.shared.release.config.ReleaseDescriptor;
 import org.apache.maven.shared.release.env.ReleaseEnvironment;
+import org.apache.maven.shared.release.exec.LocalRepositoryPrefetcher;
 import org.apache.maven.shared.release.exec.MavenExecutor;
+import org.apache.maven.shared.release.scm.ScmRepositoryConfigurator;
+import org.apache.maven.shared.release.util.ReleaseFingerprint;
+import org.codehaus.plexus.util.StringUtils;
+
+import static java.util.Objects.requireNonNull;
 
 /**
  * Run a build of the project (eventually with the integration tests) to verify that it builds before committing.
+ * <p>
+ * If the tag of the previous release is configured, the build is limited to the modules selected by the
+ * {@link SelectChangedProjectsPhase}, which have changes since that tag or depend on such modules, and to the modules
+ * they depend on, so that the reactor resolves. If no module changed, the build is skipped and the release tree is
+ * not verified. If the perform goals are to skip the tests of the release tree built here, the fingerprint of that
+ * tree is recorded.
  *
  * @author <a href="mailto:brett@apache.org">Brett Porter</a>
  */
 @Singleton
 @Named("run-preparation-goals")
 public class RunPrepareGoalsPhase extends AbstractRunGoalsPhase {
+    private final ScmRepositoryConfigurator scmRepositoryConfigurator;
+
     @Inject
-    public RunPrepareGoalsPhase(Map<String, MavenExecutor> mavenExecutors) {
-        super(mavenExecutors);
+    public RunPrepareGoalsPhase(
+            Map<String, MavenExecutor> mavenExecutors,
+            LocalRepositoryPrefetcher localRepositoryPrefetcher,
+            ScmRepositoryConfigurator scmRepositoryConfigurator) {
+        super(mavenExecutors, localRepositoryPrefetcher);
+        this.scmRepositoryConfigurator = requireNonNull(scmRepositoryConfigurator);
     }
 
     @Override
@@ -51,7 +81,13 @@ public class RunPrepareGoalsPhase extends AbstractRunGoalsPhase {
             ReleaseEnvironment releaseEnvironment,
             List<MavenProject> reactorProjects)
             throws ReleaseExecutionException {
-        return execute(releaseDescriptor, releaseEnvironment, reactorProjects, false);
+        ReleaseResult result = execute(releaseDescriptor, releaseEnvironment, reactorProjects, false);
+
+        if (releaseDescriptor.isSkipPerformTests()) {
+            recordFingerprint(releaseDescriptor, releaseEnvironment, reactorProjects, result);
+        }
+
+        return result;
     }
 
     @Override
@@ -72,8 +108,142 @@ public class RunPrepareGoalsPhase extends AbstractRunGoalsPhase {
         return result;
     }
 
+    @Override
+    protected ReleaseResult execute(
+            ReleaseDescriptor releaseDescriptor,
+            ReleaseEnvironment releaseEnvironment,
+            List<MavenProject> reactorProjects,
+            boolean logArguments)
+            throws ReleaseExecutionException {
+        String projects = releaseDescriptor.getPreparationProjects();
+        if (projects == null || reactorProjects == null || StringUtils.isEmpty(getGoals(releaseDescriptor))) {
+            return super.execute(releaseDescriptor, releaseEnvironment, reactorProjects, logArguments);
+        }
+
+        ReleaseResult result = new ReleaseResult();
+
+        String changedSince = releaseDescriptor.getPreparationChangedSince();
+        String additionalArguments = getAdditionalArguments(releaseDescriptor);
+        String[] projectIds = StringUtils.split(projects, ",");
+        if (projectIds.length == 0) {
+            logWarn(
+                    result,
+                    "No module changed since '" + changedSince + "', skipping the preparation goals: the release "
+                            + "is tagged without being built");
+            result.setResultCode(ReleaseResult.SUCCESS);
+            return result;
+        } else if (projectIds.length < reactorProjects.size()) {
+            logInfo(
+                    result,
+                    "Limiting the preparation goals to the " + projectIds.length + " of " + reactorProjects.size()
+                            + " modules changed since '" + changedSince + "' or depending on them: " + projects);
+
+            additionalArguments = (additionalArguments == null ? "" : additionalArguments + " ") + "--projects "
+                    + projects + " --also-make";
+        } else {
+            logInfo(result, "All modules changed since '" + changedSince + "' or depend on changed modules");
+        }
+
+        ReleaseResult goalsResult = execute(
+                releaseDescriptor,
+                releaseEnvironment,
+                new File(releaseDescriptor.getWorkingDirectory()),
+                additionalArguments,
+                logArguments);
+        result.appendOutput(goalsResult.getOutput());
+        result.setResultCode(goalsResult.getResultCode());
+        return result;
+    }
+
     @Override
     protected String getGoals(ReleaseDescriptor releaseDescriptor) {
         return releaseDescriptor.getPreparationGoals();
     }
+
+    /**
+     * Records the fingerprint of the files tracked by the SCM in the release tree which was just built, so the perform
+     * goals can skip the tests if the checkout of the release tag has the same content.
+     */
+    private void recordFingerprint(
+            ReleaseDescriptor releaseDescriptor,
+            ReleaseEnvironment releaseEnvironment,
+            List<MavenProject> reactorProjects,
+            ReleaseResult result)
+            throws ReleaseExecutionException {
+        releaseDescriptor.setPreparedArtifactsFingerprint(null);
+
+        if (reactorProjects == null || StringUtils.isEmpty(getGoals(releaseDescriptor))) {
+            return;
+        }
+        if (StringUtils.isNotEmpty(releaseDescriptor.getPreparationChangedSince())) {
+            logInfo(
+                    result,
+                    "Not all modules were built by the preparation goals, the perform goals run the tests again");
+            return;
+        }
+
+        File workingDirectory = new File(releaseDescriptor.getWorkingDirectory());
+        List<String> trackedFiles = getTrackedFiles(releaseDescriptor, releaseEnvironment, workingDirectory, result);
+        if (trackedFiles == null) {
+            return;
+        }
+        try {
+            String fingerprint = ReleaseFingerprint.compute(
+                    workingDirectory,
+                    trackedFiles,
+                    ReleaseFingerprint.getBuildDirectories(workingDirectory, reactorProjects));
+            releaseDescriptor.setPreparedArtifactsFingerprint(fingerprint);
+            logInfo(result, "Recorded the fingerprint of the prepared release: " + fingerprint);
+        } catch (IOException e) {
+            throw new ReleaseExecutionException(
+                    "Unable to compute the fingerprint of the prepared release: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Lists the files tracked by the SCM in the working directory, relative to it.
+     *
+     * @return the tracked files, or <code>null</code> if the SCM can't list them
+     */
+    private List<String> getTrackedFiles(
+            ReleaseDescriptor releaseDescriptor,
+            ReleaseEnvironment releaseEnvironment,
+            File workingDirectory,
+            ReleaseResult result)
+            throws ReleaseExecutionException {
+        ListScmResult listResult;
+        try {
+            ScmRepository repository = scmRepositoryConfigurator.getConfiguredRepository(
+                    releaseDescriptor, releaseEnvironment.getSettings());
+            ScmProvider provider = scmRepositoryConfigurator.getRepositoryProvider(repository);
+
+            listResult = provider.list(repository, new ScmFileSet(workingDirectory), true, (ScmVersion) null);
+        } catch (ScmRepositoryException e) {
+            throw new ReleaseExecutionException(
+                    "Unable to configure SCM repository: " + e.getMessage() + " for URL: "
+                            + releaseDescriptor.getScmSourceUrl(),
+                    e);
+        } catch (NoSuchScmProviderException e) {
+            throw new ReleaseExecutionException("Unable to configure SCM repository: " + e.getMessage(), e);
+        } catch (ScmException e) {
+            logWarn(
+                    result,
+                    "Unable to list the files tracked by the SCM, the perform goals run the tests again: "
+                            + e.getMessage());
+            return null;
+        }
+        if (!listResult.isSuccess()) {
+            logWarn(
+                    result,
+                    "Unable to list the files tracked by the SCM, the perform goals run the tests again: "
+                            + listResult.getProviderMessage());
+            return null;
+        }
+
+        List<String> trackedFiles = new ArrayList<>();
+        for (ScmFile file : listResult.getFiles()) {
+            trackedFiles.add(file.getPath());
+        }
+        return trackedFiles;
+    }
 }
@@ -42,6 +42,7 @@ import org.apache.maven.shared.release.env.ReleaseEnvironment;
 import org.apache.maven.shared.release.scm.ReleaseScmCommandException;
 import org.apache.maven.shared.release.scm.ReleaseScmRepositoryException;
 import org.apache.maven.shared.release.scm.ScmRepositoryConfigurator;
+import org.apache.maven.shared.release.util.ReleaseEvents;
 import org.apache.maven.shared.release.util.ReleaseUtil;
 
 /**
@@ -108,7 +109,13 @@ public class ScmBranchPhase extends AbstractReleasePhase {
             scmBranchParameters.setScmRevision(releaseDescriptor.getScmReleasedPomRevision());
             scmBranchParameters.setPinExternals(releaseDescriptor.isPinExternals());
 
-            result = provider.branch(repository, fileSet, branchName, scmBranchParameters);
+            try (ReleaseEvents.Event event = ReleaseEvents.begin(
+                    ReleaseEvents.Type.SCM_COMMAND,
+                    "branch",
+                    fileSet.getBasedir().getPath())) {
+                result = provider.branch(repository, fileSet, branchName, scmBranchParameters);
+                event.setSuccess(result.isSuccess());
+            }
         } catch (ScmException e) {
             throw new ReleaseExecutionException("An error is occurred in the branch process: " + e.getMessage(), e);
         }
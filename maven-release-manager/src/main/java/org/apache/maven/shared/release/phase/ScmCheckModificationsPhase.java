@@ -23,12 +23,19 @@ import javax.inject.Named;
 import javax.inject.Singleton;
 
 import java.io.File;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
-import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
 
 import org.apache.maven.project.MavenProject;
 import org.apache.maven.scm.ScmException;
@@ -48,7 +55,8 @@ import org.apache.maven.shared.release.scm.ReleaseScmCommandException;
 import org.apache.maven.shared.release.scm.ReleaseScmRepositoryException;
 import org.apache.maven.shared.release.scm.ScmRepositoryConfigurator;
 import org.apache.maven.shared.release.scm.ScmTranslator;
-import org.codehaus.plexus.util.SelectorUtils;
+import org.apache.maven.shared.release.util.ReleaseEvents;
+import org.codehaus.plexus.util.MatchPatterns;
 import org.codehaus.plexus.util.StringUtils;
 
 import static java.util.Objects.requireNonNull;
@@ -76,7 +84,7 @@ public class ScmCheckModificationsPhase extends AbstractReleasePhase {
      *
      * @todo proper construction of filenames, especially release properties
      */
-    private final Set<String> exclusionPatterns = new HashSet<>(Arrays.asList(
+    private static final List<String> DEFAULT_EXCLUSION_PATTERNS = Collections.unmodifiableList(Arrays.asList(
             "**" + File.separator + "pom.xml.backup", "**" + File.separator + "pom.xml.tag",
             "**" + File.separator + "pom.xml.next", "**" + File.separator + "pom.xml.branch",
             "**" + File.separator + "release.properties", "**" + File.separator + "pom.xml.releaseBackup"));
@@ -96,6 +104,8 @@ public class ScmCheckModificationsPhase extends AbstractReleasePhase {
             throws ReleaseExecutionException, ReleaseFailureException {
         ReleaseResult relResult = new ReleaseResult();
 
+        Set<String> exclusionPatterns = new LinkedHashSet<>(DEFAULT_EXCLUSION_PATTERNS);
+
         List<String> additionalExcludes = releaseDescriptor.getCheckModificationExcludes();
 
         if (additionalExcludes != null) {
@@ -106,6 +116,8 @@ public class ScmCheckModificationsPhase extends AbstractReleasePhase {
             }
         }
 
+        ExclusionMatcher exclusionMatcher = new ExclusionMatcher(exclusionPatterns);
+
         logInfo(relResult, "Verifying that there are no local modifications...");
         logInfo(relResult, "  ignoring changes on: " + StringUtils.join(exclusionPatterns.toArray(), ", "));
 
@@ -123,9 +135,79 @@ public class ScmCheckModificationsPhase extends AbstractReleasePhase {
             throw new ReleaseExecutionException("Unable to configure SCM repository: " + e.getMessage(), e);
         }
 
+        File workingDirectory = new File(releaseDescriptor.getWorkingDirectory());
+        List<ScmFileSet> fileSets = new ArrayList<>();
+        List<Path> moduleDirectories = null;
+        if (releaseDescriptor.isCheckModificationsScopedToModules()) {
+            moduleDirectories = new ArrayList<>();
+            List<File> outsideDirectories = new ArrayList<>();
+            getModuleDirectories(workingDirectory, reactorProjects, moduleDirectories, outsideDirectories);
+
+            List<File> moduleFiles = new ArrayList<>();
+            for (Path moduleDirectory : moduleDirectories) {
+                // the working directory itself is a module
+                moduleFiles.add(moduleDirectory.toString().isEmpty() ? new File(".") : moduleDirectory.toFile());
+            }
+            logInfo(relResult, "  limited to the module directories: " + moduleFiles);
+            fileSets.add(new ScmFileSet(workingDirectory, moduleFiles));
+
+            // like in a flat layout, these may be separate working copies
+            if (!outsideDirectories.isEmpty()) {
+                logInfo(relResult, "  and to the module directories outside of it: " + outsideDirectories);
+                for (File outsideDirectory : outsideDirectories) {
+                    fileSets.add(new ScmFileSet(outsideDirectory));
+                }
+            }
+        } else {
+            fileSets.add(new ScmFileSet(workingDirectory));
+        }
+
+        ScmTranslator scmTranslator = scmTranslators.get(repository.getProvider());
+
+        List<ScmFile> changedFiles = new ArrayList<>();
+        for (int i = 0; i < fileSets.size(); i++) {
+            ScmFileSet fileSet = fileSets.get(i);
+            // only the status of the working directory may report files outside of the modules
+            List<Path> scope = i == 0 ? moduleDirectories : null;
+            changedFiles.addAll(
+                    getChangedFiles(provider, repository, fileSet, scmTranslator, exclusionMatcher, scope, relResult));
+        }
+
+        if (!changedFiles.isEmpty()) {
+            StringBuilder message = new StringBuilder();
+
+            for (ScmFile file : changedFiles) {
+                message.append(file.toString());
+                message.append("\n");
+            }
+
+            throw new ReleaseFailureException(
+                    "Cannot prepare the release because you have local modifications : \n" + message);
+        }
+
+        relResult.setResultCode(ReleaseResult.SUCCESS);
+
+        return relResult;
+    }
+
+    private List<ScmFile> getChangedFiles(
+            ScmProvider provider,
+            ScmRepository repository,
+            ScmFileSet fileSet,
+            ScmTranslator scmTranslator,
+            ExclusionMatcher exclusionMatcher,
+            List<Path> moduleDirectories,
+            ReleaseResult relResult)
+            throws ReleaseExecutionException, ReleaseScmCommandException {
         StatusScmResult result;
         try {
-            result = provider.status(repository, new ScmFileSet(new File(releaseDescriptor.getWorkingDirectory())));
+            try (ReleaseEvents.Event event = ReleaseEvents.begin(
+                    ReleaseEvents.Type.SCM_COMMAND,
+                    "status",
+                    fileSet.getBasedir().getPath())) {
+                result = provider.status(repository, fileSet);
+                event.setSuccess(result.isSuccess());
+            }
         } catch (ScmException e) {
             throw new ReleaseExecutionException(
                     "An error occurred during the status check process: " + e.getMessage(), e);
@@ -135,50 +217,140 @@ public class ScmCheckModificationsPhase extends AbstractReleasePhase {
             throw new ReleaseScmCommandException("Unable to check for local modifications", result);
         }
 
-        List<ScmFile> changedFiles = result.getChangedFiles();
+        List<ScmFile> changedFiles = new ArrayList<>();
 
-        if (!changedFiles.isEmpty()) {
-            ScmTranslator scmTranslator = scmTranslators.get(repository.getProvider());
+        // TODO: would be nice for SCM status command to do this for me.
+        for (ScmFile f : result.getChangedFiles()) {
+            String path;
+            if (scmTranslator != null) {
+                path = scmTranslator.toRelativePath(f.getPath());
+            } else {
+                path = f.getPath();
+            }
 
-            // TODO: would be nice for SCM status command to do this for me.
-            for (Iterator<ScmFile> i = changedFiles.iterator(); i.hasNext(); ) {
-                ScmFile f = i.next();
+            // SelectorUtils expects File.separator, don't standardize!
+            String fileName = path.replace("\\", File.separator).replace("/", File.separator);
 
-                String path;
-                if (scmTranslator != null) {
-                    path = scmTranslator.toRelativePath(f.getPath());
-                } else {
-                    path = f.getPath();
-                }
+            if (exclusionMatcher.matches(fileName)) {
+                logDebug(relResult, "Ignoring changed file: " + fileName);
+            } else if (moduleDirectories != null && !isInModule(fileSet.getBasedir(), fileName, moduleDirectories)) {
+                // some providers, like git, report the status of the whole base directory
+                logDebug(relResult, "Ignoring changed file outside of the modules: " + fileName);
+            } else {
+                changedFiles.add(f);
+            }
+        }
+        return changedFiles;
+    }
 
-                // SelectorUtils expects File.separator, don't standardize!
-                String fileName = path.replace("\\", File.separator).replace("/", File.separator);
+    private static boolean isInModule(File basedir, String fileName, List<Path> moduleDirectories) {
+        Path path = Paths.get(fileName);
+        if (path.isAbsolute()) {
+            path = basedir.toPath().toAbsolutePath().normalize().relativize(path);
+        }
+        path = path.normalize();
 
-                for (String exclusionPattern : exclusionPatterns) {
-                    if (SelectorUtils.matchPath(exclusionPattern, fileName)) {
-                        logDebug(relResult, "Ignoring changed file: " + fileName);
-                        i.remove();
-                        break;
-                    }
+        for (Path moduleDirectory : moduleDirectories) {
+            if (moduleDirectory.toString().isEmpty()) {
+                if (!path.startsWith("..")) {
+                    return true;
                 }
+            } else if (path.startsWith(moduleDirectory)) {
+                return true;
             }
         }
+        return false;
+    }
 
-        if (!changedFiles.isEmpty()) {
-            StringBuilder message = new StringBuilder();
+    /**
+     * Collects the outermost module directories of the reactor: relative to the working directory for the modules
+     * inside of it, where the empty path stands for the working directory itself, and absolute for the others. Nested
+     * modules are already covered by their parent directory.
+     */
+    private static void getModuleDirectories(
+            File workingDirectory,
+            List<MavenProject> reactorProjects,
+            List<Path> moduleDirectories,
+            List<File> outsideDirectories) {
+        Path basedir = workingDirectory.toPath().toAbsolutePath().normalize();
 
-            for (ScmFile file : changedFiles) {
-                message.append(file.toString());
-                message.append("\n");
+        SortedSet<Path> modules = new TreeSet<>();
+        SortedSet<Path> outsideModules = new TreeSet<>();
+        for (MavenProject project : reactorProjects) {
+            Path projectDirectory =
+                    project.getBasedir().toPath().toAbsolutePath().normalize();
+            if (projectDirectory.startsWith(basedir)) {
+                modules.add(basedir.relativize(projectDirectory));
+            } else {
+                outsideModules.add(projectDirectory);
             }
+        }
 
-            throw new ReleaseFailureException(
-                    "Cannot prepare the release because you have local modifications : \n" + message);
+        collectOutermost(modules, moduleDirectories);
+
+        List<Path> outermostOutsideModules = new ArrayList<>();
+        collectOutermost(outsideModules, outermostOutsideModules);
+        for (Path outsideModule : outermostOutsideModules) {
+            outsideDirectories.add(outsideModule.toFile());
         }
+    }
 
-        relResult.setResultCode(ReleaseResult.SUCCESS);
+    private static void collectOutermost(SortedSet<Path> directories, List<Path> outermost) {
+        Path previous = null;
+        for (Path directory : directories) {
+            if (directory.toString().isEmpty()) {
+                // the working directory itself is a module, and contains all the others
+                outermost.add(directory);
+                return;
+            }
+            // sorted, so a parent directory always precedes its subdirectories
+            if (previous != null && directory.startsWith(previous)) {
+                continue;
+            }
+            outermost.add(directory);
+            previous = directory;
+        }
+    }
 
-        return relResult;
+    /**
+     * The exclusion patterns compiled once per run. Patterns like <code>**&#47;name</code> are by far the most common,
+     * so these are reduced to a lookup of the file name, the others are matched as tokenized patterns.
+     */
+    static final class ExclusionMatcher {
+        private final Set<String> fileNames = new HashSet<>();
+
+        private final MatchPatterns patterns;
+
+        ExclusionMatcher(Collection<String> exclusionPatterns) {
+            String anyDirectory = "**" + File.separator;
+            List<String> otherPatterns = new ArrayList<>();
+            for (String pattern : exclusionPatterns) {
+                String fileName = pattern.startsWith(anyDirectory) ? pattern.substring(anyDirectory.length()) : null;
+                if (fileName != null && isLiteralFileName(fileName)) {
+                    fileNames.add(fileName);
+                } else {
+                    otherPatterns.add(pattern);
+                }
+            }
+            patterns = MatchPatterns.from(otherPatterns);
+        }
+
+        private static boolean isLiteralFileName(String fileName) {
+            return !fileName.isEmpty()
+                    && fileName.indexOf('*') < 0
+                    && fileName.indexOf('?') < 0
+                    && fileName.indexOf('/') < 0
+                    && fileName.indexOf('\\') < 0
+                    && !fileName.startsWith("%");
+        }
+
+        boolean matches(String fileName) {
+            int separator = fileName.lastIndexOf(File.separatorChar);
+            if (fileNames.contains(separator < 0 ? fileName : fileName.substring(separator + 1))) {
+                return true;
+            }
+            return patterns.matches(fileName, true);
+        }
     }
 
     @Override
@@ -24,11 +24,17 @@ import javax.inject.Singleton;
 
 import java.io.File;
 import java.util.List;
+import java.util.Map;
 
 import org.apache.maven.project.MavenProject;
+import org.apache.maven.scm.CommandParameters;
+import org.apache.maven.scm.NoSuchCommandScmException;
 import org.apache.maven.scm.ScmException;
 import org.apache.maven.scm.ScmFileSet;
+import org.apache.maven.scm.ScmRevision;
 import org.apache.maven.scm.ScmTagParameters;
+import org.apache.maven.scm.command.list.ListScmResult;
+import org.apache.maven.scm.command.remoteinfo.RemoteInfoScmResult;
 import org.apache.maven.scm.command.tag.TagScmResult;
 import org.apache.maven.scm.manager.NoSuchScmProviderException;
 import org.apache.maven.scm.provider.ScmProvider;
@@ -42,7 +48,9 @@ import org.apache.maven.shared.release.env.ReleaseEnvironment;
 import org.apache.maven.shared.release.scm.ReleaseScmCommandException;
 import org.apache.maven.shared.release.scm.ReleaseScmRepositoryException;
 import org.apache.maven.shared.release.scm.ScmRepositoryConfigurator;
+import org.apache.maven.shared.release.util.ReleaseEvents;
 import org.apache.maven.shared.release.util.ReleaseUtil;
+import org.codehaus.plexus.util.StringUtils;
 
 /**
  * Tag the SCM repository after committing the release.
@@ -52,6 +60,16 @@ import org.apache.maven.shared.release.util.ReleaseUtil;
 @Singleton
 @Named("scm-tag")
 public class ScmTagPhase extends AbstractReleasePhase {
+    /**
+     * Initial delay in milliseconds between two checks for the released revision.
+     */
+    private static final long INITIAL_POLL_INTERVAL = 500L;
+
+    /**
+     * Upper bound in milliseconds of the delay between two checks for the released revision.
+     */
+    private static final long MAX_POLL_INTERVAL = 8000L;
+
     /**
      * Tool that gets a configured SCM repository from release configuration.
      */
@@ -72,19 +90,6 @@ public class ScmTagPhase extends AbstractReleasePhase {
 
         validateConfiguration(releaseDescriptor);
 
-        if (releaseDescriptor.getWaitBeforeTagging() > 0) {
-            logInfo(
-                    relResult,
-                    "Waiting for " + releaseDescriptor.getWaitBeforeTagging() + " seconds before tagging the release.");
-            try {
-                Thread.sleep(1000L * releaseDescriptor.getWaitBeforeTagging());
-            } catch (InterruptedException e) {
-                // Ignore
-            }
-        }
-
-        logInfo(relResult, "Tagging release with the label " + releaseDescriptor.getScmReleaseLabel() + "...");
-
         ReleaseDescriptor basedirAlignedReleaseDescriptor =
                 ReleaseUtil.createBasedirAlignedReleaseDescriptor(releaseDescriptor, reactorProjects);
 
@@ -107,10 +112,17 @@ public class ScmTagPhase extends AbstractReleasePhase {
             throw new ReleaseExecutionException("Unable to configure SCM repository: " + e.getMessage(), e);
         }
 
+        // TODO: want includes/excludes?
+        ScmFileSet fileSet = new ScmFileSet(new File(basedirAlignedReleaseDescriptor.getWorkingDirectory()));
+
+        if (releaseDescriptor.getWaitBeforeTagging() > 0) {
+            waitForReleasedRevision(releaseDescriptor, provider, repository, fileSet, relResult);
+        }
+
+        logInfo(relResult, "Tagging release with the label " + releaseDescriptor.getScmReleaseLabel() + "...");
+
         TagScmResult result;
         try {
-            // TODO: want includes/excludes?
-            ScmFileSet fileSet = new ScmFileSet(new File(basedirAlignedReleaseDescriptor.getWorkingDirectory()));
             String tagName = releaseDescriptor.getScmReleaseLabel();
             ScmTagParameters scmTagParameters =
                     new ScmTagParameters(releaseDescriptor.getScmCommentPrefix() + "copy for tag " + tagName);
@@ -126,7 +138,11 @@ public class ScmTagPhase extends AbstractReleasePhase {
                 getLogger().debug("ScmTagPhase :: scmTagParameters pinExternals " + releaseDescriptor.isPinExternals());
                 getLogger().debug("ScmTagPhase :: fileSet  " + fileSet);
             }
-            result = provider.tag(repository, fileSet, tagName, scmTagParameters);
+            try (ReleaseEvents.Event event = ReleaseEvents.begin(
+                    ReleaseEvents.Type.SCM_COMMAND, "tag", fileSet.getBasedir().getPath())) {
+                result = provider.tag(repository, fileSet, tagName, scmTagParameters);
+                event.setSuccess(result.isSuccess());
+            }
         } catch (ScmException e) {
             throw new ReleaseExecutionException("An error is occurred in the tag process: " + e.getMessage(), e);
         }
@@ -170,6 +186,108 @@ public class ScmTagPhase extends AbstractReleasePhase {
         return result;
     }
 
+    /**
+     * Waits until the released revision is visible in the repository, with <code>waitBeforeTagging</code> as the upper
+     * bound. When the SCM cannot tell whether the revision is visible, the full time is waited.
+     */
+    private void waitForReleasedRevision(
+            ReleaseDescriptor releaseDescriptor,
+            ScmProvider provider,
+            ScmRepository repository,
+            ScmFileSet fileSet,
+            ReleaseResult relResult) {
+        String revision = releaseDescriptor.getScmReleasedPomRevision();
+        long start = System.currentTimeMillis();
+        long deadline = start + 1000L * releaseDescriptor.getWaitBeforeTagging();
+
+        boolean visible = false;
+        try {
+            if (StringUtils.isBlank(revision)) {
+                logInfo(
+                        relResult,
+                        "Waiting for " + releaseDescriptor.getWaitBeforeTagging()
+                                + " seconds before tagging the release.");
+                Thread.sleep(deadline - start);
+            } else {
+                logInfo(
+                        relResult,
+                        "Waiting up to " + releaseDescriptor.getWaitBeforeTagging() + " seconds for revision "
+                                + revision + " to become visible before tagging the release.");
+                long interval = INITIAL_POLL_INTERVAL;
+                while (true) {
+                    Boolean probe = isRevisionVisible(provider, repository, fileSet, revision);
+                    long remaining = deadline - System.currentTimeMillis();
+                    if (probe == null) {
+                        // no way to tell, fall back to the fixed wait
+                        if (remaining > 0) {
+                            Thread.sleep(remaining);
+                        }
+                        break;
+                    }
+                    if (probe) {
+                        visible = true;
+                        break;
+                    }
+                    if (remaining <= 0) {
+                        break;
+                    }
+                    Thread.sleep(Math.min(interval, remaining));
+                    interval = Math.min(2 * interval, MAX_POLL_INTERVAL);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        long waited = System.currentTimeMillis() - start;
+        if (visible) {
+            logInfo(relResult, "Revision " + revision + " became visible after " + waited + " ms.");
+        } else {
+            logInfo(relResult, "Waited " + waited + " ms before tagging the release.");
+        }
+    }
+
+    /**
+     * Asks the SCM whether the given revision is visible. Subversion revisions are checked by listing the repository
+     * at that revision, other SCMs by looking for the revision in the remote branches and tags.
+     *
+     * @return <code>null</code> if the SCM provider cannot tell
+     */
+    private Boolean isRevisionVisible(
+            ScmProvider provider, ScmRepository repository, ScmFileSet fileSet, String revision) {
+        try {
+            if (StringUtils.isNumeric(revision)) {
+                ListScmResult result = provider.list(repository, fileSet, false, new ScmRevision(revision));
+                return result != null && result.isSuccess();
+            }
+
+            RemoteInfoScmResult result =
+                    provider.remoteInfo(repository.getProviderRepository(), fileSet, new CommandParameters());
+            if (result == null || !result.isSuccess()) {
+                return false;
+            }
+            return containsRevision(result.getBranches(), revision) || containsRevision(result.getTags(), revision);
+        } catch (NoSuchCommandScmException | UnsupportedOperationException e) {
+            getLogger().debug("Unable to check the visibility of revision " + revision, e);
+            return null;
+        } catch (ScmException e) {
+            getLogger().debug("Revision " + revision + " is not visible yet: " + e.getMessage());
+            return false;
+        }
+    }
+
+    private static boolean containsRevision(Map<String, String> heads, String revision) {
+        if (heads != null) {
+            for (String head : heads.values()) {
+                // either side may be an abbreviated revision, but a blank one is a prefix of every revision
+                if (StringUtils.isNotBlank(head) && (head.startsWith(revision) || revision.startsWith(head))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
     private static void validateConfiguration(ReleaseDescriptor releaseDescriptor) throws ReleaseFailureException {
         if (releaseDescriptor.getScmReleaseLabel() == null) {
             throw new ReleaseFailureException("A release label is required for committing");
@@ -0,0 +1,232 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.shared.release.phase;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.maven.artifact.ArtifactUtils;
+import org.apache.maven.project.MavenProject;
+import org.apache.maven.scm.ScmException;
+import org.apache.maven.scm.ScmFile;
+import org.apache.maven.scm.ScmFileSet;
+import org.apache.maven.scm.ScmTag;
+import org.apache.maven.scm.command.diff.DiffScmResult;
+import org.apache.maven.scm.manager.NoSuchScmProviderException;
+import org.apache.maven.scm.provider.ScmProvider;
+import org.apache.maven.scm.repository.ScmRepository;
+import org.apache.maven.scm.repository.ScmRepositoryException;
+import org.apache.maven.shared.release.ReleaseExecutionException;
+import org.apache.maven.shared.release.ReleaseResult;
+import org.apache.maven.shared.release.config.ReleaseDescriptor;
+import org.apache.maven.shared.release.env.ReleaseEnvironment;
+import org.apache.maven.shared.release.scm.ScmRepositoryConfigurator;
+import org.apache.maven.shared.release.scm.ScmTranslator;
+import org.apache.maven.shared.release.util.ReleaseUtil;
+import org.codehaus.plexus.util.StringUtils;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Select the modules with changes since the tag of the previous release and the modules depending on them, if that
+ * tag is configured. The preparation goals are then limited to this selection.
+ * <p>
+ * The changes are collected before the POMs are rewritten, while the working copy still matches the checked
+ * modifications, so the rewritten versions don't mark every module as changed.
+ *
+ * @since 3.0.1
+ */
+@Singleton
+@Named("select-changed-projects")
+public class SelectChangedProjectsPhase extends AbstractReleasePhase {
+    private final ScmRepositoryConfigurator scmRepositoryConfigurator;
+
+    private final Map<String, ScmTranslator> scmTranslators;
+
+    @Inject
+    public SelectChangedProjectsPhase(
+            ScmRepositoryConfigurator scmRepositoryConfigurator, Map<String, ScmTranslator> scmTranslators) {
+        this.scmRepositoryConfigurator = requireNonNull(scmRepositoryConfigurator);
+        this.scmTranslators = requireNonNull(scmTranslators);
+    }
+
+    @Override
+    public ReleaseResult execute(
+            ReleaseDescriptor releaseDescriptor,
+            ReleaseEnvironment releaseEnvironment,
+            List<MavenProject> reactorProjects)
+            throws ReleaseExecutionException {
+        ReleaseResult result = new ReleaseResult();
+
+        releaseDescriptor.setPreparationProjects(null);
+
+        String changedSince = releaseDescriptor.getPreparationChangedSince();
+        if (StringUtils.isNotEmpty(changedSince) && reactorProjects != null) {
+            List<MavenProject> selectedProjects =
+                    getChangedProjects(releaseDescriptor, releaseEnvironment, reactorProjects, changedSince);
+
+            List<String> projectIds = new ArrayList<>();
+            for (MavenProject project : selectedProjects) {
+                projectIds.add(ArtifactUtils.versionlessKey(project.getGroupId(), project.getArtifactId()));
+            }
+            String projects = StringUtils.join(projectIds.iterator(), ",");
+            releaseDescriptor.setPreparationProjects(projects);
+
+            logInfo(
+                    result,
+                    projectIds.size() + " of " + reactorProjects.size() + " modules changed since '" + changedSince
+                            + "' or depend on changed modules" + (projects.isEmpty() ? "" : ": " + projects));
+        }
+
+        result.setResultCode(ReleaseResult.SUCCESS);
+
+        return result;
+    }
+
+    @Override
+    public ReleaseResult simulate(
+            ReleaseDescriptor releaseDescriptor,
+            ReleaseEnvironment releaseEnvironment,
+            List<MavenProject> reactorProjects)
+            throws ReleaseExecutionException {
+        // the preparation goals also run in simulation mode
+        return execute(releaseDescriptor, releaseEnvironment, reactorProjects);
+    }
+
+    /**
+     * Gets the projects with changes since the given tag, and the projects depending on them, in reactor order.
+     */
+    private List<MavenProject> getChangedProjects(
+            ReleaseDescriptor releaseDescriptor,
+            ReleaseEnvironment releaseEnvironment,
+            List<MavenProject> reactorProjects,
+            String changedSince)
+            throws ReleaseExecutionException {
+        ScmRepository repository;
+        ScmProvider provider;
+        try {
+            repository = scmRepositoryConfigurator.getConfiguredRepository(
+                    releaseDescriptor, releaseEnvironment.getSettings());
+
+            provider = scmRepositoryConfigurator.getRepositoryProvider(repository);
+        } catch (ScmRepositoryException e) {
+            throw new ReleaseExecutionException(
+                    "Unable to configure SCM repository: " + e.getMessage() + " for URL: "
+                            + releaseDescriptor.getScmSourceUrl(),
+                    e);
+        } catch (NoSuchScmProviderException e) {
+            throw new ReleaseExecutionException("Unable to configure SCM repository: " + e.getMessage(), e);
+        }
+
+        File workingDirectory = new File(releaseDescriptor.getWorkingDirectory());
+        DiffScmResult result;
+        try {
+            result = provider.diff(repository, new ScmFileSet(workingDirectory), new ScmTag(changedSince), null);
+        } catch (ScmException e) {
+            throw new ReleaseExecutionException(
+                    "An error occurred while looking for changes since '" + changedSince + "': " + e.getMessage(), e);
+        }
+        if (!result.isSuccess()) {
+            throw new ReleaseExecutionException(
+                    "Unable to look for changes since '" + changedSince + "': " + result.getProviderMessage());
+        }
+
+        ScmTranslator scmTranslator = scmTranslators.get(repository.getProvider());
+        List<String> changedPaths = new ArrayList<>();
+        for (ScmFile file : result.getChangedFiles()) {
+            changedPaths.add(scmTranslator != null ? scmTranslator.toRelativePath(file.getPath()) : file.getPath());
+        }
+
+        return getChangedProjects(workingDirectory, reactorProjects, changedPaths);
+    }
+
+    static List<MavenProject> getChangedProjects(
+            File workingDirectory, List<MavenProject> reactorProjects, List<String> changedPaths) {
+        Path basedir = workingDirectory.toPath().toAbsolutePath().normalize();
+
+        // a changed file belongs to the project with the deepest base directory containing it
+        Set<MavenProject> changed = new LinkedHashSet<>();
+        for (String changedPath : changedPaths) {
+            Path file = basedir.resolve(changedPath).normalize();
+            MavenProject owner = null;
+            int ownerDepth = -1;
+            for (MavenProject project : reactorProjects) {
+                Path projectDirectory =
+                        project.getBasedir().toPath().toAbsolutePath().normalize();
+                if (file.startsWith(projectDirectory) && projectDirectory.getNameCount() > ownerDepth) {
+                    owner = project;
+                    ownerDepth = projectDirectory.getNameCount();
+                }
+            }
+            if (owner != null) {
+                changed.add(owner);
+            }
+        }
+
+        Map<String, List<MavenProject>> dependents = new HashMap<>();
+        for (MavenProject project : reactorProjects) {
+            String projectId = ArtifactUtils.versionlessKey(project.getGroupId(), project.getArtifactId());
+            for (String key : ReleaseUtil.getReferencedProjectKeys(project)) {
+                if (!key.equals(projectId)) {
+                    List<MavenProject> keyDependents = dependents.get(key);
+                    if (keyDependents == null) {
+                        keyDependents = new ArrayList<>();
+                        dependents.put(key, keyDependents);
+                    }
+                    keyDependents.add(project);
+                }
+            }
+        }
+
+        Set<MavenProject> selected = new LinkedHashSet<>(changed);
+        Deque<MavenProject> queue = new ArrayDeque<>(changed);
+        while (!queue.isEmpty()) {
+            MavenProject project = queue.poll();
+            List<MavenProject> projectDependents =
+                    dependents.get(ArtifactUtils.versionlessKey(project.getGroupId(), project.getArtifactId()));
+            if (projectDependents != null) {
+                for (MavenProject dependent : projectDependents) {
+                    if (selected.add(dependent)) {
+                        queue.add(dependent);
+                    }
+                }
+            }
+        }
+
+        List<MavenProject> selectedProjects = new ArrayList<>();
+        for (MavenProject project : reactorProjects) {
+            if (selected.contains(project)) {
+                selectedProjects.add(project);
+            }
+        }
+        return selectedProjects;
+    }
+}
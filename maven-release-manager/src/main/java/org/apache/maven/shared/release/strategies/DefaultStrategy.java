@@ -65,7 +65,9 @@ public class DefaultStrategy implements Strategy {
         this.preparePhases = Collections.unmodifiableList(Arrays.asList(
                 // START SNIPPET: prepare
                 "check-poms",
+                "prefetch-dependencies",
                 "scm-check-modifications",
+                "select-changed-projects",
                 "check-dependency-snapshots",
                 "create-backup-poms",
                 "map-release-versions",
@@ -85,7 +87,10 @@ public class DefaultStrategy implements Strategy {
                 ));
         this.performPhases = Collections.unmodifiableList(Arrays.asList(
                 // START SNIPPET: perform
-                "verify-completed-prepare-phases", "checkout-project-from-scm", "run-perform-goals"
+                "verify-completed-prepare-phases",
+                "prefetch-dependencies",
+                "checkout-project-from-scm",
+                "run-perform-goals"
                 // END SNIPPET: perform
                 ));
         this.rollbackPhases = Collections.unmodifiableList(Arrays.asList(
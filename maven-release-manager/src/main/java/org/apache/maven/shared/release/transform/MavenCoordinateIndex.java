@@ -0,0 +1,189 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.shared.release.transform;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.maven.model.Build;
+import org.apache.maven.model.BuildBase;
+import org.apache.maven.model.Model;
+import org.apache.maven.model.ModelBase;
+import org.apache.maven.model.Plugin;
+import org.apache.maven.model.PluginManagement;
+import org.apache.maven.model.Profile;
+
+/**
+ * All rewritable coordinates of a POM with their context, in the order they are rewritten: build extensions, build
+ * plugins and their dependencies (first of the project, then of the profiles), then dependencies, managed
+ * dependencies and report plugins (first of the project, then of the profiles).
+ *
+ * @since 3.0.1
+ */
+public final class MavenCoordinateIndex {
+    /**
+     * The kind of element of a coordinate.
+     */
+    public enum Context {
+        DEPENDENCY,
+        PLUGIN,
+        PLUGIN_DEPENDENCY,
+        REPORT_PLUGIN,
+        EXTENSION
+    }
+
+    /**
+     * A coordinate with its context.
+     */
+    public static final class Entry {
+        private final MavenCoordinate coordinate;
+
+        private final Context context;
+
+        private final boolean managed;
+
+        private final boolean profile;
+
+        Entry(MavenCoordinate coordinate, Context context, boolean managed, boolean profile) {
+            this.coordinate = coordinate;
+            this.context = context;
+            this.managed = managed;
+            this.profile = profile;
+        }
+
+        /**
+         * @return the coordinate
+         */
+        public MavenCoordinate getCoordinate() {
+            return coordinate;
+        }
+
+        /**
+         * @return the kind of element
+         */
+        public Context getContext() {
+            return context;
+        }
+
+        /**
+         * @return <code>true</code> if the coordinate is part of a dependency or plugin management section
+         */
+        public boolean isManaged() {
+            return managed;
+        }
+
+        /**
+         * @return <code>true</code> if the coordinate is part of a profile
+         */
+        public boolean isProfile() {
+            return profile;
+        }
+    }
+
+    private final List<Entry> entries = new ArrayList<>();
+
+    /**
+     * <p>add.</p>
+     *
+     * @param coordinate the coordinate
+     * @param context the kind of element
+     * @param managed if the coordinate is part of a management section
+     * @param profile if the coordinate is part of a profile
+     */
+    public void add(MavenCoordinate coordinate, Context context, boolean managed, boolean profile) {
+        entries.add(new Entry(coordinate, context, managed, profile));
+    }
+
+    /**
+     * <p>getEntries.</p>
+     *
+     * @return the coordinates in rewrite order
+     */
+    public List<Entry> getEntries() {
+        return Collections.unmodifiableList(entries);
+    }
+
+    /**
+     * Indexes a model whose elements implement {@link MavenCoordinate}, by walking it.
+     *
+     * @param model the model
+     * @return the index
+     * @throws IllegalArgumentException if an element of the model does not implement {@link MavenCoordinate}
+     */
+    public static MavenCoordinateIndex fromModel(Model model) {
+        MavenCoordinateIndex index = new MavenCoordinateIndex();
+
+        Build build = model.getBuild();
+        if (build != null) {
+            // profile.build.extensions doesn't exist, so only index project.build.extensions
+            index.addAll(build.getExtensions(), Context.EXTENSION, false, false);
+            index.addPlugins(build, false);
+        }
+        for (Profile profile : model.getProfiles()) {
+            if (profile.getBuild() != null) {
+                index.addPlugins(profile.getBuild(), true);
+            }
+        }
+
+        index.addModelBase(model, false);
+        for (Profile profile : model.getProfiles()) {
+            index.addModelBase(profile, true);
+        }
+
+        return index;
+    }
+
+    private void addPlugins(BuildBase build, boolean profile) {
+        addPlugins(build.getPlugins(), false, profile);
+
+        PluginManagement pluginManagement = build.getPluginManagement();
+        if (pluginManagement != null) {
+            addPlugins(pluginManagement.getPlugins(), true, profile);
+        }
+    }
+
+    private void addPlugins(List<Plugin> plugins, boolean managed, boolean profile) {
+        addAll(plugins, Context.PLUGIN, managed, profile);
+        for (Plugin plugin : plugins) {
+            addAll(plugin.getDependencies(), Context.PLUGIN_DEPENDENCY, managed, profile);
+        }
+    }
+
+    private void addModelBase(ModelBase modelBase, boolean profile) {
+        addAll(modelBase.getDependencies(), Context.DEPENDENCY, false, profile);
+        if (modelBase.getDependencyManagement() != null) {
+            addAll(modelBase.getDependencyManagement().getDependencies(), Context.DEPENDENCY, true, profile);
+        }
+        if (modelBase.getReporting() != null) {
+            addAll(modelBase.getReporting().getPlugins(), Context.REPORT_PLUGIN, false, profile);
+        }
+    }
+
+    private void addAll(List<?> objects, Context context, boolean managed, boolean profile) {
+        for (Object object : objects) {
+            if (object instanceof MavenCoordinate) {
+                add((MavenCoordinate) object, context, managed, profile);
+            } else {
+                throw new IllegalArgumentException("Cannot index the " + context + " element of type "
+                        + object.getClass().getName() + ", which does not implement MavenCoordinate");
+            }
+        }
+    }
+}
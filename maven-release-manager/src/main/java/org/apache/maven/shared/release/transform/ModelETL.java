@@ -51,6 +51,17 @@ public interface ModelETL {
      */
     void load(File pomFile) throws ReleaseExecutionException;
 
+    /**
+     * Returns the rewritable coordinates of the extracted model, to be reused for the whole transformation. Changes to
+     * the coordinates are applied to the extracted model.
+     *
+     * @return the coordinate index
+     * @since 3.0.1
+     */
+    default MavenCoordinateIndex getCoordinateIndex() {
+        return MavenCoordinateIndex.fromModel(getModel());
+    }
+
     // will be removed once transform() is implemented
     /**
      * <p>getModel.</p>
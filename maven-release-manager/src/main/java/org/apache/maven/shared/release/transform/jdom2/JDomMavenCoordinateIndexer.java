@@ -0,0 +1,126 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.shared.release.transform.jdom2;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.maven.shared.release.transform.MavenCoordinateIndex;
+import org.apache.maven.shared.release.transform.MavenCoordinateIndex.Context;
+import org.jdom2.Element;
+
+/**
+ * Indexes the rewritable coordinates of a POM in a single walk over its JDOM2 tree, with one wrapper per coordinate,
+ * in the same order as {@link MavenCoordinateIndex#fromModel(org.apache.maven.model.Model)}.
+ *
+ * @since 3.0.1
+ */
+public final class JDomMavenCoordinateIndexer {
+    private JDomMavenCoordinateIndexer() {
+        // utility class
+    }
+
+    /**
+     * <p>index.</p>
+     *
+     * @param project the <code>project</code> element
+     * @return the index
+     */
+    public static MavenCoordinateIndex index(Element project) {
+        MavenCoordinateIndex index = new MavenCoordinateIndex();
+
+        List<Element> profiles = getChildren(project, "profiles", "profile");
+
+        Element build = project.getChild("build", project.getNamespace());
+        if (build != null) {
+            // profile.build.extensions doesn't exist, so only index project.build.extensions
+            addAll(index, getChildren(build, "extensions", "extension"), Context.EXTENSION, false, false);
+            addPlugins(index, build, false);
+        }
+        for (Element profile : profiles) {
+            Element profileBuild = profile.getChild("build", profile.getNamespace());
+            if (profileBuild != null) {
+                addPlugins(index, profileBuild, true);
+            }
+        }
+
+        addModelBase(index, project, false);
+        for (Element profile : profiles) {
+            addModelBase(index, profile, true);
+        }
+
+        return index;
+    }
+
+    private static void addPlugins(MavenCoordinateIndex index, Element build, boolean profile) {
+        addPlugins(index, getChildren(build, "plugins", "plugin"), false, profile);
+
+        Element pluginManagement = build.getChild("pluginManagement", build.getNamespace());
+        if (pluginManagement != null) {
+            addPlugins(index, getChildren(pluginManagement, "plugins", "plugin"), true, profile);
+        }
+    }
+
+    private static void addPlugins(
+            MavenCoordinateIndex index, List<Element> plugins, boolean managed, boolean profile) {
+        addAll(index, plugins, Context.PLUGIN, managed, profile);
+        for (Element plugin : plugins) {
+            addAll(
+                    index,
+                    getChildren(plugin, "dependencies", "dependency"),
+                    Context.PLUGIN_DEPENDENCY,
+                    managed,
+                    profile);
+        }
+    }
+
+    private static void addModelBase(MavenCoordinateIndex index, Element modelBase, boolean profile) {
+        addAll(index, getChildren(modelBase, "dependencies", "dependency"), Context.DEPENDENCY, false, profile);
+
+        Element dependencyManagement = modelBase.getChild("dependencyManagement", modelBase.getNamespace());
+        if (dependencyManagement != null) {
+            addAll(
+                    index,
+                    getChildren(dependencyManagement, "dependencies", "dependency"),
+                    Context.DEPENDENCY,
+                    true,
+                    profile);
+        }
+
+        Element reporting = modelBase.getChild("reporting", modelBase.getNamespace());
+        if (reporting != null) {
+            addAll(index, getChildren(reporting, "plugins", "plugin"), Context.REPORT_PLUGIN, false, profile);
+        }
+    }
+
+    private static void addAll(
+            MavenCoordinateIndex index, List<Element> elements, Context context, boolean managed, boolean profile) {
+        for (Element element : elements) {
+            index.add(new JDomMavenCoordinate(element), context, managed, profile);
+        }
+    }
+
+    private static List<Element> getChildren(Element parent, String containerName, String name) {
+        Element container = parent.getChild(containerName, parent.getNamespace());
+        if (container == null) {
+            return Collections.emptyList();
+        }
+        return container.getChildren(name, parent.getNamespace());
+    }
+}
@@ -31,6 +31,7 @@ import org.apache.maven.model.Model;
 import org.apache.maven.project.MavenProject;
 import org.apache.maven.shared.release.ReleaseExecutionException;
 import org.apache.maven.shared.release.config.ReleaseDescriptor;
+import org.apache.maven.shared.release.transform.MavenCoordinateIndex;
 import org.apache.maven.shared.release.transform.ModelETL;
 import org.apache.maven.shared.release.util.ReleaseUtil;
 import org.codehaus.plexus.util.WriterFactory;
@@ -59,6 +60,8 @@ public class JDomModelETL implements ModelETL {
 
     private Document document;
 
+    private MavenCoordinateIndex coordinateIndex;
+
     private String intro = null;
     private String outtro = null;
 
@@ -91,16 +94,101 @@ public class JDomModelETL implements ModelETL {
         this.project = project;
     }
 
+    /**
+     * Collapses the first run of two or more whitespace characters inside each tag (except comments and other
+     * <code>&lt;!</code> markup) into a single space, and puts a space in front of the <code>/&gt;</code> of empty
+     * elements ending with such a run.
+     * <p>
+     * This does in a single scan per rule what the patterns <code>&lt;([^!][^&gt;]*?)\s{2,}([^&gt;]*?)&gt;</code> and
+     * <code>(\s{2,})/&gt;</code> used to do, with exactly the same output.
+     *
+     * @param content the content of the POM
+     * @return the normalized content
+     */
+    static String normalizeTagWhitespace(String content) {
+        return spaceEmptyElementEnds(collapseTagWhitespace(content));
+    }
+
+    private static String collapseTagWhitespace(String content) {
+        int length = content.length();
+        StringBuilder result = null;
+        int copied = 0;
+        int start = content.indexOf('<');
+        while (start >= 0 && start + 1 < length) {
+            int next = start + 1;
+            if (content.charAt(start + 1) != '!') {
+                int end = content.indexOf('>', start + 2);
+                if (end < 0) {
+                    // no tag can be closed anymore
+                    break;
+                }
+                int run = start + 2;
+                while (run + 1 < end && !(isWhitespace(content.charAt(run)) && isWhitespace(content.charAt(run + 1)))) {
+                    run++;
+                }
+                if (run + 1 < end) {
+                    int runEnd = run + 2;
+                    while (isWhitespace(content.charAt(runEnd))) {
+                        runEnd++;
+                    }
+                    if (result == null) {
+                        result = new StringBuilder(length);
+                    }
+                    result.append(content, copied, run).append(' ');
+                    copied = runEnd;
+                    next = end + 1;
+                }
+            }
+            start = content.indexOf('<', next);
+        }
+        if (result == null) {
+            return content;
+        }
+        return result.append(content, copied, length).toString();
+    }
+
+    private static String spaceEmptyElementEnds(String content) {
+        int length = content.length();
+        StringBuilder result = null;
+        int copied = 0;
+        int end = content.indexOf("/>");
+        while (end >= 0) {
+            int run = end;
+            while (run > copied && isWhitespace(content.charAt(run - 1))) {
+                run--;
+            }
+            if (end - run >= 2) {
+                if (result == null) {
+                    result = new StringBuilder(length + length / 64);
+                }
+                result.append(content, copied, end).append(' ');
+                copied = end;
+            }
+            end = content.indexOf("/>", end + 2);
+        }
+        if (result == null) {
+            return content;
+        }
+        return result.append(content, copied, length).toString();
+    }
+
+    /**
+     * Same characters as <code>\s</code> in a regular expression.
+     */
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+
     @Override
     public void extract(File pomFile) throws ReleaseExecutionException {
         try {
             String content = ReleaseUtil.readXmlFile(pomFile, ls);
             // we need to eliminate any extra whitespace inside elements, as JDOM2 will nuke it
-            content = content.replaceAll("<([^!][^>]*?)\\s{2,}([^>]*?)>", "<$1 $2>");
-            content = content.replaceAll("(\\s{2,})/>", "$1 />");
+            content = normalizeTagWhitespace(content);
 
             SAXBuilder builder = new SAXBuilder();
             document = builder.build(new StringReader(content));
+            coordinateIndex = null;
 
             // Normalize line endings to platform's style (XML processors like JDOM2 normalize line endings to "\n" as
             // per section 2.11 of the XML spec)
@@ -157,6 +245,14 @@ public class JDomModelETL implements ModelETL {
         writePom(targetFile, document, releaseDescriptor, project.getModelVersion(), intro, outtro);
     }
 
+    @Override
+    public MavenCoordinateIndex getCoordinateIndex() {
+        if (coordinateIndex == null) {
+            coordinateIndex = JDomMavenCoordinateIndexer.index(document.getRootElement());
+        }
+        return coordinateIndex;
+    }
+
     @Override
     public Model getModel() {
         return new JDomModel(document);
@@ -20,12 +20,29 @@ package org.apache.maven.shared.release.util;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.maven.model.Model;
 import org.apache.maven.model.Parent;
 import org.apache.maven.model.io.xpp3.MavenXpp3Reader;
 import org.codehaus.plexus.util.ReaderFactory;
 import org.codehaus.plexus.util.xml.XmlStreamReader;
+import org.codehaus.plexus.util.xml.pull.EntityReplacementMap;
+import org.codehaus.plexus.util.xml.pull.MXParser;
+import org.codehaus.plexus.util.xml.pull.XmlPullParser;
 import org.codehaus.plexus.util.xml.pull.XmlPullParserException;
 import org.slf4j.Logger;
 
@@ -57,18 +74,61 @@ import static java.util.Objects.requireNonNull;
  *      {@link #findMatchingPom(java.io.File)}
  *   </li>
  * </ol>
+ * <p>The tree is searched breadth-first, so the matching pom closest to the start directory is found, and the search
+ * stops at the first match. Hidden directories and the {@link #setExcludedDirectories(Collection) excluded
+ * directories} are not searched. Candidate poms are only read up to their coordinates, and read completely once
+ * these match. With an {@link #setExecutor(Executor) executor} the directories of a level are searched in
+ * parallel.</p>
  *
  * @author <a href="mailto:struberg@yahoo.de">Mark Struberg</a>
  */
 public class PomFinder {
+    /**
+     * The names of the directories which are not searched by default: build outputs and installed node packages,
+     * which may contain many poms but never the released module.
+     *
+     * @since 3.0.1
+     */
+    public static final Set<String> DEFAULT_EXCLUDED_DIRECTORIES =
+            Collections.unmodifiableSet(new HashSet<>(Arrays.asList("target", "node_modules")));
+
+    private static final int PROJECT_DEPTH = 1;
+
+    private static final int COORDINATES_DEPTH = 2;
+
+    private static final int PARENT_COORDINATES_DEPTH = 3;
 
     private final Logger log;
     private PomInfo foundPomInfo;
+    private Set<String> excludedDirectories = DEFAULT_EXCLUDED_DIRECTORIES;
+    private Executor executor;
 
     public PomFinder(Logger log) {
         this.log = requireNonNull(log);
     }
 
+    /**
+     * <p>setExcludedDirectories.</p>
+     *
+     * @param excludedDirectories the names of the directories which are not searched, defaults to
+     *            {@link #DEFAULT_EXCLUDED_DIRECTORIES}
+     * @since 3.0.1
+     */
+    public void setExcludedDirectories(Collection<String> excludedDirectories) {
+        this.excludedDirectories = Collections.unmodifiableSet(new HashSet<>(excludedDirectories));
+    }
+
+    /**
+     * <p>setExecutor.</p>
+     *
+     * @param executor the executor to search the directories of a level in parallel with, or <code>null</code> to
+     *            search them in the calling thread
+     * @since 3.0.1
+     */
+    public void setExecutor(Executor executor) {
+        this.executor = executor;
+    }
+
     /**
      *
      * @param originPom the pom File which should be used as blueprint for the search
@@ -111,43 +171,199 @@ public class PomFinder {
             return null;
         }
 
-        // look for the file in the current directory
-        File matchingPom = new File(startDirectory, foundPomInfo.getFileName());
-        if (matchingPom.exists()) {
-            PomInfo pi = null;
+        List<File> directories = Collections.singletonList(startDirectory);
+        try {
+            while (!directories.isEmpty()) {
+                List<File> nextLevel = new ArrayList<>();
+                for (DirectoryScan scan : scan(directories)) {
+                    if (scan.matchingPom != null) {
+                        return scan.matchingPom;
+                    }
+                    nextLevel.addAll(scan.subDirectories);
+                }
+                directories = nextLevel;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Interrupted while searching for the pom file in " + startDirectory.getAbsolutePath());
+        }
+
+        return null;
+    }
+
+    /**
+     * Scans the directories of one level of the tree. The scans are returned in the order of the directories and end
+     * with the first one which found a matching pom, so the result doesn't depend on the executor.
+     */
+    private List<DirectoryScan> scan(List<File> directories) throws InterruptedException {
+        List<DirectoryScan> scans = new ArrayList<>();
+        if (executor == null || directories.size() == 1) {
+            for (File directory : directories) {
+                DirectoryScan scan = scan(directory);
+                scans.add(scan);
+                if (scan.matchingPom != null) {
+                    break;
+                }
+            }
+            return scans;
+        }
+
+        // directories behind a match are skipped as soon as it is found, the ones before it are still scanned
+        final AtomicInteger firstMatch = new AtomicInteger(Integer.MAX_VALUE);
+        List<FutureTask<DirectoryScan>> tasks = new ArrayList<>(directories.size());
+        for (int i = 0; i < directories.size(); i++) {
+            final int index = i;
+            final File directory = directories.get(i);
+            FutureTask<DirectoryScan> task = new FutureTask<>(new Callable<DirectoryScan>() {
+                @Override
+                public DirectoryScan call() {
+                    if (index > firstMatch.get()) {
+                        return null;
+                    }
+                    DirectoryScan scan = scan(directory);
+                    if (scan.matchingPom != null) {
+                        int current = firstMatch.get();
+                        while (index < current && !firstMatch.compareAndSet(current, index)) {
+                            current = firstMatch.get();
+                        }
+                    }
+                    return scan;
+                }
+            });
+            tasks.add(task);
             try {
-                pi = readPomInfo(matchingPom);
-            } catch (Exception e) {
-                log.warn("Error while parsing pom file", e);
-                // do nothing, just continue with the search
-                // this might happen if a build contains unfinished pom.xml
-                // files in integration tests, etc
+                executor.execute(task);
+            } catch (RejectedExecutionException e) {
+                task.run();
             }
+        }
+
+        boolean found = false;
+        for (FutureTask<DirectoryScan> task : tasks) {
+            // wait for every task, even the skipped ones, so none of them outlives the search
+            DirectoryScan scan;
+            try {
+                scan = task.get();
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Unable to search for the pom file", e.getCause());
+            }
+            if (!found && scan != null) {
+                scans.add(scan);
+                found = scan.matchingPom != null;
+            }
+        }
+        return scans;
+    }
+
+    /**
+     * Looks for the matching pom in the given directory, and lists its sub directories to search if there is none.
+     */
+    private DirectoryScan scan(File directory) {
+        File pom = new File(directory, foundPomInfo.getFileName());
+        if (matches(pom)) {
+            return new DirectoryScan(pom, Collections.<File>emptyList());
+        }
 
-            if (pi == null || !pi.equals(foundPomInfo)) {
-                matchingPom = null;
+        List<File> subDirectories = new ArrayList<>();
+        String[] childFiles = directory.list();
+        if (childFiles != null) {
+            Arrays.sort(childFiles);
+            for (String childFile : childFiles) {
+                if (excludedDirectories.contains(childFile)) {
+                    continue;
+                }
+                File subDir = new File(directory, childFile);
+                if (subDir.isDirectory() && !subDir.isHidden()) {
+                    subDirectories.add(subDir);
+                }
             }
-        } else {
-            matchingPom = null;
         }
+        return new DirectoryScan(null, subDirectories);
+    }
+
+    private boolean matches(File pomFile) {
+        if (!pomFile.isFile()) {
+            return false;
+        }
+
+        try {
+            // most candidates differ in their coordinates, only read the complete pom of the others
+            return headerMatches(pomFile) && foundPomInfo.equals(readPomInfo(pomFile));
+        } catch (Exception e) {
+            log.warn("Error while parsing pom file", e);
+            // do nothing, just continue with the search
+            // this might happen if a build contains unfinished pom.xml
+            // files in integration tests, etc
+            return false;
+        }
+    }
 
-        if (matchingPom == null) {
-            String[] childFiles = startDirectory.list();
-            if (childFiles != null) {
-                for (String childFile : childFiles) {
-                    File subDir = new File(startDirectory, childFile);
-                    if (subDir.isDirectory() && !subDir.isHidden()) {
-                        matchingPom = findMatchingPom(subDir);
+    /**
+     * Streams the given pom file up to the coordinates of the project and its parent, and compares them with the
+     * parsed pom. The rest of the file is neither read nor validated, unless one of the coordinates is missing.
+     *
+     * @param pomFile pom.xml file
+     * @return <code>false</code> if the pom doesn't match the parsed pom, <code>true</code> if it might
+     */
+    private boolean headerMatches(File pomFile) throws IOException, XmlPullParserException {
+        String groupId = null;
+        String artifactId = null;
+        String parentGroupId = null;
+        String parentArtifactId = null;
+        boolean inParent = false;
+
+        try (XmlStreamReader xmlReader = ReaderFactory.newXmlReader(pomFile)) {
+            MXParser parser = new MXParser(EntityReplacementMap.defaultEntityReplacementMap);
+            parser.setInput(xmlReader);
+
+            int eventType = parser.next();
+            while (eventType != XmlPullParser.END_DOCUMENT) {
+                if (eventType == XmlPullParser.START_TAG) {
+                    int depth = parser.getDepth();
+                    String name = parser.getName();
+                    if (depth == PROJECT_DEPTH && !"project".equals(name)) {
+                        return false;
+                    } else if (depth == COORDINATES_DEPTH && "parent".equals(name)) {
+                        inParent = true;
+                    } else if (depth == COORDINATES_DEPTH && "groupId".equals(name)) {
+                        groupId = parser.nextText().trim();
+                        if (!groupId.equals(foundPomInfo.getGroupId())) {
+                            return false;
+                        }
+                    } else if (depth == COORDINATES_DEPTH && "artifactId".equals(name)) {
+                        artifactId = parser.nextText().trim();
+                        if (!artifactId.equals(foundPomInfo.getArtifactId())) {
+                            return false;
+                        }
+                    } else if (depth == PARENT_COORDINATES_DEPTH && inParent && "groupId".equals(name)) {
+                        parentGroupId = parser.nextText().trim();
+                        if (!parentGroupId.equals(foundPomInfo.getParentGroupId())) {
+                            return false;
+                        }
+                    } else if (depth == PARENT_COORDINATES_DEPTH && inParent && "artifactId".equals(name)) {
+                        parentArtifactId = parser.nextText().trim();
+                        if (!parentArtifactId.equals(foundPomInfo.getParentArtifactId())) {
+                            return false;
+                        }
                     }
 
-                    if (matchingPom != null) {
-                        break;
+                    if (groupId != null && artifactId != null && parentGroupId != null && parentArtifactId != null) {
+                        return true;
                     }
+                } else if (eventType == XmlPullParser.END_TAG
+                        && parser.getDepth() == COORDINATES_DEPTH
+                        && "parent".equals(parser.getName())) {
+                    inParent = false;
                 }
+                eventType = parser.next();
             }
         }
 
-        return matchingPom;
+        // a coordinate is missing, which only matches if it is missing in the parsed pom as well
+        return Objects.equals(groupId, foundPomInfo.getGroupId())
+                && Objects.equals(artifactId, foundPomInfo.getArtifactId())
+                && Objects.equals(parentGroupId, foundPomInfo.getParentGroupId())
+                && Objects.equals(parentArtifactId, foundPomInfo.getParentArtifactId());
     }
 
     /**
@@ -185,6 +401,20 @@ public class PomFinder {
         return pomInfo;
     }
 
+    /**
+     * Result of the scan of a single directory.
+     */
+    private static final class DirectoryScan {
+        private final File matchingPom;
+
+        private final List<File> subDirectories;
+
+        DirectoryScan(File matchingPom, List<File> subDirectories) {
+            this.matchingPom = matchingPom;
+            this.subDirectories = subDirectories;
+        }
+    }
+
     /***
      * Data container which helds information about a pom.
      * Information may partially be empty.
@@ -204,6 +434,22 @@ public class PomFinder {
             this.fileName = fileName;
         }
 
+        public String getArtifactId() {
+            return artifactId;
+        }
+
+        public String getGroupId() {
+            return groupId;
+        }
+
+        public String getParentArtifactId() {
+            return parentArtifactId;
+        }
+
+        public String getParentGroupId() {
+            return parentGroupId;
+        }
+
         public void setArtifactId(String artifactId) {
             this.artifactId = artifactId;
         }
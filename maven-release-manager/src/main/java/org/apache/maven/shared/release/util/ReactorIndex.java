@@ -0,0 +1,284 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.shared.release.util;
+
+import java.io.File;
+import java.lang.ref.WeakReference;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.maven.artifact.ArtifactUtils;
+import org.apache.maven.model.Parent;
+import org.apache.maven.project.MavenProject;
+import org.apache.maven.shared.release.ReleaseExecutionContext;
+import org.apache.maven.shared.release.ReleaseExecutionException;
+import org.apache.maven.shared.release.ReleaseFailureException;
+
+/**
+ * A compact projection of the reactor: for every project, only the coordinates, the parent key and the paths the
+ * phases need, by versionless key and in reactor order. Phases which don't rewrite models use it instead of walking
+ * the {@link MavenProject} graphs, and don't keep the projects reachable from the results they build.
+ * <p>
+ * The release manager builds the index once per goal, in the execution context of the goal.
+ *
+ * @since 3.0.1
+ */
+public final class ReactorIndex {
+    /**
+     * The name of the cache of the index in the execution context of a goal.
+     */
+    static final String CACHE = "reactor-index";
+
+    /**
+     * The key of the index in its cache: a goal releases a single reactor.
+     */
+    private static final String CACHE_KEY = "reactor";
+
+    private static final ReactorIndex EMPTY = new ReactorIndex(Collections.<String, Module>emptyMap(), null, null);
+
+    private final Map<String, Module> modules;
+
+    private final Module root;
+
+    /**
+     * The indexed reactor, not kept reachable by the index.
+     */
+    private final WeakReference<List<MavenProject>> reactor;
+
+    private ReactorIndex(Map<String, Module> modules, Module root, List<MavenProject> reactorProjects) {
+        this.modules = modules;
+        this.root = root;
+        this.reactor = new WeakReference<>(reactorProjects);
+    }
+
+    /**
+     * Indexes the given reactor.
+     *
+     * @param reactorProjects the reactor projects, may be <code>null</code>
+     * @return the index
+     */
+    public static ReactorIndex of(List<MavenProject> reactorProjects) {
+        if (reactorProjects == null || reactorProjects.isEmpty()) {
+            return EMPTY;
+        }
+
+        Map<String, Module> modules = new LinkedHashMap<>();
+        Module root = null;
+        for (MavenProject project : reactorProjects) {
+            Module module = new Module(project);
+            if (!modules.containsKey(module.key)) {
+                modules.put(module.key, module);
+            }
+            // like ReleaseUtil.getRootProject: the execution root, else the first project
+            if (root == null || module.executionRoot && !root.executionRoot) {
+                root = module;
+            }
+        }
+        return new ReactorIndex(Collections.unmodifiableMap(modules), root, reactorProjects);
+    }
+
+    /**
+     * Gets the index of the reactor of a goal, which the release manager built when the goal started.
+     *
+     * @param reactorProjects the reactor projects, may be <code>null</code>
+     * @param executionContext the context of the goal, may be <code>null</code> to index the reactor now
+     * @return the index
+     */
+    public static ReactorIndex of(final List<MavenProject> reactorProjects, ReleaseExecutionContext executionContext) {
+        if (executionContext == null || reactorProjects == null || reactorProjects.isEmpty()) {
+            return of(reactorProjects);
+        }
+        ReactorIndex index;
+        try {
+            index = executionContext
+                    .getCache(CACHE, String.class, ReactorIndex.class)
+                    .get(CACHE_KEY, new ReleaseExecutionContext.Loader<String, ReactorIndex>() {
+                        @Override
+                        public ReactorIndex load(String key) {
+                            return of(reactorProjects);
+                        }
+                    });
+        } catch (ReleaseExecutionException | ReleaseFailureException e) {
+            // the loader doesn't fail
+            throw new IllegalStateException(e);
+        }
+        // a phase may be run on its own with another reactor than the one of the goal
+        return index.reactor.get() == reactorProjects ? index : of(reactorProjects);
+    }
+
+    /**
+     * <p>getRoot.</p>
+     *
+     * @return the execution root, else the first project, or <code>null</code> if the reactor is empty
+     */
+    public Module getRoot() {
+        return root;
+    }
+
+    /**
+     * <p>get.</p>
+     *
+     * @param key the versionless key of a project
+     * @return the module, or <code>null</code> if the project is not in the reactor
+     */
+    public Module get(String key) {
+        return modules.get(key);
+    }
+
+    /**
+     * <p>contains.</p>
+     *
+     * @param key the versionless key of a project
+     * @return <code>true</code> if the project is in the reactor
+     */
+    public boolean contains(String key) {
+        return modules.containsKey(key);
+    }
+
+    /**
+     * <p>getModules.</p>
+     *
+     * @return the modules in reactor order
+     */
+    public Collection<Module> getModules() {
+        return modules.values();
+    }
+
+    /**
+     * <p>getReactorProjects.</p>
+     *
+     * @return the indexed reactor, or <code>null</code> if it is empty or not reachable anymore
+     */
+    public List<MavenProject> getReactorProjects() {
+        return reactor.get();
+    }
+
+    /**
+     * <p>size.</p>
+     *
+     * @return the number of modules
+     */
+    public int size() {
+        return modules.size();
+    }
+
+    /**
+     * A project of the reactor.
+     */
+    public static final class Module {
+        private final String key;
+
+        private final String groupId;
+
+        private final String artifactId;
+
+        private final String version;
+
+        private final String name;
+
+        private final String parentKey;
+
+        private final File pomFile;
+
+        private final File basedir;
+
+        private final boolean executionRoot;
+
+        Module(MavenProject project) {
+            groupId = project.getGroupId();
+            artifactId = project.getArtifactId();
+            key = ArtifactUtils.versionlessKey(groupId, artifactId);
+            version = project.getVersion();
+            name = project.getName();
+            Parent parent = project.getModel().getParent();
+            parentKey =
+                    parent == null ? null : ArtifactUtils.versionlessKey(parent.getGroupId(), parent.getArtifactId());
+            pomFile = project.getFile();
+            basedir = project.getBasedir();
+            executionRoot = project.isExecutionRoot();
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        public String getGroupId() {
+            return groupId;
+        }
+
+        public String getArtifactId() {
+            return artifactId;
+        }
+
+        public String getVersion() {
+            return version;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * <p>getParentKey.</p>
+         *
+         * @return the versionless key of the declared parent, or <code>null</code> if there is none
+         */
+        public String getParentKey() {
+            return parentKey;
+        }
+
+        /**
+         * <p>getPomFile.</p>
+         *
+         * @return the POM the project was built from, which may be a release POM
+         */
+        public File getPomFile() {
+            return pomFile;
+        }
+
+        public File getBasedir() {
+            return basedir;
+        }
+
+        public boolean isExecutionRoot() {
+            return executionRoot;
+        }
+
+        /**
+         * <p>getStandardPom.</p>
+         *
+         * @return the <code>pom.xml</code> of the project, see {@link ReleaseUtil#getStandardPom(MavenProject)}
+         */
+        public File getStandardPom() {
+            return ReleaseUtil.getStandardPomFile(pomFile);
+        }
+
+        /**
+         * <p>getReleasePom.</p>
+         *
+         * @return the release POM of the project, see {@link ReleaseUtil#getReleasePom(MavenProject)}
+         */
+        public File getReleasePom() {
+            return ReleaseUtil.getReleasePomFile(pomFile);
+        }
+    }
+}
@@ -0,0 +1,278 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.shared.release.util;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Java Flight Recorder events of the release manager, so a recording of a release shows which goal, phase, module,
+ * SCM command or Maven execution the time was spent on.
+ * <p>
+ * The event types are defined at runtime with <code>jdk.jfr.EventFactory</code>, as the release manager also runs on
+ * JDKs without Flight Recorder. There, or when an event type is not enabled in the running recordings,
+ * {@link #begin(Type, String, String)} returns an event which records nothing. Setting the system property
+ * <code>maven.release.jfr</code> to <code>false</code> disables the events altogether.
+ *
+ * @since 3.0.1
+ */
+public final class ReleaseEvents {
+    /**
+     * The category of all the events, as shown by JDK Mission Control.
+     */
+    private static final String[] CATEGORY = {"Maven", "Release"};
+
+    private static final int NAME_FIELD = 0;
+
+    private static final int TARGET_FIELD = 1;
+
+    private static final int SUCCESS_FIELD = 2;
+
+    private static final Recorder RECORDER = Recorder.create();
+
+    private ReleaseEvents() {
+        // utility class
+    }
+
+    /**
+     * The types of events.
+     */
+    public enum Type {
+        /**
+         * A release goal, like prepare or perform. The target is the working directory.
+         */
+        GOAL("Goal", "Release Goal"),
+        /**
+         * The execution or simulation of a release phase. The target is either <code>execute</code> or
+         * <code>simulate</code>.
+         */
+        PHASE("Phase", "Release Phase"),
+        /**
+         * The transformation of the POM of a single module. The target is the project id.
+         */
+        TRANSFORM("Transform", "Release POM Transform"),
+        /**
+         * The extraction or loading of a POM by a {@link org.apache.maven.shared.release.transform.ModelETL}. The
+         * target is the file.
+         */
+        MODEL_ETL("ModelETL", "Release POM Extract/Load"),
+        /**
+         * An SCM command, like status, checkIn or tag. The target is the working directory.
+         */
+        SCM_COMMAND("ScmCommand", "Release SCM Command"),
+        /**
+         * The execution of Maven goals by a {@link org.apache.maven.shared.release.exec.MavenExecutor}. The target is
+         * the working directory.
+         */
+        MAVEN_EXECUTION("MavenExecution", "Release Maven Execution"),
+        /**
+         * The read or write of the release descriptor by a
+         * {@link org.apache.maven.shared.release.config.ReleaseDescriptorStore}. The target is the working directory.
+         */
+        DESCRIPTOR_STORE("DescriptorStore", "Release Descriptor Store");
+
+        private final String name;
+
+        private final String label;
+
+        Type(String name, String label) {
+            this.name = "org.apache.maven.release." + name;
+            this.label = label;
+        }
+
+        /**
+         * <p>Getter for the field <code>name</code>.</p>
+         *
+         * @return the name of the event type in the recordings
+         */
+        public String getName() {
+            return name;
+        }
+    }
+
+    /**
+     * Tells if the events are recorded on this JDK.
+     *
+     * @return <code>true</code> if Flight Recorder events can be emitted
+     */
+    public static boolean isAvailable() {
+        return RECORDER != null;
+    }
+
+    /**
+     * Begins an event, which ends when it is closed. A successful outcome must be told with
+     * {@link Event#succeeded()} before closing it.
+     *
+     * @param type the type of the event
+     * @param name what is run, like the name of the phase or the SCM command
+     * @param target what it is run on, see {@link Type}
+     * @return the event, never <code>null</code>
+     */
+    public static Event begin(Type type, String name, String target) {
+        if (RECORDER == null) {
+            return Event.DISABLED;
+        }
+        Object event = RECORDER.begin(type, name, target);
+        return event != null ? new Event(event) : Event.DISABLED;
+    }
+
+    /**
+     * An event in progress.
+     */
+    public static final class Event implements AutoCloseable {
+        private static final Event DISABLED = new Event(null);
+
+        private final Object event;
+
+        private boolean success;
+
+        private Event(Object event) {
+            this.event = event;
+        }
+
+        /**
+         * Marks the event as successful.
+         */
+        public void succeeded() {
+            success = true;
+        }
+
+        /**
+         * <p>Setter for the field <code>success</code>.</p>
+         *
+         * @param success whether what the event records succeeded
+         */
+        public void setSuccess(boolean success) {
+            this.success = success;
+        }
+
+        /**
+         * Ends the event and commits it to the recordings.
+         */
+        @Override
+        public void close() {
+            if (event != null) {
+                RECORDER.commit(event, success);
+            }
+        }
+    }
+
+    /**
+     * Reflective access to <code>jdk.jfr</code>.
+     */
+    private static final class Recorder {
+        private final Map<Type, Object> factories;
+
+        private final Method newEvent;
+
+        private final Method isEnabled;
+
+        private final Method set;
+
+        private final Method begin;
+
+        private final Method end;
+
+        private final Method commit;
+
+        private Recorder(Map<Type, Object> factories, Class<?> factoryClass, Class<?> eventClass)
+                throws ReflectiveOperationException {
+            this.factories = factories;
+            this.newEvent = factoryClass.getMethod("newEvent");
+            this.isEnabled = eventClass.getMethod("isEnabled");
+            this.set = eventClass.getMethod("set", int.class, Object.class);
+            this.begin = eventClass.getMethod("begin");
+            this.end = eventClass.getMethod("end");
+            this.commit = eventClass.getMethod("commit");
+        }
+
+        static Recorder create() {
+            if ("false".equalsIgnoreCase(System.getProperty("maven.release.jfr"))) {
+                return null;
+            }
+            try {
+                ClassLoader loader = ClassLoader.getSystemClassLoader();
+                Class<?> factoryClass = Class.forName("jdk.jfr.EventFactory", false, loader);
+                Class<?> eventClass = Class.forName("jdk.jfr.Event", false, loader);
+                Class<?> annotationClass = Class.forName("jdk.jfr.AnnotationElement", false, loader);
+                Class<?> valueClass = Class.forName("jdk.jfr.ValueDescriptor", false, loader);
+                Constructor<?> annotation = annotationClass.getConstructor(Class.class, Object.class);
+                Constructor<?> value = valueClass.getConstructor(Class.class, String.class, List.class);
+                Method create = factoryClass.getMethod("create", List.class, List.class);
+
+                List<Object> fields = Arrays.asList(
+                        value.newInstance(String.class, "name", labels(annotation, loader, "Name")),
+                        value.newInstance(String.class, "target", labels(annotation, loader, "Target")),
+                        value.newInstance(boolean.class, "success", labels(annotation, loader, "Success")));
+
+                Map<Type, Object> factories = new EnumMap<>(Type.class);
+                for (Type type : Type.values()) {
+                    List<Object> annotations = Arrays.asList(
+                            annotation.newInstance(annotationType(loader, "Name"), type.name),
+                            annotation.newInstance(annotationType(loader, "Label"), type.label),
+                            annotation.newInstance(annotationType(loader, "Category"), CATEGORY));
+                    factories.put(type, create.invoke(null, annotations, fields));
+                }
+                return new Recorder(factories, factoryClass, eventClass);
+            } catch (ReflectiveOperationException | LinkageError | RuntimeException e) {
+                // no Flight Recorder on this JDK, or it is not accessible
+                return null;
+            }
+        }
+
+        private static List<Object> labels(Constructor<?> annotation, ClassLoader loader, String label)
+                throws ReflectiveOperationException {
+            return Arrays.asList(annotation.newInstance(annotationType(loader, "Label"), label));
+        }
+
+        private static Class<?> annotationType(ClassLoader loader, String name) throws ClassNotFoundException {
+            return Class.forName("jdk.jfr." + name, false, loader).asSubclass(Annotation.class);
+        }
+
+        Object begin(Type type, String name, String target) {
+            try {
+                Object event = newEvent.invoke(factories.get(type));
+                if (!(Boolean) isEnabled.invoke(event)) {
+                    return null;
+                }
+                set.invoke(event, NAME_FIELD, name);
+                set.invoke(event, TARGET_FIELD, target);
+                begin.invoke(event);
+                return event;
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                return null;
+            }
+        }
+
+        void commit(Object event, boolean success) {
+            try {
+                end.invoke(event);
+                set.invoke(event, SUCCESS_FIELD, success);
+                commit.invoke(event);
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                // the event is lost, but the release goes on
+            }
+        }
+    }
+}
@@ -0,0 +1,239 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.shared.release.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+import org.apache.maven.project.MavenProject;
+
+/**
+ * Content fingerprint of a release tree, used to find out whether the checkout of the release tag is the tree which
+ * was verified during the preparation, and to reuse the build outputs of the preparation.
+ * <p>
+ * The fingerprint covers the relative path and content of the files tracked by the SCM, except for the build
+ * directories of the reactor projects, the SCM metadata and the files written by the release itself. Untracked and
+ * ignored files of the working copy are not part of the release tag, so they must not be listed.
+ *
+ * @since 3.0.1
+ */
+public final class ReleaseFingerprint {
+    private static final Set<String> SCM_DIRECTORIES =
+            Collections.unmodifiableSet(new HashSet<>(Arrays.asList(".git", ".svn", ".hg", ".bzr", "CVS")));
+
+    private static final Set<String> RELEASE_FILES = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+            "release.properties", "release.idx", "pom.xml.backup", "pom.xml.tag", "pom.xml.next", "pom.xml.branch")));
+
+    private static final String BACKUP_SUFFIX = ".releaseBackup";
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private ReleaseFingerprint() {
+        // noop
+    }
+
+    /**
+     * Gets the build directories of the reactor projects, relative to the working directory.
+     *
+     * @param workingDirectory the working directory of the release
+     * @param reactorProjects the reactor projects
+     * @return the relative build directories
+     */
+    public static SortedSet<Path> getBuildDirectories(File workingDirectory, List<MavenProject> reactorProjects) {
+        Path basedir = workingDirectory.toPath().toAbsolutePath().normalize();
+        SortedSet<Path> buildDirectories = new TreeSet<>();
+        for (MavenProject project : reactorProjects) {
+            if (project.getBuild() != null && project.getBuild().getDirectory() != null) {
+                Path buildDirectory = project.getBasedir()
+                        .toPath()
+                        .toAbsolutePath()
+                        .resolve(project.getBuild().getDirectory())
+                        .normalize();
+                if (buildDirectory.startsWith(basedir) && !buildDirectory.equals(basedir)) {
+                    buildDirectories.add(basedir.relativize(buildDirectory));
+                }
+            }
+        }
+        return buildDirectories;
+    }
+
+    /**
+     * Computes the fingerprint of a fresh checkout, in which every file outside of the build directories is tracked
+     * by the SCM.
+     *
+     * @param directory the root directory of the checkout
+     * @param buildDirectories the build directories to leave out, relative to the root directory
+     * @return the fingerprint
+     * @throws IOException if a file can't be read
+     */
+    public static String compute(File directory, final Set<Path> buildDirectories) throws IOException {
+        final Path root = directory.toPath().toAbsolutePath().normalize();
+        final List<String> files = new ArrayList<>();
+        Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+                Path relative = root.relativize(dir);
+                if (dir.getFileName() != null
+                                && SCM_DIRECTORIES.contains(dir.getFileName().toString())
+                        || buildDirectories.contains(relative)) {
+                    return FileVisitResult.SKIP_SUBTREE;
+                }
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                if (attrs.isRegularFile()) {
+                    files.add(root.relativize(file).toString());
+                }
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        return compute(directory, files, buildDirectories);
+    }
+
+    /**
+     * Computes the fingerprint of the given files of a release tree, usually the files tracked by the SCM in a working
+     * copy. Paths which are not regular files, like directories or files deleted from the working copy, are left out.
+     *
+     * @param directory the root directory of the tree
+     * @param trackedFiles the files to fingerprint, relative to the root directory
+     * @param buildDirectories the build directories to leave out, relative to the root directory
+     * @return the fingerprint
+     * @throws IOException if a file can't be read
+     */
+    public static String compute(File directory, Collection<String> trackedFiles, Set<Path> buildDirectories)
+            throws IOException {
+        Path root = directory.toPath().toAbsolutePath().normalize();
+        SortedSet<String> files = new TreeSet<>();
+        for (String trackedFile : trackedFiles) {
+            Path file = root.resolve(trackedFile).normalize();
+            if (isFingerprinted(root, file, buildDirectories)) {
+                files.add(root.relativize(file).toString().replace(File.separatorChar, '/'));
+            }
+        }
+
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        byte[] buffer = new byte[BUFFER_SIZE];
+        for (String file : files) {
+            digest.update(file.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            try (InputStream in = Files.newInputStream(root.resolve(file))) {
+                int n;
+                while ((n = in.read(buffer)) != -1) {
+                    digest.update(buffer, 0, n);
+                }
+            }
+            digest.update((byte) 0);
+        }
+
+        StringBuilder fingerprint = new StringBuilder("sha256:");
+        for (byte b : digest.digest()) {
+            fingerprint.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+        }
+        return fingerprint.toString();
+    }
+
+    private static boolean isFingerprinted(Path root, Path file, Set<Path> buildDirectories) {
+        if (!file.startsWith(root) || file.equals(root) || !Files.isRegularFile(file)) {
+            return false;
+        }
+        Path relative = root.relativize(file);
+        for (int i = 1; i < relative.getNameCount(); i++) {
+            Path directory = relative.subpath(0, i);
+            if (SCM_DIRECTORIES.contains(directory.getFileName().toString()) || buildDirectories.contains(directory)) {
+                return false;
+            }
+        }
+        String name = file.getFileName().toString();
+        return !RELEASE_FILES.contains(name) && !name.endsWith(BACKUP_SUFFIX);
+    }
+
+    /**
+     * Copies the build directories from one release tree to another. The copies get the current time as modification
+     * time, so they are newer than the sources of a fresh checkout. Plugins tracking their inputs by absolute path,
+     * like the incremental compilation of the maven-compiler-plugin, still see changed inputs in the other tree and
+     * may build their outputs again.
+     *
+     * @param sourceDirectory the root directory of the tree with the build outputs
+     * @param targetDirectory the root directory of the tree to copy them to
+     * @param buildDirectories the build directories, relative to the root directories
+     * @param excludedDirectory a directory not to copy, like the checkout directory inside the build directory
+     * @return the number of copied files
+     * @throws IOException if a file can't be copied
+     */
+    public static int copyBuildDirectories(
+            File sourceDirectory, File targetDirectory, Set<Path> buildDirectories, File excludedDirectory)
+            throws IOException {
+        final Path excluded = excludedDirectory.toPath().toAbsolutePath().normalize();
+        final Path target = targetDirectory.toPath().toAbsolutePath().normalize();
+        Path source = sourceDirectory.toPath().toAbsolutePath().normalize();
+
+        final int[] count = new int[1];
+        for (Path buildDirectory : buildDirectories) {
+            final Path from = source.resolve(buildDirectory);
+            final Path to = target.resolve(buildDirectory);
+            if (!Files.isDirectory(from)) {
+                continue;
+            }
+            Files.walkFileTree(from, new SimpleFileVisitor<Path>() {
+                @Override
+                public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                    if (dir.startsWith(excluded) || dir.startsWith(target)) {
+                        return FileVisitResult.SKIP_SUBTREE;
+                    }
+                    Files.createDirectories(to.resolve(from.relativize(dir)));
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                    Files.copy(file, to.resolve(from.relativize(file)), StandardCopyOption.REPLACE_EXISTING);
+                    count[0]++;
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        }
+        return count[0];
+    }
+}
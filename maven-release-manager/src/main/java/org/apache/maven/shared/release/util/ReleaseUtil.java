@@ -24,10 +24,17 @@ import java.io.Reader;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Arrays;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 import org.apache.commons.lang3.StringUtils;
+import org.apache.maven.artifact.ArtifactUtils;
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.Extension;
 import org.apache.maven.model.Model;
+import org.apache.maven.model.Parent;
+import org.apache.maven.model.Plugin;
 import org.apache.maven.project.MavenProject;
 import org.apache.maven.shared.release.ReleaseExecutionException;
 import org.apache.maven.shared.release.config.ReleaseDescriptor;
@@ -61,6 +68,13 @@ public class ReleaseUtil {
         // noop
     }
 
+    /**
+     * Gets the execution root of the reactor, else its first project. Phases which only need the coordinates or the
+     * paths of the root use {@link ReactorIndex#getRoot()} instead.
+     *
+     * @param reactorProjects the reactor projects
+     * @return the root project
+     */
     public static MavenProject getRootProject(List<MavenProject> reactorProjects) {
         MavenProject project = reactorProjects.get(0);
         for (MavenProject currentProject : reactorProjects) {
@@ -73,18 +87,58 @@ public class ReleaseUtil {
         return project;
     }
 
+    /**
+     * Gets the versionless keys of the projects the given project refers to: its parent, its dependencies and managed
+     * dependencies, its build plugins and their dependencies, and its build extensions.
+     *
+     * @param project the project
+     * @return the keys, in declaration order
+     * @since 3.0.1
+     */
+    public static Set<String> getReferencedProjectKeys(MavenProject project) {
+        Set<String> keys = new LinkedHashSet<>();
+        Parent parent = project.getModel().getParent();
+        if (parent != null) {
+            keys.add(ArtifactUtils.versionlessKey(parent.getGroupId(), parent.getArtifactId()));
+        }
+        addDependencyKeys(keys, project.getDependencies());
+        if (project.getDependencyManagement() != null) {
+            addDependencyKeys(keys, project.getDependencyManagement().getDependencies());
+        }
+        for (Plugin plugin : project.getBuildPlugins()) {
+            keys.add(ArtifactUtils.versionlessKey(plugin.getGroupId(), plugin.getArtifactId()));
+            addDependencyKeys(keys, plugin.getDependencies());
+        }
+        if (project.getBuildExtensions() != null) {
+            for (Extension extension : project.getBuildExtensions()) {
+                keys.add(ArtifactUtils.versionlessKey(extension.getGroupId(), extension.getArtifactId()));
+            }
+        }
+        return keys;
+    }
+
+    private static void addDependencyKeys(Set<String> keys, List<Dependency> dependencies) {
+        if (dependencies != null) {
+            for (Dependency dependency : dependencies) {
+                keys.add(ArtifactUtils.versionlessKey(dependency.getGroupId(), dependency.getArtifactId()));
+            }
+        }
+    }
+
     public static File getStandardPom(MavenProject project) {
         if (project == null) {
             return null;
         }
 
-        File pom = project.getFile();
+        return getStandardPomFile(project.getFile());
+    }
 
+    static File getStandardPomFile(File pom) {
         if (pom == null) {
             return null;
         }
 
-        File releasePom = getReleasePom(project);
+        File releasePom = getReleasePomFile(pom);
         if (pom.equals(releasePom)) {
             pom = new File(pom.getParent(), POMv4);
         }
@@ -97,8 +151,10 @@ public class ReleaseUtil {
             return null;
         }
 
-        File pom = project.getFile();
+        return getReleasePomFile(project.getFile());
+    }
 
+    static File getReleasePomFile(File pom) {
         if (pom == null) {
             return null;
         }
@@ -135,11 +191,40 @@ public class ReleaseUtil {
      *         .
      */
     public static String normalizeLineEndings(String text, String separator) {
-        String norm = text;
-        if (text != null) {
-            norm = text.replaceAll("(\r\n)|(\n)|(\r)", separator);
+        if (text == null) {
+            return null;
         }
-        return norm;
+
+        int length = text.length();
+        int start = 0;
+        while (start < length) {
+            char c = text.charAt(start);
+            if (c == '\r' || (c == '\n' && !"\n".equals(separator))) {
+                break;
+            }
+            start++;
+        }
+        if (start == length) {
+            // nothing to normalize
+            return text;
+        }
+
+        StringBuilder norm = new StringBuilder(length + (length >> 4));
+        norm.append(text, 0, start);
+        for (int i = start; i < length; i++) {
+            char c = text.charAt(i);
+            if (c == '\r') {
+                if (i + 1 < length && text.charAt(i + 1) == '\n') {
+                    i++;
+                }
+                norm.append(separator);
+            } else if (c == '\n') {
+                norm.append(separator);
+            } else {
+                norm.append(c);
+            }
+        }
+        return norm.toString();
     }
 
     public static ReleaseDescriptor createBasedirAlignedReleaseDescriptor(
@@ -166,10 +251,10 @@ public class ReleaseUtil {
     public static String realignScmUrl(int parentLevels, String url) {
         if (!StringUtils.isEmpty(url)) {
             // normalize
-            url = url.replaceAll("/\\./", "/")
-                    .replaceAll("/\\.$", "")
-                    .replaceAll("/[^/]+/\\.\\./", "/")
-                    .replaceAll("/[^/]+/\\.\\.$", "");
+            url = StringUtils.replace(url, "/./", "/");
+            url = removeTrailingCurrentDirectory(url);
+            url = removeParentDirectories(url);
+            url = removeTrailingParentDirectory(url);
 
             int index = url.length();
             String suffix = "";
@@ -189,6 +274,88 @@ public class ReleaseUtil {
         return url;
     }
 
+    /**
+     * Removes a <code>/.</code> at the end of the URL.
+     */
+    private static String removeTrailingCurrentDirectory(String url) {
+        int length = url.length();
+        for (int end = Math.max(0, length - 2); end <= length; end++) {
+            if (end >= 2 && url.startsWith("/.", end - 2) && isEndOfInput(url, end)) {
+                return url.substring(0, end - 2) + url.substring(end);
+            }
+        }
+        return url;
+    }
+
+    /**
+     * Replaces each <code>/segment/../</code> by <code>/</code>, from left to right without rescanning the replaced
+     * parts.
+     */
+    private static String removeParentDirectories(String url) {
+        StringBuilder result = null;
+        int copied = 0;
+        int i = url.indexOf('/');
+        while (i >= 0) {
+            int next = url.indexOf('/', i + 1);
+            if (next < 0) {
+                break;
+            }
+            if (next > i + 1 && url.startsWith("../", next + 1)) {
+                if (result == null) {
+                    result = new StringBuilder(url.length());
+                }
+                result.append(url, copied, i).append('/');
+                copied = next + "/../".length();
+                i = url.indexOf('/', copied);
+            } else {
+                i = next;
+            }
+        }
+        if (result == null) {
+            return url;
+        }
+        return result.append(url, copied, url.length()).toString();
+    }
+
+    /**
+     * Removes a <code>/segment/..</code> at the end of the URL.
+     */
+    private static String removeTrailingParentDirectory(String url) {
+        int length = url.length();
+        for (int end = Math.max(0, length - 2); end <= length; end++) {
+            int parent = end - "/..".length();
+            if (parent >= 0 && url.startsWith("/..", parent) && isEndOfInput(url, end)) {
+                int segment = url.lastIndexOf('/', parent - 1);
+                if (segment >= 0 && segment < parent - 1) {
+                    return url.substring(0, segment) + url.substring(end);
+                }
+            }
+        }
+        return url;
+    }
+
+    /**
+     * Tells if the end of input matches at the index, the same way as <code>$</code> in a regular expression: at the
+     * end, or just before a final line terminator.
+     */
+    private static boolean isEndOfInput(String text, int index) {
+        int length = text.length();
+        if (index == length) {
+            return true;
+        }
+        if (index == length - 2) {
+            return text.charAt(index) == '\r' && text.charAt(index + 1) == '\n';
+        }
+        if (index == length - 1) {
+            char c = text.charAt(index);
+            if (c == '\n') {
+                return index == 0 || text.charAt(index - 1) != '\r';
+            }
+            return c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+        }
+        return false;
+    }
+
     public static String interpolate(String value, Model model) throws ReleaseExecutionException {
         if (value != null && value.contains("${")) {
             StringSearchInterpolator interpolator = new StringSearchInterpolator();
@@ -0,0 +1,173 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.shared.release;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Test the execution context of a goal.
+ */
+public class DefaultReleaseExecutionContextTest {
+    @Test
+    public void testCacheLoadsOnceAndKeepsStatistics() throws Exception {
+        try (DefaultReleaseExecutionContext context = new DefaultReleaseExecutionContext("prepare", 1)) {
+            final AtomicInteger loads = new AtomicInteger();
+            ReleaseExecutionContext.Loader<String, Integer> loader =
+                    new ReleaseExecutionContext.Loader<String, Integer>() {
+                        @Override
+                        public Integer load(String key) {
+                            loads.incrementAndGet();
+                            return key.length();
+                        }
+                    };
+
+            ReleaseExecutionContext.Cache<String, Integer> cache =
+                    context.getCache("lengths", String.class, Integer.class);
+            assertEquals(Integer.valueOf(3), cache.get("foo", loader));
+            assertEquals(Integer.valueOf(3), cache.get("foo", loader));
+            assertEquals(Integer.valueOf(6), cache.get("foobar", loader));
+            assertSame(cache, context.getCache("lengths", String.class, Integer.class));
+
+            ReleaseExecutionContext.CacheStats stats = cache.getStats();
+            assertEquals(2, loads.get());
+            assertEquals(1, stats.getHitCount());
+            assertEquals(2, stats.getMissCount());
+            assertEquals(0, stats.getLoadFailureCount());
+
+            cache.invalidate("foo");
+            assertNull(cache.getIfPresent("foo"));
+            assertEquals(Integer.valueOf(3), cache.get("foo", loader));
+            assertEquals(3, loads.get());
+        }
+    }
+
+    @Test
+    public void testFailedLoadIsNotCached() throws Exception {
+        try (DefaultReleaseExecutionContext context = new DefaultReleaseExecutionContext("prepare", 1)) {
+            ReleaseExecutionContext.Cache<String, String> cache =
+                    context.getCache("values", String.class, String.class);
+            try {
+                cache.get("key", new ReleaseExecutionContext.Loader<String, String>() {
+                    @Override
+                    public String load(String key) throws ReleaseFailureException {
+                        throw new ReleaseFailureException("no value for " + key);
+                    }
+                });
+                fail("Should have thrown an exception");
+            } catch (ReleaseFailureException e) {
+                assertEquals("no value for key", e.getMessage());
+            }
+
+            assertNull(cache.getIfPresent("key"));
+            assertEquals(1, cache.getStats().getLoadFailureCount());
+        }
+    }
+
+    @Test
+    public void testCacheTypesAreChecked() {
+        try (DefaultReleaseExecutionContext context = new DefaultReleaseExecutionContext("prepare", 1)) {
+            context.getCache("values", String.class, String.class);
+            try {
+                context.getCache("values", String.class, Integer.class);
+                fail("Should have thrown an exception");
+            } catch (IllegalArgumentException e) {
+                assertTrue(e.getMessage(), e.getMessage().contains("'values'"));
+            }
+        }
+    }
+
+    @Test
+    public void testExecutorIsBounded() throws Exception {
+        final int parallelism = 2;
+        final int tasks = 8;
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger maxRunning = new AtomicInteger();
+        final CountDownLatch done = new CountDownLatch(tasks);
+
+        try (DefaultReleaseExecutionContext context = new DefaultReleaseExecutionContext("prepare", parallelism)) {
+            List<FutureTask<Void>> futures = new ArrayList<>();
+            for (int i = 0; i < tasks; i++) {
+                FutureTask<Void> future = new FutureTask<>(
+                        new Runnable() {
+                            @Override
+                            public void run() {
+                                int now = running.incrementAndGet();
+                                maxRunning.accumulateAndGet(now, Math::max);
+                                try {
+                                    Thread.sleep(10);
+                                } catch (InterruptedException e) {
+                                    Thread.currentThread().interrupt();
+                                }
+                                running.decrementAndGet();
+                                done.countDown();
+                            }
+                        },
+                        null);
+                context.getExecutor().execute(future);
+                futures.add(future);
+            }
+            for (FutureTask<Void> future : futures) {
+                future.get(1, TimeUnit.MINUTES);
+            }
+        }
+
+        assertEquals(0, done.getCount());
+        assertTrue("at most " + parallelism + " tasks at a time: " + maxRunning, maxRunning.get() <= parallelism);
+    }
+
+    @Test
+    public void testExecutorIsUnavailableOnceClosed() {
+        DefaultReleaseExecutionContext context = new DefaultReleaseExecutionContext("perform", 1);
+        context.close();
+        try {
+            context.getExecutor();
+            fail("Should have thrown an exception");
+        } catch (IllegalStateException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("'perform'"));
+        }
+    }
+
+    @Test
+    public void testMetrics() {
+        try (DefaultReleaseExecutionContext context = new DefaultReleaseExecutionContext("prepare", 1)) {
+            context.getMetrics().record("phase.scm-tag", 2, TimeUnit.MILLISECONDS);
+            context.getMetrics().record("phase.scm-tag", 3, TimeUnit.MILLISECONDS);
+            context.getMetrics().increment("poms", 5);
+
+            assertEquals(2, context.getCount("phase.scm-tag"));
+            assertEquals(5, context.getTotalTime("phase.scm-tag", TimeUnit.MILLISECONDS));
+            assertEquals(5, context.getCount("poms"));
+            assertEquals(0, context.getTotalTime("poms", TimeUnit.MILLISECONDS));
+            assertEquals(0, context.getCount("missing"));
+        }
+    }
+}
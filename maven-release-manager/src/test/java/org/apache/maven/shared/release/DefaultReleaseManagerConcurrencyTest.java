@@ -0,0 +1,131 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.shared.release;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.maven.project.MavenProject;
+import org.apache.maven.shared.release.config.ReleaseDescriptor;
+import org.apache.maven.shared.release.config.ReleaseDescriptorBuilder;
+import org.apache.maven.shared.release.env.DefaultReleaseEnvironment;
+import org.apache.maven.shared.release.phase.AbstractReleaseTestCase;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Runs many release preparations at the same time through a single release manager, to make sure the shared phases
+ * don't keep any state between invocations.
+ */
+public class DefaultReleaseManagerConcurrencyTest extends AbstractReleaseTestCase {
+    private static final int RUNS = 16;
+
+    private static final int THREADS = 8;
+
+    @Test
+    public void testConcurrentPrepareDryRuns() throws Exception {
+        final ReleaseManager releaseManager = lookup(ReleaseManager.class);
+
+        // project building is not part of the release manager, so set up the reactors upfront
+        List<List<MavenProject>> reactors = new ArrayList<>();
+        for (int i = 0; i < RUNS; i++) {
+            reactors.add(createReactorProjects(
+                    "check-dependencies/external-snapshot-dependencies", "concurrent-prepare/run" + i, null));
+        }
+
+        final CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<String>> futures = new ArrayList<>();
+        try {
+            for (final List<MavenProject> reactorProjects : reactors) {
+                futures.add(executor.submit(new Callable<String>() {
+                    @Override
+                    public String call() throws Exception {
+                        start.await();
+                        return prepareDryRun(releaseManager, reactorProjects);
+                    }
+                }));
+            }
+            start.countDown();
+
+            String expected = futures.get(0).get(2, TimeUnit.MINUTES);
+            assertTrue(expected, expected.contains("<version>1.0</version>"));
+            assertTrue(expected, expected.contains("<version>1.1-SNAPSHOT</version>"));
+            for (Future<String> future : futures) {
+                assertEquals(expected, future.get(2, TimeUnit.MINUTES));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static String prepareDryRun(ReleaseManager releaseManager, List<MavenProject> reactorProjects)
+            throws Exception {
+        File basedir = reactorProjects.get(0).getBasedir();
+
+        ReleaseDescriptorBuilder builder = new ReleaseDescriptorBuilder();
+        builder.setWorkingDirectory(basedir.getAbsolutePath());
+        builder.setPomFileName("pom.xml");
+        builder.setScmSourceUrl("scm:svn:file://localhost/tmp/scm-repo");
+        builder.setInteractive(false);
+        builder.setAutoResolveSnapshots("all");
+        for (MavenProject project : reactorProjects) {
+            builder.putOriginalVersion(project.getGroupId() + ':' + project.getArtifactId(), project.getVersion());
+        }
+
+        ReleasePrepareRequest prepareRequest = new ReleasePrepareRequest();
+        prepareRequest.setReleaseDescriptorBuilder(builder);
+        prepareRequest.setReleaseEnvironment(new DefaultReleaseEnvironment());
+        prepareRequest.setReactorProjects(reactorProjects);
+        prepareRequest.setUserProperties(new Properties());
+        prepareRequest.setDryRun(true);
+        prepareRequest.setResume(false);
+
+        releaseManager.prepare(prepareRequest);
+
+        ReleaseDescriptor descriptor = builder.build();
+        StringBuilder outcome = new StringBuilder();
+        outcome.append(descriptor.getScmReleaseLabel()).append('\n');
+        outcome.append(descriptor.getProjectReleaseVersion("groupId:artifactId"))
+                .append('\n');
+        outcome.append(descriptor.getProjectDevelopmentVersion("groupId:artifactId"))
+                .append('\n');
+        outcome.append(descriptor.getDependencyReleaseVersion("external:artifactId"))
+                .append('\n');
+        outcome.append(read(new File(basedir, "pom.xml.tag")));
+        outcome.append(read(new File(basedir, "pom.xml.next")));
+        return outcome.toString();
+    }
+
+    private static String read(File file) throws Exception {
+        return new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,276 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.shared.release;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.maven.project.MavenProject;
+import org.apache.maven.shared.release.config.ReleaseDescriptor;
+import org.apache.maven.shared.release.config.ReleaseDescriptorBuilder;
+import org.apache.maven.shared.release.config.ReleaseDescriptorStoreStub;
+import org.apache.maven.shared.release.env.DefaultReleaseEnvironment;
+import org.apache.maven.shared.release.env.ReleaseEnvironment;
+import org.apache.maven.shared.release.phase.ReleasePhase;
+import org.apache.maven.shared.release.phase.ResourceGenerator;
+import org.apache.maven.shared.release.strategy.Strategy;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test the prepare and perform of a release with overlapping goals.
+ */
+public class DefaultReleaseManagerPrepareAndPerformTest {
+    private final List<String> executed = Collections.synchronizedList(new ArrayList<String>());
+
+    private final Map<String, ReleasePhase> phases = new HashMap<>();
+
+    private ReleaseManager releaseManager;
+
+    @Before
+    public void setUp() throws Exception {
+        Strategy strategy = mock(Strategy.class);
+        when(strategy.getPreparePhases()).thenReturn(Arrays.asList("check", "scm-tag", "commit-development"));
+        when(strategy.getPerformPhases()).thenReturn(Arrays.asList("checkout", "deploy"));
+        when(strategy.getRollbackPhases()).thenReturn(Collections.singletonList("rollback"));
+
+        for (String name : Arrays.asList("check", "scm-tag", "commit-development", "checkout", "deploy", "rollback")) {
+            addPhase(name, null);
+        }
+
+        releaseManager = new DefaultReleaseManager(
+                Collections.singletonMap("default", strategy),
+                phases,
+                Collections.<String, ResourceGenerator>emptyMap(),
+                new ReleaseDescriptorStoreStub());
+    }
+
+    @Test
+    public void testPerformOverlapsPreparation() throws Exception {
+        final CountDownLatch deploying = new CountDownLatch(1);
+        final boolean[] overlapped = new boolean[1];
+        addPhase("deploy", new Answer<Void>() {
+            @Override
+            public Void answer(InvocationOnMock invocation) {
+                deploying.countDown();
+                return null;
+            }
+        });
+        addPhase("commit-development", new Answer<Void>() {
+            @Override
+            public Void answer(InvocationOnMock invocation) throws InterruptedException {
+                // sequential goals would never get there
+                overlapped[0] = deploying.await(1, TimeUnit.MINUTES);
+                return null;
+            }
+        });
+
+        ReleaseResult result =
+                releaseManager.prepareAndPerformWithResult(createPrepareRequest(), createPerformRequest());
+
+        assertEquals(result.getOutput(), ReleaseResult.SUCCESS, result.getResultCode());
+        assertTrue(overlapped[0]);
+        assertTrue(executed.containsAll(Arrays.asList("check", "scm-tag", "commit-development", "checkout", "deploy")));
+        assertFalse(executed.contains("rollback"));
+        assertTrue(executed.indexOf("scm-tag") < executed.indexOf("checkout"));
+    }
+
+    @Test
+    public void testPerformDoesNotChangeSharedDescriptorBuilder() throws Exception {
+        final String[] completedPhase = new String[1];
+        addPhase("commit-development", new Answer<Void>() {
+            @Override
+            public Void answer(InvocationOnMock invocation) {
+                completedPhase[0] = invocation.<ReleaseDescriptor>getArgument(0).getCompletedPhase();
+                return null;
+            }
+        });
+
+        ReleasePrepareRequest prepareRequest = createPrepareRequest();
+        ReleasePerformRequest performRequest = createPerformRequest();
+        performRequest.setReleaseDescriptorBuilder(prepareRequest.getReleaseDescriptorBuilder());
+
+        ReleaseResult result = releaseManager.prepareAndPerformWithResult(prepareRequest, performRequest);
+
+        assertEquals(result.getOutput(), ReleaseResult.SUCCESS, result.getResultCode());
+        assertEquals("scm-tag", completedPhase[0]);
+        assertEquals(
+                "commit-development",
+                prepareRequest.getReleaseDescriptorBuilder().build().getCompletedPhase());
+    }
+
+    @Test
+    public void testSharedListenerIsNotCalledConcurrently() throws Exception {
+        final CountDownLatch developing = new CountDownLatch(1);
+        final CountDownLatch deploying = new CountDownLatch(1);
+        final boolean[] concurrent = new boolean[1];
+        addPhase("checkout", new Answer<Void>() {
+            @Override
+            public Void answer(InvocationOnMock invocation) throws InterruptedException {
+                developing.await(1, TimeUnit.MINUTES);
+                return null;
+            }
+        });
+        ReleaseManagerListener listener = mock(ReleaseManagerListener.class);
+        doAnswer(new Answer<Void>() {
+                    @Override
+                    public Void answer(InvocationOnMock invocation) throws InterruptedException {
+                        String name = invocation.getArgument(0);
+                        if ("commit-development".equals(name)) {
+                            developing.countDown();
+                            // the perform reports its next phase meanwhile unless the listener is locked
+                            concurrent[0] = deploying.await(1, TimeUnit.SECONDS);
+                        } else if ("deploy".equals(name)) {
+                            deploying.countDown();
+                        }
+                        return null;
+                    }
+                })
+                .when(listener)
+                .phaseStart(anyString());
+
+        ReleasePrepareRequest prepareRequest = createPrepareRequest();
+        prepareRequest.setReleaseManagerListener(listener);
+        ReleasePerformRequest performRequest = createPerformRequest();
+        performRequest.setReleaseManagerListener(listener);
+
+        ReleaseResult result = releaseManager.prepareAndPerformWithResult(prepareRequest, performRequest);
+
+        assertEquals(result.getOutput(), ReleaseResult.SUCCESS, result.getResultCode());
+        assertFalse(concurrent[0]);
+        verify(listener).phaseStart("deploy");
+    }
+
+    @Test
+    public void testFailedPerformRollsBackUndeployedRelease() throws Exception {
+        addPhase("checkout", new Answer<Void>() {
+            @Override
+            public Void answer(InvocationOnMock invocation) throws ReleaseExecutionException {
+                throw new ReleaseExecutionException("checkout failed");
+            }
+        });
+
+        try {
+            releaseManager.prepareAndPerform(createPrepareRequest(), createPerformRequest());
+
+            fail("Should have thrown an exception");
+        } catch (ReleaseExecutionException e) {
+            assertEquals("checkout failed", e.getMessage());
+        }
+
+        assertFalse(executed.contains("deploy"));
+        assertTrue(executed.contains("rollback"));
+    }
+
+    @Test
+    public void testFailedDeployIsNotRolledBack() throws Exception {
+        addPhase("deploy", new Answer<Void>() {
+            @Override
+            public Void answer(InvocationOnMock invocation) throws ReleaseExecutionException {
+                throw new ReleaseExecutionException("deploy failed");
+            }
+        });
+
+        ReleaseResult result =
+                releaseManager.prepareAndPerformWithResult(createPrepareRequest(), createPerformRequest());
+
+        assertEquals(ReleaseResult.ERROR, result.getResultCode());
+        assertTrue(result.getOutput(), result.getOutput().contains("deploy failed"));
+        assertFalse(executed.contains("rollback"));
+    }
+
+    @Test
+    public void testCleaningCompletionGoalsAreRefused() throws Exception {
+        ReleasePrepareRequest prepareRequest = createPrepareRequest();
+        prepareRequest.getReleaseDescriptorBuilder().setCompletionGoals("clean verify");
+
+        try {
+            releaseManager.prepareAndPerform(prepareRequest, createPerformRequest());
+
+            fail("Should have thrown an exception");
+        } catch (ReleaseFailureException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("clean verify"));
+        }
+
+        assertTrue(executed.isEmpty());
+    }
+
+    private void addPhase(final String name, final Answer<Void> answer) throws Exception {
+        Answer<ReleaseResult> execution = new Answer<ReleaseResult>() {
+            @Override
+            public ReleaseResult answer(InvocationOnMock invocation) throws Throwable {
+                executed.add(name);
+                if (answer != null) {
+                    answer.answer(invocation);
+                }
+                ReleaseResult result = new ReleaseResult();
+                result.setResultCode(ReleaseResult.SUCCESS);
+                return result;
+            }
+        };
+        ReleasePhase phase = mock(ReleasePhase.class);
+        when(phase.execute(any(ReleaseDescriptor.class), any(ReleaseEnvironment.class), any()))
+                .thenAnswer(execution);
+        // the release manager runs the phases within the context of the goal
+        when(phase.execute(
+                        any(ReleaseDescriptor.class),
+                        any(ReleaseEnvironment.class),
+                        any(),
+                        any(ReleaseExecutionContext.class)))
+                .thenAnswer(execution);
+        phases.put(name, phase);
+    }
+
+    private static ReleasePrepareRequest createPrepareRequest() {
+        ReleasePrepareRequest prepareRequest = new ReleasePrepareRequest();
+        prepareRequest.setReleaseDescriptorBuilder(new ReleaseDescriptorBuilder());
+        prepareRequest.setReleaseEnvironment(new DefaultReleaseEnvironment());
+        prepareRequest.setReactorProjects(Collections.<MavenProject>emptyList());
+        prepareRequest.setUserProperties(new Properties());
+        return prepareRequest;
+    }
+
+    private static ReleasePerformRequest createPerformRequest() {
+        ReleasePerformRequest performRequest = new ReleasePerformRequest();
+        performRequest.setReleaseDescriptorBuilder(new ReleaseDescriptorBuilder());
+        performRequest.setReleaseEnvironment(new DefaultReleaseEnvironment());
+        performRequest.setReactorProjects(Collections.<MavenProject>emptyList());
+        return performRequest;
+    }
+}
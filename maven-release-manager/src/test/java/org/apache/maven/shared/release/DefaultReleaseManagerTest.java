@@ -24,9 +24,12 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import com.google.inject.AbstractModule;
 import com.google.inject.Module;
+import com.google.inject.Provider;
+import com.google.inject.name.Names;
 import org.apache.maven.project.MavenProject;
 import org.apache.maven.scm.CommandParameters;
 import org.apache.maven.scm.ScmException;
@@ -45,7 +48,9 @@ import org.apache.maven.shared.release.config.ReleaseDescriptorStoreStub;
 import org.apache.maven.shared.release.env.DefaultReleaseEnvironment;
 import org.apache.maven.shared.release.phase.ReleasePhase;
 import org.apache.maven.shared.release.phase.ReleasePhaseStub;
+import org.apache.maven.shared.release.phase.ResourceGenerator;
 import org.apache.maven.shared.release.scm.ReleaseScmCommandException;
+import org.apache.maven.shared.release.strategy.Strategy;
 import org.apache.maven.shared.release.stubs.ScmManagerStub;
 import org.codehaus.plexus.util.FileUtils;
 import org.junit.Ignore;
@@ -53,7 +58,10 @@ import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.mockito.ArgumentMatchers.any;
@@ -73,6 +81,10 @@ import static org.mockito.Mockito.when;
 public class DefaultReleaseManagerTest extends PlexusJUnit4TestCase {
     private ReleaseDescriptorStoreStub configStore;
 
+    private static final AtomicInteger CREATED_UNUSED_PHASES = new AtomicInteger();
+
+    private static final AtomicInteger CREATED_PLAIN_PHASES = new AtomicInteger();
+
     @Override
     public void setUp() throws Exception {
         super.setUp();
@@ -88,6 +100,30 @@ public class DefaultReleaseManagerTest extends PlexusJUnit4TestCase {
                 protected void configure() {
                     bind(ScmManager.class).toInstance(new ScmManagerStub());
                     bind(ReleaseDescriptorStore.class).toInstance(new ReleaseDescriptorStoreStub());
+                    bind(ReleasePhase.class)
+                            .annotatedWith(Names.named("not-in-any-strategy"))
+                            .toProvider(new Provider<ReleasePhase>() {
+                                @Override
+                                public ReleasePhase get() {
+                                    CREATED_UNUSED_PHASES.incrementAndGet();
+                                    return new ReleasePhaseStub();
+                                }
+                            });
+                    // a phase of the strategy which generates no resources
+                    bind(ReleasePhase.class)
+                            .annotatedWith(Names.named("plain"))
+                            .toProvider(new Provider<ReleasePhase>() {
+                                @Override
+                                public ReleasePhase get() {
+                                    CREATED_PLAIN_PHASES.incrementAndGet();
+                                    return mock(ReleasePhase.class);
+                                }
+                            });
+                    Strategy strategy = mock(Strategy.class);
+                    when(strategy.getPreparePhases()).thenReturn(Arrays.asList("step1", "plain"));
+                    bind(Strategy.class)
+                            .annotatedWith(Names.named("with-plain-phase"))
+                            .toInstance(strategy);
                 }
             }
         };
@@ -118,6 +154,33 @@ public class DefaultReleaseManagerTest extends PlexusJUnit4TestCase {
         assertFalse("step3 not simulated", phase.isSimulated());
     }
 
+    @Test
+    public void testPhasesOfAGoalShareTheExecutionContext() throws Exception {
+        ReleaseManager releaseManager = lookup(ReleaseManager.class, "test");
+
+        ReleaseDescriptorBuilder builder = configStore.getReleaseConfiguration();
+        builder.setCompletedPhase(null);
+
+        ReleasePrepareRequest prepareRequest = new ReleasePrepareRequest();
+        prepareRequest.setReleaseDescriptorBuilder(builder);
+        prepareRequest.setReleaseEnvironment(new DefaultReleaseEnvironment());
+        prepareRequest.setUserProperties(new Properties());
+
+        releaseManager.prepare(prepareRequest);
+
+        ReleaseExecutionContext context =
+                ((ReleasePhaseStub) lookup(ReleasePhase.class, "step1")).getExecutionContext();
+        assertNotNull(context);
+        assertEquals("prepare", context.getGoal());
+        assertSame(context, ((ReleasePhaseStub) lookup(ReleasePhase.class, "step2")).getExecutionContext());
+        assertSame(context, ((ReleasePhaseStub) lookup(ReleasePhase.class, "step3")).getExecutionContext());
+
+        configStore.getReleaseConfiguration().setCompletedPhase(null);
+        releaseManager.prepare(prepareRequest);
+
+        assertNotSame(context, ((ReleasePhaseStub) lookup(ReleasePhase.class, "step1")).getExecutionContext());
+    }
+
     @Test
     public void testPrepareCompletedPhase() throws Exception {
         ReleaseManager releaseManager = lookup(ReleaseManager.class, "test");
@@ -445,16 +508,16 @@ public class DefaultReleaseManagerTest extends PlexusJUnit4TestCase {
         releaseManager.clean(cleanRequest);
 
         // verify
-        ReleasePhaseStub phase = (ReleasePhaseStub) lookup(ReleasePhase.class, "step1");
+        ReleasePhaseStub phase = (ReleasePhaseStub) lookup(ResourceGenerator.class, "step1");
         assertTrue("step1 not cleaned", phase.isCleaned());
 
-        phase = (ReleasePhaseStub) lookup(ReleasePhase.class, "step2");
+        phase = (ReleasePhaseStub) lookup(ResourceGenerator.class, "step2");
         assertTrue("step2 not cleaned", phase.isCleaned());
 
-        phase = (ReleasePhaseStub) lookup(ReleasePhase.class, "step3");
+        phase = (ReleasePhaseStub) lookup(ResourceGenerator.class, "step3");
         assertTrue("step3 not cleaned", phase.isCleaned());
 
-        phase = (ReleasePhaseStub) lookup(ReleasePhase.class, "branch1");
+        phase = (ReleasePhaseStub) lookup(ResourceGenerator.class, "branch1");
         assertTrue("branch1 not cleaned", phase.isCleaned());
 
         verify(configStoreMock).delete(any(ReleaseDescriptor.class));
@@ -721,7 +784,10 @@ public class DefaultReleaseManagerTest extends PlexusJUnit4TestCase {
     @Test
     public void testDetermineWorkingDirectory() throws Exception {
         DefaultReleaseManager defaultReleaseManager = new DefaultReleaseManager(
-                Collections.emptyMap(), Collections.emptyMap(), mock(ReleaseDescriptorStore.class));
+                Collections.emptyMap(),
+                Collections.emptyMap(),
+                Collections.emptyMap(),
+                mock(ReleaseDescriptorStore.class));
 
         File checkoutDir = getTestFile("target/checkout");
         FileUtils.forceDelete(checkoutDir);
@@ -774,4 +840,37 @@ public class DefaultReleaseManagerTest extends PlexusJUnit4TestCase {
 
         assertTrue("updateVersionsPhase1 executed", phase.isExecuted());
     }
+
+    @Test
+    public void testOnlyPhasesOfTheGoalAreCreated() throws Exception {
+        CREATED_UNUSED_PHASES.set(0);
+        ReleaseManager releaseManager = lookup(ReleaseManager.class, "test");
+
+        ReleaseUpdateVersionsRequest updateVersionsRequest = new ReleaseUpdateVersionsRequest();
+        updateVersionsRequest.setReleaseDescriptorBuilder(configStore.getReleaseConfiguration());
+        updateVersionsRequest.setUserProperties(new Properties());
+
+        releaseManager.updateVersions(updateVersionsRequest);
+
+        assertEquals(0, CREATED_UNUSED_PHASES.get());
+
+        // clean only creates the phases which generate resources
+        CREATED_PLAIN_PHASES.set(0);
+        ReleaseDescriptorBuilder builder = configStore.getReleaseConfiguration();
+        builder.setReleaseStrategyId("with-plain-phase");
+        ReleaseCleanRequest cleanRequest = new ReleaseCleanRequest();
+        cleanRequest.setReleaseDescriptorBuilder(builder);
+
+        releaseManager.clean(cleanRequest);
+
+        assertTrue(((ReleasePhaseStub) lookup(ResourceGenerator.class, "step1")).isCleaned());
+        assertEquals(0, CREATED_PLAIN_PHASES.get());
+        assertEquals(0, CREATED_UNUSED_PHASES.get());
+
+        // but the phases are known to the release manager
+        assertTrue(lookup(ReleasePhase.class, "plain") != null);
+        assertEquals(1, CREATED_PLAIN_PHASES.get());
+        assertTrue(lookup(ReleasePhase.class, "not-in-any-strategy") instanceof ReleasePhaseStub);
+        assertEquals(1, CREATED_UNUSED_PHASES.get());
+    }
 }
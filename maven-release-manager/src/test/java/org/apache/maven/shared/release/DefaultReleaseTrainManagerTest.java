@@ -0,0 +1,209 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.shared.release;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.Model;
+import org.apache.maven.model.Parent;
+import org.apache.maven.project.MavenProject;
+import org.apache.maven.shared.release.config.ReleaseDescriptorBuilder;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Test the release train manager.
+ */
+public class DefaultReleaseTrainManagerTest {
+    private ReleaseManager releaseManager;
+
+    private DefaultReleaseTrainManager trainManager;
+
+    @Before
+    public void setUp() {
+        releaseManager = mock(ReleaseManager.class);
+        trainManager = new DefaultReleaseTrainManager(releaseManager);
+    }
+
+    @Test
+    public void testReleaseOrder() throws Exception {
+        ReleaseTrainReactor a = createReactor("a", null);
+        ReleaseTrainReactor b = createReactor("b", null, "a");
+        ReleaseTrainReactor c = createReactor("c", "a");
+        ReleaseTrainReactor d = createReactor("d", null, "b", "c");
+
+        List<List<ReleaseTrainReactor>> waves = trainManager.getReleaseOrder(Arrays.asList(d, c, b, a));
+
+        assertEquals(3, waves.size());
+        assertEquals(Arrays.asList(a), waves.get(0));
+        assertEquals(Arrays.asList(c, b), waves.get(1));
+        assertEquals(Arrays.asList(d), waves.get(2));
+    }
+
+    @Test
+    public void testCycle() throws Exception {
+        ReleaseTrainReactor a = createReactor("a", null, "b");
+        ReleaseTrainReactor b = createReactor("b", null, "a");
+        ReleaseTrainReactor c = createReactor("c", null);
+
+        try {
+            trainManager.getReleaseOrder(Arrays.asList(a, b, c));
+            fail("Should have failed on the cycle");
+        } catch (ReleaseFailureException e) {
+            assertEquals(
+                    "The reactors of the release train depend on each other in a cycle: [a:a, b:b]", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testReleasedVersionsAreMappedDownstream() throws Exception {
+        final ReleaseTrainReactor a = createReactor("a", null);
+        ReleaseTrainReactor b = createReactor("b", "a", "x");
+
+        doAnswer(new Answer<Void>() {
+                    @Override
+                    public Void answer(InvocationOnMock invocation) {
+                        ReleaseDescriptorBuilder builder = a.getPrepareRequest().getReleaseDescriptorBuilder();
+                        builder.addReleaseVersion("a:a", "1.0");
+                        builder.addDevelopmentVersion("a:a", "1.1-SNAPSHOT");
+                        return null;
+                    }
+                })
+                .when(releaseManager)
+                .prepare(same(a.getPrepareRequest()));
+
+        ReleaseTrainRequest trainRequest = new ReleaseTrainRequest();
+        trainRequest.addReactor(b);
+        trainRequest.addReactor(a);
+        trainManager.release(trainRequest);
+
+        ReleaseDescriptorBuilder.BuilderReleaseDescriptor downstream =
+                b.getPrepareRequest().getReleaseDescriptorBuilder().build();
+        assertEquals("1.0", downstream.getDependencyReleaseVersion("a:a"));
+        assertEquals("1.1-SNAPSHOT", downstream.getDependencyDevelopmentVersion("a:a"));
+        assertNull(downstream.getDependencyReleaseVersion("x:x"));
+        verify(releaseManager).perform(same(a.getPerformRequest()));
+        verify(releaseManager).perform(same(b.getPerformRequest()));
+    }
+
+    @Test
+    public void testFailureStopsDownstream() throws Exception {
+        ReleaseTrainReactor a = createReactor("a", null);
+        ReleaseTrainReactor b = createReactor("b", null, "a");
+
+        ReleaseFailureException failure = new ReleaseFailureException("failed");
+        doThrow(failure).when(releaseManager).prepare(same(a.getPrepareRequest()));
+
+        ReleaseTrainRequest trainRequest = new ReleaseTrainRequest();
+        trainRequest.addReactor(a);
+        trainRequest.addReactor(b);
+        try {
+            trainManager.release(trainRequest);
+            fail("Should have failed");
+        } catch (ReleaseFailureException e) {
+            assertSame(failure, e);
+        }
+
+        verify(releaseManager, never()).prepare(same(b.getPrepareRequest()));
+        verify(releaseManager, never()).perform(any(ReleasePerformRequest.class));
+    }
+
+    @Test
+    public void testIndependentReactorsAreReleasedInParallel() throws Exception {
+        ReleaseTrainReactor b = createReactor("b", null);
+        ReleaseTrainReactor c = createReactor("c", null);
+
+        // each preparation only completes once the other one has started
+        final CountDownLatch started = new CountDownLatch(2);
+        doAnswer(new Answer<Void>() {
+                    @Override
+                    public Void answer(InvocationOnMock invocation) throws Throwable {
+                        started.countDown();
+                        assertTrue(started.await(30, TimeUnit.SECONDS));
+                        return null;
+                    }
+                })
+                .when(releaseManager)
+                .prepare(any(ReleasePrepareRequest.class));
+
+        ReleaseTrainRequest trainRequest = new ReleaseTrainRequest();
+        trainRequest.addReactor(b);
+        trainRequest.addReactor(c);
+        trainRequest.setThreads(2);
+        trainManager.release(trainRequest);
+
+        assertEquals(0, started.getCount());
+    }
+
+    private static ReleaseTrainReactor createReactor(String id, String parent, String... dependencies) {
+        Model model = new Model();
+        model.setGroupId(id);
+        model.setArtifactId(id);
+        model.setVersion("1.0-SNAPSHOT");
+        if (parent != null) {
+            Parent modelParent = new Parent();
+            modelParent.setGroupId(parent);
+            modelParent.setArtifactId(parent);
+            modelParent.setVersion("1.0-SNAPSHOT");
+            model.setParent(modelParent);
+        }
+        for (String dependency : dependencies) {
+            Dependency modelDependency = new Dependency();
+            modelDependency.setGroupId(dependency);
+            modelDependency.setArtifactId(dependency);
+            modelDependency.setVersion("1.0-SNAPSHOT");
+            model.addDependency(modelDependency);
+        }
+
+        MavenProject project = new MavenProject(model);
+        project.setExecutionRoot(true);
+
+        ReleasePrepareRequest prepareRequest = new ReleasePrepareRequest();
+        prepareRequest.setReleaseDescriptorBuilder(new ReleaseDescriptorBuilder());
+        prepareRequest.setReactorProjects(Arrays.asList(project));
+
+        ReleasePerformRequest performRequest = new ReleasePerformRequest();
+        performRequest.setReleaseDescriptorBuilder(new ReleaseDescriptorBuilder());
+        performRequest.setReactorProjects(Arrays.asList(project));
+
+        ReleaseTrainReactor reactor = new ReleaseTrainReactor();
+        reactor.setPrepareRequest(prepareRequest);
+        reactor.setPerformRequest(performRequest);
+        return reactor;
+    }
+}
@@ -0,0 +1,195 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.shared.release.config;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Properties;
+
+import org.apache.maven.shared.release.PlexusJUnit4TestCase;
+import org.apache.maven.shared.release.config.IndexedReleaseDescriptorStore.Index;
+import org.apache.maven.shared.release.scm.IdentifiedScm;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Test the indexed store.
+ */
+public class IndexedReleaseDescriptorStoreTest extends PlexusJUnit4TestCase {
+    private IndexedReleaseDescriptorStore store;
+
+    private PropertiesReleaseDescriptorStore propertiesStore;
+
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+        store = (IndexedReleaseDescriptorStore) lookup(ReleaseDescriptorStore.class, "indexed");
+        propertiesStore = (PropertiesReleaseDescriptorStore) lookup(ReleaseDescriptorStore.class, "properties");
+    }
+
+    @Test
+    public void testConvertPropertiesLosslessly() throws Exception {
+        Properties properties = loadProperties(getTestFile("target/test-classes/release.properties"));
+        // entries which are not per project in the usual sense stay plain
+        properties.setProperty("dependency.rel.groupId:artifactId3", "4.0");
+        properties.setProperty("project.scm.groupId:artifactId3.unknown", "value");
+        properties.setProperty("project.scm.groupId:artifactId3.url", "url3");
+
+        File file = getTestFile("target/test-classes/converted-release.idx");
+        IndexedReleaseDescriptorStore.fromProperties(properties, file);
+
+        assertEquals(properties, IndexedReleaseDescriptorStore.toProperties(file));
+    }
+
+    @Test
+    public void testReadMatchesPropertiesStore() throws Exception {
+        File propertiesFile = getTestFile("target/test-classes/release.properties");
+        File file = getTestFile("target/test-classes/matching-release.idx");
+        IndexedReleaseDescriptorStore.fromProperties(loadProperties(propertiesFile), file);
+
+        assertEquals(
+                propertiesStore.read(propertiesFile).build(),
+                store.read(null, file).build());
+    }
+
+    @Test
+    public void testReadMissingFile() throws Exception {
+        File file = getTestFile("target/test-classes/no-release.idx");
+
+        ReleaseDescriptorBuilder mergeDescriptor = new ReleaseDescriptorBuilder();
+        mergeDescriptor.setScmSourceUrl("scm-url");
+
+        assertEquals(mergeDescriptor.build(), store.read(mergeDescriptor, file).build());
+    }
+
+    @Test
+    public void testReadWithoutMergeDescriptor() throws Exception {
+        // without a working directory, the file is looked up in the current directory, which has none
+        assertEquals(
+                new ReleaseDescriptorBuilder().build(),
+                store.read((ReleaseDescriptorBuilder) null).build());
+    }
+
+    @Test
+    public void testReadCorruptFile() throws Exception {
+        File file = getTestFile("target/test-classes/release.properties");
+
+        try {
+            store.read(null, file);
+
+            fail("Reading should have failed");
+        } catch (ReleaseDescriptorStoreException e) {
+            assertTrue(true);
+        }
+    }
+
+    @Test
+    public void testWriteAndRead() throws Exception {
+        File file = getTestFile("target/test-classes/new-release.idx");
+        file.delete();
+
+        ReleaseDescriptorBuilder config = createReleaseConfigurationForWriting();
+        store.write(config.build(), file);
+
+        assertEquals(config.build(), store.read(null, file).build());
+    }
+
+    @Test
+    public void testWriteToWorkingDirectory() throws Exception {
+        File directory = getTestFile("target/test-classes/new-indexed");
+        directory.mkdirs();
+        File file = new File(directory, IndexedReleaseDescriptorStore.FILE_NAME);
+        file.delete();
+
+        ReleaseDescriptorBuilder config = createReleaseConfigurationForWriting();
+        config.setWorkingDirectory(directory.getAbsolutePath());
+        store.write(config.build());
+        assertTrue(file.exists());
+
+        store.delete(config.build());
+        assertFalse(file.exists());
+    }
+
+    @Test
+    public void testLazyLookup() throws Exception {
+        File file = getTestFile("target/test-classes/lazy-release.idx");
+        store.write(createReleaseConfigurationForWriting().build(), file);
+
+        Index index = IndexedReleaseDescriptorStore.open(file);
+
+        assertEquals(
+                Arrays.asList(
+                        "external:artifactId", "groupId:artifactId", "groupId:subproject1", "groupId:subproject2"),
+                index.getKeys());
+        assertEquals("1.0", index.getReleaseVersion("groupId:artifactId"));
+        assertEquals("1.1-SNAPSHOT", index.getDevelopmentVersion("groupId:artifactId"));
+        assertEquals("2.0", index.getDependencyReleaseVersion("external:artifactId"));
+        assertEquals("2.1-SNAPSHOT", index.getDependencyDevelopmentVersion("external:artifactId"));
+        assertEquals(
+                "connection-write",
+                index.getOriginalScmInfo("groupId:subproject1").getConnection());
+        assertNull(index.getOriginalScmInfo("groupId:subproject2"));
+        assertNull(index.getReleaseVersion("groupId:unknown"));
+        assertEquals("tag-write", index.getProperties().getProperty("scm.tag"));
+    }
+
+    private static Properties loadProperties(File file) throws Exception {
+        Properties properties = new Properties();
+        try (InputStream in = new FileInputStream(file)) {
+            properties.load(in);
+        }
+        return properties;
+    }
+
+    private static ReleaseDescriptorBuilder createReleaseConfigurationForWriting() {
+        ReleaseDescriptorBuilder builder = new ReleaseDescriptorBuilder();
+        builder.setCompletedPhase("completed-phase-write");
+        builder.setScmSourceUrl("url-write");
+        builder.setScmReleaseLabel("tag-write");
+        builder.setPreparationGoals("preparation-goals-write");
+
+        builder.addReleaseVersion("groupId:artifactId", "1.0");
+        builder.addDevelopmentVersion("groupId:artifactId", "1.1-SNAPSHOT");
+        builder.addDependencyReleaseVersion("external:artifactId", "2.0");
+        builder.addDependencyDevelopmentVersion("external:artifactId", "2.1-SNAPSHOT");
+
+        IdentifiedScm scm = new IdentifiedScm();
+        scm.setId("id-write");
+        scm.setConnection("connection-write");
+        scm.setDeveloperConnection("developerConnection-write");
+        scm.setUrl("url-write");
+        scm.setTag("tag-write");
+        builder.addOriginalScmInfo("groupId:artifactId", scm);
+
+        scm = new IdentifiedScm();
+        scm.setConnection("connection-write");
+        builder.addOriginalScmInfo("groupId:subproject1", scm);
+
+        builder.addOriginalScmInfo("groupId:subproject2", null);
+
+        return builder;
+    }
+}
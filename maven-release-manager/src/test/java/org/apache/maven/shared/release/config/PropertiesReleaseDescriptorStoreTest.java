@@ -322,8 +322,14 @@ public class PropertiesReleaseDescriptorStoreTest extends PlexusJUnit4TestCase {
         builder.setScmReleaseLabel("tag-write");
         builder.setAdditionalArguments("additional-args-write");
         builder.setPreparationGoals("preparation-goals-write");
+        builder.setPreparationChangedSince("changed-since-write");
+        builder.setPreparationProjects("groupId:artifactId");
+        builder.setSkipPerformTests(true);
+        builder.setPreparedArtifactsFingerprint("fingerprint-write");
+        builder.setPrefetchDependencies(true);
         builder.setCompletionGoals("completion-goals-write");
         builder.setPomFileName("pom-file-name-write");
+        builder.setModelETL("model-etl-write");
 
         builder.addReleaseVersion("groupId:artifactId", "1.0");
         builder.addDevelopmentVersion("groupId:artifactId", "1.1-SNAPSHOT");
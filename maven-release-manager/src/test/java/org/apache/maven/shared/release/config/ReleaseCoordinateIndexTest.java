@@ -0,0 +1,60 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.shared.release.config;
+
+import java.util.Arrays;
+import java.util.HashSet;
+
+import org.apache.maven.shared.release.config.ReleaseDescriptorBuilder.BuilderReleaseDescriptor;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Test the release coordinate index.
+ */
+public class ReleaseCoordinateIndexTest {
+    @Test
+    public void testContains() {
+        ReleaseDescriptorBuilder builder = new ReleaseDescriptorBuilder();
+        builder.addReleaseVersion("groupId:artifactId", "1.0");
+        builder.putOriginalVersion("groupId:subproject1", "1.0-SNAPSHOT");
+        builder.addDependencyReleaseVersion("external:artifactId", "2.0");
+        BuilderReleaseDescriptor descriptor = builder.build();
+
+        ReleaseCoordinateIndex index = ReleaseCoordinateIndex.of(descriptor);
+
+        assertTrue(index.contains("groupId", "artifactId"));
+        assertTrue(index.contains("groupId", "subproject1"));
+        assertTrue(index.contains("external", "artifactId"));
+        assertFalse(index.contains("groupId", "subproject2"));
+        assertFalse(index.contains("external", "subproject1"));
+        assertFalse(index.contains("other", "artifactId"));
+        assertEquals(new HashSet<>(Arrays.asList("groupId", "external")), index.getGroupIds());
+    }
+
+    @Test
+    public void testUnknownDescriptor() {
+        assertNull(ReleaseCoordinateIndex.of(mock(ReleaseDescriptor.class)));
+    }
+}
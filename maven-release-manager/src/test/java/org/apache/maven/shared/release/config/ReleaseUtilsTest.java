@@ -31,6 +31,7 @@ import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 /**
@@ -122,10 +123,34 @@ public class ReleaseUtilsTest {
         assertFalse("Check original comparison", configBuilder.build().equals(origConfig));
         configBuilder.setPomFileName(origConfig.getPomFileName());
 
+        configBuilder.setModelETL(other);
+        assertFalse("Check original comparison", configBuilder.build().equals(origConfig));
+        configBuilder.setModelETL(origConfig.getModelETL());
+
         configBuilder.setPreparationGoals(other);
         assertFalse("Check original comparison", configBuilder.build().equals(origConfig));
         configBuilder.setPreparationGoals(origConfig.getPreparationGoals());
 
+        configBuilder.setPreparationChangedSince(other);
+        assertFalse("Check original comparison", configBuilder.build().equals(origConfig));
+        configBuilder.setPreparationChangedSince(origConfig.getPreparationChangedSince());
+
+        configBuilder.setPreparationProjects(other);
+        assertFalse("Check original comparison", configBuilder.build().equals(origConfig));
+        configBuilder.setPreparationProjects(origConfig.getPreparationProjects());
+
+        configBuilder.setSkipPerformTests(!origConfig.isSkipPerformTests());
+        assertFalse("Check original comparison", configBuilder.build().equals(origConfig));
+        configBuilder.setSkipPerformTests(origConfig.isSkipPerformTests());
+
+        configBuilder.setPreparedArtifactsFingerprint(other);
+        assertFalse("Check original comparison", configBuilder.build().equals(origConfig));
+        configBuilder.setPreparedArtifactsFingerprint(origConfig.getPreparedArtifactsFingerprint());
+
+        configBuilder.setPrefetchDependencies(!origConfig.isPrefetchDependencies());
+        assertFalse("Check original comparison", configBuilder.build().equals(origConfig));
+        configBuilder.setPrefetchDependencies(origConfig.isPrefetchDependencies());
+
         configBuilder.setScmReleaseLabel(other);
         assertFalse("Check original comparison", configBuilder.build().equals(origConfig));
         configBuilder.setScmReleaseLabel(origConfig.getScmReleaseLabel());
@@ -265,6 +290,82 @@ public class ReleaseUtilsTest {
         assertEquals(Arrays.asList("aProfile", "anotherOne"), builder.build().getActivateProfiles());
     }
 
+    @Test
+    public void testCopyVersionsOnly() {
+        Properties properties = new Properties();
+        properties.setProperty("project.rel.groupId:artifactId", "1.0");
+        properties.setProperty("project.dev.groupId:artifactId", "1.1-SNAPSHOT");
+        properties.setProperty("dependency.external:artifactId.release", "2.0");
+        properties.setProperty("dependency.dev.external:artifactId", "2.1-SNAPSHOT");
+        properties.setProperty("project.scm.groupId:artifactId.url", "url");
+        properties.setProperty("scm.tag", "tag");
+
+        ReleaseDescriptorBuilder builder = new ReleaseDescriptorBuilder();
+        ReleaseUtils.copyVersionsToReleaseDescriptor(properties, builder, false);
+        BuilderReleaseDescriptor descriptor = builder.build();
+
+        assertEquals("1.0", descriptor.getProjectReleaseVersion("groupId:artifactId"));
+        assertEquals("1.1-SNAPSHOT", descriptor.getProjectDevelopmentVersion("groupId:artifactId"));
+        assertNull(descriptor.getDependencyReleaseVersion("external:artifactId"));
+        assertNull(descriptor.getOriginalScmInfo("groupId:artifactId"));
+        assertNull(descriptor.getScmReleaseLabel());
+
+        builder = new ReleaseDescriptorBuilder();
+        ReleaseUtils.copyVersionsToReleaseDescriptor(properties, builder, true);
+        descriptor = builder.build();
+
+        assertEquals("2.0", descriptor.getDependencyReleaseVersion("external:artifactId"));
+        assertEquals("2.1-SNAPSHOT", descriptor.getDependencyDevelopmentVersion("external:artifactId"));
+        assertNull(descriptor.getOriginalScmInfo("groupId:artifactId"));
+    }
+
+    @Test
+    public void testCopyPropertiesScalesLinearlyWithModules() {
+        long lookupsSmall = countLookups(100);
+        long lookupsLarge = countLookups(1000);
+
+        // every module contributes a constant number of lookups, independent of the size of the reactor
+        assertEquals(lookupsSmall * 10, lookupsLarge);
+        assertTrue(lookupsLarge <= 1000 * 6);
+    }
+
+    private static long countLookups(int modules) {
+        final long[] lookups = new long[1];
+        Properties properties = new Properties() {
+            @Override
+            public String getProperty(String key) {
+                lookups[0]++;
+                return super.getProperty(key);
+            }
+
+            @Override
+            public synchronized boolean containsKey(Object key) {
+                lookups[0]++;
+                return super.containsKey(key);
+            }
+        };
+        properties.setProperty("completedPhase", "end-release");
+        properties.setProperty("scm.tag", "tag");
+        for (int i = 0; i < modules; i++) {
+            String key = "groupId:module" + i;
+            properties.setProperty("project.rel." + key, "1.0");
+            properties.setProperty("project.dev." + key, "1.1-SNAPSHOT");
+            properties.setProperty("project.scm." + key + ".connection", "connection" + i);
+            properties.setProperty("project.scm." + key + ".url", "url" + i);
+            properties.setProperty("dependency." + key + ".release", "2.0");
+        }
+
+        ReleaseDescriptorBuilder builder = new ReleaseDescriptorBuilder();
+        ReleaseUtils.copyPropertiesToReleaseDescriptor(properties, builder);
+
+        assertEquals(
+                "url" + (modules - 1),
+                builder.build()
+                        .getOriginalScmInfo("groupId:module" + (modules - 1))
+                        .getUrl());
+        return lookups[0];
+    }
+
     private static ReleaseDescriptorBuilder copyReleaseDescriptor(ReleaseDescriptor originalReleaseDescriptor) {
         return createReleaseDescriptor(originalReleaseDescriptor.getWorkingDirectory());
     }
@@ -297,7 +398,13 @@ public class ReleaseUtilsTest {
         releaseDescriptor.setWorkingDirectory(workingDirectory);
         releaseDescriptor.setAdditionalArguments("additional-arguments");
         releaseDescriptor.setPomFileName("pom-file-name");
+        releaseDescriptor.setModelETL("model-etl");
         releaseDescriptor.setPreparationGoals("preparation-goals");
+        releaseDescriptor.setPreparationChangedSince("changed-since");
+        releaseDescriptor.setPreparationProjects("groupId:artifactId");
+        releaseDescriptor.setSkipPerformTests(true);
+        releaseDescriptor.setPreparedArtifactsFingerprint("fingerprint");
+        releaseDescriptor.setPrefetchDependencies(true);
 
         return releaseDescriptor;
     }
@@ -0,0 +1,160 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.shared.release.config;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+
+import org.apache.maven.shared.release.config.ReleaseDescriptorBuilder.BuilderReleaseDescriptor;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test the snapshot map.
+ */
+public class SnapshotMapTest {
+    @Test
+    public void testPutGetRemove() {
+        SnapshotMap<String> map = new SnapshotMap<>();
+        map.put("a", "1");
+        map.put("b", null);
+
+        assertEquals("1", map.get("a"));
+        assertNull(map.get("b"));
+        assertTrue(map.containsKey("b"));
+        assertFalse(map.containsKey("c"));
+        assertEquals(2, map.size());
+
+        assertEquals("1", map.put("a", "2"));
+        assertEquals(2, map.size());
+
+        assertEquals("2", map.remove("a"));
+        assertNull(map.remove("a"));
+        assertEquals(1, map.size());
+
+        Map<String, String> expected = new HashMap<>();
+        expected.put("b", null);
+        assertEquals(expected, map);
+        assertEquals(expected.hashCode(), map.hashCode());
+    }
+
+    @Test
+    public void testSnapshotIsImmutable() {
+        SnapshotMap<String> map = new SnapshotMap<>();
+        for (int i = 0; i < 1000; i++) {
+            map.put("key" + i, "value" + i);
+        }
+
+        Map<String, String> snapshot = map.snapshot();
+        map.put("key0", "changed");
+        map.put("key1000", "value1000");
+        map.remove("key1");
+
+        assertEquals(1000, snapshot.size());
+        assertEquals("value0", snapshot.get("key0"));
+        assertEquals("value1", snapshot.get("key1"));
+        assertFalse(snapshot.containsKey("key1000"));
+        assertEquals(1000, new HashMap<>(snapshot).size());
+
+        try {
+            snapshot.put("key0", "value");
+            throw new AssertionError("Snapshot should be read-only");
+        } catch (UnsupportedOperationException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testDescriptorSnapshotsAreNotAffectedByLaterUpdates() {
+        ReleaseDescriptorBuilder builder = new ReleaseDescriptorBuilder();
+        builder.addReleaseVersion("groupId:artifactId", "1.0");
+        BuilderReleaseDescriptor descriptor = builder.build();
+
+        Map<String, ReleaseStageVersions> snapshot = descriptor.getProjectVersions();
+        builder.addReleaseVersion("groupId:artifactId", "2.0");
+        builder.addDevelopmentVersion("groupId:artifactId", "2.1-SNAPSHOT");
+
+        assertEquals("1.0", snapshot.get("groupId:artifactId").getRelease());
+        assertNull(snapshot.get("groupId:artifactId").getDevelopment());
+        assertEquals("2.0", descriptor.getProjectReleaseVersion("groupId:artifactId"));
+        assertEquals("2.1-SNAPSHOT", descriptor.getProjectDevelopmentVersion("groupId:artifactId"));
+    }
+
+    @Test
+    public void testConcurrentUpdates() throws Exception {
+        final ReleaseDescriptorBuilder builder = new ReleaseDescriptorBuilder();
+        final CountDownLatch start = new CountDownLatch(1);
+        final int modules = 500;
+
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            final int stage = t;
+            Thread thread = new Thread() {
+                @Override
+                public void run() {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    for (int i = 0; i < modules; i++) {
+                        String key = "groupId:module" + i;
+                        switch (stage) {
+                            case 0:
+                                builder.addReleaseVersion(key, "1.0");
+                                break;
+                            case 1:
+                                builder.addDevelopmentVersion(key, "1.1-SNAPSHOT");
+                                break;
+                            case 2:
+                                builder.putOriginalVersion(key, "1.0-SNAPSHOT");
+                                break;
+                            default:
+                                // readers take snapshots while the others write
+                                builder.build().getProjectVersions().size();
+                                break;
+                        }
+                    }
+                }
+            };
+            thread.start();
+            threads.add(thread);
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        BuilderReleaseDescriptor descriptor = builder.build();
+        assertEquals(modules, descriptor.getProjectVersions().size());
+        for (int i = 0; i < modules; i++) {
+            String key = "groupId:module" + i;
+            assertEquals("1.0", descriptor.getProjectReleaseVersion(key));
+            assertEquals("1.1-SNAPSHOT", descriptor.getProjectDevelopmentVersion(key));
+            assertEquals("1.0-SNAPSHOT", descriptor.getProjectOriginalVersion(key));
+        }
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.shared.release.daemon;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.project.MavenProject;
+import org.apache.maven.shared.release.ReleaseFailureException;
+import org.apache.maven.shared.release.ReleaseManager;
+import org.apache.maven.shared.release.ReleasePrepareRequest;
+import org.apache.maven.shared.release.config.ReleaseDescriptorBuilder;
+import org.apache.maven.shared.release.env.DefaultReleaseEnvironment;
+import org.apache.maven.shared.release.phase.AbstractReleaseTestCase;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Test the loading of other reactors for the release daemon and the release train.
+ */
+public class DefaultReactorProjectsLoaderTest extends AbstractReleaseTestCase {
+    @Test
+    public void testDependenciesAreResolved() throws Exception {
+        Path basedir = copyTestProject(
+                "check-dependencies/internal-and-external-snapshot-dependencies", "reactor-loader/resolved");
+
+        List<MavenProject> reactorProjects =
+                new DefaultReactorProjectsLoader(projectBuilder, createProjectBuildingRequest()).load(basedir.toFile());
+
+        assertEquals(3, reactorProjects.size());
+        assertEquals("artifactId", reactorProjects.get(0).getArtifactId());
+        assertTrue(reactorProjects.get(0).isExecutionRoot());
+        assertFalse(reactorProjects.get(2).isExecutionRoot());
+
+        // the sibling snapshot is in no repository, it comes from the reactor
+        MavenProject subproject2 = reactorProjects.get(2);
+        assertEquals("subproject2", subproject2.getArtifactId());
+        assertNotNull(subproject2.getDependencyArtifacts());
+        assertEquals(Arrays.asList("groupId:subproject1", "external:artifactId"), getIds(subproject2));
+    }
+
+    @Test
+    public void testPrepareChecksSnapshotDependencies() throws Exception {
+        Path basedir = copyTestProject(
+                "check-dependencies/internal-and-external-snapshot-dependencies", "reactor-loader/prepare");
+        List<MavenProject> reactorProjects =
+                new DefaultReactorProjectsLoader(projectBuilder, createProjectBuildingRequest()).load(basedir.toFile());
+
+        ReleaseDescriptorBuilder builder = createReleaseDescriptorBuilder(reactorProjects);
+        builder.setWorkingDirectory(basedir.toString());
+        builder.setPomFileName("pom.xml");
+        builder.setScmSourceUrl("scm:svn:file://localhost/tmp/scm-repo");
+        builder.setInteractive(false);
+
+        ReleasePrepareRequest prepareRequest = new ReleasePrepareRequest();
+        prepareRequest.setReleaseDescriptorBuilder(builder);
+        prepareRequest.setReleaseEnvironment(new DefaultReleaseEnvironment());
+        prepareRequest.setReactorProjects(reactorProjects);
+        prepareRequest.setUserProperties(new Properties());
+        prepareRequest.setDryRun(true);
+        prepareRequest.setResume(false);
+
+        // the real phases of prepare run over the loaded reactor
+        try {
+            lookup(ReleaseManager.class).prepare(prepareRequest);
+            fail("The external snapshot dependency should have been detected");
+        } catch (ReleaseFailureException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("external:artifactId"));
+        }
+    }
+
+    private static List<String> getIds(MavenProject project) {
+        List<String> ids = new ArrayList<>();
+        for (Artifact artifact : project.getDependencyArtifacts()) {
+            ids.add(artifact.getGroupId() + ':' + artifact.getArtifactId());
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,439 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.shared.release.daemon;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.maven.model.Model;
+import org.apache.maven.model.Scm;
+import org.apache.maven.project.MavenProject;
+import org.apache.maven.shared.release.ReleaseFailureException;
+import org.apache.maven.shared.release.ReleaseManager;
+import org.apache.maven.shared.release.ReleaseManagerListener;
+import org.apache.maven.shared.release.ReleaseUpdateVersionsRequest;
+import org.apache.maven.shared.release.config.ReleaseDescriptor;
+import org.apache.maven.shared.release.env.DefaultReleaseEnvironment;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.ArgumentCaptor;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+/**
+ * Test the release daemon.
+ */
+public class ReleaseDaemonTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private ReleaseManager releaseManager;
+
+    private ReleaseDaemon daemon;
+
+    private InetSocketAddress address;
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Before
+    public void setUp() throws Exception {
+        releaseManager = mock(ReleaseManager.class);
+        daemon = new ReleaseDaemon(
+                releaseManager,
+                new ReactorProjectsLoader() {
+                    @Override
+                    public List<MavenProject> load(File pomFile) {
+                        loads.incrementAndGet();
+                        Model model = new Model();
+                        model.setGroupId("groupId");
+                        model.setArtifactId("artifactId");
+                        model.setVersion("1.0-SNAPSHOT");
+                        Scm scm = new Scm();
+                        scm.setDeveloperConnection("scm:svn:file://localhost/tmp/scm-repo/trunk");
+                        model.setScm(scm);
+
+                        MavenProject project = new MavenProject(model);
+                        project.setOriginalModel(model.clone());
+                        project.setFile(pomFile);
+                        project.setExecutionRoot(true);
+                        return Collections.singletonList(project);
+                    }
+                },
+                new DefaultReleaseEnvironment());
+        address = daemon.start(0);
+    }
+
+    @After
+    public void tearDown() {
+        daemon.stop();
+    }
+
+    @Test
+    public void testUpdateVersionsStreamsEvents() throws Exception {
+        doAnswer(new Answer<Void>() {
+                    @Override
+                    public Void answer(InvocationOnMock invocation) {
+                        ReleaseManagerListener listener =
+                                ((ReleaseUpdateVersionsRequest) invocation.getArgument(0)).getReleaseManagerListener();
+                        listener.goalStart("updateVersions", Arrays.asList("check-poms", "rewrite-poms"));
+                        listener.phaseStart("check-poms");
+                        listener.phaseEnd();
+                        listener.phaseSkip("rewrite-poms");
+                        listener.goalEnd();
+                        return null;
+                    }
+                })
+                .when(releaseManager)
+                .updateVersions(any(ReleaseUpdateVersionsRequest.class));
+
+        String response = post(
+                "/update-versions",
+                "{\"workingDirectory\": \"/tmp/work\", \"descriptor\": {\"project.dev.groupId:artifactId\": "
+                        + "\"2.0-SNAPSHOT\"}, \"userProperties\": {\"key\": \"value\"}}");
+
+        assertEquals(
+                "{\"event\":\"goalStart\",\"goal\":\"updateVersions\",\"phases\":[\"check-poms\",\"rewrite-poms\"]}\n"
+                        + "{\"event\":\"phaseStart\",\"name\":\"check-poms\"}\n"
+                        + "{\"event\":\"phaseEnd\"}\n"
+                        + "{\"event\":\"phaseSkip\",\"name\":\"rewrite-poms\"}\n"
+                        + "{\"event\":\"goalEnd\"}\n"
+                        + "{\"event\":\"result\",\"status\":\"success\",\"message\":null}\n",
+                response);
+
+        ArgumentCaptor<ReleaseUpdateVersionsRequest> captor =
+                ArgumentCaptor.forClass(ReleaseUpdateVersionsRequest.class);
+        verify(releaseManager).updateVersions(captor.capture());
+        verifyNoMoreInteractions(releaseManager);
+
+        ReleaseUpdateVersionsRequest request = captor.getValue();
+        ReleaseDescriptor descriptor = request.getReleaseDescriptorBuilder().build();
+        assertEquals(new File("/tmp/work").getAbsolutePath(), descriptor.getWorkingDirectory());
+        assertEquals("pom.xml", descriptor.getPomFileName());
+        assertEquals(false, descriptor.isInteractive());
+        assertEquals("2.0-SNAPSHOT", descriptor.getProjectDevelopmentVersion("groupId:artifactId"));
+        assertEquals("1.0-SNAPSHOT", descriptor.getProjectOriginalVersion("groupId:artifactId"));
+        assertEquals("scm:svn:file://localhost/tmp/scm-repo/trunk", descriptor.getScmSourceUrl());
+        assertEquals("value", request.getUserProperties().getProperty("key"));
+        assertEquals(1, request.getReactorProjects().size());
+    }
+
+    @Test
+    public void testFailureIsReported() throws Exception {
+        doAnswer(new Answer<Void>() {
+                    @Override
+                    public Void answer(InvocationOnMock invocation) throws Exception {
+                        throw new ReleaseFailureException("Cannot \"release\"");
+                    }
+                })
+                .when(releaseManager)
+                .updateVersions(any(ReleaseUpdateVersionsRequest.class));
+
+        String response = post("/update-versions", "{\"workingDirectory\": \"/tmp/work\"}");
+
+        assertEquals(
+                "{\"event\":\"result\",\"status\":\"failure\",\"message\":\"Cannot \\\"release\\\"\"}\n", response);
+    }
+
+    @Test
+    public void testInvalidRequest() throws Exception {
+        HttpURLConnection connection = open("/prepare");
+        write(connection, "{\"dryRun\": true}");
+        assertEquals(HttpURLConnection.HTTP_BAD_REQUEST, connection.getResponseCode());
+
+        connection = open("/branch");
+        write(connection, "{\"workingDirectory\": ");
+        assertEquals(HttpURLConnection.HTTP_BAD_REQUEST, connection.getResponseCode());
+
+        connection = (HttpURLConnection)
+                new URL("http", address.getHostString(), address.getPort(), "/prepare").openConnection();
+        assertEquals(HttpURLConnection.HTTP_BAD_METHOD, connection.getResponseCode());
+
+        verifyNoMoreInteractions(releaseManager);
+    }
+
+    @Test
+    public void testRequestsAreQueuedPerWorkingDirectory() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger maxRunning = new AtomicInteger();
+        doAnswer(new Answer<Void>() {
+                    @Override
+                    public Void answer(InvocationOnMock invocation) throws Exception {
+                        ReleaseUpdateVersionsRequest request = invocation.getArgument(0);
+                        int current = running.incrementAndGet();
+                        int max = maxRunning.get();
+                        while (current > max && !maxRunning.compareAndSet(max, current)) {
+                            max = maxRunning.get();
+                        }
+                        if (request.getReleaseDescriptorBuilder()
+                                .build()
+                                .getWorkingDirectory()
+                                .endsWith("first")) {
+                            // blocks the first working directory until the other one completed
+                            assertTrue(release.await(30, TimeUnit.SECONDS));
+                        } else {
+                            release.countDown();
+                        }
+                        running.decrementAndGet();
+                        return null;
+                    }
+                })
+                .when(releaseManager)
+                .updateVersions(any(ReleaseUpdateVersionsRequest.class));
+
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            Future<String> first =
+                    executor.submit(postLater("/update-versions", "{\"workingDirectory\": \"/tmp/first\"}"));
+            // wait for the first request to hold its working directory
+            while (running.get() == 0) {
+                Thread.sleep(10);
+            }
+            Future<String> queued =
+                    executor.submit(postLater("/update-versions", "{\"workingDirectory\": \"/tmp/first\"}"));
+            Future<String> other =
+                    executor.submit(postLater("/update-versions", "{\"workingDirectory\": \"/tmp/second\"}"));
+
+            String expected = "{\"event\":\"result\",\"status\":\"success\",\"message\":null}\n";
+            assertEquals(expected, other.get(30, TimeUnit.SECONDS));
+            assertEquals(expected, first.get(30, TimeUnit.SECONDS));
+            String queuedResponse = queued.get(30, TimeUnit.SECONDS);
+            assertTrue(queuedResponse, queuedResponse.endsWith(expected));
+            assertEquals(2, maxRunning.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testReactorIsLoadedWhileHoldingTheWorkingDirectory() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicInteger running = new AtomicInteger();
+        doAnswer(new Answer<Void>() {
+                    @Override
+                    public Void answer(InvocationOnMock invocation) throws Exception {
+                        if (running.incrementAndGet() == 1) {
+                            assertTrue(release.await(30, TimeUnit.SECONDS));
+                        }
+                        return null;
+                    }
+                })
+                .when(releaseManager)
+                .updateVersions(any(ReleaseUpdateVersionsRequest.class));
+
+        File workingDirectory = folder.newFolder("work");
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<String> first = executor.submit(postLater(
+                    "/update-versions", "{\"workingDirectory\": " + Json.quote(workingDirectory.getPath()) + "}"));
+            while (running.get() == 0) {
+                Thread.sleep(10);
+            }
+            // the same directory, spelled differently
+            String otherSpelling = new File(workingDirectory, "../work/.").getPath();
+            Future<String> queued = executor.submit(
+                    postLater("/update-versions", "{\"workingDirectory\": " + Json.quote(otherSpelling) + "}"));
+
+            // the queued request doesn't read the POMs the running goal may be rewriting
+            Thread.sleep(200);
+            assertEquals(1, loads.get());
+            assertEquals(1, running.get());
+
+            release.countDown();
+            String expected = "{\"event\":\"result\",\"status\":\"success\",\"message\":null}\n";
+            assertEquals(expected, first.get(30, TimeUnit.SECONDS));
+            String queuedResponse = queued.get(30, TimeUnit.SECONDS);
+            assertTrue(queuedResponse, queuedResponse.startsWith("{\"event\":\"queued\""));
+            assertTrue(queuedResponse, queuedResponse.endsWith(expected));
+            assertEquals(2, loads.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testUnauthorizedRequestsAreRejected() throws Exception {
+        String body = "{\"workingDirectory\": \"/tmp/work\"}";
+
+        HttpURLConnection connection = openUnauthorized("/update-versions");
+        connection.setRequestProperty("Content-Type", "application/json");
+        write(connection, body);
+        assertEquals(HttpURLConnection.HTTP_UNAUTHORIZED, connection.getResponseCode());
+
+        connection = openUnauthorized("/shutdown");
+        connection.setRequestProperty("Authorization", "Bearer wrong");
+        connection.setRequestProperty("Content-Type", "application/json");
+        write(connection, "{}");
+        assertEquals(HttpURLConnection.HTTP_UNAUTHORIZED, connection.getResponseCode());
+
+        // HttpURLConnection drops the Origin header, so send the request of a browser by hand
+        try (Socket socket = new Socket(address.getAddress(), address.getPort())) {
+            byte[] content = body.getBytes(StandardCharsets.UTF_8);
+            String request = "POST /update-versions HTTP/1.1\r\nHost: localhost\r\nOrigin: http://example.com\r\n"
+                    + "Authorization: Bearer " + daemon.getToken() + "\r\nContent-Type: application/json\r\n"
+                    + "Content-Length: " + content.length + "\r\nConnection: close\r\n\r\n";
+            OutputStream out = socket.getOutputStream();
+            out.write(request.getBytes(StandardCharsets.US_ASCII));
+            out.write(content);
+            out.flush();
+            BufferedReader in =
+                    new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+            assertEquals("HTTP/1.1 403 Forbidden", in.readLine());
+        }
+
+        connection = open("/update-versions");
+        connection.setRequestProperty("Content-Type", "text/plain");
+        write(connection, body);
+        assertEquals(HttpURLConnection.HTTP_UNSUPPORTED_TYPE, connection.getResponseCode());
+
+        verifyNoMoreInteractions(releaseManager);
+    }
+
+    @Test
+    public void testWriteToken() throws Exception {
+        File tokenFile = new File(folder.getRoot(), "daemon/token");
+        daemon.writeToken(tokenFile);
+
+        assertEquals(daemon.getToken(), new String(Files.readAllBytes(tokenFile.toPath()), StandardCharsets.UTF_8));
+        assertTrue(daemon.getToken().length() >= 32);
+        if (FileSystems.getDefault().supportedFileAttributeViews().contains("posix")) {
+            assertEquals("rw-------", PosixFilePermissions.toString(Files.getPosixFilePermissions(tokenFile.toPath())));
+        }
+    }
+
+    @Test
+    public void testShutdown() throws Exception {
+        HttpURLConnection connection = open("/shutdown");
+        write(connection, "{}");
+        assertEquals(HttpURLConnection.HTTP_OK, connection.getResponseCode());
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> stopped = executor.submit(new Callable<Void>() {
+                @Override
+                public Void call() throws Exception {
+                    daemon.awaitStop();
+                    return null;
+                }
+            });
+            stopped.get(30, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+        verifyNoMoreInteractions(releaseManager);
+    }
+
+    @Test
+    public void testJson() {
+        Object json = Json.parse(" {\"a\": [1, 2.5, true, false, null], \"b\": {\"c\": \"d\\n\\u0041\\\"\"}} ");
+
+        Map<?, ?> object = (Map<?, ?>) json;
+        assertEquals(Arrays.asList(1L, 2.5d, true, false, null), object.get("a"));
+        assertEquals(Collections.singletonMap("c", "d\nA\""), object.get("b"));
+        assertEquals("\"d\\nA\\\"\\u0001\"", Json.quote("d\nA\"\u0001"));
+
+        try {
+            Json.parse("{\"a\": 1} x");
+            throw new AssertionError("Trailing content should be rejected");
+        } catch (IllegalArgumentException e) {
+            assertEquals("Unexpected trailing content at offset 9", e.getMessage());
+        }
+    }
+
+    private Callable<String> postLater(final String path, final String body) {
+        return new Callable<String>() {
+            @Override
+            public String call() throws Exception {
+                return post(path, body);
+            }
+        };
+    }
+
+    private String post(String path, String body) throws Exception {
+        HttpURLConnection connection = open(path);
+        write(connection, body);
+        assertEquals(HttpURLConnection.HTTP_OK, connection.getResponseCode());
+        assertEquals("application/x-ndjson", connection.getContentType());
+
+        ByteArrayOutputStream response = new ByteArrayOutputStream();
+        try (InputStream in = connection.getInputStream()) {
+            byte[] buffer = new byte[1024];
+            int n;
+            while ((n = in.read(buffer)) != -1) {
+                response.write(buffer, 0, n);
+            }
+        }
+        return new String(response.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    private HttpURLConnection open(String path) throws Exception {
+        HttpURLConnection connection = openUnauthorized(path);
+        connection.setRequestProperty("Authorization", "Bearer " + daemon.getToken());
+        connection.setRequestProperty("Content-Type", "application/json; charset=UTF-8");
+        return connection;
+    }
+
+    private HttpURLConnection openUnauthorized(String path) throws Exception {
+        HttpURLConnection connection =
+                (HttpURLConnection) new URL("http", address.getHostString(), address.getPort(), path).openConnection();
+        connection.setRequestMethod("POST");
+        connection.setDoOutput(true);
+        return connection;
+    }
+
+    private static void write(HttpURLConnection connection, String body) throws Exception {
+        try (OutputStream out = connection.getOutputStream()) {
+            out.write(body.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.shared.release.exec;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.maven.artifact.repository.ArtifactRepository;
+import org.apache.maven.artifact.repository.ArtifactRepositoryPolicy;
+import org.apache.maven.artifact.repository.MavenArtifactRepository;
+import org.apache.maven.artifact.repository.layout.ArtifactRepositoryLayout;
+import org.apache.maven.execution.DefaultMavenExecutionRequest;
+import org.apache.maven.execution.DefaultMavenExecutionResult;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.model.Build;
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.Model;
+import org.apache.maven.model.Plugin;
+import org.apache.maven.plugin.LegacySupport;
+import org.apache.maven.project.MavenProject;
+import org.apache.maven.repository.internal.MavenRepositorySystemUtils;
+import org.apache.maven.shared.release.PlexusJUnit4TestCase;
+import org.apache.maven.shared.release.env.DefaultReleaseEnvironment;
+import org.codehaus.plexus.util.FileUtils;
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.junit.Test;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test the local repository prefetcher.
+ */
+public class DefaultLocalRepositoryPrefetcherTest extends PlexusJUnit4TestCase {
+    @Test
+    public void testPrefetch() throws Exception {
+        LocalRepositoryPrefetcher prefetcher = lookup(LocalRepositoryPrefetcher.class);
+
+        File localRepository = getTestFile("target/prefetch-repository");
+        FileUtils.deleteDirectory(localRepository);
+
+        List<ArtifactRepository> repositories = createRepositories();
+
+        MavenProject root = createProject("artifactId", repositories);
+        root.getDependencies().add(createDependency("org.codehaus.plexus", "plexus-utils", "1.1"));
+        // reactor projects are not fetched, even if another version is deployed
+        root.getDependencies().add(createDependency("groupId", "subproject1", "2.0"));
+        Plugin plugin = new Plugin();
+        plugin.setGroupId("external");
+        plugin.setArtifactId("plugin-artifactId");
+        plugin.setVersion("1.0");
+        root.getModel().getBuild().addPlugin(plugin);
+        MavenProject module = createProject("subproject1", repositories);
+
+        prefetcher.prefetch(
+                Arrays.asList(root, module),
+                new DefaultReleaseEnvironment().setLocalRepositoryDirectory(localRepository));
+        prefetcher.await(localRepository);
+
+        assertTrue(new File(localRepository, "org/codehaus/plexus/plexus-utils/1.1/plexus-utils-1.1.jar").exists());
+        assertTrue(new File(localRepository, "external/plugin-artifactId/1.0/plugin-artifactId-1.0.jar").exists());
+        assertFalse(new File(localRepository, "groupId/subproject1").exists());
+
+        // the prefetch has completed, so there is nothing more to wait for
+        assertFalse(prefetcher.await(localRepository));
+    }
+
+    @Test
+    public void testPrefetchWithSessionOfBuild() throws Exception {
+        LocalRepositoryPrefetcher prefetcher = lookup(LocalRepositoryPrefetcher.class);
+        LegacySupport legacySupport = lookup(LegacySupport.class);
+
+        File localRepository = getTestFile("target/prefetch-session-repository");
+        FileUtils.deleteDirectory(localRepository);
+
+        MavenProject root = createProject("artifactId", createRepositories());
+        root.getDependencies().add(createDependency("org.codehaus.plexus", "plexus-utils", "1.1"));
+
+        DefaultRepositorySystemSession repositorySession = MavenRepositorySystemUtils.newSession();
+        repositorySession.setOffline(true);
+        legacySupport.setSession(new MavenSession(
+                getContainer(),
+                repositorySession,
+                new DefaultMavenExecutionRequest(),
+                new DefaultMavenExecutionResult()));
+        try {
+            prefetcher.prefetch(
+                    Collections.singletonList(root),
+                    new DefaultReleaseEnvironment().setLocalRepositoryDirectory(localRepository));
+            prefetcher.await(localRepository);
+        } finally {
+            legacySupport.setSession(null);
+        }
+
+        // the build is offline, and so is the prefetch
+        assertFalse(new File(localRepository, "org/codehaus/plexus/plexus-utils/1.1/plexus-utils-1.1.jar").exists());
+    }
+
+    private List<ArtifactRepository> createRepositories() throws Exception {
+        ArtifactRepositoryLayout layout = lookup(ArtifactRepositoryLayout.class, "default");
+        ArtifactRepositoryPolicy policy = new ArtifactRepositoryPolicy();
+        return Collections.<ArtifactRepository>singletonList(new MavenArtifactRepository(
+                "remote", getTestFile("src/test/remote-repository").toURI().toString(), layout, policy, policy));
+    }
+
+    private static MavenProject createProject(String artifactId, List<ArtifactRepository> repositories) {
+        Model model = new Model();
+        model.setGroupId("groupId");
+        model.setArtifactId(artifactId);
+        model.setVersion("1.0-SNAPSHOT");
+        model.setBuild(new Build());
+
+        MavenProject project = new MavenProject(model);
+        project.setRemoteArtifactRepositories(repositories);
+        project.setPluginArtifactRepositories(repositories);
+        return project;
+    }
+
+    private static Dependency createDependency(String groupId, String artifactId, String version) {
+        Dependency dependency = new Dependency();
+        dependency.setGroupId(groupId);
+        dependency.setArtifactId(artifactId);
+        dependency.setVersion(version);
+        return dependency;
+    }
+}
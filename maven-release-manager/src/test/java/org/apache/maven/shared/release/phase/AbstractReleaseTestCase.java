@@ -124,27 +124,7 @@ public abstract class AbstractReleaseTestCase extends PlexusJUnit4TestCase {
      */
     protected List<MavenProject> createReactorProjects(String sourcePath, String targetPath, String executionRoot)
             throws Exception {
-        final Path testCaseRootFrom =
-                Paths.get(getBasedir(), "src/test/resources").resolve(Paths.get("projects", sourcePath));
-
-        final Path testCaseRootTo = getWorkingDirectory(targetPath);
-
-        // Recopy the test resources since they are modified in some tests
-        Files.walkFileTree(testCaseRootFrom, new SimpleFileVisitor<Path>() {
-
-            @Override
-            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
-                Path relPath = testCaseRootFrom.relativize(file);
-
-                if (!relPath.toFile().getName().startsWith("expected-")) {
-                    Files.createDirectories(testCaseRootTo.resolve(relPath).getParent());
-
-                    Files.copy(file, testCaseRootTo.resolve(relPath), StandardCopyOption.REPLACE_EXISTING);
-                }
-
-                return FileVisitResult.CONTINUE;
-            }
-        });
+        final Path testCaseRootTo = copyTestProject(sourcePath, targetPath);
 
         Path projectFile;
         if (executionRoot == null) {
@@ -153,28 +133,9 @@ public abstract class AbstractReleaseTestCase extends PlexusJUnit4TestCase {
             projectFile = testCaseRootTo.resolve(Paths.get(executionRoot, "pom.xml"));
         }
 
-        List<ArtifactRepository> repos = Collections.singletonList(
-                new DefaultArtifactRepository("central", getRemoteRepositoryURL(), new DefaultRepositoryLayout()));
-
-        Repository repository = new Repository();
-        repository.setId("central");
-        repository.setUrl(getRemoteRepositoryURL());
-
-        Profile profile = new Profile();
-        profile.setId("profile");
-        profile.addRepository(repository);
-
-        ProjectBuildingRequest buildingRequest = new DefaultProjectBuildingRequest();
-        buildingRequest.setLocalRepository(localRepository);
-        buildingRequest.setRemoteRepositories(repos);
-        buildingRequest.setPluginArtifactRepositories(repos);
-        buildingRequest.setRepositoryMerging(RepositoryMerging.REQUEST_DOMINANT);
-        DefaultRepositorySystemSession repositorySession = new DefaultRepositorySystemSession();
-        repositorySession.setLocalRepositoryManager(new SimpleLocalRepositoryManagerFactory()
-                .newInstance(repositorySession, new LocalRepository(localRepository.getBasedir())));
-        buildingRequest.setRepositorySession(repositorySession);
-        buildingRequest.addProfile(profile);
-        buildingRequest.setActiveProfileIds(Collections.singletonList(profile.getId()));
+        ProjectBuildingRequest buildingRequest = createProjectBuildingRequest();
+        DefaultRepositorySystemSession repositorySession =
+                (DefaultRepositorySystemSession) buildingRequest.getRepositorySession();
         buildingRequest.setResolveDependencies(true);
 
         List<ProjectBuildingResult> buildingResults =
@@ -219,6 +180,72 @@ public abstract class AbstractReleaseTestCase extends PlexusJUnit4TestCase {
         return resolvedProjects;
     }
 
+    /**
+     * Copies a test project to the working directory, replacing the files of a previous copy.
+     *
+     * @param sourcePath sourceDirectory to copy from
+     * @param targetPath targetDirectory to copy to
+     * @return the copy of the project
+     * @throws IOException if the project can't be copied
+     */
+    protected Path copyTestProject(String sourcePath, String targetPath) throws IOException {
+        final Path testCaseRootFrom =
+                Paths.get(getBasedir(), "src/test/resources").resolve(Paths.get("projects", sourcePath));
+
+        final Path testCaseRootTo = getWorkingDirectory(targetPath);
+
+        // Recopy the test resources since they are modified in some tests
+        Files.walkFileTree(testCaseRootFrom, new SimpleFileVisitor<Path>() {
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                Path relPath = testCaseRootFrom.relativize(file);
+
+                if (!relPath.toFile().getName().startsWith("expected-")) {
+                    Files.createDirectories(testCaseRootTo.resolve(relPath).getParent());
+
+                    Files.copy(file, testCaseRootTo.resolve(relPath), StandardCopyOption.REPLACE_EXISTING);
+                }
+
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        return testCaseRootTo;
+    }
+
+    /**
+     * Creates a project building request using the test repositories, which doesn't resolve dependencies.
+     *
+     * @return the request, with a {@link DefaultRepositorySystemSession}
+     * @throws Exception if the local repository can't be set up
+     */
+    protected ProjectBuildingRequest createProjectBuildingRequest() throws Exception {
+        List<ArtifactRepository> repos = Collections.singletonList(
+                new DefaultArtifactRepository("central", getRemoteRepositoryURL(), new DefaultRepositoryLayout()));
+
+        Repository repository = new Repository();
+        repository.setId("central");
+        repository.setUrl(getRemoteRepositoryURL());
+
+        Profile profile = new Profile();
+        profile.setId("profile");
+        profile.addRepository(repository);
+
+        ProjectBuildingRequest buildingRequest = new DefaultProjectBuildingRequest();
+        buildingRequest.setLocalRepository(localRepository);
+        buildingRequest.setRemoteRepositories(repos);
+        buildingRequest.setPluginArtifactRepositories(repos);
+        buildingRequest.setRepositoryMerging(RepositoryMerging.REQUEST_DOMINANT);
+        DefaultRepositorySystemSession repositorySession = new DefaultRepositorySystemSession();
+        repositorySession.setLocalRepositoryManager(new SimpleLocalRepositoryManagerFactory()
+                .newInstance(repositorySession, new LocalRepository(localRepository.getBasedir())));
+        buildingRequest.setRepositorySession(repositorySession);
+        buildingRequest.addProfile(profile);
+        buildingRequest.setActiveProfileIds(Collections.singletonList(profile.getId()));
+
+        return buildingRequest;
+    }
+
     protected static Map<String, MavenProject> getProjectsAsMap(List<MavenProject> reactorProjects) {
         Map<String, MavenProject> map = new HashMap<>();
         for (MavenProject project : reactorProjects) {
@@ -30,11 +30,16 @@ import org.apache.maven.scm.manager.NoSuchScmProviderException;
 import org.apache.maven.scm.manager.ScmManager;
 import org.apache.maven.scm.provider.ScmProvider;
 import org.apache.maven.scm.repository.ScmRepositoryException;
+import org.apache.maven.shared.release.DefaultReleaseExecutionContext;
+import org.apache.maven.shared.release.ReleaseExecutionContext;
 import org.apache.maven.shared.release.ReleaseExecutionException;
 import org.apache.maven.shared.release.ReleaseFailureException;
+import org.apache.maven.shared.release.ReleaseResult;
+import org.apache.maven.shared.release.config.ReleaseDescriptor;
 import org.apache.maven.shared.release.config.ReleaseDescriptorBuilder;
 import org.apache.maven.shared.release.config.ReleaseUtils;
 import org.apache.maven.shared.release.env.DefaultReleaseEnvironment;
+import org.apache.maven.shared.release.env.ReleaseEnvironment;
 import org.apache.maven.shared.release.scm.DefaultScmRepositoryConfigurator;
 import org.apache.maven.shared.release.scm.ReleaseScmRepositoryException;
 import org.apache.maven.shared.release.scm.ScmRepositoryConfigurator;
@@ -75,12 +80,7 @@ public abstract class AbstractRewritingReleasePhaseTestCase extends AbstractRele
     @Override
     public void setUp() throws Exception {
         super.setUp();
-        phase = lookup(ReleasePhase.class, getRoleHint());
-
-        if (phase instanceof AbstractRewritePomsPhase) {
-            ((AbstractRewritePomsPhase) phase).setModelETL(modelETL);
-            ((AbstractRewritePomsPhase) phase).setStartTime(0);
-        }
+        phase = new StartedAtEpochPhase(lookup(ReleasePhase.class, getRoleHint()));
     }
 
     protected abstract String getRoleHint();
@@ -652,6 +652,7 @@ public abstract class AbstractRewritingReleasePhaseTestCase extends AbstractRele
         ReleaseDescriptorBuilder builder =
                 createDescriptorFromProjects(new ReleaseDescriptorBuilder(), reactorProjects);
         builder.setWorkingDirectory(getWorkingDirectory(workingDirectory).toString());
+        builder.setModelETL(modelETL);
         return builder;
     }
 
@@ -673,4 +674,61 @@ public abstract class AbstractRewritingReleasePhaseTestCase extends AbstractRele
 
         return builder;
     }
+
+    /**
+     * Runs the phase as part of a goal started at the epoch, so the rewritten POMs can be compared with the expected
+     * ones.
+     */
+    private static class StartedAtEpochPhase implements ReleasePhase, ResourceGenerator {
+        private final ReleaseExecutionContext executionContext = new DefaultReleaseExecutionContext("test", 1, 0);
+
+        private final ReleasePhase phase;
+
+        StartedAtEpochPhase(ReleasePhase phase) {
+            this.phase = phase;
+        }
+
+        @Override
+        public ReleaseResult execute(
+                ReleaseDescriptor releaseDescriptor,
+                ReleaseEnvironment releaseEnvironment,
+                List<MavenProject> reactorProjects)
+                throws ReleaseExecutionException, ReleaseFailureException {
+            return phase.execute(releaseDescriptor, releaseEnvironment, reactorProjects, executionContext);
+        }
+
+        @Override
+        public ReleaseResult simulate(
+                ReleaseDescriptor releaseDescriptor,
+                ReleaseEnvironment releaseEnvironment,
+                List<MavenProject> reactorProjects)
+                throws ReleaseExecutionException, ReleaseFailureException {
+            return phase.simulate(releaseDescriptor, releaseEnvironment, reactorProjects, executionContext);
+        }
+
+        @Override
+        public ReleaseResult execute(
+                ReleaseDescriptor releaseDescriptor,
+                ReleaseEnvironment releaseEnvironment,
+                List<MavenProject> reactorProjects,
+                ReleaseExecutionContext executionContext)
+                throws ReleaseExecutionException, ReleaseFailureException {
+            return phase.execute(releaseDescriptor, releaseEnvironment, reactorProjects, executionContext);
+        }
+
+        @Override
+        public ReleaseResult simulate(
+                ReleaseDescriptor releaseDescriptor,
+                ReleaseEnvironment releaseEnvironment,
+                List<MavenProject> reactorProjects,
+                ReleaseExecutionContext executionContext)
+                throws ReleaseExecutionException, ReleaseFailureException {
+            return phase.simulate(releaseDescriptor, releaseEnvironment, reactorProjects, executionContext);
+        }
+
+        @Override
+        public ReleaseResult clean(List<MavenProject> reactorProjects) {
+            return ((ResourceGenerator) phase).clean(reactorProjects);
+        }
+    }
 }
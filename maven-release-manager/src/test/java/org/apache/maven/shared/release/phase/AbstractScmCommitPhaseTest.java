@@ -19,16 +19,26 @@
 package org.apache.maven.shared.release.phase;
 
 import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import org.apache.maven.model.Model;
 import org.apache.maven.project.MavenProject;
+import org.apache.maven.shared.release.ReleaseResult;
+import org.apache.maven.shared.release.config.ReleaseDescriptor;
 import org.apache.maven.shared.release.config.ReleaseDescriptorBuilder;
 import org.apache.maven.shared.release.config.ReleaseUtils;
+import org.apache.maven.shared.release.env.DefaultReleaseEnvironment;
+import org.apache.maven.shared.release.env.ReleaseEnvironment;
+import org.apache.maven.shared.release.scm.ScmRepositoryConfigurator;
+import org.apache.maven.shared.release.util.ReactorIndex;
 import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
 
 public class AbstractScmCommitPhaseTest {
     @Test
@@ -75,13 +85,39 @@ public class AbstractScmCommitPhaseTest {
         assertTrue(files.contains(new File("pom.xml")));
     }
 
-    private static MavenProject createProject(String artifactId, String version, File file) {
+    @Test
+    @SuppressWarnings("deprecation")
+    public void testRunLogicOfReactorProjectsIsStillCalled() throws Exception {
+        final List<List<MavenProject>> calls = new ArrayList<>();
+        AbstractScmCommitPhase phase =
+                new AbstractScmCommitPhase(mock(ScmRepositoryConfigurator.class), "getScmReleaseCommitComment") {
+                    @Override
+                    protected void runLogic(
+                            ReleaseDescriptor releaseDescriptor,
+                            ReleaseEnvironment releaseEnvironment,
+                            List<MavenProject> reactorProjects,
+                            ReleaseResult result,
+                            boolean simulating) {
+                        calls.add(reactorProjects);
+                    }
+                };
+        ReleaseDescriptorBuilder builder = new ReleaseDescriptorBuilder();
+        builder.setScmReleaseLabel("release-label");
+        List<MavenProject> reactorProjects = Collections.singletonList(new MavenProject());
+
+        phase.execute(ReleaseUtils.buildReleaseDescriptor(builder), new DefaultReleaseEnvironment(), reactorProjects);
+
+        assertEquals(Collections.singletonList(reactorProjects), calls);
+        assertSame(reactorProjects, calls.get(0));
+    }
+
+    private static ReactorIndex.Module createProject(String artifactId, String version, File file) {
         Model model = new Model();
         model.setGroupId("groupId");
         model.setArtifactId(artifactId);
         model.setVersion(version);
         MavenProject project = new MavenProject(model);
         project.setFile(file);
-        return project;
+        return ReactorIndex.of(Collections.singletonList(project)).getRoot();
     }
 }
@@ -19,6 +19,9 @@
 package org.apache.maven.shared.release.phase;
 
 import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Collections;
 import java.util.List;
 
 import org.apache.maven.project.MavenProject;
@@ -29,6 +32,7 @@ import org.apache.maven.scm.command.checkout.CheckOutScmResult;
 import org.apache.maven.scm.manager.NoSuchScmProviderException;
 import org.apache.maven.scm.manager.ScmManager;
 import org.apache.maven.scm.provider.ScmProvider;
+import org.apache.maven.scm.provider.git.repository.GitScmProviderRepository;
 import org.apache.maven.scm.provider.svn.repository.SvnScmProviderRepository;
 import org.apache.maven.scm.repository.ScmRepository;
 import org.apache.maven.scm.repository.ScmRepositoryException;
@@ -38,11 +42,18 @@ import org.apache.maven.shared.release.config.ReleaseUtils;
 import org.apache.maven.shared.release.env.DefaultReleaseEnvironment;
 import org.apache.maven.shared.release.scm.ReleaseScmRepositoryException;
 import org.apache.maven.shared.release.stubs.ScmManagerStub;
+import org.codehaus.plexus.util.FileUtils;
+import org.codehaus.plexus.util.cli.CommandLineException;
+import org.codehaus.plexus.util.cli.CommandLineUtils;
+import org.codehaus.plexus.util.cli.Commandline;
 import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
+import static org.junit.Assume.assumeTrue;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
@@ -105,6 +116,192 @@ public class CheckoutProjectFromScmTest extends AbstractReleaseTestCase {
         verifyNoMoreInteractions(scmProviderMock);
     }
 
+    @Test
+    public void testExecuteWithCheckoutCache() throws Exception {
+        assumeTrue("git is not available", git(new File("."), "--version"));
+
+        // prepare
+        File origin = getTestFile("target/checkout-test/cache-origin");
+        createOrigin(origin, "release-label");
+
+        ReleaseDescriptorBuilder builder = new ReleaseDescriptorBuilder();
+        File checkoutDirectory = getTestFile("target/checkout-test/cached");
+        File cacheDirectory = getTestFile("target/checkout-test/cache");
+        FileUtils.deleteDirectory(cacheDirectory);
+        builder.setCheckoutDirectory(checkoutDirectory.getAbsolutePath());
+        builder.setCheckoutCacheDirectory(cacheDirectory.getAbsolutePath());
+        builder.setScmReleaseLabel("release-label");
+        String sourceUrl = "file://" + origin.getAbsoluteFile().toURI().getPath();
+        String scmUrl = "scm:git:" + sourceUrl;
+        builder.setScmSourceUrl(scmUrl);
+
+        File repositoryCache = new File(cacheDirectory, sha1(scmUrl));
+        String cachePath = repositoryCache.getAbsoluteFile().toURI().getPath();
+        if (cachePath.endsWith("/")) {
+            cachePath = cachePath.substring(0, cachePath.length() - 1);
+        }
+        String cacheUrl = "scm:git:file://" + cachePath;
+
+        // a cache left half created by an interrupted release
+        assertTrue(new File(repositoryCache, "objects").mkdirs());
+
+        ScmProvider scmProviderMock = mock(ScmProvider.class);
+        ScmRepository repository = new ScmRepository("git", new GitScmProviderRepository(sourceUrl));
+        ScmRepository cacheRepository = new ScmRepository("git", new GitScmProviderRepository("file://" + cachePath));
+        when(scmProviderMock.checkOut(
+                        eq(cacheRepository),
+                        argThat(new IsScmFileSetEquals(new ScmFileSet(checkoutDirectory))),
+                        argThat(new IsScmTagEquals(new ScmTag("release-label"))),
+                        argThat(new HasCommandParameter(CommandParameter.SHALLOW, true))))
+                .thenReturn(new CheckOutScmResult("", null));
+        when(scmProviderMock.checkOut(
+                        eq(cacheRepository),
+                        argThat(new IsScmFileSetEquals(new ScmFileSet(checkoutDirectory))),
+                        argThat(new IsScmTagEquals(new ScmTag("next-label"))),
+                        argThat(new HasCommandParameter(CommandParameter.SHALLOW, true))))
+                .thenReturn(new CheckOutScmResult("", null));
+
+        ScmManagerStub stub = (ScmManagerStub) lookup(ScmManager.class);
+        stub.setScmProvider(scmProviderMock);
+        stub.addScmRepositoryForUrl(scmUrl, repository);
+        stub.addScmRepositoryForUrl(cacheUrl, cacheRepository);
+
+        String dir = "scm-commit/single-pom";
+        List<MavenProject> reactorProjects = createReactorProjects(dir, dir, null);
+        builder.setWorkingDirectory(getWorkingDirectory(dir).toString());
+
+        // execute: the cache is created
+        phase.execute(ReleaseUtils.buildReleaseDescriptor(builder), new DefaultReleaseEnvironment(), reactorProjects);
+
+        // verify
+        // a bare repository, next to its lock
+        assertTrue(new File(repositoryCache, "HEAD").isFile());
+        assertFalse(new File(repositoryCache, ".git").exists());
+        assertFalse(new File(repositoryCache, "project").exists());
+        assertTrue(new File(cacheDirectory, repositoryCache.getName() + ".lock").exists());
+        assertTrue(git(repositoryCache, "rev-parse", "--verify", "refs/tags/release-label"));
+        // the half created cache was moved away, then deleted
+        assertEquals(2, cacheDirectory.list().length);
+
+        // execute: the cache is updated with the new tag
+        assertTrue(git(origin, "tag", "next-label"));
+        builder.setScmReleaseLabel("next-label");
+        phase.execute(ReleaseUtils.buildReleaseDescriptor(builder), new DefaultReleaseEnvironment(), reactorProjects);
+
+        // verify
+        assertTrue(git(repositoryCache, "rev-parse", "--verify", "refs/tags/next-label"));
+        verify(scmProviderMock)
+                .checkOut(
+                        eq(cacheRepository),
+                        argThat(new IsScmFileSetEquals(new ScmFileSet(checkoutDirectory))),
+                        argThat(new IsScmTagEquals(new ScmTag("release-label"))),
+                        argThat(new HasCommandParameter(CommandParameter.SHALLOW, true)));
+        verify(scmProviderMock)
+                .checkOut(
+                        eq(cacheRepository),
+                        argThat(new IsScmFileSetEquals(new ScmFileSet(checkoutDirectory))),
+                        argThat(new IsScmTagEquals(new ScmTag("next-label"))),
+                        argThat(new HasCommandParameter(CommandParameter.SHALLOW, true)));
+        verifyNoMoreInteractions(scmProviderMock);
+    }
+
+    @Test
+    public void testExecuteSparseCheckout() throws Exception {
+        assumeTrue("git is not available", git(new File("."), "--version"));
+
+        File origin = getTestFile("target/checkout-test/sparse-origin");
+        executeSparseCheckout(origin, new File(origin, "project"), getTestFile("target/checkout-test/sparse"));
+    }
+
+    @Test
+    public void testExecuteSparseCheckoutOfRootProject() throws Exception {
+        assumeTrue("git is not available", git(new File("."), "--version"));
+
+        // the subtree follows the root project, even if the release runs from another directory
+        File origin = getTestFile("target/checkout-test/sparse-root-origin");
+        executeSparseCheckout(origin, origin, getTestFile("target/checkout-test/sparse-root"));
+    }
+
+    private void executeSparseCheckout(File origin, File workingDirectory, File checkoutDirectory) throws Exception {
+        // prepare
+        createOrigin(origin, "release-label");
+
+        ReleaseDescriptorBuilder builder = new ReleaseDescriptorBuilder();
+        builder.setCheckoutDirectory(checkoutDirectory.getAbsolutePath());
+        builder.setScmReleaseLabel("release-label");
+        builder.setScmSparseCheckout(true);
+        String sourceUrl = "file://" + origin.getAbsoluteFile().toURI().getPath();
+        String scmUrl = "scm:git:" + sourceUrl;
+        builder.setScmSourceUrl(scmUrl);
+        builder.setWorkingDirectory(workingDirectory.getAbsolutePath());
+
+        ScmProvider scmProviderMock = mock(ScmProvider.class);
+        ScmManagerStub stub = (ScmManagerStub) lookup(ScmManager.class);
+        stub.setScmProvider(scmProviderMock);
+        stub.addScmRepositoryForUrl(scmUrl, new ScmRepository("git", new GitScmProviderRepository(sourceUrl)));
+
+        MavenProject rootProject = new MavenProject();
+        rootProject.setFile(new File(origin, "project/pom.xml"));
+        rootProject.setExecutionRoot(true);
+
+        // execute
+        phase.execute(
+                ReleaseUtils.buildReleaseDescriptor(builder),
+                new DefaultReleaseEnvironment(),
+                Collections.singletonList(rootProject));
+
+        // verify
+        assertEquals("project", ReleaseUtils.buildReleaseDescriptor(builder).getScmRelativePathProjectDirectory());
+        assertTrue(new File(checkoutDirectory, "project/pom.xml").exists());
+        assertFalse(new File(checkoutDirectory, "unrelated/data.txt").exists());
+        verifyNoMoreInteractions(scmProviderMock);
+    }
+
+    private static void createOrigin(File origin, String tag) throws Exception {
+        FileUtils.deleteDirectory(origin);
+        new File(origin, "project").mkdirs();
+        new File(origin, "unrelated").mkdirs();
+        FileUtils.fileWrite(new File(origin, "project/pom.xml"), "<project/>");
+        FileUtils.fileWrite(new File(origin, "unrelated/data.txt"), "unrelated");
+        assertTrue(git(origin, "init", "-q"));
+        assertTrue(git(origin, "add", "."));
+        assertTrue(git(
+                origin,
+                "-c",
+                "user.name=release",
+                "-c",
+                "user.email=release@localhost",
+                "commit",
+                "-q",
+                "-m",
+                "initial"));
+        assertTrue(git(origin, "tag", tag));
+    }
+
+    private static String sha1(String value) throws Exception {
+        StringBuilder hex = new StringBuilder();
+        for (byte b : MessageDigest.getInstance("SHA-1").digest(value.getBytes(StandardCharsets.UTF_8))) {
+            hex.append(String.format("%02x", b));
+        }
+        return hex.toString();
+    }
+
+    private static boolean git(File workingDirectory, String... arguments) {
+        Commandline cl = new Commandline();
+        cl.setExecutable("git");
+        cl.setWorkingDirectory(workingDirectory);
+        cl.addArguments(arguments);
+        try {
+            return CommandLineUtils.executeCommandLine(
+                            cl,
+                            new CommandLineUtils.StringStreamConsumer(),
+                            new CommandLineUtils.StringStreamConsumer())
+                    == 0;
+        } catch (CommandLineException e) {
+            return false;
+        }
+    }
+
     @Test
     public void testExecuteMultiModuleWithDeepSubprojects() throws Exception {
         // prepare
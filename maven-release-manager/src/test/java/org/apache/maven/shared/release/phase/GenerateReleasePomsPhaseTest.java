@@ -46,6 +46,7 @@ import org.apache.maven.shared.release.scm.ScmTranslator;
 import org.apache.maven.shared.release.util.ReleaseUtil;
 import org.junit.Test;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.argThat;
 import static org.mockito.Matchers.isA;
@@ -169,6 +170,33 @@ public class GenerateReleasePomsPhaseTest extends AbstractRewritingReleasePhaseT
         assertTrue(comparePomFiles(reactorProjects));
     }
 
+    @Test
+    public void testProjectModelIsNotModified() throws Exception {
+        List<MavenProject> reactorProjects = createReactorProjects("pom-with-finalname");
+        ReleaseDescriptorBuilder builder =
+                createConfigurationForWithParentNextVersion(reactorProjects, "pom-with-finalname");
+        builder.setGenerateReleasePoms(true);
+
+        List<String> versions = new ArrayList<>();
+        List<String> resourceDirectories = new ArrayList<>();
+        for (MavenProject project : reactorProjects) {
+            versions.add(project.getVersion());
+            resourceDirectories.add(project.getBuild().getResources().get(0).getDirectory());
+        }
+
+        phase.execute(ReleaseUtils.buildReleaseDescriptor(builder), new DefaultReleaseEnvironment(), reactorProjects);
+
+        assertTrue(comparePomFiles(reactorProjects));
+        for (int i = 0; i < reactorProjects.size(); i++) {
+            MavenProject project = reactorProjects.get(i);
+            assertEquals(versions.get(i), project.getVersion());
+            assertEquals(
+                    resourceDirectories.get(i),
+                    project.getBuild().getResources().get(0).getDirectory());
+            assertEquals(project.hasParent(), project.getModel().getParent() != null);
+        }
+    }
+
     /*
      * @see
      * org.apache.maven.shared.release.phase.AbstractRewritingReleasePhaseTestCase#createDescriptorFromProjects(java.
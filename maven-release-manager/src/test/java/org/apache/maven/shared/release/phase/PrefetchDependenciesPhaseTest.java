@@ -0,0 +1,85 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.shared.release.phase;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.maven.project.MavenProject;
+import org.apache.maven.shared.release.ReleaseResult;
+import org.apache.maven.shared.release.config.ReleaseDescriptorBuilder;
+import org.apache.maven.shared.release.config.ReleaseUtils;
+import org.apache.maven.shared.release.env.DefaultReleaseEnvironment;
+import org.apache.maven.shared.release.env.ReleaseEnvironment;
+import org.apache.maven.shared.release.exec.LocalRepositoryPrefetcher;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+
+/**
+ * Test the dependency prefetching phase.
+ */
+public class PrefetchDependenciesPhaseTest {
+    private final LocalRepositoryPrefetcher prefetcher = mock(LocalRepositoryPrefetcher.class);
+
+    private final ReleasePhase phase = new PrefetchDependenciesPhase(prefetcher);
+
+    private final List<MavenProject> reactorProjects = Collections.singletonList(new MavenProject());
+
+    @Test
+    public void testDisabled() throws Exception {
+        ReleaseDescriptorBuilder builder = new ReleaseDescriptorBuilder();
+        ReleaseEnvironment environment = new DefaultReleaseEnvironment().setLocalRepositoryDirectory(new File("repo"));
+
+        ReleaseResult result =
+                phase.execute(ReleaseUtils.buildReleaseDescriptor(builder), environment, reactorProjects);
+
+        assertEquals(ReleaseResult.SUCCESS, result.getResultCode());
+        verifyZeroInteractions(prefetcher);
+    }
+
+    @Test
+    public void testNoLocalRepository() throws Exception {
+        ReleaseDescriptorBuilder builder = new ReleaseDescriptorBuilder();
+        builder.setPrefetchDependencies(true);
+
+        ReleaseResult result = phase.execute(
+                ReleaseUtils.buildReleaseDescriptor(builder), new DefaultReleaseEnvironment(), reactorProjects);
+
+        assertEquals(ReleaseResult.SUCCESS, result.getResultCode());
+        verifyZeroInteractions(prefetcher);
+    }
+
+    @Test
+    public void testPrefetch() throws Exception {
+        ReleaseDescriptorBuilder builder = new ReleaseDescriptorBuilder();
+        builder.setPrefetchDependencies(true);
+        ReleaseEnvironment environment = new DefaultReleaseEnvironment().setLocalRepositoryDirectory(new File("repo"));
+
+        ReleaseResult result =
+                phase.simulate(ReleaseUtils.buildReleaseDescriptor(builder), environment, reactorProjects);
+
+        assertEquals(ReleaseResult.SUCCESS, result.getResultCode());
+        verify(prefetcher).prefetch(reactorProjects, environment);
+    }
+}
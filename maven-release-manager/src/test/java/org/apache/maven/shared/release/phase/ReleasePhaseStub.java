@@ -21,6 +21,7 @@ package org.apache.maven.shared.release.phase;
 import java.util.List;
 
 import org.apache.maven.project.MavenProject;
+import org.apache.maven.shared.release.ReleaseExecutionContext;
 import org.apache.maven.shared.release.ReleaseResult;
 import org.apache.maven.shared.release.config.ReleaseDescriptor;
 import org.apache.maven.shared.release.env.ReleaseEnvironment;
@@ -46,6 +47,11 @@ public class ReleasePhaseStub implements ReleasePhase, ResourceGenerator {
      */
     private boolean cleaned;
 
+    /**
+     * The context of the goal which last ran the phase.
+     */
+    private ReleaseExecutionContext executionContext;
+
     @Override
     public ReleaseResult execute(
             ReleaseDescriptor releaseDescriptor,
@@ -74,6 +80,26 @@ public class ReleasePhaseStub implements ReleasePhase, ResourceGenerator {
         return result;
     }
 
+    @Override
+    public ReleaseResult execute(
+            ReleaseDescriptor releaseDescriptor,
+            ReleaseEnvironment releaseEnvironment,
+            List<MavenProject> reactorProjects,
+            ReleaseExecutionContext executionContext) {
+        this.executionContext = executionContext;
+        return execute(releaseDescriptor, releaseEnvironment, reactorProjects);
+    }
+
+    @Override
+    public ReleaseResult simulate(
+            ReleaseDescriptor releaseDescriptor,
+            ReleaseEnvironment releaseEnvironment,
+            List<MavenProject> reactorProjects,
+            ReleaseExecutionContext executionContext) {
+        this.executionContext = executionContext;
+        return simulate(releaseDescriptor, releaseEnvironment, reactorProjects);
+    }
+
     @Override
     public ReleaseResult clean(List<MavenProject> reactorProjects) {
         ReleaseResult result = new ReleaseResult();
@@ -96,4 +122,8 @@ public class ReleasePhaseStub implements ReleasePhase, ResourceGenerator {
     public boolean isCleaned() {
         return cleaned;
     }
+
+    public ReleaseExecutionContext getExecutionContext() {
+        return executionContext;
+    }
 }
@@ -384,7 +384,6 @@ public class RewritePomsForBranchPhaseTest extends AbstractEditModeRewritingRele
         ReleaseDescriptorBuilder builder = createDescriptorFromProjects(reactorProjects, "cdata-section");
         mapNextVersion(builder, "groupId:artifactId");
 
-        AbstractRewritePomsPhase phase = (AbstractRewritePomsPhase) this.phase;
         ReleaseDescriptorBuilder.BuilderReleaseDescriptor builderReleaseDescriptor =
                 ReleaseUtils.buildReleaseDescriptor(builder);
         builderReleaseDescriptor.setLineSeparator("\r\n");
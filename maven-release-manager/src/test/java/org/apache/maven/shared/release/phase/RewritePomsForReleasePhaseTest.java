@@ -26,6 +26,11 @@ import java.util.List;
 import java.util.Objects;
 
 import org.apache.maven.project.MavenProject;
+import org.apache.maven.scm.repository.ScmRepository;
+import org.apache.maven.shared.release.DefaultReleaseExecutionContext;
+import org.apache.maven.shared.release.ReleaseExecutionContext;
+import org.apache.maven.shared.release.ReleaseResult;
+import org.apache.maven.shared.release.config.ReleaseDescriptor;
 import org.apache.maven.shared.release.config.ReleaseDescriptorBuilder;
 import org.apache.maven.shared.release.config.ReleaseUtils;
 import org.apache.maven.shared.release.env.DefaultReleaseEnvironment;
@@ -153,6 +158,25 @@ public class RewritePomsForReleasePhaseTest extends AbstractEditModeRewritingRel
         assertTrue(comparePomFiles(reactorProjects));
     }
 
+    @Test
+    public void testScmRepositoryIsConfiguredOncePerGoal() throws Exception {
+        List<MavenProject> reactorProjects = createReactorProjects("pom-with-parent");
+        ReleaseDescriptorBuilder builder =
+                createConfigurationForWithParentNextVersion(reactorProjects, "pom-with-parent");
+        ReleaseDescriptor descriptor = ReleaseUtils.buildReleaseDescriptor(builder);
+
+        try (DefaultReleaseExecutionContext context = new DefaultReleaseExecutionContext("prepare", 1)) {
+            phase.simulate(descriptor, new DefaultReleaseEnvironment(), reactorProjects, context);
+            phase.simulate(descriptor, new DefaultReleaseEnvironment(), reactorProjects, context);
+
+            ReleaseExecutionContext.CacheStats stats = context.getCache(
+                            AbstractRewritePomsPhase.SCM_REPOSITORIES_CACHE, String.class, ScmRepository.class)
+                    .getStats();
+            assertEquals(1, stats.getMissCount());
+            assertEquals(1, stats.getHitCount());
+        }
+    }
+
     @Override
     protected void mapAlternateNextVersion(ReleaseDescriptorBuilder config, String projectId) {
         config.addReleaseVersion(projectId, ALTERNATIVE_NEXT_VERSION);
@@ -385,7 +409,6 @@ public class RewritePomsForReleasePhaseTest extends AbstractEditModeRewritingRel
         ReleaseDescriptorBuilder builder = createDescriptorFromProjects(reactorProjects, "cdata-section");
         mapNextVersion(builder, "groupId:artifactId");
 
-        RewritePomsForReleasePhase phase = (RewritePomsForReleasePhase) this.phase;
         ReleaseDescriptorBuilder.BuilderReleaseDescriptor builderReleaseDescriptor =
                 ReleaseUtils.buildReleaseDescriptor(builder);
         builderReleaseDescriptor.setLineSeparator("\r\n");
@@ -440,4 +463,17 @@ public class RewritePomsForReleasePhaseTest extends AbstractEditModeRewritingRel
 
         assertTrue(comparePomFiles(reactorProjects));
     }
+
+    @Test
+    public void testSkipCoordinatesOutsideRelease() throws Exception {
+        List<MavenProject> reactorProjects = createReactorProjects("internal-snapshot-plugin-deps");
+        ReleaseDescriptorBuilder builder = createDefaultConfiguration(reactorProjects, "internal-snapshot-plugin-deps");
+
+        ReleaseResult result = phase.execute(
+                ReleaseUtils.buildReleaseDescriptor(builder), new DefaultReleaseEnvironment(), reactorProjects);
+
+        assertTrue(comparePomFiles(reactorProjects));
+        // the external plugins and plugin dependency are rejected upfront
+        assertTrue(result.getOutput(), result.getOutput().contains("Skipped 4 of 7 coordinates"));
+    }
 }
@@ -19,9 +19,12 @@
 package org.apache.maven.shared.release.phase;
 
 import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.Collections;
 import java.util.List;
 
+import org.apache.maven.model.Build;
 import org.apache.maven.project.MavenProject;
 import org.apache.maven.scm.CommandParameters;
 import org.apache.maven.scm.ScmFile;
@@ -42,9 +45,13 @@ import org.apache.maven.shared.release.env.ReleaseEnvironment;
 import org.apache.maven.shared.release.exec.MavenExecutor;
 import org.apache.maven.shared.release.exec.MavenExecutorException;
 import org.apache.maven.shared.release.stubs.MavenExecutorWrapper;
+import org.apache.maven.shared.release.util.ReleaseFingerprint;
+import org.codehaus.plexus.util.FileUtils;
 import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
@@ -156,6 +163,81 @@ public class RunPerformGoalsPhaseTest extends PlexusJUnit4TestCase {
         verifyNoMoreInteractions(mock);
     }
 
+    @Test
+    public void testSkipTestsOfPreparedRelease() throws Exception {
+        // prepare
+        File workingDirectory = createPreparedTree("reuse-prepared");
+        File checkoutDirectory = new File(workingDirectory, "target/checkout");
+        List<MavenProject> reactorProjects = createPreparedReactor(workingDirectory);
+
+        ReleaseDescriptorBuilder builder = new ReleaseDescriptorBuilder();
+        builder.setPerformGoals("goal1 goal2");
+        builder.setWorkingDirectory(workingDirectory.getAbsolutePath());
+        builder.setCheckoutDirectory(checkoutDirectory.getAbsolutePath());
+        builder.setSkipPerformTests(true);
+        builder.setPreparedArtifactsFingerprint(ReleaseFingerprint.compute(
+                workingDirectory, ReleaseFingerprint.getBuildDirectories(workingDirectory, reactorProjects)));
+
+        MavenExecutor mock = mock(MavenExecutor.class);
+        mavenExecutorWrapper.setMavenExecutor(mock);
+
+        // execute
+        phase.execute(ReleaseUtils.buildReleaseDescriptor(builder), releaseEnvironment, reactorProjects);
+
+        // verify
+        verify(mock)
+                .executeGoals(
+                        eq(checkoutDirectory),
+                        eq("goal1 goal2"),
+                        isA(ReleaseEnvironment.class),
+                        eq(true),
+                        eq("-DperformRelease=true -f pom.xml -DskipTests"),
+                        isNull(),
+                        isA(ReleaseResult.class));
+        verifyNoMoreInteractions(mock);
+
+        assertTrue(new File(checkoutDirectory, "target/classes/Foo.class").exists());
+        assertFalse(new File(checkoutDirectory, "target/checkout").exists());
+    }
+
+    @Test
+    public void testRunTestsOfMismatchingRelease() throws Exception {
+        // prepare
+        File workingDirectory = createPreparedTree("reuse-prepared-mismatch");
+        File checkoutDirectory = new File(workingDirectory, "target/checkout");
+        List<MavenProject> reactorProjects = createPreparedReactor(workingDirectory);
+
+        ReleaseDescriptorBuilder builder = new ReleaseDescriptorBuilder();
+        builder.setPerformGoals("goal1 goal2");
+        builder.setWorkingDirectory(workingDirectory.getAbsolutePath());
+        builder.setCheckoutDirectory(checkoutDirectory.getAbsolutePath());
+        builder.setSkipPerformTests(true);
+        builder.setPreparedArtifactsFingerprint(ReleaseFingerprint.compute(
+                workingDirectory, ReleaseFingerprint.getBuildDirectories(workingDirectory, reactorProjects)));
+
+        write(new File(checkoutDirectory, "src/main/java/Foo.java"), "class Foo { int changed; }");
+
+        MavenExecutor mock = mock(MavenExecutor.class);
+        mavenExecutorWrapper.setMavenExecutor(mock);
+
+        // execute
+        phase.execute(ReleaseUtils.buildReleaseDescriptor(builder), releaseEnvironment, reactorProjects);
+
+        // verify
+        verify(mock)
+                .executeGoals(
+                        eq(checkoutDirectory),
+                        eq("goal1 goal2"),
+                        isA(ReleaseEnvironment.class),
+                        eq(true),
+                        eq("-DperformRelease=true -f pom.xml"),
+                        isNull(),
+                        isA(ReleaseResult.class));
+        verifyNoMoreInteractions(mock);
+
+        assertFalse(new File(checkoutDirectory, "target").exists());
+    }
+
     public void testReleasePerformWithArgumentsNoReleaseProfile() throws Exception {
         // prepare
         ReleaseDescriptorBuilder builder = new ReleaseDescriptorBuilder();
@@ -389,4 +471,32 @@ public class RunPerformGoalsPhaseTest extends PlexusJUnit4TestCase {
         project.setFile(getTestFile("target/dummy-project/pom.xml"));
         return Collections.singletonList(project);
     }
+
+    private static File createPreparedTree(String name) throws Exception {
+        File workingDirectory = getTestFile("target/" + name);
+        FileUtils.deleteDirectory(workingDirectory);
+
+        // the prepared working copy with its build outputs, and the checkout of the release tag inside of them
+        for (File basedir : new File[] {workingDirectory, new File(workingDirectory, "target/checkout")}) {
+            write(new File(basedir, "src/main/java/Foo.java"), "class Foo {}");
+            write(new File(basedir, "pom.xml"), "<project/>");
+        }
+        write(new File(workingDirectory, "target/classes/Foo.class"), "compiled");
+        write(new File(workingDirectory, "release.properties"), "completedPhase=end-release");
+        return workingDirectory;
+    }
+
+    private static List<MavenProject> createPreparedReactor(File workingDirectory) {
+        Build build = new Build();
+        build.setDirectory(new File(workingDirectory, "target").getAbsolutePath());
+        MavenProject project = new MavenProject();
+        project.setFile(new File(workingDirectory, "pom.xml"));
+        project.getModel().setBuild(build);
+        return Collections.singletonList(project);
+    }
+
+    private static void write(File file, String content) throws Exception {
+        file.getParentFile().mkdirs();
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+    }
 }
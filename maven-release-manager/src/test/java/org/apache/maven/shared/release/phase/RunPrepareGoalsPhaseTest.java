@@ -19,13 +19,27 @@
 package org.apache.maven.shared.release.phase;
 
 import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
+import org.apache.maven.model.Build;
 import org.apache.maven.project.MavenProject;
+import org.apache.maven.scm.ScmFile;
+import org.apache.maven.scm.ScmFileSet;
+import org.apache.maven.scm.ScmFileStatus;
+import org.apache.maven.scm.ScmVersion;
+import org.apache.maven.scm.command.list.ListScmResult;
+import org.apache.maven.scm.manager.ScmManager;
+import org.apache.maven.scm.provider.ScmProvider;
+import org.apache.maven.scm.repository.ScmRepository;
 import org.apache.maven.shared.release.PlexusJUnit4TestCase;
 import org.apache.maven.shared.release.ReleaseExecutionException;
 import org.apache.maven.shared.release.ReleaseFailureException;
 import org.apache.maven.shared.release.ReleaseResult;
+import org.apache.maven.shared.release.config.ReleaseDescriptor;
 import org.apache.maven.shared.release.config.ReleaseDescriptorBuilder;
 import org.apache.maven.shared.release.config.ReleaseUtils;
 import org.apache.maven.shared.release.env.DefaultReleaseEnvironment;
@@ -33,9 +47,14 @@ import org.apache.maven.shared.release.env.ReleaseEnvironment;
 import org.apache.maven.shared.release.exec.MavenExecutor;
 import org.apache.maven.shared.release.exec.MavenExecutorException;
 import org.apache.maven.shared.release.stubs.MavenExecutorWrapper;
+import org.apache.maven.shared.release.stubs.ScmManagerStub;
+import org.apache.maven.shared.release.util.ReleaseFingerprint;
+import org.codehaus.plexus.util.FileUtils;
 import org.junit.Test;
 
+import static org.apache.maven.shared.release.phase.SelectChangedProjectsPhaseTest.createProject;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Matchers.isA;
@@ -44,6 +63,7 @@ import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
 
 /**
  * Test the simple test running phase.
@@ -240,4 +260,120 @@ public class RunPrepareGoalsPhaseTest extends PlexusJUnit4TestCase {
         // no invocations of mock
         verifyNoMoreInteractions(mock);
     }
+
+    @Test
+    public void testExecuteChangedSince() throws Exception {
+        // prepare
+        File testFile = getTestFile("target/working-directory");
+
+        ReleaseDescriptorBuilder builder = new ReleaseDescriptorBuilder();
+        builder.setPreparationGoals("clean integration-test");
+        builder.setPreparationChangedSince("artifactId-1.0");
+        builder.setPreparationProjects("groupId:module-b,groupId:module-c");
+        builder.setAdditionalArguments("-Dkey=value");
+        builder.setWorkingDirectory(testFile.getAbsolutePath());
+
+        List<MavenProject> reactorProjects = Arrays.asList(
+                createProject(testFile, "root", null),
+                createProject(new File(testFile, "module-a"), "module-a", "root"),
+                createProject(new File(testFile, "module-b"), "module-b", "root"),
+                createProject(new File(testFile, "module-c"), "module-c", "root", "module-b"));
+
+        MavenExecutor mock = mock(MavenExecutor.class);
+        mavenExecutorWrapper.setMavenExecutor(mock);
+
+        // execute
+        ReleaseResult result =
+                phase.execute(ReleaseUtils.buildReleaseDescriptor(builder), releaseEnvironment, reactorProjects);
+
+        // verify
+        verify(mock)
+                .executeGoals(
+                        eq(testFile),
+                        eq("clean integration-test"),
+                        isA(ReleaseEnvironment.class),
+                        eq(true),
+                        eq("-Dkey=value --projects groupId:module-b,groupId:module-c --also-make"),
+                        isNull(),
+                        isA(ReleaseResult.class));
+        verifyNoMoreInteractions(mock);
+        assertTrue(result.getOutput(), result.getOutput().contains("2 of 4 modules changed since 'artifactId-1.0'"));
+    }
+
+    @Test
+    public void testExecuteNothingChangedSince() throws Exception {
+        // prepare
+        File testFile = getTestFile("target/working-directory");
+
+        ReleaseDescriptorBuilder builder = new ReleaseDescriptorBuilder();
+        builder.setPreparationGoals("clean integration-test");
+        builder.setPreparationChangedSince("artifactId-1.0");
+        builder.setPreparationProjects("");
+        builder.setWorkingDirectory(testFile.getAbsolutePath());
+
+        MavenExecutor mock = mock(MavenExecutor.class);
+        mavenExecutorWrapper.setMavenExecutor(mock);
+
+        // execute
+        phase.execute(
+                ReleaseUtils.buildReleaseDescriptor(builder),
+                releaseEnvironment,
+                Collections.singletonList(createProject(testFile, "root", null)));
+
+        // verify
+        verifyNoMoreInteractions(mock);
+    }
+
+    @Test
+    public void testRecordsFingerprintOfTrackedFiles() throws Exception {
+        // prepare
+        File workingDirectory = getTestFile("target/prepared-fingerprint/working-copy");
+        File checkoutDirectory = getTestFile("target/prepared-fingerprint/checkout");
+        FileUtils.deleteDirectory(workingDirectory.getParentFile());
+        for (File basedir : new File[] {workingDirectory, checkoutDirectory}) {
+            write(new File(basedir, "pom.xml"), "<project/>");
+            write(new File(basedir, "src/main/java/Foo.java"), "class Foo {}");
+        }
+        // not part of the release tag
+        write(new File(workingDirectory, "notes.txt"), "untracked");
+        write(new File(workingDirectory, "target/classes/Foo.class"), "compiled");
+
+        MavenProject project = createProject(workingDirectory, "artifactId", null);
+        Build build = new Build();
+        build.setDirectory(new File(workingDirectory, "target").getAbsolutePath());
+        project.getModel().setBuild(build);
+        List<MavenProject> reactorProjects = Collections.singletonList(project);
+
+        ReleaseDescriptorBuilder builder = new ReleaseDescriptorBuilder();
+        builder.setPreparationGoals("clean integration-test");
+        builder.setWorkingDirectory(workingDirectory.getAbsolutePath());
+        builder.setScmSourceUrl("scm:svn:file://localhost/tmp/scm-repo/trunk");
+        builder.setSkipPerformTests(true);
+        ReleaseDescriptor releaseDescriptor = ReleaseUtils.buildReleaseDescriptor(builder);
+
+        ScmProvider scmProviderMock = mock(ScmProvider.class);
+        when(scmProviderMock.list(isA(ScmRepository.class), isA(ScmFileSet.class), eq(true), isNull(ScmVersion.class)))
+                .thenReturn(new ListScmResult(
+                        "",
+                        Arrays.asList(
+                                new ScmFile("pom.xml", ScmFileStatus.CHECKED_IN),
+                                new ScmFile("src/main/java/Foo.java", ScmFileStatus.CHECKED_IN))));
+        ((ScmManagerStub) lookup(ScmManager.class)).setScmProvider(scmProviderMock);
+
+        mavenExecutorWrapper.setMavenExecutor(mock(MavenExecutor.class));
+
+        // execute
+        phase.execute(releaseDescriptor, releaseEnvironment, reactorProjects);
+
+        // verify
+        assertEquals(
+                ReleaseFingerprint.compute(
+                        checkoutDirectory, ReleaseFingerprint.getBuildDirectories(workingDirectory, reactorProjects)),
+                releaseDescriptor.getPreparedArtifactsFingerprint());
+    }
+
+    private static void write(File file, String content) throws Exception {
+        file.getParentFile().mkdirs();
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+    }
 }
@@ -18,12 +18,14 @@
  */
 package org.apache.maven.shared.release.phase;
 
+import java.io.File;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 
+import org.apache.maven.project.MavenProject;
 import org.apache.maven.scm.ScmException;
 import org.apache.maven.scm.ScmFile;
 import org.apache.maven.scm.ScmFileSet;
@@ -46,6 +48,7 @@ import org.apache.maven.shared.release.scm.ReleaseScmCommandException;
 import org.apache.maven.shared.release.scm.ReleaseScmRepositoryException;
 import org.apache.maven.shared.release.stubs.ScmManagerStub;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
@@ -366,6 +369,124 @@ public class ScmCheckModificationsPhaseTest extends PlexusJUnit4TestCase {
                         .getResultCode());
     }
 
+    @Test
+    public void testAdditionalExcludesAreNotRetained() throws Exception {
+        ReleaseDescriptorBuilder builder = createReleaseDescriptorBuilder();
+        builder.setCheckModificationExcludes(Collections.singletonList("something.*"));
+
+        setChangedFiles(builder, Collections.singletonList("something.txt"));
+
+        assertEquals(
+                ReleaseResult.SUCCESS,
+                phase.execute(ReleaseUtils.buildReleaseDescriptor(builder), new DefaultReleaseEnvironment(), null)
+                        .getResultCode());
+
+        // the excludes of the previous run must not leak into the next one
+        builder = createReleaseDescriptorBuilder();
+        setChangedFiles(builder, Collections.singletonList("something.txt"));
+
+        try {
+            phase.execute(ReleaseUtils.buildReleaseDescriptor(builder), new DefaultReleaseEnvironment(), null);
+
+            fail("Status check should have failed");
+        } catch (ReleaseFailureException e) {
+            assertTrue(true);
+        }
+    }
+
+    @Test
+    public void testStatusScopedToModules() throws Exception {
+        // prepare
+        File workingDirectory = getTestFile("target/test/checkout");
+        ReleaseDescriptorBuilder builder = createReleaseDescriptorBuilder();
+        builder.setCheckModificationsScopedToModules(true);
+
+        ScmProvider scmProviderMock = mock(ScmProvider.class);
+        when(scmProviderMock.status(isA(ScmRepository.class), isA(ScmFileSet.class)))
+                .thenReturn(new StatusScmResult("", Collections.<ScmFile>emptyList()));
+
+        ScmManagerStub stub = (ScmManagerStub) lookup(ScmManager.class);
+        stub.setScmProvider(scmProviderMock);
+
+        List<MavenProject> reactorProjects = Arrays.asList(
+                createProject(new File(workingDirectory, "parent")),
+                createProject(new File(workingDirectory, "module-b")),
+                createProject(new File(workingDirectory, "module-b/sub")),
+                createProject(new File(workingDirectory, "module-a")));
+
+        // execute
+        phase.execute(ReleaseUtils.buildReleaseDescriptor(builder), new DefaultReleaseEnvironment(), reactorProjects);
+
+        // verify
+        ArgumentCaptor<ScmFileSet> fileSet = ArgumentCaptor.forClass(ScmFileSet.class);
+        verify(scmProviderMock).status(isA(ScmRepository.class), fileSet.capture());
+        assertEquals(workingDirectory, fileSet.getValue().getBasedir());
+        assertEquals(
+                Arrays.asList(new File("module-a"), new File("module-b"), new File("parent")),
+                fileSet.getValue().getFileList());
+        verifyNoMoreInteractions(scmProviderMock);
+    }
+
+    @Test
+    public void testStatusScopedToModulesOfRootProject() throws Exception {
+        // prepare
+        File workingDirectory = getTestFile("target/test/checkout");
+        File flatModule = getTestFile("target/test/flat");
+        ReleaseDescriptorBuilder builder = createReleaseDescriptorBuilder();
+        builder.setCheckModificationsScopedToModules(true);
+
+        ScmProvider scmProviderMock = mock(ScmProvider.class);
+        when(scmProviderMock.status(isA(ScmRepository.class), isA(ScmFileSet.class)))
+                .thenReturn(
+                        new StatusScmResult("", createScmFiles(Collections.singletonList("../other/file.txt"))),
+                        new StatusScmResult("", Collections.<ScmFile>emptyList()),
+                        new StatusScmResult("", Collections.<ScmFile>emptyList()),
+                        new StatusScmResult("", createScmFiles(Collections.singletonList("pom.xml"))));
+
+        ScmManagerStub stub = (ScmManagerStub) lookup(ScmManager.class);
+        stub.setScmProvider(scmProviderMock);
+
+        List<MavenProject> reactorProjects = Arrays.asList(
+                createProject(workingDirectory),
+                createProject(new File(workingDirectory, "module-a")),
+                createProject(flatModule));
+
+        // execute
+        assertEquals(
+                ReleaseResult.SUCCESS,
+                phase.execute(
+                                ReleaseUtils.buildReleaseDescriptor(builder),
+                                new DefaultReleaseEnvironment(),
+                                reactorProjects)
+                        .getResultCode());
+
+        try {
+            phase.execute(
+                    ReleaseUtils.buildReleaseDescriptor(builder), new DefaultReleaseEnvironment(), reactorProjects);
+
+            fail("Status check should have failed on the module outside of the working directory");
+        } catch (ReleaseFailureException e) {
+            assertTrue(e.getMessage().contains("pom.xml"));
+        }
+
+        // verify
+        ArgumentCaptor<ScmFileSet> fileSet = ArgumentCaptor.forClass(ScmFileSet.class);
+        verify(scmProviderMock, times(4)).status(isA(ScmRepository.class), fileSet.capture());
+        assertEquals(workingDirectory, fileSet.getAllValues().get(0).getBasedir());
+        assertEquals(
+                Collections.singletonList(new File(".")),
+                fileSet.getAllValues().get(0).getFileList());
+        assertEquals(flatModule, fileSet.getAllValues().get(1).getBasedir());
+        assertTrue(fileSet.getAllValues().get(1).getFileList().isEmpty());
+        verifyNoMoreInteractions(scmProviderMock);
+    }
+
+    private static MavenProject createProject(File basedir) {
+        MavenProject project = new MavenProject();
+        project.setFile(new File(basedir, "pom.xml"));
+        return project;
+    }
+
     private void setChangedFiles(ReleaseDescriptorBuilder builder, List<String> changedFiles) throws Exception {
         ScmManager scmManager = (ScmManager) lookup(ScmManager.class);
         ScmProviderStub providerStub =
@@ -20,6 +20,7 @@ package org.apache.maven.shared.release.phase;
 
 import java.io.File;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
@@ -204,6 +205,91 @@ public class ScmCommitPreparationPhaseTest extends AbstractReleaseTestCase {
         verifyNoMoreInteractions(scmProviderMock);
     }
 
+    @Test
+    public void testCommitByProjectBatched() throws Exception {
+        // prepare
+        ReleaseDescriptorBuilder builder = new ReleaseDescriptorBuilder();
+        String dir = "scm-commit/multiple-poms";
+        List<MavenProject> reactorProjects = createReactorProjects(dir, dir, null);
+        builder.setScmSourceUrl("scm-url");
+        MavenProject rootProject = ReleaseUtil.getRootProject(reactorProjects);
+        File rootDir = rootProject.getFile().getParentFile();
+        builder.setWorkingDirectory(rootDir.getAbsolutePath());
+        builder.setScmReleaseLabel("release-label");
+        builder.setCommitByProject(true);
+        builder.setCommitByProjectBatchSize(2);
+
+        ScmFileSet firstBatch =
+                new ScmFileSet(rootDir, Arrays.asList(rootProject.getFile(), new File(rootDir, "subproject1/pom.xml")));
+        ScmFileSet secondBatch =
+                new ScmFileSet(rootDir, Collections.singletonList(new File(rootDir, "subproject2/pom.xml")));
+
+        ScmProvider scmProviderMock = mock(ScmProvider.class);
+        when(scmProviderMock.checkIn(
+                        isA(ScmRepository.class),
+                        isA(ScmFileSet.class),
+                        isNull(ScmVersion.class),
+                        eq(PREFIX + "release-label")))
+                .thenReturn(new CheckInScmResult(
+                        "...",
+                        Collections.singletonList(
+                                new ScmFile(rootProject.getFile().getPath(), ScmFileStatus.CHECKED_IN))));
+        ScmManagerStub stub = (ScmManagerStub) lookup(ScmManager.class);
+        stub.setScmProvider(scmProviderMock);
+
+        // execute
+        phase.execute(ReleaseUtils.buildReleaseDescriptor(builder), new DefaultReleaseEnvironment(), reactorProjects);
+
+        // verify
+        verify(scmProviderMock)
+                .checkIn(
+                        isA(ScmRepository.class), argThat(new IsScmFileSetEquals(firstBatch)),
+                        isNull(ScmVersion.class), eq(PREFIX + "release-label"));
+        verify(scmProviderMock)
+                .checkIn(
+                        isA(ScmRepository.class), argThat(new IsScmFileSetEquals(secondBatch)),
+                        isNull(ScmVersion.class), eq(PREFIX + "release-label"));
+        verifyNoMoreInteractions(scmProviderMock);
+    }
+
+    @Test
+    public void testCommitByProjectBatchedPartialFailure() throws Exception {
+        // prepare
+        ReleaseDescriptorBuilder builder = new ReleaseDescriptorBuilder();
+        String dir = "scm-commit/multiple-poms";
+        List<MavenProject> reactorProjects = createReactorProjects(dir, dir, null);
+        builder.setScmSourceUrl("scm-url");
+        MavenProject rootProject = ReleaseUtil.getRootProject(reactorProjects);
+        builder.setWorkingDirectory(rootProject.getFile().getParentFile().getAbsolutePath());
+        builder.setScmReleaseLabel("release-label");
+        builder.setCommitByProject(true);
+        builder.setCommitByProjectBatchSize(2);
+
+        ScmProvider scmProviderMock = mock(ScmProvider.class);
+        when(scmProviderMock.checkIn(
+                        isA(ScmRepository.class),
+                        isA(ScmFileSet.class),
+                        isNull(ScmVersion.class),
+                        eq(PREFIX + "release-label")))
+                .thenReturn(new CheckInScmResult(
+                        "...",
+                        Collections.singletonList(
+                                new ScmFile(rootProject.getFile().getPath(), ScmFileStatus.CHECKED_IN))))
+                .thenReturn(new CheckInScmResult("", "", "", false));
+        ScmManagerStub stub = (ScmManagerStub) lookup(ScmManager.class);
+        stub.setScmProvider(scmProviderMock);
+
+        // execute
+        try {
+            phase.execute(
+                    ReleaseUtils.buildReleaseDescriptor(builder), new DefaultReleaseEnvironment(), reactorProjects);
+
+            fail("Commit should have failed");
+        } catch (ReleaseScmCommandException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("after 1 of 2 commits by project succeeded"));
+        }
+    }
+
     @Test
     public void testCommitDevelopment() throws Exception {
         // prepare
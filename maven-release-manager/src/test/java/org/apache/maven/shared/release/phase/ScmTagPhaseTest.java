@@ -28,15 +28,18 @@ import java.util.List;
 import com.google.inject.AbstractModule;
 import com.google.inject.Module;
 import org.apache.maven.project.MavenProject;
+import org.apache.maven.scm.CommandParameters;
 import org.apache.maven.scm.ScmException;
 import org.apache.maven.scm.ScmFile;
 import org.apache.maven.scm.ScmFileSet;
 import org.apache.maven.scm.ScmFileStatus;
 import org.apache.maven.scm.ScmTagParameters;
+import org.apache.maven.scm.command.remoteinfo.RemoteInfoScmResult;
 import org.apache.maven.scm.command.tag.TagScmResult;
 import org.apache.maven.scm.manager.NoSuchScmProviderException;
 import org.apache.maven.scm.manager.ScmManager;
 import org.apache.maven.scm.provider.ScmProvider;
+import org.apache.maven.scm.provider.ScmProviderRepository;
 import org.apache.maven.scm.provider.ScmProviderStub;
 import org.apache.maven.scm.provider.svn.repository.SvnScmProviderRepository;
 import org.apache.maven.scm.repository.ScmRepository;
@@ -62,6 +65,7 @@ import static org.mockito.Matchers.argThat;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Matchers.isA;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
@@ -143,6 +147,96 @@ public class ScmTagPhaseTest extends AbstractReleaseTestCase {
         verifyNoMoreInteractions(scmProviderMock);
     }
 
+    @Test
+    public void testTagWaitsUntilReleasedRevisionIsVisible() throws Exception {
+        // prepare
+        ReleaseDescriptorBuilder builder = new ReleaseDescriptorBuilder();
+        List<MavenProject> reactorProjects = createReactorProjects();
+        builder.setScmSourceUrl("scm-url");
+        MavenProject rootProject = ReleaseUtil.getRootProject(reactorProjects);
+        builder.setWorkingDirectory(getPath(rootProject.getFile().getParentFile()));
+        builder.setPomFileName(rootProject.getFile().getName());
+        builder.setScmReleaseLabel("release-label");
+        builder.setScmReleasedPomRevision("2f9a1c4");
+        builder.setWaitBeforeTagging(60);
+
+        ScmProvider scmProviderMock = mock(ScmProvider.class);
+        when(scmProviderMock.remoteInfo(
+                        isA(ScmProviderRepository.class), isA(ScmFileSet.class), isA(CommandParameters.class)))
+                .thenReturn(new RemoteInfoScmResult(
+                        "...",
+                        Collections.singletonMap("master", "8b0e7d3aa2c1"),
+                        Collections.<String, String>emptyMap()))
+                .thenReturn(new RemoteInfoScmResult(
+                        "...",
+                        Collections.singletonMap("master", "2f9a1c4e5d6b"),
+                        Collections.<String, String>emptyMap()));
+        when(scmProviderMock.tag(
+                        isA(ScmRepository.class),
+                        isA(ScmFileSet.class),
+                        eq("release-label"),
+                        isA(ScmTagParameters.class)))
+                .thenReturn(new TagScmResult("...", Collections.<ScmFile>emptyList()));
+        ScmManagerStub stub = (ScmManagerStub) lookup(ScmManager.class);
+        stub.setScmProvider(scmProviderMock);
+
+        // execute
+        long start = System.currentTimeMillis();
+        phase.execute(ReleaseUtils.buildReleaseDescriptor(builder), new DefaultReleaseEnvironment(), reactorProjects);
+
+        // verify
+        assertTrue(System.currentTimeMillis() - start < 60000L);
+        verify(scmProviderMock, times(2))
+                .remoteInfo(isA(ScmProviderRepository.class), isA(ScmFileSet.class), isA(CommandParameters.class));
+        verify(scmProviderMock)
+                .tag(isA(ScmRepository.class), isA(ScmFileSet.class), eq("release-label"), isA(ScmTagParameters.class));
+        verifyNoMoreInteractions(scmProviderMock);
+    }
+
+    @Test
+    public void testTagIgnoresBlankRemoteHeads() throws Exception {
+        // prepare
+        ReleaseDescriptorBuilder builder = new ReleaseDescriptorBuilder();
+        List<MavenProject> reactorProjects = createReactorProjects();
+        builder.setScmSourceUrl("scm-url");
+        MavenProject rootProject = ReleaseUtil.getRootProject(reactorProjects);
+        builder.setWorkingDirectory(getPath(rootProject.getFile().getParentFile()));
+        builder.setPomFileName(rootProject.getFile().getName());
+        builder.setScmReleaseLabel("release-label");
+        builder.setScmReleasedPomRevision("2f9a1c4");
+        builder.setWaitBeforeTagging(60);
+
+        ScmProvider scmProviderMock = mock(ScmProvider.class);
+        when(scmProviderMock.remoteInfo(
+                        isA(ScmProviderRepository.class), isA(ScmFileSet.class), isA(CommandParameters.class)))
+                .thenReturn(new RemoteInfoScmResult(
+                        "...", Collections.singletonMap("master", ""), Collections.<String, String>emptyMap()))
+                .thenReturn(new RemoteInfoScmResult(
+                        "...",
+                        Collections.singletonMap("master", "2f9a1c4e5d6b"),
+                        Collections.<String, String>emptyMap()));
+        when(scmProviderMock.tag(
+                        isA(ScmRepository.class),
+                        isA(ScmFileSet.class),
+                        eq("release-label"),
+                        isA(ScmTagParameters.class)))
+                .thenReturn(new TagScmResult("...", Collections.<ScmFile>emptyList()));
+        ScmManagerStub stub = (ScmManagerStub) lookup(ScmManager.class);
+        stub.setScmProvider(scmProviderMock);
+
+        // execute
+        long start = System.currentTimeMillis();
+        phase.execute(ReleaseUtils.buildReleaseDescriptor(builder), new DefaultReleaseEnvironment(), reactorProjects);
+
+        // verify
+        assertTrue(System.currentTimeMillis() - start < 60000L);
+        verify(scmProviderMock, times(2))
+                .remoteInfo(isA(ScmProviderRepository.class), isA(ScmFileSet.class), isA(CommandParameters.class));
+        verify(scmProviderMock)
+                .tag(isA(ScmRepository.class), isA(ScmFileSet.class), eq("release-label"), isA(ScmTagParameters.class));
+        verifyNoMoreInteractions(scmProviderMock);
+    }
+
     @Test
     public void testCommitMultiModuleDeepFolders() throws Exception {
         // prepare
@@ -0,0 +1,280 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.shared.release.phase;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.Model;
+import org.apache.maven.model.Parent;
+import org.apache.maven.project.MavenProject;
+import org.apache.maven.scm.ScmFile;
+import org.apache.maven.scm.ScmFileSet;
+import org.apache.maven.scm.ScmFileStatus;
+import org.apache.maven.scm.ScmTag;
+import org.apache.maven.scm.command.diff.DiffScmResult;
+import org.apache.maven.scm.manager.ScmManager;
+import org.apache.maven.scm.provider.ScmProvider;
+import org.apache.maven.scm.repository.ScmRepository;
+import org.apache.maven.shared.release.ReleaseResult;
+import org.apache.maven.shared.release.config.ReleaseDescriptor;
+import org.apache.maven.shared.release.config.ReleaseDescriptorBuilder;
+import org.apache.maven.shared.release.config.ReleaseUtils;
+import org.apache.maven.shared.release.env.DefaultReleaseEnvironment;
+import org.apache.maven.shared.release.env.ReleaseEnvironment;
+import org.apache.maven.shared.release.exec.MavenExecutor;
+import org.apache.maven.shared.release.strategy.Strategy;
+import org.apache.maven.shared.release.stubs.MavenExecutorWrapper;
+import org.apache.maven.shared.release.stubs.ScmManagerStub;
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Matchers.isA;
+import static org.mockito.Matchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test the selection of the modules changed since the previous release.
+ */
+public class SelectChangedProjectsPhaseTest extends AbstractReleaseTestCase {
+    private static final String CHANGED_SINCE = "artifactId-1.0";
+
+    private DefaultReleaseEnvironment releaseEnvironment;
+
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+
+        phase = lookup(ReleasePhase.class, "select-changed-projects");
+
+        releaseEnvironment = new DefaultReleaseEnvironment();
+        releaseEnvironment.setMavenExecutorId("wrapper");
+    }
+
+    @Test
+    public void testExecuteWithoutChangedSince() throws Exception {
+        ReleaseDescriptorBuilder builder = new ReleaseDescriptorBuilder();
+        builder.setPreparationProjects("groupId:stale");
+        ReleaseDescriptor releaseDescriptor = ReleaseUtils.buildReleaseDescriptor(builder);
+
+        phase.execute(
+                releaseDescriptor,
+                releaseEnvironment,
+                Collections.singletonList(createProject(getTestFile("target/working-directory"), "root", null)));
+
+        assertNull(releaseDescriptor.getPreparationProjects());
+    }
+
+    @Test
+    public void testExecuteChangedSince() throws Exception {
+        // prepare
+        File testFile = getTestFile("target/working-directory");
+
+        ReleaseDescriptorBuilder builder = new ReleaseDescriptorBuilder();
+        builder.setPreparationChangedSince(CHANGED_SINCE);
+        builder.setScmSourceUrl("scm:svn:file://localhost/tmp/scm-repo");
+        builder.setWorkingDirectory(testFile.getAbsolutePath());
+        ReleaseDescriptor releaseDescriptor = ReleaseUtils.buildReleaseDescriptor(builder);
+
+        setDiff(
+                new ScmFile("module-b/src/main/java/B.java", ScmFileStatus.MODIFIED),
+                new ScmFile("module-b/sub/pom.xml", ScmFileStatus.MODIFIED));
+
+        MavenProject root = createProject(testFile, "root", null);
+        List<MavenProject> reactorProjects = Arrays.asList(
+                root,
+                createProject(new File(testFile, "module-a"), "module-a", "root"),
+                createProject(new File(testFile, "module-b"), "module-b", "root"),
+                createProject(new File(testFile, "module-b/sub"), "module-b-sub", "root"),
+                createProject(new File(testFile, "module-c"), "module-c", "root", "module-b"),
+                createProject(new File(testFile, "module-d"), "module-d", "root", "module-c"));
+
+        // execute
+        ReleaseResult result = phase.execute(releaseDescriptor, releaseEnvironment, reactorProjects);
+
+        // verify
+        assertEquals(
+                "groupId:module-b,groupId:module-b-sub,groupId:module-c,groupId:module-d",
+                releaseDescriptor.getPreparationProjects());
+        assertTrue(result.getOutput(), result.getOutput().contains("4 of 6 modules changed since '" + CHANGED_SINCE));
+    }
+
+    @Test
+    public void testExecuteNothingChangedSince() throws Exception {
+        // prepare
+        File testFile = getTestFile("target/working-directory");
+
+        ReleaseDescriptorBuilder builder = new ReleaseDescriptorBuilder();
+        builder.setPreparationChangedSince(CHANGED_SINCE);
+        builder.setScmSourceUrl("scm:svn:file://localhost/tmp/scm-repo");
+        builder.setWorkingDirectory(testFile.getAbsolutePath());
+        ReleaseDescriptor releaseDescriptor = ReleaseUtils.buildReleaseDescriptor(builder);
+
+        setDiff(new ScmFile("../other/pom.xml", ScmFileStatus.MODIFIED));
+
+        // execute
+        phase.execute(
+                releaseDescriptor,
+                releaseEnvironment,
+                Collections.singletonList(createProject(testFile, "root", null)));
+
+        // verify
+        assertEquals("", releaseDescriptor.getPreparationProjects());
+    }
+
+    @Test
+    public void testPreparePhasesSelectBeforeRewrite() throws Exception {
+        // prepare
+        List<MavenProject> reactorProjects = createReactorProjects(
+                "rewrite-for-release/internal-snapshot-dependencies", "select-changed-projects/strategy", null);
+        final Path basedir = reactorProjects.get(0).getBasedir().toPath();
+
+        ReleaseDescriptorBuilder builder = createReleaseDescriptorBuilder(reactorProjects);
+        builder.setWorkingDirectory(basedir.toString());
+        builder.setPomFileName("pom.xml");
+        builder.setScmSourceUrl("scm:svn:file://localhost/tmp/scm-repo");
+        builder.setScmReleaseLabel("artifactId-1.0");
+        builder.setInteractive(false);
+        builder.setPreparationGoals("clean verify");
+        builder.setPreparationChangedSince(CHANGED_SINCE);
+        ReleaseDescriptor releaseDescriptor = ReleaseUtils.buildReleaseDescriptor(builder);
+
+        // the tag has the current content, except for a change of subproject3
+        final Map<Path, byte[]> tag = readFiles(basedir);
+        tag.put(Paths.get("subproject3", "pom.xml"), new byte[0]);
+
+        ScmProvider scmProviderMock = mock(ScmProvider.class);
+        when(scmProviderMock.sanitizeTagName(anyString())).thenAnswer(new Answer<String>() {
+            @Override
+            public String answer(InvocationOnMock invocation) {
+                return (String) invocation.getArguments()[0];
+            }
+        });
+        // the diff of the tag with the working copy, as it is when the diff is taken
+        when(scmProviderMock.diff(isA(ScmRepository.class), isA(ScmFileSet.class), isA(ScmTag.class), isNull()))
+                .thenAnswer(new Answer<DiffScmResult>() {
+                    @Override
+                    public DiffScmResult answer(InvocationOnMock invocation) throws IOException {
+                        Map<Path, byte[]> workingCopy = readFiles(basedir);
+                        List<ScmFile> changedFiles = new ArrayList<>();
+                        for (Map.Entry<Path, byte[]> file : tag.entrySet()) {
+                            if (!Arrays.equals(file.getValue(), workingCopy.get(file.getKey()))) {
+                                changedFiles.add(new ScmFile(file.getKey().toString(), ScmFileStatus.MODIFIED));
+                            }
+                        }
+                        return new DiffScmResult("", changedFiles, Collections.<String, CharSequence>emptyMap(), "");
+                    }
+                });
+        ((ScmManagerStub) lookup(ScmManager.class)).setScmProvider(scmProviderMock);
+
+        MavenExecutor mock = mock(MavenExecutor.class);
+        ((MavenExecutorWrapper) lookup(MavenExecutor.class, "wrapper")).setMavenExecutor(mock);
+
+        // execute the phases of the strategy up to the preparation goals, after the POMs are rewritten
+        List<String> preparePhases = lookup(Strategy.class).getPreparePhases();
+        for (String name :
+                preparePhases.subList(preparePhases.indexOf("select-changed-projects"), preparePhases.size())) {
+            lookup(ReleasePhase.class, name).execute(releaseDescriptor, releaseEnvironment, reactorProjects);
+            if ("run-preparation-goals".equals(name)) {
+                break;
+            }
+        }
+
+        // verify
+        assertTrue(new String(Files.readAllBytes(basedir.resolve("pom.xml")), "UTF-8").contains("<version>1.0<"));
+        verify(mock)
+                .executeGoals(
+                        eq(basedir.toFile()),
+                        eq("clean verify"),
+                        isA(ReleaseEnvironment.class),
+                        eq(false),
+                        eq("--projects groupId:subproject3 --also-make"),
+                        eq("pom.xml"),
+                        isA(ReleaseResult.class));
+        verifyNoMoreInteractions(mock);
+    }
+
+    static MavenProject createProject(File basedir, String artifactId, String parent, String... dependencies) {
+        Model model = new Model();
+        model.setGroupId("groupId");
+        model.setArtifactId(artifactId);
+        model.setVersion("1.0-SNAPSHOT");
+        if (parent != null) {
+            Parent modelParent = new Parent();
+            modelParent.setGroupId("groupId");
+            modelParent.setArtifactId(parent);
+            modelParent.setVersion("1.0-SNAPSHOT");
+            model.setParent(modelParent);
+        }
+        for (String dependency : dependencies) {
+            Dependency modelDependency = new Dependency();
+            modelDependency.setGroupId("groupId");
+            modelDependency.setArtifactId(dependency);
+            modelDependency.setVersion("1.0-SNAPSHOT");
+            model.addDependency(modelDependency);
+        }
+
+        MavenProject project = new MavenProject(model);
+        project.setFile(new File(basedir, "pom.xml"));
+        return project;
+    }
+
+    private void setDiff(ScmFile... changedFiles) throws Exception {
+        ScmProvider scmProviderMock = mock(ScmProvider.class);
+        when(scmProviderMock.diff(isA(ScmRepository.class), isA(ScmFileSet.class), isA(ScmTag.class), isNull()))
+                .thenReturn(new DiffScmResult(
+                        "", Arrays.asList(changedFiles), Collections.<String, CharSequence>emptyMap(), ""));
+        ScmManagerStub stub = (ScmManagerStub) lookup(ScmManager.class);
+        stub.setScmProvider(scmProviderMock);
+    }
+
+    private static Map<Path, byte[]> readFiles(final Path basedir) throws IOException {
+        final Map<Path, byte[]> files = new HashMap<>();
+        Files.walkFileTree(basedir, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                files.put(basedir.relativize(file), Files.readAllBytes(file));
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        return files;
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.shared.release.stubs;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * The latency and failures injected by a replayed {@link ScmRecording}. Instances are immutable, the <code>with</code>
+ * methods return modified copies.
+ * <p>
+ * The latency of a call is either the recorded one, a fixed one, or drawn uniformly from a range, and is multiplied by
+ * a factor. A call fails with the given probability, independently of the others. Each command, like
+ * <code>checkIn</code> or <code>tag</code>, can have its own settings.
+ */
+public final class ScmLatency {
+    private static final ScmLatency RECORDED = new ScmLatency(-1, -1, 1.0, 0.0, new HashMap<String, ScmLatency>());
+
+    private final long minMillis;
+
+    private final long maxMillis;
+
+    private final double factor;
+
+    private final double failureRate;
+
+    private final Map<String, ScmLatency> commands;
+
+    private ScmLatency(
+            long minMillis, long maxMillis, double factor, double failureRate, Map<String, ScmLatency> commands) {
+        this.minMillis = minMillis;
+        this.maxMillis = maxMillis;
+        this.factor = factor;
+        this.failureRate = failureRate;
+        this.commands = commands;
+    }
+
+    /**
+     * @return the latency as recorded
+     */
+    public static ScmLatency recorded() {
+        return RECORDED;
+    }
+
+    /**
+     * @return no latency at all
+     */
+    public static ScmLatency none() {
+        return fixed(0);
+    }
+
+    /**
+     * @param millis the latency of each call
+     * @return the same latency for all calls
+     */
+    public static ScmLatency fixed(long millis) {
+        return uniform(millis, millis);
+    }
+
+    /**
+     * @param minMillis the lowest latency, inclusive
+     * @param maxMillis the highest latency, inclusive
+     * @return a latency drawn uniformly for each call
+     */
+    public static ScmLatency uniform(long minMillis, long maxMillis) {
+        if (minMillis < 0 || maxMillis < minMillis) {
+            throw new IllegalArgumentException("Invalid latency range: " + minMillis + ".." + maxMillis);
+        }
+        return new ScmLatency(minMillis, maxMillis, 1.0, 0.0, new HashMap<String, ScmLatency>());
+    }
+
+    /**
+     * @param factor the factor to apply to the latency, for instance to simulate a slower server
+     * @return a copy with the factor
+     */
+    public ScmLatency withFactor(double factor) {
+        return new ScmLatency(minMillis, maxMillis, factor, failureRate, commands);
+    }
+
+    /**
+     * @param failureRate the probability of a call to fail, between 0 and 1
+     * @return a copy with the failure rate
+     */
+    public ScmLatency withFailureRate(double failureRate) {
+        if (failureRate < 0.0 || failureRate > 1.0) {
+            throw new IllegalArgumentException("Invalid failure rate: " + failureRate);
+        }
+        return new ScmLatency(minMillis, maxMillis, factor, failureRate, commands);
+    }
+
+    /**
+     * @param command the name of the command, like <code>checkIn</code>
+     * @param latency the settings of the command
+     * @return a copy which uses the given settings for the command
+     */
+    public ScmLatency withCommand(String command, ScmLatency latency) {
+        Map<String, ScmLatency> copy = new HashMap<>(commands);
+        copy.put(command, latency);
+        return new ScmLatency(minMillis, maxMillis, factor, failureRate, copy);
+    }
+
+    long nextMillis(String command, long recordedMillis, Random random) {
+        ScmLatency latency = forCommand(command);
+        long millis;
+        if (latency.minMillis < 0) {
+            millis = recordedMillis;
+        } else if (latency.minMillis == latency.maxMillis) {
+            millis = latency.minMillis;
+        } else {
+            millis = latency.minMillis + (long) (random.nextDouble() * (latency.maxMillis - latency.minMillis + 1));
+        }
+        return Math.round(millis * latency.factor);
+    }
+
+    boolean nextFailure(String command, Random random) {
+        ScmLatency latency = forCommand(command);
+        return latency.failureRate > 0.0 && random.nextDouble() < latency.failureRate;
+    }
+
+    private ScmLatency forCommand(String command) {
+        ScmLatency latency = commands.get(command);
+        return latency != null ? latency : this;
+    }
+}
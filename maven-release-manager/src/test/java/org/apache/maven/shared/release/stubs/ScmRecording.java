@@ -0,0 +1,376 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.shared.release.stubs;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.NotSerializableException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.maven.scm.ScmException;
+import org.apache.maven.scm.ScmFileSet;
+import org.apache.maven.scm.ScmResult;
+import org.apache.maven.scm.ScmVersion;
+import org.apache.maven.scm.provider.ScmProvider;
+import org.apache.maven.scm.repository.ScmRepository;
+
+/**
+ * The SCM commands of a release, with their arguments, results and latencies, to replay them offline.
+ * <p>
+ * {@link #record(ScmProvider)} wraps a real provider and adds each command it runs to this recording, which can then
+ * be {@link #save(File) saved}. {@link #replay(ScmProvider, ScmLatency, long)} returns a provider which answers the
+ * commands from the recording, with the latency and failures of a {@link ScmLatency}, and delegates everything else,
+ * like parsing URLs, to a base provider. Plug either into the {@link ScmManagerStub} to measure SCM-heavy strategies
+ * without a live server.
+ * <p>
+ * A replayed command returns the first unused recorded call with the same command and arguments, else the first unused
+ * one of the same command, else the last one of the same command. So a strategy which runs fewer or more commands
+ * than the recorded release, like batched check-ins, still gets realistic answers.
+ */
+public final class ScmRecording {
+    private final List<Call> calls;
+
+    public ScmRecording() {
+        this(new ArrayList<Call>());
+    }
+
+    private ScmRecording(List<Call> calls) {
+        this.calls = calls;
+    }
+
+    /**
+     * Loads a recording saved by {@link #save(File)}.
+     *
+     * @param file the file of the recording
+     * @return the recording
+     * @throws IOException if the file can't be read
+     */
+    @SuppressWarnings("unchecked")
+    public static ScmRecording load(File file) throws IOException {
+        try (InputStream in = Files.newInputStream(file.toPath());
+                ObjectInputStream objects = new ObjectInputStream(in)) {
+            return new ScmRecording(new ArrayList<>((List<Call>) objects.readObject()));
+        } catch (ClassNotFoundException e) {
+            throw new IOException("Invalid SCM recording " + file + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Saves this recording.
+     *
+     * @param file the file to save the recording to
+     * @throws IOException if the file can't be written
+     */
+    public void save(File file) throws IOException {
+        try (OutputStream out = Files.newOutputStream(file.toPath());
+                ObjectOutputStream objects = new ObjectOutputStream(out)) {
+            objects.writeObject(new ArrayList<>(getCalls()));
+        }
+    }
+
+    /**
+     * @return the recorded calls, in order
+     */
+    public List<Call> getCalls() {
+        synchronized (calls) {
+            return Collections.unmodifiableList(new ArrayList<>(calls));
+        }
+    }
+
+    /**
+     * Wraps a provider to record the commands it runs.
+     *
+     * @param delegate the provider which runs the commands
+     * @return the recording provider
+     */
+    public ScmProvider record(final ScmProvider delegate) {
+        return newProvider(new InvocationHandler() {
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                if (!isCommand(method)) {
+                    return invokeDelegate(delegate, method, args);
+                }
+
+                long start = System.nanoTime();
+                try {
+                    ScmResult result = (ScmResult) invokeDelegate(delegate, method, args);
+                    add(new Call(method.getName(), describe(args), serializable(result), null, elapsed(start)));
+                    return result;
+                } catch (ScmException e) {
+                    add(new Call(method.getName(), describe(args), null, e.getMessage(), elapsed(start)));
+                    throw e;
+                }
+            }
+        });
+    }
+
+    /**
+     * Returns a provider which answers the commands from this recording.
+     *
+     * @param base the provider for everything but the commands
+     * @param latency the latency and failures to inject
+     * @param seed the seed of the random latencies and failures, so runs can be compared
+     * @return the replaying provider
+     */
+    public ScmProvider replay(final ScmProvider base, final ScmLatency latency, long seed) {
+        final Random random = new Random(seed);
+        final Set<Call> used = new HashSet<>();
+        return newProvider(new InvocationHandler() {
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                if (!isCommand(method)) {
+                    return invokeDelegate(base, method, args);
+                }
+
+                String command = method.getName();
+                Call call;
+                long millis;
+                boolean failure;
+                synchronized (random) {
+                    call = find(command, describe(args), used);
+                    millis = latency.nextMillis(command, call != null ? call.getMillis() : 0, random);
+                    failure = latency.nextFailure(command, random);
+                }
+                if (millis > 0) {
+                    TimeUnit.MILLISECONDS.sleep(millis);
+                }
+
+                if (call == null) {
+                    throw new ScmException("No " + command + " command in the SCM recording");
+                }
+                if (failure) {
+                    return adapt(
+                            method.getReturnType(),
+                            new ScmResult(null, "Injected failure of the " + command + " command", null, false));
+                }
+                if (call.getFailure() != null) {
+                    throw new ScmException(call.getFailure());
+                }
+                return adapt(method.getReturnType(), call.getResult());
+            }
+        });
+    }
+
+    private void add(Call call) {
+        synchronized (calls) {
+            calls.add(call);
+        }
+    }
+
+    private Call find(String command, String arguments, Set<Call> used) {
+        Call unused = null;
+        Call last = null;
+        synchronized (calls) {
+            for (Call call : calls) {
+                if (!call.getCommand().equals(command)) {
+                    continue;
+                }
+                last = call;
+                if (!used.contains(call)) {
+                    if (call.getArguments().equals(arguments)) {
+                        used.add(call);
+                        return call;
+                    }
+                    if (unused == null) {
+                        unused = call;
+                    }
+                }
+            }
+        }
+        if (unused != null) {
+            used.add(unused);
+            return unused;
+        }
+        return last;
+    }
+
+    private static ScmProvider newProvider(InvocationHandler handler) {
+        return (ScmProvider) Proxy.newProxyInstance(
+                ScmRecording.class.getClassLoader(), new Class<?>[] {ScmProvider.class}, handler);
+    }
+
+    private static boolean isCommand(Method method) {
+        return ScmResult.class.isAssignableFrom(method.getReturnType());
+    }
+
+    private static Object invokeDelegate(ScmProvider delegate, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(delegate, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static long elapsed(long start) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+
+    /**
+     * Describes the arguments independently of where the working copy is, so a recording replays in another directory.
+     */
+    private static String describe(Object[] args) {
+        StringBuilder description = new StringBuilder();
+        if (args != null) {
+            for (Object arg : args) {
+                if (description.length() > 0) {
+                    description.append(", ");
+                }
+                if (arg instanceof ScmRepository) {
+                    description.append(((ScmRepository) arg).getProvider());
+                } else if (arg instanceof ScmFileSet) {
+                    ScmFileSet fileSet = (ScmFileSet) arg;
+                    List<String> files = new ArrayList<>();
+                    for (File file : fileSet.getFileList()) {
+                        files.add(relativize(fileSet.getBasedir(), file).replace('\\', '/'));
+                    }
+                    description.append(files);
+                } else if (arg instanceof ScmVersion) {
+                    description.append(((ScmVersion) arg).getName());
+                } else if (arg == null || arg instanceof String || arg instanceof Boolean) {
+                    description.append(arg);
+                } else {
+                    description.append(arg.getClass().getSimpleName());
+                }
+            }
+        }
+        return description.toString();
+    }
+
+    /**
+     * Gets the path of a file of a file set relative to its base directory, as most callers give absolute files.
+     */
+    private static String relativize(File basedir, File file) {
+        if (basedir == null || !file.isAbsolute()) {
+            return file.getPath();
+        }
+        Path base = basedir.toPath().toAbsolutePath().normalize();
+        Path path = file.toPath().normalize();
+        if (!path.getRoot().equals(base.getRoot())) {
+            return file.getPath();
+        }
+        return base.relativize(path).toString();
+    }
+
+    /**
+     * Keeps the result as is if it can be saved, else a plain copy of its outcome.
+     */
+    private static ScmResult serializable(ScmResult result) throws IOException {
+        if (result == null) {
+            return null;
+        }
+        try (ObjectOutputStream out = new ObjectOutputStream(new ByteArrayOutputStream())) {
+            out.writeObject(result);
+            return result;
+        } catch (NotSerializableException e) {
+            return new ScmResult(result);
+        }
+    }
+
+    /**
+     * Converts a result to the type returned by the command, keeping its outcome.
+     */
+    private static ScmResult adapt(Class<?> type, ScmResult result) throws ScmException {
+        if (result == null || type.isInstance(result)) {
+            return result;
+        }
+        try {
+            Constructor<?> constructor = type.getConstructor(String.class, String.class, String.class, boolean.class);
+            return (ScmResult) constructor.newInstance(
+                    result.getCommandLine(),
+                    result.getProviderMessage(),
+                    result.getCommandOutput(),
+                    result.isSuccess());
+        } catch (ReflectiveOperationException e) {
+            throw new ScmException(
+                    result.isSuccess() ? "Unable to replay " + type.getSimpleName() : result.getProviderMessage(), e);
+        }
+    }
+
+    /**
+     * A recorded command.
+     */
+    public static final class Call implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private final String command;
+
+        private final String arguments;
+
+        private final ScmResult result;
+
+        private final String failure;
+
+        private final long millis;
+
+        Call(String command, String arguments, ScmResult result, String failure, long millis) {
+            this.command = command;
+            this.arguments = arguments;
+            this.result = result;
+            this.failure = failure;
+            this.millis = millis;
+        }
+
+        public String getCommand() {
+            return command;
+        }
+
+        public String getArguments() {
+            return arguments;
+        }
+
+        public ScmResult getResult() {
+            return result;
+        }
+
+        /**
+         * @return the message of the exception thrown by the command, if any
+         */
+        public String getFailure() {
+            return failure;
+        }
+
+        public long getMillis() {
+            return millis;
+        }
+
+        @Override
+        public String toString() {
+            return command + '(' + arguments + ") in " + millis + " ms";
+        }
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.shared.release.stubs;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.Random;
+
+import org.apache.maven.scm.ScmException;
+import org.apache.maven.scm.ScmFile;
+import org.apache.maven.scm.ScmFileSet;
+import org.apache.maven.scm.ScmFileStatus;
+import org.apache.maven.scm.ScmTagParameters;
+import org.apache.maven.scm.command.checkin.CheckInScmResult;
+import org.apache.maven.scm.command.tag.TagScmResult;
+import org.apache.maven.scm.provider.ScmProvider;
+import org.apache.maven.scm.provider.ScmProviderStub;
+import org.apache.maven.scm.repository.ScmRepository;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for {@link ScmRecording} and {@link ScmLatency}.
+ */
+public class ScmRecordingTest {
+    private static final long SEED = 42;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final ScmRepository repository = new ScmRepository("stub", null);
+
+    @Test
+    public void testRecordAndReplay() throws Exception {
+        ScmProviderStub stub = new ScmProviderStub();
+        stub.setCheckInScmResult(new CheckInScmResult(
+                "commit", Collections.singletonList(new ScmFile("pom.xml", ScmFileStatus.CHECKED_IN)), "revision-1"));
+        stub.setTagScmResult(new TagScmResult("tag", "failed to tag", "output", false));
+
+        ScmRecording recording = new ScmRecording();
+        ScmProvider recorder = recording.record(stub);
+        ScmFileSet fileSet = new ScmFileSet(folder.getRoot(), new File("pom.xml"));
+        assertTrue(recorder.checkIn(repository, fileSet, "release").isSuccess());
+        assertFalse(recorder.tag(repository, fileSet, "1.0", new ScmTagParameters("tag"))
+                .isSuccess());
+        assertEquals(stub.sanitizeTagName("1.0"), recorder.sanitizeTagName("1.0"));
+        assertEquals(2, recording.getCalls().size());
+        assertEquals("checkIn", recording.getCalls().get(0).getCommand());
+        assertEquals("stub, [pom.xml], release", recording.getCalls().get(0).getArguments());
+
+        // absolute files are recorded relative to the base directory of their file set
+        File module = folder.newFolder("module");
+        recorder.checkIn(repository, new ScmFileSet(folder.getRoot(), new File(module, "pom.xml")), "module");
+        assertEquals(
+                "stub, [module/pom.xml], module", recording.getCalls().get(2).getArguments());
+
+        File file = folder.newFile("release.scm");
+        recording.save(file);
+
+        // replay in another directory, on a provider without any result
+        ScmProvider replay = ScmRecording.load(file).replay(new ScmProviderStub(), ScmLatency.none(), SEED);
+        ScmFileSet otherFileSet = new ScmFileSet(folder.newFolder("other"), new File("pom.xml"));
+        CheckInScmResult checkIn = replay.checkIn(repository, otherFileSet, "release");
+        assertTrue(checkIn.isSuccess());
+        assertEquals("revision-1", checkIn.getScmRevision());
+        assertEquals("pom.xml", checkIn.getCheckedInFiles().get(0).getPath());
+
+        TagScmResult tag = replay.tag(repository, otherFileSet, "1.0", new ScmTagParameters("tag"));
+        assertFalse(tag.isSuccess());
+        assertEquals("failed to tag", tag.getProviderMessage());
+
+        // more commands than recorded reuse the last ones
+        assertTrue(replay.checkIn(repository, otherFileSet, "next").isSuccess());
+
+        try {
+            replay.status(repository, otherFileSet);
+            fail("The status command was not recorded");
+        } catch (ScmException e) {
+            assertEquals("No status command in the SCM recording", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testInjectedLatencyAndFailures() throws Exception {
+        ScmProviderStub stub = new ScmProviderStub();
+        ScmRecording recording = new ScmRecording();
+        ScmFileSet fileSet = new ScmFileSet(folder.getRoot());
+        recording.record(stub).checkIn(repository, fileSet, "release");
+        recording.record(stub).tag(repository, fileSet, "1.0", new ScmTagParameters("tag"));
+
+        ScmLatency latency = ScmLatency.none()
+                .withCommand("checkIn", ScmLatency.fixed(50))
+                .withCommand("tag", ScmLatency.none().withFailureRate(1.0));
+        ScmProvider replay = recording.replay(stub, latency, SEED);
+
+        long start = System.nanoTime();
+        assertTrue(replay.checkIn(repository, fileSet, "release").isSuccess());
+        assertTrue(System.nanoTime() - start >= 50_000_000L);
+
+        TagScmResult tag = replay.tag(repository, fileSet, "1.0", new ScmTagParameters("tag"));
+        assertFalse(tag.isSuccess());
+        assertEquals("Injected failure of the tag command", tag.getProviderMessage());
+    }
+
+    @Test
+    public void testUniformLatencyIsReproducible() {
+        ScmLatency latency = ScmLatency.uniform(10, 20).withFactor(2.0);
+        Random first = new Random(SEED);
+        Random second = new Random(SEED);
+        for (int i = 0; i < 100; i++) {
+            long millis = latency.nextMillis("checkIn", 0, first);
+            assertTrue(String.valueOf(millis), millis >= 20 && millis <= 40);
+            assertEquals(millis, latency.nextMillis("checkIn", 0, second));
+        }
+        assertEquals(7, ScmLatency.recorded().nextMillis("checkIn", 7, first));
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.shared.release.transform.jdom2;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.Model;
+import org.apache.maven.shared.release.transform.MavenCoordinateIndex;
+import org.jdom2.Document;
+import org.jdom2.input.SAXBuilder;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class JDomMavenCoordinateIndexerTest {
+    private static final String POM = "<project>"
+            + "<dependencies><dependency><artifactId>dependency</artifactId></dependency></dependencies>"
+            + "<dependencyManagement><dependencies>"
+            + "<dependency><artifactId>managed-dependency</artifactId></dependency>"
+            + "</dependencies></dependencyManagement>"
+            + "<build>"
+            + "<extensions><extension><artifactId>extension</artifactId></extension></extensions>"
+            + "<plugins><plugin><artifactId>plugin</artifactId><dependencies>"
+            + "<dependency><artifactId>plugin-dependency</artifactId><version>1.0</version></dependency>"
+            + "</dependencies></plugin></plugins>"
+            + "<pluginManagement><plugins><plugin><artifactId>managed-plugin</artifactId></plugin></plugins>"
+            + "</pluginManagement>"
+            + "</build>"
+            + "<reporting><plugins><plugin><artifactId>report-plugin</artifactId></plugin></plugins></reporting>"
+            + "<profiles><profile>"
+            + "<build><plugins><plugin><artifactId>profile-plugin</artifactId></plugin></plugins></build>"
+            + "<dependencies><dependency><artifactId>profile-dependency</artifactId></dependency></dependencies>"
+            + "</profile></profiles>"
+            + "</project>";
+
+    private SAXBuilder builder = new SAXBuilder();
+
+    @Test
+    public void testIndex() throws Exception {
+        Document document = builder.build(new StringReader(POM));
+
+        assertEquals(
+                Arrays.asList(
+                        "extension EXTENSION",
+                        "plugin PLUGIN",
+                        "plugin-dependency PLUGIN_DEPENDENCY",
+                        "managed-plugin PLUGIN managed",
+                        "profile-plugin PLUGIN profile",
+                        "dependency DEPENDENCY",
+                        "managed-dependency DEPENDENCY managed",
+                        "report-plugin REPORT_PLUGIN",
+                        "profile-dependency DEPENDENCY profile"),
+                describe(JDomMavenCoordinateIndexer.index(document.getRootElement())));
+    }
+
+    @Test
+    public void testSameOrderAsModel() throws Exception {
+        Document document = builder.build(new StringReader(POM));
+
+        assertEquals(
+                describe(MavenCoordinateIndex.fromModel(new JDomModel(document))),
+                describe(JDomMavenCoordinateIndexer.index(document.getRootElement())));
+    }
+
+    @Test
+    public void testModelWithoutCoordinates() {
+        Model model = new Model();
+        model.addDependency(new Dependency());
+
+        try {
+            MavenCoordinateIndex.fromModel(model);
+
+            fail("Should have thrown an exception");
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains(Dependency.class.getName()));
+            assertTrue(e.getMessage(), e.getMessage().contains("DEPENDENCY"));
+        }
+    }
+
+    @Test
+    public void testSetVersion() throws Exception {
+        Document document = builder.build(new StringReader(POM));
+        MavenCoordinateIndex index = JDomMavenCoordinateIndexer.index(document.getRootElement());
+
+        index.getEntries().get(2).getCoordinate().setVersion("2.0");
+
+        assertEquals(
+                "2.0",
+                document.getRootElement()
+                        .getChild("build")
+                        .getChild("plugins")
+                        .getChild("plugin")
+                        .getChild("dependencies")
+                        .getChild("dependency")
+                        .getChildText("version"));
+    }
+
+    private static List<String> describe(MavenCoordinateIndex index) {
+        List<String> descriptions = new ArrayList<>();
+        for (MavenCoordinateIndex.Entry entry : index.getEntries()) {
+            descriptions.add(entry.getCoordinate().getArtifactId()
+                    + ' '
+                    + entry.getContext()
+                    + (entry.isManaged() ? " managed" : "")
+                    + (entry.isProfile() ? " profile" : ""));
+        }
+        return descriptions;
+    }
+}
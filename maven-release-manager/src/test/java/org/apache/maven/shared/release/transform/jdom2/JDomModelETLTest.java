@@ -0,0 +1,61 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.shared.release.transform.jdom2;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests for the text normalization of {@link JDomModelETL}.
+ */
+public class JDomModelETLTest {
+    private static final int SAMPLES = 50000;
+
+    private static final int MAX_LENGTH = 32;
+
+    @Test
+    public void testNormalizeTagWhitespace() {
+        assertEquals(
+                "<project xmlns=\"x\">\n  <dependency a=\"b\"   />\n</project>",
+                JDomModelETL.normalizeTagWhitespace(
+                        "<project   xmlns=\"x\">\n  <dependency\n      a=\"b\"  />\n</project>"));
+        assertEquals("<!--  comment  -->", JDomModelETL.normalizeTagWhitespace("<!--  comment  -->"));
+    }
+
+    @Test
+    public void testNormalizeTagWhitespaceMatchesRegularExpressions() {
+        Random random = new Random(0);
+        String alphabet = "<>!/  \t\na";
+        for (int i = 0; i < SAMPLES; i++) {
+            int length = random.nextInt(MAX_LENGTH);
+            StringBuilder text = new StringBuilder(length);
+            for (int j = 0; j < length; j++) {
+                text.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            }
+            String content = text.toString();
+
+            String expected = content.replaceAll("<([^!][^>]*?)\\s{2,}([^>]*?)>", "<$1 $2>")
+                    .replaceAll("(\\s{2,})/>", "$1 />");
+            assertEquals(content, expected, JDomModelETL.normalizeTagWhitespace(content));
+        }
+    }
+}
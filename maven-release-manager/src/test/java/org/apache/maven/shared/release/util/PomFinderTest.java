@@ -19,20 +19,38 @@
 package org.apache.maven.shared.release.util;
 
 import java.io.File;
+import java.io.IOException;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 
 /**
  * @author <a href="mailto:struberg@yahoo.de">Mark Struberg</a>
  */
 public class PomFinderTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
     @Test
     public void testPomFinderParser() {
         PomFinder pf = new PomFinder(LoggerFactory.getLogger("test"));
@@ -62,4 +80,99 @@ public class PomFinderTest {
             assertEquals(pomFile.getAbsolutePath(), foundPom.getAbsolutePath());
         }
     }
+
+    @Test
+    public void testExcludedDirectoriesAreNotSearched() throws Exception {
+        File checkout = folder.newFolder("checkout");
+        writePom(new File(checkout, "target/checkout"), "module");
+        writePom(new File(checkout, "web/node_modules/module"), "module");
+
+        PomFinder pf = createPomFinder(LoggerFactory.getLogger("test"));
+        assertNull(pf.findMatchingPom(checkout));
+
+        pf.setExcludedDirectories(Collections.singleton("target"));
+        assertEquals(
+                new File(checkout, "web/node_modules/module/pom.xml").getAbsolutePath(),
+                pf.findMatchingPom(checkout).getAbsolutePath());
+    }
+
+    @Test
+    public void testMatchClosestToTheStartDirectoryIsFound() throws Exception {
+        File checkout = folder.newFolder("checkout");
+        writePom(new File(checkout, "a/b/c"), "module");
+        writePom(new File(checkout, "z"), "module");
+        for (int i = 0; i < 20; i++) {
+            writePom(new File(checkout, "m" + i), "other" + i);
+        }
+
+        PomFinder pf = createPomFinder(LoggerFactory.getLogger("test"));
+        File expected = new File(checkout, "z/pom.xml");
+        assertEquals(expected.getAbsolutePath(), pf.findMatchingPom(checkout).getAbsolutePath());
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            pf.setExecutor(executor);
+            for (int i = 0; i < 10; i++) {
+                assertEquals(
+                        expected.getAbsolutePath(), pf.findMatchingPom(checkout).getAbsolutePath());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testOnlyTheCoordinatesOfOtherPomsAreRead() throws Exception {
+        File checkout = folder.newFolder("checkout");
+        // the coordinates don't match, so the broken rest of the pom is never read
+        write(
+                new File(checkout, "a/pom.xml"),
+                "<project><parent><groupId>org.example</groupId><artifactId>parent</artifactId></parent>"
+                        + "<artifactId>other</artifactId><broken");
+        writePom(new File(checkout, "b"), "module");
+
+        Logger log = mock(Logger.class);
+        PomFinder pf = createPomFinder(log);
+        assertEquals(
+                new File(checkout, "b/pom.xml").getAbsolutePath(),
+                pf.findMatchingPom(checkout).getAbsolutePath());
+        verify(log, never()).warn(anyString(), any(Throwable.class));
+    }
+
+    @Test
+    public void testMatchingPomIsReadCompletely() throws Exception {
+        File checkout = folder.newFolder("checkout");
+        write(
+                new File(checkout, "a/pom.xml"),
+                "<project><parent><groupId>org.example</groupId><artifactId>parent</artifactId></parent>"
+                        + "<artifactId>module</artifactId><broken");
+
+        Logger log = mock(Logger.class);
+        PomFinder pf = createPomFinder(log);
+        assertNull(pf.findMatchingPom(checkout));
+        verify(log).warn(anyString(), any(Throwable.class));
+    }
+
+    private PomFinder createPomFinder(Logger log) throws IOException {
+        File originPom = writePom(folder.newFolder("origin"), "module");
+        PomFinder pf = new PomFinder(log);
+        assertTrue(pf.parsePom(originPom));
+        return pf;
+    }
+
+    private static File writePom(File directory, String artifactId) throws IOException {
+        File pom = new File(directory, "pom.xml");
+        write(
+                pom,
+                "<project>\n  <modelVersion>4.0.0</modelVersion>\n  <parent>\n"
+                        + "    <groupId>org.example</groupId>\n    <artifactId>parent</artifactId>\n"
+                        + "    <version>1.0-SNAPSHOT</version>\n  </parent>\n  <artifactId>" + artifactId
+                        + "</artifactId>\n</project>\n");
+        return pom;
+    }
+
+    private static void write(File file, String content) throws IOException {
+        file.getParentFile().mkdirs();
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+    }
 }
@@ -0,0 +1,129 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.shared.release.util;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.maven.model.Model;
+import org.apache.maven.model.Parent;
+import org.apache.maven.project.MavenProject;
+import org.apache.maven.shared.release.DefaultReleaseExecutionContext;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test the reactor index.
+ */
+public class ReactorIndexTest {
+    @Test
+    public void testModules() {
+        MavenProject parent = createProject("groupId", "parent", null, new File("root/pom.xml"));
+        MavenProject module = createProject("groupId", "module", parent, new File("root/module/release-pom.xml"));
+
+        ReactorIndex index = ReactorIndex.of(Arrays.asList(parent, module));
+
+        assertEquals(2, index.size());
+        List<String> keys = new ArrayList<>();
+        for (ReactorIndex.Module m : index.getModules()) {
+            keys.add(m.getKey());
+        }
+        assertEquals(Arrays.asList("groupId:parent", "groupId:module"), keys);
+
+        ReactorIndex.Module indexed = index.get("groupId:module");
+        assertEquals("groupId", indexed.getGroupId());
+        assertEquals("module", indexed.getArtifactId());
+        assertEquals("1.0-SNAPSHOT", indexed.getVersion());
+        assertEquals("module name", indexed.getName());
+        assertEquals("groupId:parent", indexed.getParentKey());
+        assertEquals(new File("root/module"), indexed.getBasedir());
+        assertEquals(new File("root/module/pom.xml"), indexed.getStandardPom());
+        assertEquals(new File("root/module/release-pom.xml"), indexed.getReleasePom());
+        assertNull(index.get("groupId:parent").getParentKey());
+        assertTrue(index.contains("groupId:parent"));
+        assertFalse(index.contains("groupId:other"));
+    }
+
+    @Test
+    public void testRootIsTheExecutionRootElseTheFirstProject() {
+        MavenProject first = createProject("groupId", "first", null, new File("first/pom.xml"));
+        MavenProject root = createProject("groupId", "root", null, new File("pom.xml"));
+
+        List<MavenProject> reactorProjects = Arrays.asList(first, root);
+        assertEquals("groupId:first", ReactorIndex.of(reactorProjects).getRoot().getKey());
+
+        root.setExecutionRoot(true);
+        ReactorIndex.Module indexedRoot = ReactorIndex.of(reactorProjects).getRoot();
+        assertEquals("groupId:root", indexedRoot.getKey());
+        assertTrue(indexedRoot.isExecutionRoot());
+        assertSame(ReleaseUtil.getRootProject(reactorProjects).getFile(), indexedRoot.getPomFile());
+    }
+
+    @Test
+    public void testEmptyReactor() {
+        assertNull(ReactorIndex.of(null).getRoot());
+        assertEquals(0, ReactorIndex.of(Collections.<MavenProject>emptyList()).size());
+    }
+
+    @Test
+    public void testIndexIsBuiltOncePerContext() {
+        List<MavenProject> reactorProjects =
+                Collections.singletonList(createProject("groupId", "artifactId", null, new File("pom.xml")));
+
+        try (DefaultReleaseExecutionContext context = new DefaultReleaseExecutionContext("prepare", 1)) {
+            ReactorIndex index = ReactorIndex.of(reactorProjects, context);
+            assertSame(index, ReactorIndex.of(reactorProjects, context));
+
+            // a phase run on its own with another reactor of the same size gets its own index
+            List<MavenProject> otherProjects =
+                    Collections.singletonList(createProject("groupId", "other", null, new File("other/pom.xml")));
+            ReactorIndex other = ReactorIndex.of(otherProjects, context);
+            assertNotSame(index, other);
+            assertEquals("groupId:other", other.getRoot().getKey());
+            assertSame(index, ReactorIndex.of(reactorProjects, context));
+        }
+    }
+
+    private static MavenProject createProject(String groupId, String artifactId, MavenProject parent, File pomFile) {
+        Model model = new Model();
+        model.setGroupId(groupId);
+        model.setArtifactId(artifactId);
+        model.setVersion("1.0-SNAPSHOT");
+        model.setName(artifactId + " name");
+        if (parent != null) {
+            Parent modelParent = new Parent();
+            modelParent.setGroupId(parent.getGroupId());
+            modelParent.setArtifactId(parent.getArtifactId());
+            modelParent.setVersion(parent.getVersion());
+            model.setParent(modelParent);
+        }
+        MavenProject project = new MavenProject(model);
+        project.setFile(pomFile);
+        return project;
+    }
+}
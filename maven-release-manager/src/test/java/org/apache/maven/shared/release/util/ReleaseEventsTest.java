@@ -0,0 +1,100 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.shared.release.util;
+
+import java.io.File;
+import java.lang.reflect.Method;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Tests for {@link ReleaseEvents}. The recording API is used by reflection, like the events themselves, as this code
+ * is compiled for JDKs without Flight Recorder.
+ */
+public class ReleaseEventsTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testEventsWithoutRecording() {
+        for (ReleaseEvents.Type type : ReleaseEvents.Type.values()) {
+            try (ReleaseEvents.Event event = ReleaseEvents.begin(type, "name", null)) {
+                event.succeeded();
+            }
+        }
+    }
+
+    @Test
+    public void testEventsAreRecorded() throws Exception {
+        assumeTrue(ReleaseEvents.isAvailable());
+
+        Class<?> recordingClass = Class.forName("jdk.jfr.Recording");
+        Object recording = recordingClass.getConstructor().newInstance();
+        recordingClass.getMethod("enable", String.class).invoke(recording, ReleaseEvents.Type.PHASE.getName());
+        recordingClass.getMethod("enable", String.class).invoke(recording, ReleaseEvents.Type.SCM_COMMAND.getName());
+        recordingClass.getMethod("start").invoke(recording);
+
+        try (ReleaseEvents.Event event = ReleaseEvents.begin(ReleaseEvents.Type.PHASE, "scm-tag", "execute")) {
+            event.succeeded();
+        }
+        try (ReleaseEvents.Event event = ReleaseEvents.begin(ReleaseEvents.Type.SCM_COMMAND, "tag", "/basedir")) {
+            event.setSuccess(false);
+        }
+
+        recordingClass.getMethod("stop").invoke(recording);
+        Path dump = new File(folder.getRoot(), "release.jfr").toPath();
+        recordingClass.getMethod("dump", Path.class).invoke(recording, dump);
+        recordingClass.getMethod("close").invoke(recording);
+
+        List<String> events = new ArrayList<>();
+        Class<?> recordedEventClass = Class.forName("jdk.jfr.consumer.RecordedEvent");
+        Method getEventType = recordedEventClass.getMethod("getEventType");
+        Method getValue = recordedEventClass.getMethod("getValue", String.class);
+        List<?> recordedEvents = (List<?>) Class.forName("jdk.jfr.consumer.RecordingFile")
+                .getMethod("readAllEvents", Path.class)
+                .invoke(null, dump);
+        for (Object recordedEvent : recordedEvents) {
+            Object eventType = getEventType.invoke(recordedEvent);
+            String name = (String) eventType.getClass().getMethod("getName").invoke(eventType);
+            if (name.startsWith("org.apache.maven.release.")) {
+                events.add(name
+                        + ' '
+                        + getValue.invoke(recordedEvent, "name")
+                        + ' '
+                        + getValue.invoke(recordedEvent, "target")
+                        + ' '
+                        + getValue.invoke(recordedEvent, "success"));
+            }
+        }
+        events.sort(null);
+
+        List<String> expected = new ArrayList<>();
+        expected.add("org.apache.maven.release.Phase scm-tag execute true");
+        expected.add("org.apache.maven.release.ScmCommand tag /basedir false");
+        assertEquals(expected, events);
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.shared.release.util;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Set;
+
+import org.codehaus.plexus.util.FileUtils;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test the release fingerprint.
+ */
+public class ReleaseFingerprintTest {
+    private static final Set<Path> BUILD_DIRECTORIES = Collections.singleton(Paths.get("target"));
+
+    @Test
+    public void testIgnoresBuildOutputsAndReleaseFiles() throws Exception {
+        File directory = createTree("target/fingerprint/ignored");
+        String fingerprint = ReleaseFingerprint.compute(directory, BUILD_DIRECTORIES);
+
+        write(new File(directory, "target/classes/Foo.class"), "recompiled");
+        write(new File(directory, ".git/HEAD"), "ref: refs/heads/master");
+        write(new File(directory, "release.properties"), "completedPhase=scm-tag");
+        write(new File(directory, "pom.xml.releaseBackup"), "<project/>");
+        write(new File(directory, "pom.xml.next"), "<project/>");
+
+        assertEquals(fingerprint, ReleaseFingerprint.compute(directory, BUILD_DIRECTORIES));
+        assertTrue(fingerprint.startsWith("sha256:"));
+    }
+
+    @Test
+    public void testDetectsContentAndPathChanges() throws Exception {
+        File directory = createTree("target/fingerprint/changed");
+        String fingerprint = ReleaseFingerprint.compute(directory, BUILD_DIRECTORIES);
+
+        write(new File(directory, "src/main/java/Foo.java"), "class Foo { }");
+        String changedContent = ReleaseFingerprint.compute(directory, BUILD_DIRECTORIES);
+        assertNotEquals(fingerprint, changedContent);
+
+        new File(directory, "src/main/java/Foo.java").renameTo(new File(directory, "src/main/java/Bar.java"));
+        assertNotEquals(changedContent, ReleaseFingerprint.compute(directory, BUILD_DIRECTORIES));
+    }
+
+    @Test
+    public void testFingerprintsTrackedFilesOnly() throws Exception {
+        File workingCopy = createTree("target/fingerprint/working-copy");
+        write(new File(workingCopy, "notes.txt"), "untracked");
+        write(new File(workingCopy, "src/main/java/Generated.java"), "class Generated {}");
+        File checkout = createTree("target/fingerprint/checkout");
+
+        String fingerprint = ReleaseFingerprint.compute(
+                workingCopy,
+                Arrays.asList("pom.xml", "src/main/java/Foo.java", "src/main/java/Deleted.java", "src"),
+                BUILD_DIRECTORIES);
+
+        assertEquals(ReleaseFingerprint.compute(checkout, BUILD_DIRECTORIES), fingerprint);
+        assertNotEquals(ReleaseFingerprint.compute(workingCopy, BUILD_DIRECTORIES), fingerprint);
+    }
+
+    @Test
+    public void testCopyBuildDirectories() throws Exception {
+        File source = createTree("target/fingerprint/source");
+        File target = new File(source, "target/checkout");
+        write(new File(target, "pom.xml"), "<project/>");
+
+        int files = ReleaseFingerprint.copyBuildDirectories(source, target, BUILD_DIRECTORIES, target);
+
+        assertEquals(1, files);
+        assertTrue(new File(target, "target/classes/Foo.class").exists());
+        assertFalse(new File(target, "target/checkout").exists());
+    }
+
+    private static File createTree(String path) throws Exception {
+        File directory = new File(path);
+        FileUtils.deleteDirectory(directory);
+        write(new File(directory, "pom.xml"), "<project/>");
+        write(new File(directory, "src/main/java/Foo.java"), "class Foo {}");
+        write(new File(directory, "target/classes/Foo.class"), "compiled");
+        return directory;
+    }
+
+    private static void write(File file, String content) throws Exception {
+        file.getParentFile().mkdirs();
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+    }
+}
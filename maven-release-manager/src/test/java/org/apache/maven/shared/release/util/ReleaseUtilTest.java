@@ -20,6 +20,7 @@ package org.apache.maven.shared.release.util;
 
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Random;
 
 import org.codehaus.plexus.util.Os;
 import org.junit.Test;
@@ -33,6 +34,9 @@ import static org.junit.Assume.assumeTrue;
  * Tests for ReleaseUtil methods
  */
 public class ReleaseUtilTest {
+    private static final int SAMPLES = 20000;
+
+    private static final int MAX_LENGTH = 24;
     /**
      * MRELEASE-273 : Tests if there no pom passed as parameter
      */
@@ -216,4 +220,70 @@ public class ReleaseUtilTest {
                 2,
                 ReleaseUtil.getBaseWorkingDirectoryParentCount(Paths.get("c:"), Paths.get("c:\\working\\directory")));
     }
+
+    @Test
+    public void testNormalizeLineEndingsMatchesRegularExpression() {
+        Random random = new Random(0);
+        for (int i = 0; i < SAMPLES; i++) {
+            String text = randomText(random, "ab\r\n");
+            for (String separator : new String[] {"\n", "\r\n", "\r", ""}) {
+                assertEquals(
+                        text,
+                        text.replaceAll("(\r\n)|(\n)|(\r)", separator),
+                        ReleaseUtil.normalizeLineEndings(text, separator));
+            }
+        }
+        assertNull(ReleaseUtil.normalizeLineEndings(null, "\n"));
+    }
+
+    @Test
+    public void testRealignScmUrlMatchesRegularExpressions() {
+        Random random = new Random(0);
+        for (int i = 0; i < SAMPLES; i++) {
+            String url = randomText(random, "//..a\n\r\u2028");
+            int parentLevels = random.nextInt(3);
+            assertEquals(
+                    url,
+                    realignScmUrlWithRegularExpressions(parentLevels, url),
+                    ReleaseUtil.realignScmUrl(parentLevels, url));
+        }
+    }
+
+    private static String randomText(Random random, String alphabet) {
+        int length = random.nextInt(MAX_LENGTH);
+        StringBuilder text = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            text.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        return text.toString();
+    }
+
+    /**
+     * The implementation of {@link ReleaseUtil#realignScmUrl(int, String)} before the regular expressions were
+     * replaced.
+     */
+    private static String realignScmUrlWithRegularExpressions(int parentLevels, String url) {
+        if (url != null && !url.isEmpty()) {
+            url = url.replaceAll("/\\./", "/")
+                    .replaceAll("/\\.$", "")
+                    .replaceAll("/[^/]+/\\.\\./", "/")
+                    .replaceAll("/[^/]+/\\.\\.$", "");
+
+            int index = url.length();
+            String suffix = "";
+            if (url.endsWith("/")) {
+                index--;
+                suffix = "/";
+            }
+
+            for (int i = 0; i < parentLevels && index > 0; i++) {
+                index = url.lastIndexOf('/', index - 1);
+            }
+
+            if (index > 0) {
+                url = url.substring(0, index) + suffix;
+            }
+        }
+        return url;
+    }
 }
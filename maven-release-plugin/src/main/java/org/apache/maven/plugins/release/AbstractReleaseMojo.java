@@ -150,6 +150,20 @@ public abstract class AbstractReleaseMojo extends AbstractMojo {
      * @return The release descriptor, never <code>null</code>.
      */
     protected ReleaseDescriptorBuilder createReleaseDescriptor() {
+        return createReleaseDescriptor(reactorProjects, basedir, pomFileName);
+    }
+
+    /**
+     * Creates the release descriptor of the given reactor from the various goal parameters.
+     *
+     * @param reactorProjects The projects of the reactor to release, must not be <code>null</code>.
+     * @param basedir The base directory of the root project, must not be <code>null</code>.
+     * @param pomFileName The file name of the root POM, must not be <code>null</code>.
+     * @return The release descriptor, never <code>null</code>.
+     * @since 3.0.1
+     */
+    protected ReleaseDescriptorBuilder createReleaseDescriptor(
+            List<MavenProject> reactorProjects, File basedir, String pomFileName) {
         ReleaseDescriptorBuilder descriptor = new ReleaseDescriptorBuilder();
 
         descriptor.setInteractive(settings.isInteractiveMode());
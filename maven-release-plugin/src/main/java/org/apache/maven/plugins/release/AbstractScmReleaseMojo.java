@@ -18,6 +18,7 @@
  */
 package org.apache.maven.plugins.release;
 
+import java.util.List;
 import java.util.Map;
 
 import org.apache.maven.artifact.ArtifactUtils;
@@ -140,7 +141,20 @@ public abstract class AbstractScmReleaseMojo extends AbstractReleaseMojo {
     @Override
     protected ReleaseDescriptorBuilder createReleaseDescriptor() {
         ReleaseDescriptorBuilder descriptor = super.createReleaseDescriptor();
+        setScmConfiguration(descriptor, project, session.getProjects());
+        return descriptor;
+    }
 
+    /**
+     * Sets the SCM parameters and the SCM information of the projects on the release descriptor.
+     *
+     * @param descriptor the release descriptor
+     * @param rootProject the root project of the reactor, defining the SCM URL
+     * @param reactorProjects the projects of the reactor, whose original SCM information is recorded
+     * @since 3.0.1
+     */
+    protected void setScmConfiguration(
+            ReleaseDescriptorBuilder descriptor, MavenProject rootProject, List<MavenProject> reactorProjects) {
         descriptor.setScmPassword(password);
         descriptor.setScmReleaseLabel(tag);
         descriptor.setScmTagNameFormat(tagNameFormat);
@@ -152,18 +166,18 @@ public abstract class AbstractScmReleaseMojo extends AbstractReleaseMojo {
         descriptor.setPushChanges(pushChanges);
         descriptor.setWorkItem(workItem);
 
-        if (project.getScm() != null) {
-            if (project.getScm().getDeveloperConnection() != null) {
-                descriptor.setScmSourceUrl(project.getScm().getDeveloperConnection());
-            } else if (project.getScm().getConnection() != null) {
-                descriptor.setScmSourceUrl(project.getScm().getConnection());
+        if (rootProject.getScm() != null) {
+            if (rootProject.getScm().getDeveloperConnection() != null) {
+                descriptor.setScmSourceUrl(rootProject.getScm().getDeveloperConnection());
+            } else if (rootProject.getScm().getConnection() != null) {
+                descriptor.setScmSourceUrl(rootProject.getScm().getConnection());
             }
         }
 
         // As long as Scm.getId() does not exist, read it as a property
-        descriptor.setScmId(project.getProperties().getProperty("project.scm.id"));
+        descriptor.setScmId(rootProject.getProperties().getProperty("project.scm.id"));
 
-        for (MavenProject reactorProject : session.getProjects()) {
+        for (MavenProject reactorProject : reactorProjects) {
             if (reactorProject.getScm() != null) {
                 String projectId =
                         ArtifactUtils.versionlessKey(reactorProject.getGroupId(), reactorProject.getArtifactId());
@@ -171,8 +185,6 @@ public abstract class AbstractScmReleaseMojo extends AbstractReleaseMojo {
                 descriptor.addOriginalScmInfo(projectId, buildScm(reactorProject));
             }
         }
-
-        return descriptor;
     }
 
     /**
@@ -170,6 +170,16 @@ public class BranchReleaseMojo extends AbstractScmReleaseMojo {
     @Parameter(property = "checkModificationExcludeList")
     private String checkModificationExcludeList;
 
+    /**
+     * Only check the reactor module directories for local modifications instead of the complete working copy.
+     * Useful when the released project is part of a large repository. The modules outside of the working directory,
+     * like in a flat layout, are checked in their own directories.
+     *
+     * @since 3.0.1
+     */
+    @Parameter(defaultValue = "false", property = "checkModificationsScopedToModules")
+    private boolean checkModificationsScopedToModules;
+
     /**
      * Specify the new version for the branch.
      * This parameter is only meaningful if {@link #updateBranchVersions} = {@code true}.
@@ -279,6 +289,7 @@ public class BranchReleaseMojo extends AbstractScmReleaseMojo {
         if (checkModificationExcludes != null) {
             config.setCheckModificationExcludes(Arrays.asList(checkModificationExcludes));
         }
+        config.setCheckModificationsScopedToModules(checkModificationsScopedToModules);
 
         try {
             ReleaseBranchRequest branchRequest = new ReleaseBranchRequest();
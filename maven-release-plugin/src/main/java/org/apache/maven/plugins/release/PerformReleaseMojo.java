@@ -103,6 +103,27 @@ public class PerformReleaseMojo extends AbstractReleaseMojo {
     @Parameter(defaultValue = "true", property = "scmShallowClone")
     private boolean scmShallowClone = true;
 
+    /**
+     * Check out only the subtree holding the released project instead of the complete repository. This is supported
+     * for git (which requires git 2.25 or later on the path); Subversion always checks out only the project URL.
+     * Other providers fall back to a full checkout.
+     *
+     * @since 3.0.1
+     */
+    @Parameter(defaultValue = "false", property = "scmSparseCheckout")
+    private boolean scmSparseCheckout;
+
+    /**
+     * Directory holding a persistent repository cache per SCM URL. When set, the cache is updated incrementally and
+     * the release tag is checked out from it instead of cloning the full repository on every perform.
+     * The cache is a bare repository, locked while it is updated and checked out from, so concurrent performs can
+     * share it. Only supported by the git SCM provider, other SCMs do a regular checkout.
+     *
+     * @since 3.0.1
+     */
+    @Parameter(property = "checkoutCacheDirectory")
+    private File checkoutCacheDirectory;
+
     /**
      * Whether to use the default release profile (Maven 2 and 3) that adds sources and javadocs to the released
      * artifact, if appropriate. If set to true, the release plugin sets the property "<code>performRelease</code>" to
@@ -177,10 +198,14 @@ public class PerformReleaseMojo extends AbstractReleaseMojo {
             }
 
             releaseDescriptor.setScmShallowClone(scmShallowClone);
+            releaseDescriptor.setScmSparseCheckout(scmSparseCheckout);
 
             releaseDescriptor.setLocalCheckout(localCheckout);
 
             releaseDescriptor.setCheckoutDirectory(workingDirectory.getAbsolutePath());
+            if (checkoutCacheDirectory != null) {
+                releaseDescriptor.setCheckoutCacheDirectory(checkoutCacheDirectory.getAbsolutePath());
+            }
             releaseDescriptor.setUseReleaseProfile(useReleaseProfile);
 
             createGoals();
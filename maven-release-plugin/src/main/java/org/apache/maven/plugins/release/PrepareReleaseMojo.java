@@ -123,6 +123,40 @@ public class PrepareReleaseMojo extends AbstractScmReleaseMojo {
     @Parameter(defaultValue = "", property = "completionGoals")
     private String completionGoals;
 
+    /**
+     * The tag of the previous release. If set, the preparation goals only build the modules with changes since that
+     * tag, as reported by the SCM, and the modules depending on them. The modules they depend on are built too, with
+     * <code>--also-make</code>, so the rest of the reactor resolves. Useful for hotfix releases of large reactors.
+     * <p>
+     * If no module changed since that tag, the preparation goals are skipped, so the tagged tree is never built nor
+     * tested before it is committed.
+     *
+     * @since 3.0.1
+     */
+    @Parameter(property = "preparationChangedSince")
+    private String preparationChangedSince;
+
+    /**
+     * Whether <code>release:perform</code> skips the tests which already passed during the preparation. The content
+     * of the files tracked by the SCM in the built release tree is fingerprinted; if the checkout of the release tag
+     * matches it, the perform goals run without the tests. They still build and package the release, starting from
+     * a copy of the prepared build outputs. Otherwise the tests run again.
+     *
+     * @since 3.0.1
+     */
+    @Parameter(defaultValue = "false", property = "skipPerformTests")
+    private boolean skipPerformTests;
+
+    /**
+     * Whether to fetch the dependencies, plugins and extensions of the reactor into the local repository of the forked
+     * builds in the background, while the release checks the SCM. The setting is kept for
+     * <code>release:perform</code>, which fetches them while it checks out the release tag.
+     *
+     * @since 3.0.1
+     */
+    @Parameter(defaultValue = "false", property = "prefetchDependencies")
+    private boolean prefetchDependencies;
+
     /**
      * Commits to do are atomic or by project.
      *
@@ -131,6 +165,16 @@ public class PrepareReleaseMojo extends AbstractScmReleaseMojo {
     @Parameter(defaultValue = "false", property = "commitByProject")
     private boolean commitByProject;
 
+    /**
+     * The maximum number of projects to group into a single commit when <code>commitByProject</code> is set. Only the
+     * projects inside the working directory are grouped, with the working directory as base of the commits; the other
+     * projects, like the modules of a flat layout, are still committed one by one.
+     *
+     * @since 3.0.1
+     */
+    @Parameter(defaultValue = "1", property = "commitByProjectBatchSize")
+    private int commitByProjectBatchSize;
+
     /**
      * Whether to allow timestamped SNAPSHOT dependencies. Default is to fail when finding any SNAPSHOT.
      *
@@ -165,6 +209,16 @@ public class PrepareReleaseMojo extends AbstractScmReleaseMojo {
     @Parameter(property = "checkModificationExcludeList")
     private String checkModificationExcludeList;
 
+    /**
+     * Only check the reactor module directories for local modifications instead of the complete working copy.
+     * Useful when the released project is part of a large repository. The modules outside of the working directory,
+     * like in a flat layout, are checked in their own directories.
+     *
+     * @since 3.0.1
+     */
+    @Parameter(defaultValue = "false", property = "checkModificationsScopedToModules")
+    private boolean checkModificationsScopedToModules;
+
     /**
      * Default version to use when preparing a release or a branch.
      *
@@ -228,6 +282,9 @@ public class PrepareReleaseMojo extends AbstractScmReleaseMojo {
      * Wait the specified number of seconds before creating the tag. <br/>
      * <code>waitBeforeTagging</code> is useful when your source repository is synced between several instances and
      * access to it is determined by geographical location, like the SVN repository at the Apache Software Foundation.
+     * <br/>
+     * Since 3.0.1 this is the upper bound: the SCM is polled and the tag is created as soon as the committed revision
+     * is visible. SCMs which cannot report this wait the full time.
      *
      * @since 2.2
      */
@@ -383,8 +440,12 @@ public class PrepareReleaseMojo extends AbstractScmReleaseMojo {
         config.setGenerateReleasePoms(generateReleasePoms);
         config.setScmUseEditMode(useEditMode);
         config.setPreparationGoals(preparationGoals);
+        config.setPreparationChangedSince(preparationChangedSince);
+        config.setSkipPerformTests(skipPerformTests);
+        config.setPrefetchDependencies(prefetchDependencies);
         config.setCompletionGoals(completionGoals);
         config.setCommitByProject(commitByProject);
+        config.setCommitByProjectBatchSize(commitByProjectBatchSize);
         config.setUpdateDependencies(updateDependencies);
         config.setAutoVersionSubmodules(autoVersionSubmodules);
         config.setAllowTimestampedSnapshots(allowTimestampedSnapshots);
@@ -415,6 +476,7 @@ public class PrepareReleaseMojo extends AbstractScmReleaseMojo {
         if (checkModificationExcludes != null) {
             config.setCheckModificationExcludes(Arrays.asList(checkModificationExcludes));
         }
+        config.setCheckModificationsScopedToModules(checkModificationsScopedToModules);
 
         ReleasePrepareRequest prepareRequest = new ReleasePrepareRequest();
         prepareRequest.setReleaseDescriptorBuilder(config);
@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.plugins.release;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugins.annotations.Component;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.project.ProjectBuilder;
+import org.apache.maven.shared.release.daemon.DefaultReactorProjectsLoader;
+import org.apache.maven.shared.release.daemon.ReleaseDaemon;
+
+/**
+ * Run the release manager as a long-running service, which accepts <code>prepare</code>, <code>branch</code> and
+ * <code>update-versions</code> requests over a local HTTP/JSON API, so the cost of starting Maven is only paid once.
+ * The goal blocks until the daemon is stopped with a <code>POST</code> to <code>/shutdown</code>. Every request must
+ * send the token the daemon writes to the {@link #tokenFile}. See {@link ReleaseDaemon} for the protocol.
+ *
+ * @since 3.0.1
+ */
+@Mojo(name = "daemon", aggregator = true, requiresProject = false)
+public class ReleaseDaemonMojo extends AbstractReleaseMojo {
+    /**
+     * The port the daemon listens on, on the loopback interface only. With <code>0</code> a free port is picked and
+     * logged.
+     */
+    @Parameter(defaultValue = "0", property = "daemonPort")
+    private int port;
+
+    /**
+     * The file the daemon writes the token of its requests to. Only the current user can read it, and it is deleted
+     * when the daemon stops.
+     */
+    @Parameter(defaultValue = "${project.build.directory}/release-daemon.token", property = "daemonTokenFile")
+    private File tokenFile;
+
+    /**
+     */
+    @Component
+    private ProjectBuilder projectBuilder;
+
+    @Override
+    public void execute() throws MojoExecutionException, MojoFailureException {
+        ReleaseDaemon daemon = new ReleaseDaemon(
+                releaseManager,
+                new DefaultReactorProjectsLoader(projectBuilder, session.getProjectBuildingRequest()),
+                getReleaseEnvironment());
+        try {
+            getLog().info("Release daemon listening on " + daemon.start(port));
+            daemon.writeToken(tokenFile);
+            getLog().info("The token of the release daemon is in " + tokenFile);
+            daemon.awaitStop();
+        } catch (IOException e) {
+            throw new MojoExecutionException("Unable to start the release daemon: " + e.getMessage(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            daemon.stop();
+            if (tokenFile.exists() && !tokenFile.delete()) {
+                getLog().warn("Unable to delete the token file " + tokenFile);
+            }
+        }
+    }
+}
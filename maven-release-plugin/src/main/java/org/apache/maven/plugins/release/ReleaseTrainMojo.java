@@ -0,0 +1,185 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.plugins.release;
+
+import java.io.File;
+import java.util.List;
+
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugins.annotations.Component;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.project.MavenProject;
+import org.apache.maven.project.ProjectBuilder;
+import org.apache.maven.shared.release.DefaultReleaseManagerListener;
+import org.apache.maven.shared.release.ReleaseExecutionException;
+import org.apache.maven.shared.release.ReleaseFailureException;
+import org.apache.maven.shared.release.ReleasePerformRequest;
+import org.apache.maven.shared.release.ReleasePrepareRequest;
+import org.apache.maven.shared.release.ReleaseTrainManager;
+import org.apache.maven.shared.release.ReleaseTrainReactor;
+import org.apache.maven.shared.release.ReleaseTrainRequest;
+import org.apache.maven.shared.release.config.ReleaseDescriptorBuilder;
+import org.apache.maven.shared.release.daemon.DefaultReactorProjectsLoader;
+import org.codehaus.plexus.util.StringUtils;
+
+/**
+ * Release several reactors, each with its own SCM, as one release train. The order of the reactors is inferred from
+ * their dependencies on each other: reactors which don't depend on each other are released in parallel, and the
+ * release versions of a reactor are used for the dependencies of the reactors depending on it. The release runs in
+ * batch mode, so release versions and tags must be resolvable without prompting.
+ *
+ * @since 3.0.1
+ */
+@Mojo(name = "train", aggregator = true)
+public class ReleaseTrainMojo extends AbstractScmReleaseMojo {
+    /**
+     * The root directories, or root POM files, of the reactors to release.
+     */
+    @Parameter(property = "reactorRoots", required = true)
+    private List<File> reactorRoots;
+
+    /**
+     * The maximum number of reactors released at the same time.
+     */
+    @Parameter(defaultValue = "1", property = "trainThreads")
+    private int threads;
+
+    /**
+     * Whether to perform the release of each reactor once it is prepared.
+     */
+    @Parameter(defaultValue = "true", property = "trainPerform")
+    private boolean perform;
+
+    /**
+     * Resume a previous release attempt of each reactor from the point where it was stopped.
+     */
+    @Parameter(defaultValue = "true", property = "resume")
+    private boolean resume;
+
+    /**
+     * Dry run: prepare each reactor without checking in or tagging anything, and don't perform the release.
+     */
+    @Parameter(defaultValue = "false", property = "dryRun")
+    private boolean dryRun;
+
+    /**
+     * Goals to run as part of the preparation step of each reactor. Space delimited.
+     */
+    @Parameter(defaultValue = "clean verify", property = "preparationGoals")
+    private String preparationGoals;
+
+    /**
+     * Goals to run on completion of the preparation step of each reactor. Space delimited.
+     */
+    @Parameter(defaultValue = "", property = "completionGoals")
+    private String completionGoals;
+
+    /**
+     * A space separated list of goals to execute on release perform of each reactor.
+     */
+    @Parameter(defaultValue = "deploy", property = "goals")
+    private String goals;
+
+    /**
+     */
+    @Component
+    private ProjectBuilder projectBuilder;
+
+    /**
+     */
+    @Component
+    private ReleaseTrainManager releaseTrainManager;
+
+    @Override
+    public void execute() throws MojoExecutionException, MojoFailureException {
+        super.execute();
+
+        DefaultReactorProjectsLoader reactorProjectsLoader =
+                new DefaultReactorProjectsLoader(projectBuilder, session.getProjectBuildingRequest());
+        try {
+            ReleaseTrainRequest trainRequest = new ReleaseTrainRequest();
+            trainRequest.setThreads(threads);
+            // the reactors are loaded together, so they resolve their snapshots of each other
+            for (List<MavenProject> reactorProjects : reactorProjectsLoader.loadAll(reactorRoots)) {
+                trainRequest.addReactor(createReactor(reactorProjects));
+            }
+
+            releaseTrainManager.release(trainRequest);
+        } catch (ReleaseExecutionException e) {
+            throw new MojoExecutionException(e.getMessage(), e);
+        } catch (ReleaseFailureException e) {
+            throw new MojoFailureException(e.getMessage(), e);
+        }
+    }
+
+    private ReleaseTrainReactor createReactor(List<MavenProject> reactorProjects) {
+        MavenProject rootProject = reactorProjects.get(0);
+        for (MavenProject reactorProject : reactorProjects) {
+            if (reactorProject.isExecutionRoot()) {
+                rootProject = reactorProject;
+            }
+        }
+
+        ReleaseDescriptorBuilder prepareDescriptor = createReactorDescriptor(rootProject, reactorProjects);
+        // reactors are prepared in parallel, so prompting is not an option
+        prepareDescriptor.setInteractive(false);
+        prepareDescriptor.setPreparationGoals(preparationGoals);
+        prepareDescriptor.setCompletionGoals(completionGoals);
+
+        ReleasePrepareRequest prepareRequest = new ReleasePrepareRequest();
+        prepareRequest.setReleaseDescriptorBuilder(prepareDescriptor);
+        prepareRequest.setReleaseEnvironment(getReleaseEnvironment());
+        prepareRequest.setReactorProjects(reactorProjects);
+        prepareRequest.setReleaseManagerListener(new DefaultReleaseManagerListener(getLog(), dryRun));
+        prepareRequest.setResume(resume);
+        prepareRequest.setDryRun(dryRun);
+        prepareRequest.setUserProperties(session.getUserProperties());
+
+        ReleaseTrainReactor reactor = new ReleaseTrainReactor();
+        reactor.setPrepareRequest(prepareRequest);
+
+        if (perform) {
+            ReleaseDescriptorBuilder performDescriptor = createReactorDescriptor(rootProject, reactorProjects);
+            performDescriptor.setInteractive(false);
+            performDescriptor.setCheckoutDirectory(
+                    new File(rootProject.getBuild().getDirectory(), "checkout").getAbsolutePath());
+            performDescriptor.setPerformGoals(StringUtils.join(StringUtils.split(goals), " "));
+
+            ReleasePerformRequest performRequest = new ReleasePerformRequest();
+            performRequest.setReleaseDescriptorBuilder(performDescriptor);
+            performRequest.setReleaseEnvironment(getReleaseEnvironment());
+            performRequest.setReactorProjects(reactorProjects);
+            performRequest.setReleaseManagerListener(new DefaultReleaseManagerListener(getLog(), dryRun));
+            performRequest.setDryRun(dryRun);
+            reactor.setPerformRequest(performRequest);
+        }
+
+        return reactor;
+    }
+
+    private ReleaseDescriptorBuilder createReactorDescriptor(
+            MavenProject rootProject, List<MavenProject> reactorProjects) {
+        ReleaseDescriptorBuilder descriptor = createReleaseDescriptor(
+                reactorProjects, rootProject.getBasedir(), rootProject.getFile().getName());
+        setScmConfiguration(descriptor, rootProject, reactorProjects);
+        return descriptor;
+    }
+}